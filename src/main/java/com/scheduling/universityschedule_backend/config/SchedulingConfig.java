@@ -0,0 +1,12 @@
+package com.scheduling.universityschedule_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background pollers, e.g. the notification outbox worker.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -4,16 +4,21 @@ import com.scheduling.universityschedule_backend.dto.*;
 import com.scheduling.universityschedule_backend.repository.SeanceRepository;
 import com.scheduling.universityschedule_backend.service.*;
 import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.Data;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for administrator operations.
@@ -28,23 +33,31 @@ import java.util.stream.Collectors;
 @PreAuthorize("hasAuthority('ROLE_ADMIN')")
 public class AdministrateurController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AdministrateurService administrateurService;
     private final SeanceService seanceService;
-    private final NotificationService notificationService;
+    private final NotificationDispatchService notificationDispatchService;
     private final ExcelFileService excelFileService;
     private final BrancheService brancheService;
+    private final TimetableService timetableService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public AdministrateurController(
             AdministrateurService administrateurService,
             SeanceService seanceService,
-            NotificationService notificationService,
-            ExcelFileService excelFileService, BrancheService brancheService) {
+            NotificationDispatchService notificationDispatchService,
+            ExcelFileService excelFileService, BrancheService brancheService,
+            TimetableService timetableService,
+            ObjectMapper objectMapper) {
         this.administrateurService = administrateurService;
         this.seanceService = seanceService;
-        this.notificationService = notificationService;
+        this.notificationDispatchService = notificationDispatchService;
         this.excelFileService = excelFileService;
         this.brancheService = brancheService;
+        this.timetableService = timetableService;
+        this.objectMapper = objectMapper;
     }
 
     // ============================
@@ -78,18 +91,31 @@ public class AdministrateurController {
     }
 
     @PostMapping("/seances/batch")
-    public ResponseEntity<BatchDTO> createSeancesBatch(@Valid @RequestBody List<SeanceDTO> seanceDTOs) throws CustomException {
-        List<Long> createdIds = new ArrayList<>();
-        seanceDTOs.forEach(seanceDTO -> {
-            try {
-                createdIds.add(seanceService.create(seanceDTO).getId());
-            } catch (CustomException e) {
-                throw new RuntimeException(e);
-            }
-        });
+    public ResponseEntity<BatchDTO> createSeancesBatch(
+            @Valid @RequestBody List<SeanceDTO> seanceDTOs,
+            @RequestParam(required = false) ConflictCheck conflicts) throws CustomException {
+        return ResponseEntity.ok(seanceService.createBatch(seanceDTOs, conflicts));
+    }
+
+    // ============================
+    //    Timetable Generation
+    // ============================
+
+    @PostMapping("/timetable/generate")
+    public ResponseEntity<TimetableJobDTO> generateTimetable(@RequestBody TimetableRequestDTO request) throws CustomException {
+        return ResponseEntity.accepted().body(timetableService.startGeneration(request));
+    }
 
-        return ResponseEntity.ok(new BatchDTO(createdIds, "Batch creation successful", true, "Seance"));
+    @GetMapping("/timetable/jobs/{jobId}")
+    public ResponseEntity<TimetableJobDTO> getTimetableJob(@PathVariable String jobId) throws CustomException {
+        return ResponseEntity.ok(timetableService.getJob(jobId));
     }
+
+    @DeleteMapping("/timetable/jobs/{jobId}")
+    public ResponseEntity<TimetableJobDTO> cancelTimetableJob(@PathVariable String jobId) throws CustomException {
+        return ResponseEntity.ok(timetableService.cancelJob(jobId));
+    }
+
     // ============================
     //    Makeup Session Management
     // ============================
@@ -134,6 +160,39 @@ public class AdministrateurController {
         return ResponseEntity.ok(seanceService.getAllConflicts());
     }
 
+    /**
+     * Same conflicts as /conflicts, written one JSON object per line as they are found.
+     */
+    @GetMapping(value = "/conflicts/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamConflicts() {
+        StreamingResponseBody body = out -> {
+            try {
+                seanceService.streamAllConflicts(conflict -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(conflict));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (CustomException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/conflicts/page")
+    public ResponseEntity<ConflictPageDTO> getConflictsPage(@ModelAttribute ConflictQueryDTO query) throws CustomException {
+        return ResponseEntity.ok(seanceService.getConflictsPage(query));
+    }
+
+    @PostMapping("/conflicts/sandbox")
+    public ResponseEntity<ConflictSandboxResultDTO> simulateConflicts(@RequestBody ConflictSandboxDTO batch) throws CustomException {
+        return ResponseEntity.ok(seanceService.simulateConflicts(batch));
+    }
+
     @GetMapping("/conflicts/rooms")
     public ResponseEntity<List<SeanceRoomConflictDTO>> getRoomConflicts() throws CustomException {
         return ResponseEntity.ok(seanceService.getRoomConflicts());
@@ -144,43 +203,44 @@ public class AdministrateurController {
         return ResponseEntity.ok(seanceService.getConflictsForSession(seanceId));
     }
 
+    @GetMapping("/conflicts/version")
+    public ResponseEntity<ConflictVersionDTO> getConflictsVersion() throws CustomException {
+        return ResponseEntity.ok(seanceService.getConflictsVersion());
+    }
+
     // ============================
     //    Notification Management
     // ============================
 
     @PostMapping("/notifications/broadcast")
-    public ResponseEntity<Void> broadcastNotification(@RequestBody NotificationDTO notification) throws CustomException {
-        notificationService.broadcastNotification(notification);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<NotificationDispatchDTO> broadcastNotification(@RequestBody NotificationDTO notification) throws CustomException {
+        return ResponseEntity.accepted().body(notificationDispatchService.queueBroadcast(notification));
     }
 
     @PostMapping("/notifications/teachers")
-    public ResponseEntity<Void> notifyTeachers(@RequestBody NotificationDTO notification) throws CustomException {
-        notificationService.sendNotificationToTeachers(notification);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<NotificationDispatchDTO> notifyTeachers(@RequestBody NotificationDTO notification) throws CustomException {
+        return ResponseEntity.accepted().body(notificationDispatchService.queueToTeachers(notification));
     }
 
     @PostMapping("/notifications/students")
-    public ResponseEntity<Void> notifyStudents(@RequestBody NotificationDTO notification) throws CustomException {
-        notificationService.sendNotificationToStudents(notification);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<NotificationDispatchDTO> notifyStudents(@RequestBody NotificationDTO notification) throws CustomException {
+        return ResponseEntity.accepted().body(notificationDispatchService.queueToStudents(notification));
     }
 
     @PostMapping("/notifications/branches")
-    public ResponseEntity<Void> notifyBranches(
+    public ResponseEntity<NotificationDispatchDTO> notifyBranches(
             @Valid @RequestBody NotificationDTO notification,
             @RequestParam List<Long> branchIds) throws CustomException {
-        List<BrancheDTO> branches = branchIds.stream()
-                .map(id -> {
-                    try {
-                        return brancheService.findById(id);
-                    } catch (CustomException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .collect(Collectors.toList());
-        notificationService.sendNotificationToBranches(notification, branches);
-        return ResponseEntity.ok().build();
+        // Unknown branches are rejected before anything is queued
+        for (Long id : branchIds) {
+            brancheService.findById(id);
+        }
+        return ResponseEntity.accepted().body(notificationDispatchService.queueToBranches(notification, branchIds));
+    }
+
+    @GetMapping("/notifications/dispatches/{id}")
+    public ResponseEntity<NotificationDispatchDTO> getNotificationDispatch(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationDispatchService.getDispatch(id));
     }
 
 
@@ -193,6 +253,24 @@ public class AdministrateurController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/excel/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FichierExcelDTO> importExcelFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ConflictCheck conflicts,
+            @RequestParam(required = false) Long replaces) throws CustomException {
+        return ResponseEntity.accepted().body(excelFileService.importFile(file, conflicts, replaces));
+    }
+
+    @GetMapping("/excel/imports/{id}")
+    public ResponseEntity<FichierExcelDTO> getImport(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(excelFileService.findById(id));
+    }
+
+    @DeleteMapping("/excel/imports/{id}")
+    public ResponseEntity<FichierExcelDTO> cancelImport(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(excelFileService.cancelImport(id));
+    }
+
     @GetMapping("/excel/history")
     public ResponseEntity<List<FichierExcelDTO>> getImportHistory() throws CustomException {
         return ResponseEntity.ok(excelFileService.getImportHistory());
@@ -24,13 +24,16 @@ public class EnseignantController {
 
     private final EnseignantService enseignantService;
     private final NotificationService notificationService;
+    private final NotificationInboxService notificationInboxService;
 
     @Autowired
     public EnseignantController(
             EnseignantService enseignantService,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            NotificationInboxService notificationInboxService) {
         this.enseignantService = enseignantService;
         this.notificationService = notificationService;
+        this.notificationInboxService = notificationInboxService;
     }
 
     // ============================
@@ -76,6 +79,13 @@ public class EnseignantController {
         return ResponseEntity.ok(enseignantService.getStudentGroups(id));
     }
 
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<List<FreeSlotDTO>> getFreeSlots(
+            @PathVariable Long id,
+            @ModelAttribute FreeSlotQueryDTO query) throws CustomException {
+        return ResponseEntity.ok(enseignantService.findFreeSlots(id, query));
+    }
+
     // ============================
     //    Makeup Sessions
     // ============================
@@ -108,8 +118,25 @@ public class EnseignantController {
     // ============================
 
     @GetMapping("/{id}/notifications/unread")
-    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications() throws CustomException {
-        return ResponseEntity.ok(notificationService.getUnreadNotifications());
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.getUnreadNotificationsFor(id));
+    }
+
+    @GetMapping("/{id}/notifications/inbox")
+    public ResponseEntity<NotificationPageDTO> getNotificationInbox(
+            @PathVariable Long id,
+            @ModelAttribute NotificationInboxQueryDTO query) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.getInboxPage(id, query));
+    }
+
+    @GetMapping("/{id}/notifications/unread/count")
+    public ResponseEntity<Long> getUnreadNotificationCount(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.getUnreadCount(id));
+    }
+
+    @PutMapping("/{id}/notifications/read-all")
+    public ResponseEntity<Integer> markAllNotificationsAsRead(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.markAllAsRead(id));
     }
 
     @PutMapping("/notifications/{notificationId}/read")
@@ -117,4 +144,11 @@ public class EnseignantController {
         notificationService.markAsRead(notificationId);
         return ResponseEntity.ok().build();
     }
+
+    @PutMapping("/{id}/audience-notifications/{notificationId}/read")
+    public ResponseEntity<Void> markAudienceNotificationAsRead(@PathVariable Long id,
+                                                               @PathVariable Long notificationId) throws CustomException {
+        notificationInboxService.markAudienceNotificationAsRead(id, notificationId);
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
@@ -23,13 +23,16 @@ public class EtudiantController {
 
     private final EtudiantService etudiantService;
     private final NotificationService notificationService;
+    private final NotificationInboxService notificationInboxService;
 
     @Autowired
     public EtudiantController(
             EtudiantService etudiantService,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            NotificationInboxService notificationInboxService) {
         this.etudiantService = etudiantService;
         this.notificationService = notificationService;
+        this.notificationInboxService = notificationInboxService;
     }
 
     // ============================
@@ -77,8 +80,25 @@ public class EtudiantController {
     }
 
     @GetMapping("/{id}/notifications/unread")
-    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications() throws CustomException {
-        return ResponseEntity.ok(notificationService.getUnreadNotifications());
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.getUnreadNotificationsFor(id));
+    }
+
+    @GetMapping("/{id}/notifications/inbox")
+    public ResponseEntity<NotificationPageDTO> getNotificationInbox(
+            @PathVariable Long id,
+            @ModelAttribute NotificationInboxQueryDTO query) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.getInboxPage(id, query));
+    }
+
+    @GetMapping("/{id}/notifications/unread/count")
+    public ResponseEntity<Long> getUnreadNotificationCount(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.getUnreadCount(id));
+    }
+
+    @PutMapping("/{id}/notifications/read-all")
+    public ResponseEntity<Integer> markAllNotificationsAsRead(@PathVariable Long id) throws CustomException {
+        return ResponseEntity.ok(notificationInboxService.markAllAsRead(id));
     }
 
     @PutMapping("/notifications/{notificationId}/read")
@@ -86,4 +106,11 @@ public class EtudiantController {
         notificationService.markAsRead(notificationId);
         return ResponseEntity.ok().build();
     }
+
+    @PutMapping("/{id}/audience-notifications/{notificationId}/read")
+    public ResponseEntity<Void> markAudienceNotificationAsRead(@PathVariable Long id,
+                                                               @PathVariable Long notificationId) throws CustomException {
+        notificationInboxService.markAudienceNotificationAsRead(id, notificationId);
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
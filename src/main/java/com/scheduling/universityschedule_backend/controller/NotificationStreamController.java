@@ -0,0 +1,35 @@
+package com.scheduling.universityschedule_backend.controller;
+
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.service.NotificationInboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for live notifications.
+ * Streams the notifications of the authenticated user as Server-Sent Events, in place of polling
+ * the unread endpoints.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationStreamController {
+
+    private final NotificationInboxService notificationInboxService;
+
+    @Autowired
+    public NotificationStreamController(NotificationInboxService notificationInboxService) {
+        this.notificationInboxService = notificationInboxService;
+    }
+
+    // ============================
+    //    Live Stream
+    // ============================
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) throws CustomException {
+        return notificationInboxService.openStream(authentication.getName());
+    }
+}
@@ -2,6 +2,7 @@ package com.scheduling.universityschedule_backend.controller;
 
 import com.scheduling.universityschedule_backend.dto.SalleDTO;
 import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
 import com.scheduling.universityschedule_backend.service.SalleService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -67,11 +68,19 @@ public class SalleController {
             @RequestParam(required = false) String date,
             @RequestParam String day,
             @RequestParam String startTime,
-            @RequestParam String endTime) throws CustomException {
+            @RequestParam String endTime,
+            @RequestParam(required = false) String frequence,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) String type) throws CustomException {
         LocalDate localDate = date != null ? LocalDate.parse(date) : null;
         DayOfWeek dayOfWeek = DayOfWeek.valueOf(day.toUpperCase());
         LocalTime start = LocalTime.parse(startTime);
         LocalTime end = LocalTime.parse(endTime);
-        return ResponseEntity.ok(salleService.getAvailableRooms(localDate, dayOfWeek, start, end));
+        FrequenceType frequenceType = frequence != null ? FrequenceType.fromString(frequence) : null;
+        if (frequence != null && frequenceType == null) {
+            throw new CustomException("Invalid frequency type: " + frequence);
+        }
+        return ResponseEntity.ok(salleService.getAvailableRooms(localDate, dayOfWeek, start, end,
+                frequenceType, minCapacity, type));
     }
 }
\ No newline at end of file
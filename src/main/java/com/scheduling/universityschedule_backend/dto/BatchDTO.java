@@ -15,6 +15,7 @@ import java.util.List;
  * - message: A message describing the result of the batch operation.
  * - success: A flag indicating whether the batch operation was successful.
  * - entityType: A property specifying the type of resource IDs (e.g., "Seance", "Branche").
+ * - items: The outcome of each request row, in request order, when rows can fail independently.
  */
 @Data
 @NoArgsConstructor
@@ -24,5 +25,9 @@ public class BatchDTO {
     private String message;
     private boolean success;
     private String entityType;
-    
+    private List<BatchItemDTO> items;
+
+    public BatchDTO(List<Long> ids, String message, boolean success, String entityType) {
+        this(ids, message, success, entityType, null);
+    }
 }
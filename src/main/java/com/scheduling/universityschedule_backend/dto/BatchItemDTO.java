@@ -0,0 +1,23 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Outcome of one row of a batch operation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BatchItemDTO {
+    private int index;        // Position of the row in the request, from 0
+    private Long id;          // Id of the created resource, null when the row failed
+    private boolean success;  // Whether the row was saved
+    private String error;     // Why the row was rejected, null on success
+    private List<SingleSeanceConflictDTO> conflicts; // Conflicts of the saved session found before inserting it, null when not checked
+}
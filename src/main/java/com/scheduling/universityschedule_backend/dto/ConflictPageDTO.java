@@ -0,0 +1,19 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ConflictPageDTO {
+    private List<SeanceConflictDTO> conflicts; // Conflicts of this page, ordered by (seance1Id, seance2Id)
+    private Long nextSeance1Id;                // Cursor for the next page, null on the last page
+    private Long nextSeance2Id;                // Cursor for the next page, null on the last page
+    private Long version;                      // Conflict set version the page was read at
+}
@@ -0,0 +1,21 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ConflictQueryDTO {
+    private Long afterSeance1Id;    // Cursor: seance1Id of the last conflict of the previous page
+    private Long afterSeance2Id;    // Cursor: seance2Id of the last conflict of the previous page
+    private Integer size;           // Page size (default 100, capped at 1000)
+    private String type;            // Conflict type, label or name (e.g. "Teacher Conflict" or TEACHER)
+    private String day;             // Day of week (e.g. MONDAY)
+    private Long salleId;           // Room of either session
+    private Long enseignantId;      // Teacher of either session
+    private Long brancheId;         // Branch attending either session
+}
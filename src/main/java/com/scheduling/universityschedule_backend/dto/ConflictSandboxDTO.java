@@ -0,0 +1,18 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ConflictSandboxDTO {
+    private List<SeanceDTO> creates;   // Proposed new sessions; reported with ids -1, -2, ... in list order
+    private List<SeanceDTO> updates;   // Proposed full replacements of existing sessions (id required)
+    private List<Long> deletes;        // IDs of sessions proposed for deletion
+}
@@ -0,0 +1,18 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ConflictSandboxResultDTO {
+    private List<SeanceConflictDTO> introduced; // Conflicts the batch would add (or whose types would change)
+    private List<SeanceConflictDTO> resolved;   // Conflicts the batch would remove (or whose types would change)
+    private Long version;                       // Conflict set version the batch was simulated against
+}
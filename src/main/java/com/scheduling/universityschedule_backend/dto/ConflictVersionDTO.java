@@ -0,0 +1,15 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ConflictVersionDTO {
+    private Long version;           // Changes whenever the conflict set changes
+    private Integer conflictCount;  // Number of conflicting pairs at this version
+}
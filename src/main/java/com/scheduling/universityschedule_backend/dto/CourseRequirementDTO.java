@@ -0,0 +1,27 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CourseRequirementDTO {
+    private String name;              // Name given to the generated sessions
+    private String matiere;           // Subject
+    private String type;              // Type of session (CI, CR, TD, TP)
+    private String frequence;         // weekly or biweekly (default weekly)
+    private Integer duration;         // Length of one session in minutes (default 90)
+    private Integer sessionsPerWeek;  // Number of sessions to place (default 1)
+    private Long enseignantId;        // Teacher giving the course
+    private List<Long> brancheIds;    // Branches attending
+    private List<Long> tdIds;         // TDs attending
+    private List<Long> tpIds;         // TPs attending
+    private Integer effectif;         // Expected headcount; defaults to the students of the audience
+    private String salleType;         // Required room type (optional)
+}
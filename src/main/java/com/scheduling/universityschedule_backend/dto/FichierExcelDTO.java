@@ -13,9 +13,20 @@ public class FichierExcelDTO {
     private Long id;               // Unique identifier for the file
     private String fileName;       // Name of the Excel file
     private String status;         // Import status (e.g., successful, failed)
+    private Long replacesId;       // Import whose sessions this one replaces, null for a fresh import
 
     // List of errors encountered during import
     private List<String> errors;
 
     private LocalDateTime importDate;  // Date and time of import
+
+    private int rowsParsed;            // Data rows read so far
+    private int rowsInserted;          // Sessions saved
+    private int rowsUpdated;           // Sessions of the replaced import changed in place
+    private int rowsUnchanged;         // Rows identical to a session of the replaced import
+    private int rowsRejected;          // Rows skipped, see errors
+    private int rowsConflicting;       // Saved sessions that conflict with another one
+    private int rowsDeleted;           // Sessions of the replaced import no longer in the file
+    private int rowsPendingDeletion;   // Sessions no longer in the file but kept because rows were rejected
+    private LocalDateTime completedAt; // End of the import, null while it runs
 }
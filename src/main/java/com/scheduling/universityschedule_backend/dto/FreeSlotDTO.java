@@ -0,0 +1,20 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class FreeSlotDTO {
+    private String date;            // Date of the window (YYYY-MM-DD)
+    private String jour;            // Day of week
+    private String heureDebut;      // Start time (HH:mm)
+    private String heureFin;        // End time (HH:mm)
+    private List<Long> salleIds;    // Rooms free for the whole window, ordered by identifier
+}
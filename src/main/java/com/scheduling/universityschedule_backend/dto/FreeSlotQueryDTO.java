@@ -0,0 +1,24 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class FreeSlotQueryDTO {
+    private List<Long> tpIds;       // TPs attending the session
+    private List<Long> tdIds;       // TDs attending the session
+    private List<Long> brancheIds;  // Branches attending the session
+    private Integer duration;       // Session length in minutes
+    private String startDate;       // First date searched (YYYY-MM-DD)
+    private String endDate;         // Last date searched (YYYY-MM-DD)
+    private Integer minCapacity;    // Minimum room capacity (optional)
+    private String type;            // Room type (optional)
+    private Integer limit;          // Maximum number of windows (default 20)
+}
@@ -20,4 +20,7 @@ public class NotificationDTO {
 
     // ID of the sender (Personne or system)
     private Long expediteurId;
+
+    // DIRECT, or the audience (ALL, ROLE, BRANCHE, TD, TP) of a group notification
+    private String scope;
 }
@@ -0,0 +1,25 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class NotificationDispatchDTO {
+    private Long id;                    // Identifier to poll the dispatch
+    private String status;              // PENDING, RUNNING, DONE or FAILED
+    private String target;              // ALL, TEACHERS, STUDENTS or GROUPS
+    private String type;                // Type given to the notifications
+    private Long sent;                  // Notifications inserted so far
+    private Long total;                 // Recipients, once a worker has counted them
+    private Integer attempts;           // Failed attempts so far
+    private String lastError;           // Reason of the last failed attempt
+    private LocalDateTime createdAt;    // When the send was queued
+    private LocalDateTime completedAt;  // When the last recipient was notified
+}
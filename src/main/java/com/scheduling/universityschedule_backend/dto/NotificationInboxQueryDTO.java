@@ -0,0 +1,17 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class NotificationInboxQueryDTO {
+    private String cursor;          // nextCursor of the previous page (omit for the newest page)
+    private Integer limit;          // Page size (default 20, at most 100)
+    private String type;            // Notification type (optional)
+    private Boolean read;           // true = read only, false = unread only (optional)
+}
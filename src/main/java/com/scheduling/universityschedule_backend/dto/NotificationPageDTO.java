@@ -0,0 +1,21 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * One page of a user's inbox, newest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class NotificationPageDTO {
+    private List<NotificationDTO> notifications;   // Direct and audience notifications of the page
+    private String nextCursor;                     // Cursor of the following page, null on the last page
+    private boolean hasMore;                       // Whether older notifications remain
+}
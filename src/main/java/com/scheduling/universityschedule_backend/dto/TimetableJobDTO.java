@@ -0,0 +1,24 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TimetableJobDTO {
+    private String jobId;              // Identifier to poll or cancel the job
+    private String status;             // QUEUED, RUNNING, COMPLETED, CANCELLED or FAILED
+    private Long elapsedMillis;        // Time spent searching so far
+    private Long iterations;           // Moves evaluated so far
+    private Long bestCost;             // Cost of the best solution so far (-1 before the first one)
+    private Integer hardViolations;    // Room, teacher and group clashes left in the result
+    private Integer softViolations;    // Tolerated bi-weekly/catch-up overlaps left in the result
+    private List<SeanceDTO> seances;   // Generated sessions; re-placed ones keep their id
+    private String message;            // Failure reason, if any
+}
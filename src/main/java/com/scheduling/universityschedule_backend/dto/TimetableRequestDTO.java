@@ -0,0 +1,23 @@
+package com.scheduling.universityschedule_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TimetableRequestDTO {
+    private List<CourseRequirementDTO> courses; // New courses to place
+    private List<Long> seanceIds;               // Existing sessions to re-place, seeded with their current slot
+    private List<String> days;                  // Days to use (default MONDAY to SATURDAY)
+    private String dayStart;                    // Earliest start (HH:mm, default 08:00)
+    private String dayEnd;                      // Latest end (HH:mm, default 18:00)
+    private Integer granularity;                // Minutes between two start times (default 30)
+    private Integer timeLimitSeconds;           // Search budget (default 30, capped by configuration)
+    private Long seed;                          // Random seed, for reproducible runs
+}
@@ -0,0 +1,109 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of TP ordinals (see {@link TpOrdinals}) packed into a long[].
+ * Two audiences share a student group when one word-wise AND is non-zero, which replaces
+ * the per-pair expansion of the repository queries for in-memory checks.
+ */
+public final class AudienceBitset {
+
+    public static final AudienceBitset EMPTY = new AudienceBitset(new long[0]);
+
+    private final long[] words;
+
+    private AudienceBitset(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Encodes TP ids, assigning ordinals to TPs not seen yet.
+     */
+    public static AudienceBitset of(long[] tpIds, TpOrdinals ordinals) {
+        if (tpIds == null || tpIds.length == 0) {
+            return EMPTY;
+        }
+        long[] words = new long[0];
+        for (long tpId : tpIds) {
+            int ordinal = ordinals.ordinalOf(tpId);
+            int word = ordinal >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            words[word] |= 1L << ordinal;
+        }
+        return new AudienceBitset(trim(words));
+    }
+
+    public boolean intersects(AudienceBitset other) {
+        long[] a = words;
+        long[] b = other.words;
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(int ordinal) {
+        int word = ordinal >>> 6;
+        return word < words.length && (words[word] & (1L << ordinal)) != 0;
+    }
+
+    public AudienceBitset or(AudienceBitset other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new AudienceBitset(result);
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Visits every ordinal in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static long[] trim(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return length == words.length ? words : Arrays.copyOf(words, length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof AudienceBitset other && Arrays.equals(words, other.words));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
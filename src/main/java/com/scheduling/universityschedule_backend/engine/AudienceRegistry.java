@@ -0,0 +1,109 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Holds the current group hierarchy and encodes audiences against the shared TP ordinals.
+ * Entry point for every in-memory audience test (conflicts, room availability, notification targeting):
+ * two audiences overlap when their bitsets intersect.
+ * <p>
+ * The hierarchy is invalidated by SeanceAudienceService once a group change has committed, and reloaded
+ * lazily in a transaction of its own, so it only ever reflects committed groups.
+ */
+@Component
+public class AudienceRegistry {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final SeanceSlotLoader seanceSlotLoader;
+    private final TpOrdinals tpOrdinals;
+
+    private volatile GroupHierarchy hierarchy;
+    private final TransactionTemplate committedRead;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public AudienceRegistry(SeanceSlotLoader seanceSlotLoader, TpOrdinals tpOrdinals,
+                            PlatformTransactionManager transactionManager) {
+        this.seanceSlotLoader = seanceSlotLoader;
+        this.tpOrdinals = tpOrdinals;
+        this.committedRead = new TransactionTemplate(transactionManager);
+        this.committedRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.committedRead.setReadOnly(true);
+    }
+
+    public GroupHierarchy hierarchy() {
+        GroupHierarchy current = hierarchy;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = hierarchy;
+            if (current != null) {
+                return current;
+            }
+            // Not the caller's transaction: it may hold uncommitted group changes or an older snapshot
+            hierarchy = committedRead.execute(status -> seanceSlotLoader.loadHierarchy());
+            return hierarchy;
+        }
+    }
+
+    /**
+     * Drops the hierarchy; call only once the group change has committed. Waits for a load in progress,
+     * which may have read the groups before the commit.
+     */
+    public synchronized void invalidate() {
+        hierarchy = null;
+    }
+
+    /**
+     * Effective audience of declared groups, with the seance_audience expansion rules.
+     */
+    public AudienceBitset audienceOf(Collection<Long> tpIds, Collection<Long> tdIds, Collection<Long> brancheIds) {
+        return hierarchy().resolveAudienceBits(toArray(tpIds), toArray(tdIds), toArray(brancheIds));
+    }
+
+    /**
+     * Audience made of a single TP, e.g. the group of one student.
+     */
+    public AudienceBitset audienceOfTp(Long tpId) {
+        return tpId == null ? AudienceBitset.EMPTY : AudienceBitset.of(new long[]{tpId}, tpOrdinals);
+    }
+
+    /**
+     * Detached slot for a seance described outside the database, e.g. a proposed change.
+     */
+    public SeanceSlot slotOf(Long id, DayOfWeek jour, LocalTime heureDebut, LocalTime heureFin,
+                             FrequenceType frequence, LocalDate date, Long salleId, Long enseignantId,
+                             Collection<Long> tpIds, Collection<Long> tdIds, Collection<Long> brancheIds) {
+        GroupHierarchy current = hierarchy();
+        long[] tps = toArray(tpIds);
+        long[] tds = toArray(tdIds);
+        long[] branches = toArray(brancheIds);
+        long[] audience = current.resolveAudience(tps, tds, branches);
+        return new SeanceSlot(id, jour, heureDebut, heureFin, frequence, date, salleId, enseignantId,
+                tps, tds, branches, audience, current.encode(audience));
+    }
+
+    public TpOrdinals ordinals() {
+        return tpOrdinals;
+    }
+
+    private static long[] toArray(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return EMPTY;
+        }
+        return ids.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria of a conflict report page. Every criterion is optional; a pair matches when it
+ * satisfies all of the given ones. Room, teacher and branch criteria match when either
+ * seance of the pair matches, the branch one through the effective audience.
+ */
+public final class ConflictFilter {
+
+    public static final ConflictFilter NONE = new ConflictFilter(null, null, null, null, null);
+
+    private final String type;
+    private final DayOfWeek jour;
+    private final Long salleId;
+    private final Long enseignantId;
+    private final AudienceBitset brancheAudience;
+
+    public ConflictFilter(String type, DayOfWeek jour, Long salleId, Long enseignantId,
+                          AudienceBitset brancheAudience) {
+        this.type = type;
+        this.jour = jour;
+        this.salleId = salleId;
+        this.enseignantId = enseignantId;
+        this.brancheAudience = brancheAudience;
+    }
+
+    /**
+     * Resolves a conflict type given either as its label ("Teacher Conflict")
+     * or as its constant name ("TEACHER"), ignoring case.
+     *
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    public static String parseType(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_');
+        return switch (normalized) {
+            case "ROOM", "ROOM_CONFLICT" -> ConflictRules.ROOM;
+            case "TEACHER", "TEACHER_CONFLICT" -> ConflictRules.TEACHER;
+            case "STUDENT_GROUP", "STUDENT_GROUP_CONFLICT" -> ConflictRules.STUDENT_GROUP;
+            case "BI_WEEKLY", "BI_WEEKLY_CONFLICT" -> ConflictRules.BI_WEEKLY;
+            case "CATCH_UP", "CATCH_UP_EXCEPTION" -> ConflictRules.CATCH_UP_EXCEPTION;
+            default -> throw new IllegalArgumentException("Unknown conflict type: " + value);
+        };
+    }
+
+    public boolean matches(SeanceSlot first, SeanceSlot second, List<String> types) {
+        if (type != null && !types.contains(type)) {
+            return false;
+        }
+        if (jour != null && jour != first.getJour()) {
+            return false;
+        }
+        if (salleId != null && !salleId.equals(first.getSalleId()) && !salleId.equals(second.getSalleId())) {
+            return false;
+        }
+        if (enseignantId != null && !enseignantId.equals(first.getEnseignantId())
+                && !enseignantId.equals(second.getEnseignantId())) {
+            return false;
+        }
+        return brancheAudience == null
+                || first.getAudienceBits().intersects(brancheAudience)
+                || second.getAudienceBits().intersects(brancheAudience);
+    }
+}
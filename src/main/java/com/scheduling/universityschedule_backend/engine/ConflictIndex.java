@@ -0,0 +1,242 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Mutable conflict index of a week of seances.
+ * Seances are partitioned by day, then indexed in one interval tree per room, per teacher
+ * and per effective TP. Finding the neighbours of a seance only walks the trees of its own
+ * keys, so a full scan costs O(n log n + k) instead of the quadratic self-join.
+ * <p>
+ * Not thread-safe for writes: callers either own the instance or guard it. Concurrent reads
+ * of an index that is no longer modified are safe.
+ */
+public class ConflictIndex {
+
+    /**
+     * Receives one conflicting pair, ordered by ascending seance id.
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(SeanceSlot first, SeanceSlot second, List<String> conflictTypes);
+    }
+
+    private static final class DayBucket {
+        final TreeMap<Long, SeanceSlot> slots = new TreeMap<>();
+        final Map<Long, IntervalTree<SeanceSlot>> rooms = new HashMap<>();
+        final Map<Long, IntervalTree<SeanceSlot>> teachers = new HashMap<>();
+        final Map<Long, IntervalTree<SeanceSlot>> groups = new HashMap<>();
+    }
+
+    private final Map<Long, SeanceSlot> slots = new HashMap<>();
+    private final EnumMap<DayOfWeek, DayBucket> days = new EnumMap<>(DayOfWeek.class);
+
+    public static ConflictIndex of(Collection<SeanceSlot> slots) {
+        ConflictIndex index = new ConflictIndex();
+        slots.forEach(index::add);
+        return index;
+    }
+
+    /**
+     * Adds a slot, replacing any previous version with the same id.
+     */
+    public void add(SeanceSlot slot) {
+        remove(slot.getId());
+        slots.put(slot.getId(), slot);
+        if (!slot.isSchedulable()) {
+            return;
+        }
+        DayBucket bucket = days.computeIfAbsent(slot.getJour(), d -> new DayBucket());
+        bucket.slots.put(slot.getId(), slot);
+        if (slot.getSalleId() != null) {
+            insert(bucket.rooms, slot.getSalleId(), slot);
+        }
+        if (slot.getEnseignantId() != null) {
+            insert(bucket.teachers, slot.getEnseignantId(), slot);
+        }
+        for (long tp : slot.getAudience()) {
+            insert(bucket.groups, tp, slot);
+        }
+    }
+
+    /**
+     * Removes a slot by id.
+     * @return the removed slot, or null if it was not indexed
+     */
+    public SeanceSlot remove(Long id) {
+        SeanceSlot slot = slots.remove(id);
+        if (slot == null || !slot.isSchedulable()) {
+            return slot;
+        }
+        DayBucket bucket = days.get(slot.getJour());
+        bucket.slots.remove(id);
+        if (slot.getSalleId() != null) {
+            delete(bucket.rooms, slot.getSalleId(), slot);
+        }
+        if (slot.getEnseignantId() != null) {
+            delete(bucket.teachers, slot.getEnseignantId(), slot);
+        }
+        for (long tp : slot.getAudience()) {
+            delete(bucket.groups, tp, slot);
+        }
+        return slot;
+    }
+
+    public SeanceSlot get(Long id) {
+        return slots.get(id);
+    }
+
+    public Collection<SeanceSlot> slots() {
+        return Collections.unmodifiableCollection(slots.values());
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Visits every distinct indexed seance that overlaps the given one in time and shares
+     * its room, its teacher or one of its TPs. The slot itself (same id) is skipped.
+     */
+    public void forEachNeighbour(SeanceSlot slot, Consumer<SeanceSlot> action) {
+        if (!slot.isSchedulable()) {
+            return;
+        }
+        DayBucket bucket = days.get(slot.getJour());
+        if (bucket == null) {
+            return;
+        }
+        Set<Long> seen = new HashSet<>();
+        seen.add(slot.getId());
+        Consumer<SeanceSlot> distinct = other -> {
+            if (seen.add(other.getId())) {
+                action.accept(other);
+            }
+        };
+        query(bucket.rooms, slot.getSalleId(), slot, distinct);
+        query(bucket.teachers, slot.getEnseignantId(), slot, distinct);
+        for (long tp : slot.getAudience()) {
+            query(bucket.groups, tp, slot, distinct);
+        }
+    }
+
+    /**
+     * Visits every indexed seance conflicting with the given one, with its conflict labels.
+     * The slot does not need to be part of the index.
+     */
+    public void forEachConflict(SeanceSlot slot, BiConsumer<SeanceSlot, List<String>> action) {
+        forEachNeighbour(slot, other -> {
+            List<String> types = ConflictRules.evaluate(slot, other);
+            if (!types.isEmpty()) {
+                action.accept(other, types);
+            }
+        });
+    }
+
+    /**
+     * Visits every conflicting pair of the week, day by day, ordered by ascending first id.
+     */
+    public void forEachConflictPair(PairConsumer consumer) {
+        for (DayOfWeek day : days.keySet()) {
+            forEachConflictPair(day, consumer);
+        }
+    }
+
+    /**
+     * Visits every conflicting pair of one day; each pair is reported once.
+     */
+    public void forEachConflictPair(DayOfWeek day, PairConsumer consumer) {
+        DayBucket bucket = days.get(day);
+        if (bucket == null) {
+            return;
+        }
+        for (SeanceSlot slot : bucket.slots.values()) {
+            forEachConflictPairFrom(slot, consumer);
+        }
+    }
+
+    /**
+     * Visits the conflicting pairs whose first seance is the given one, i.e. only neighbours
+     * with a greater id. Partitioning a day's slots and calling this on each part reports
+     * every pair exactly once, so parts can be processed concurrently on an unchanged index.
+     */
+    public void forEachConflictPairFrom(SeanceSlot slot, PairConsumer consumer) {
+        forEachNeighbour(slot, other -> {
+            if (other.getId() > slot.getId()) {
+                List<String> types = ConflictRules.evaluate(slot, other);
+                if (!types.isEmpty()) {
+                    consumer.accept(slot, other, types);
+                }
+            }
+        });
+    }
+
+    /**
+     * Schedulable seances of one day, ordered by id.
+     */
+    public List<SeanceSlot> slotsOf(DayOfWeek day) {
+        DayBucket bucket = days.get(day);
+        return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket.slots.values());
+    }
+
+    /**
+     * Visits every pair that findConflictingByRooms would report.
+     */
+    public void forEachRoomConflictPair(PairConsumer consumer) {
+        List<String> roomOnly = List.of(ConflictRules.ROOM);
+        for (DayBucket bucket : days.values()) {
+            for (SeanceSlot slot : bucket.slots.values()) {
+                query(bucket.rooms, slot.getSalleId(), slot, other -> {
+                    if (other.getId() > slot.getId() && ConflictRules.isRoomConflict(slot, other)) {
+                        consumer.accept(slot, other, roomOnly);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Days that currently hold at least one schedulable seance.
+     */
+    public Set<DayOfWeek> days() {
+        return Collections.unmodifiableSet(days.keySet());
+    }
+
+    private static void insert(Map<Long, IntervalTree<SeanceSlot>> trees, Long key, SeanceSlot slot) {
+        trees.computeIfAbsent(key, k -> new IntervalTree<>())
+                .insert(slot.getDebut(), slot.getFin(), slot.getId(), slot);
+    }
+
+    private static void delete(Map<Long, IntervalTree<SeanceSlot>> trees, Long key, SeanceSlot slot) {
+        IntervalTree<SeanceSlot> tree = trees.get(key);
+        if (tree != null) {
+            tree.remove(slot.getDebut(), slot.getId());
+            if (tree.isEmpty()) {
+                trees.remove(key);
+            }
+        }
+    }
+
+    private static void query(Map<Long, IntervalTree<SeanceSlot>> trees, Long key, SeanceSlot slot,
+                              Consumer<SeanceSlot> action) {
+        if (key == null) {
+            return;
+        }
+        IntervalTree<SeanceSlot> tree = trees.get(key);
+        if (tree != null) {
+            tree.forEachOverlapping(slot.getDebut(), slot.getFin(), action);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.util.Objects;
+
+/**
+ * Ordered pair of seance ids (first &lt; second) identifying one conflict.
+ * Sorted by first id, then second id, which is also the keyset pagination order.
+ */
+public final class ConflictKey implements Comparable<ConflictKey> {
+
+    private final long first;
+    private final long second;
+
+    public ConflictKey(long a, long b) {
+        this.first = Math.min(a, b);
+        this.second = Math.max(a, b);
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getSecond() {
+        return second;
+    }
+
+    public boolean involves(long id) {
+        return first == id || second == id;
+    }
+
+    public long other(long id) {
+        return first == id ? second : first;
+    }
+
+    @Override
+    public int compareTo(ConflictKey o) {
+        int c = Long.compare(first, o.first);
+        return c != 0 ? c : Long.compare(second, o.second);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConflictKey other)) {
+            return false;
+        }
+        return first == other.first && second == other.second;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(first, second);
+    }
+
+    @Override
+    public String toString() {
+        return first + "-" + second;
+    }
+}
@@ -0,0 +1,85 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pairwise conflict rules shared by every in-memory conflict path.
+ * Mirrors the CASE expressions of SeanceRepository so both paths report the same labels.
+ */
+public final class ConflictRules {
+
+    public static final String ROOM = "Room Conflict";
+    public static final String TEACHER = "Teacher Conflict";
+    public static final String STUDENT_GROUP = "Student Group Conflict";
+    public static final String BI_WEEKLY = "Bi-Weekly Conflict";
+    public static final String CATCH_UP_EXCEPTION = "Catch-Up Exception";
+
+    private ConflictRules() {
+    }
+
+    /**
+     * Evaluates a pair as findConflictingSeancePairs does: two overlapping seances conflict
+     * when they share a room, a teacher or a student group; frequency labels are appended.
+     *
+     * @return conflict labels, or an empty list when the pair does not conflict
+     */
+    public static List<String> evaluate(SeanceSlot a, SeanceSlot b) {
+        if (!a.overlaps(b)) {
+            return Collections.emptyList();
+        }
+        boolean room = sameRoom(a, b);
+        boolean teacher = a.getEnseignantId() != null && a.getEnseignantId().equals(b.getEnseignantId());
+        boolean group = a.sharesAudienceWith(b);
+        if (!room && !teacher && !group) {
+            return Collections.emptyList();
+        }
+        List<String> types = new ArrayList<>(4);
+        if (room) {
+            types.add(ROOM);
+        }
+        if (teacher) {
+            types.add(TEACHER);
+        }
+        if (group) {
+            types.add(STUDENT_GROUP);
+        }
+        if (a.getFrequence() == FrequenceType.BIWEEKLY && b.getFrequence() == FrequenceType.BIWEEKLY) {
+            types.add(BI_WEEKLY);
+        }
+        if (isCatchUpAgainstBiWeekly(a, b)) {
+            types.add(CATCH_UP_EXCEPTION);
+        }
+        return types;
+    }
+
+    /**
+     * Evaluates a pair as findConflictingByRooms does: same room and overlapping, except
+     * alternating bi-weekly seances, catch-ups on different dates and catch-up/bi-weekly pairs.
+     */
+    public static boolean isRoomConflict(SeanceSlot a, SeanceSlot b) {
+        if (!a.overlaps(b) || !sameRoom(a, b)) {
+            return false;
+        }
+        if (a.getFrequence() == FrequenceType.BIWEEKLY && b.getFrequence() == FrequenceType.BIWEEKLY) {
+            return false;
+        }
+        if (a.getFrequence() == FrequenceType.CATCHUP && b.getFrequence() == FrequenceType.CATCHUP
+                && (a.getDate() == null || !a.getDate().equals(b.getDate()))) {
+            return false;
+        }
+        return !isCatchUpAgainstBiWeekly(a, b);
+    }
+
+    private static boolean sameRoom(SeanceSlot a, SeanceSlot b) {
+        return a.getSalleId() != null && a.getSalleId().equals(b.getSalleId());
+    }
+
+    private static boolean isCatchUpAgainstBiWeekly(SeanceSlot a, SeanceSlot b) {
+        return (a.getFrequence() == FrequenceType.CATCHUP && b.getFrequence() == FrequenceType.BIWEEKLY)
+                || (a.getFrequence() == FrequenceType.BIWEEKLY && b.getFrequence() == FrequenceType.CATCHUP);
+    }
+}
@@ -0,0 +1,84 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Applies a batch of seance changes to a private copy of the affected days and reports
+ * how the conflict set would move. Conflicts never cross days, so the copy only needs
+ * the days touched by the batch; the live index is never modified.
+ */
+public final class ConflictSandbox {
+
+    private final ConflictIndex index;
+
+    /**
+     * Conflicts touching a changed seance, before and after the batch
+     */
+    private final Map<ConflictKey, List<String>> before = new TreeMap<>();
+    private final Map<ConflictKey, List<String>> after = new TreeMap<>();
+
+    /**
+     * @param base current slots of every day touched by the batch
+     */
+    public ConflictSandbox(Collection<SeanceSlot> base) {
+        this.index = ConflictIndex.of(base);
+    }
+
+    /**
+     * Applies the batch: a null value deletes the seance, any other value creates or replaces it.
+     * Can only be called once per sandbox.
+     */
+    public ConflictSandbox apply(Map<Long, SeanceSlot> changes) {
+        for (Long id : changes.keySet()) {
+            collect(index.get(id), before);
+        }
+        changes.forEach((id, slot) -> {
+            index.remove(id);
+            if (slot != null) {
+                index.add(slot);
+            }
+        });
+        for (SeanceSlot slot : changes.values()) {
+            collect(slot, after);
+        }
+        return this;
+    }
+
+    /**
+     * Conflicts that exist after the batch but not before, or whose labels changed.
+     */
+    public Map<ConflictKey, List<String>> introduced() {
+        return difference(after, before);
+    }
+
+    /**
+     * Conflicts that existed before the batch but not after, or whose labels changed.
+     */
+    public Map<ConflictKey, List<String>> resolved() {
+        return difference(before, after);
+    }
+
+    private void collect(SeanceSlot slot, Map<ConflictKey, List<String>> target) {
+        if (slot == null) {
+            return;
+        }
+        // Pairs between two changed seances are seen from both sides; the key collapses them
+        index.forEachConflict(slot, (other, types) ->
+                target.put(new ConflictKey(slot.getId(), other.getId()), types));
+    }
+
+    private static Map<ConflictKey, List<String>> difference(Map<ConflictKey, List<String>> from,
+                                                             Map<ConflictKey, List<String>> minus) {
+        Map<ConflictKey, List<String>> result = new TreeMap<>();
+        from.forEach((key, types) -> {
+            if (!Objects.equals(types, minus.get(key))) {
+                result.put(key, types);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,374 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.dto.SeanceConflictDTO;
+import com.scheduling.universityschedule_backend.dto.SeanceRoomConflictDTO;
+import com.scheduling.universityschedule_backend.dto.SingleSeanceConflictDTO;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Conflict set maintained incrementally.
+ * The week is loaded once into a {@link ConflictIndex}; afterwards every committed
+ * {@link SeanceChangedEvent} only removes the pairs of the changed seances, reloads them and
+ * re-evaluates their overlapping neighbours. Readers get a cached immutable list that is
+ * rebuilt only when the version has moved.
+ */
+@Component
+public class ConflictStore {
+
+    private final SeanceSlotLoader seanceSlotLoader;
+    private final AudienceRegistry audienceRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentSkipListMap<ConflictKey, List<String>> conflicts = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<ConflictKey, String> roomConflicts = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<Long>> partners = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private ConflictIndex index = new ConflictIndex();
+    private volatile boolean stale = true;
+
+    private volatile Snapshot snapshot = new Snapshot(-1, Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * Immutable views of the conflict set at a given version.
+     */
+    private record Snapshot(long version, List<SeanceConflictDTO> all, List<SeanceRoomConflictDTO> rooms) {
+    }
+
+    /**
+     * Labels of one pair in both conflict maps, to tell whether an update changed anything.
+     */
+    private record PairState(List<String> types, boolean room) {
+    }
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public ConflictStore(SeanceSlotLoader seanceSlotLoader, AudienceRegistry audienceRegistry) {
+        this.seanceSlotLoader = seanceSlotLoader;
+        this.audienceRegistry = audienceRegistry;
+    }
+
+    // ============================
+    //    Reads
+    // ============================
+
+    public List<SeanceConflictDTO> getAllConflicts() {
+        return currentSnapshot().all();
+    }
+
+    public List<SeanceRoomConflictDTO> getRoomConflicts() {
+        return currentSnapshot().rooms();
+    }
+
+    /**
+     * Conflicts of one seance, or null when the seance is unknown.
+     */
+    public List<SingleSeanceConflictDTO> getConflictsForSeance(Long seanceId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            if (index.get(seanceId) == null) {
+                return null;
+            }
+            Set<Long> others = partners.getOrDefault(seanceId, Collections.emptySet());
+            List<SingleSeanceConflictDTO> result = new ArrayList<>(others.size());
+            for (Long other : others) {
+                List<String> types = conflicts.get(new ConflictKey(seanceId, other));
+                if (types != null) {
+                    result.add(new SingleSeanceConflictDTO(other, types));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hands every conflict to the sink in (seance1Id, seance2Id) order without copying the set.
+     * The walk is weakly consistent and takes no lock, so a slow sink never blocks updates.
+     */
+    public void forEachConflict(Consumer<SeanceConflictDTO> sink) {
+        ensureLoaded();
+        conflicts.forEach((key, types) ->
+                sink.accept(new SeanceConflictDTO(key.getFirst(), key.getSecond(), types)));
+    }
+
+    /**
+     * Keyset page of the conflict set: up to {@code limit} matching conflicts strictly after
+     * the given pair, in (seance1Id, seance2Id) order. A null cursor starts from the beginning.
+     */
+    public List<SeanceConflictDTO> page(Long afterFirst, Long afterSecond, int limit, ConflictFilter filter) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<ConflictKey, List<String>> tail = afterFirst == null || afterSecond == null
+                    ? conflicts
+                    : conflicts.tailMap(new ConflictKey(afterFirst, afterSecond), false);
+            List<SeanceConflictDTO> result = new ArrayList<>(Math.min(limit, 256));
+            for (Map.Entry<ConflictKey, List<String>> entry : tail.entrySet()) {
+                ConflictKey key = entry.getKey();
+                SeanceSlot first = index.get(key.getFirst());
+                SeanceSlot second = index.get(key.getSecond());
+                if (first == null || second == null || !filter.matches(first, second, entry.getValue())) {
+                    continue;
+                }
+                result.add(new SeanceConflictDTO(key.getFirst(), key.getSecond(), entry.getValue()));
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Current slot of a seance, or null when the seance is unknown.
+     */
+    public SeanceSlot getSlot(Long seanceId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return index.get(seanceId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Schedulable slots of the given days. Slots are immutable, so callers can index them
+     * on their own, e.g. in a {@link ConflictSandbox}.
+     */
+    public List<SeanceSlot> slotsOf(Collection<DayOfWeek> days) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<SeanceSlot> result = new ArrayList<>();
+            for (DayOfWeek day : days) {
+                result.addAll(index.slotsOf(day));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Monotonic counter bumped on every reload and on every update that adds, removes or relabels
+     * a conflict; cheap to poll.
+     */
+    public long getVersion() {
+        ensureLoaded();
+        return version.get();
+    }
+
+    public int size() {
+        ensureLoaded();
+        return conflicts.size();
+    }
+
+    // ============================
+    //    Maintenance
+    // ============================
+
+    /**
+     * Applies committed seance changes. Runs in its own read-only transaction since the
+     * publishing one is already committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSeanceChanged(SeanceChangedEvent event) {
+        try {
+            if (event.isFullReload()) {
+                reload();
+            } else {
+                apply(event.getSeanceIds());
+            }
+        } catch (Exception e) {
+            // A failed delta leaves the store unreliable: drop it and rebuild on next read
+            CustomLogger.logError("Conflict store update failed, scheduling full reload", e);
+            invalidate();
+        }
+    }
+
+    /**
+     * Rebuilds the whole store from the database.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            index = ConflictIndex.of(seanceSlotLoader.loadAll(audienceRegistry.hierarchy()));
+            conflicts.clear();
+            roomConflicts.clear();
+            partners.clear();
+            for (SeanceSlot slot : index.slots()) {
+                index.forEachNeighbour(slot, other -> {
+                    if (other.getId() > slot.getId()) {
+                        link(slot, other);
+                    }
+                });
+            }
+            stale = false;
+            version.incrementAndGet();
+            CustomLogger.logInfo("Conflict store loaded: " + conflicts.size() + " conflicts among "
+                    + index.size() + " sessions in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the store as stale; the next read reloads it.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    private void apply(Collection<Long> seanceIds) {
+        if (seanceIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) {
+                // Not loaded yet: the next read reloads the committed state
+                return;
+            }
+            Map<ConflictKey, PairState> before = pairsOf(seanceIds);
+            for (Long id : seanceIds) {
+                unlinkAll(id);
+                index.remove(id);
+            }
+            List<SeanceSlot> reloaded = seanceSlotLoader.loadByIds(seanceIds, audienceRegistry.hierarchy());
+            reloaded.forEach(index::add);
+            Set<Long> done = new HashSet<>();
+            for (SeanceSlot slot : reloaded) {
+                index.forEachNeighbour(slot, other -> {
+                    // Pairs between two changed seances are evaluated once
+                    if (!done.contains(other.getId())) {
+                        link(slot, other);
+                    }
+                });
+                done.add(slot.getId());
+            }
+            if (!pairsOf(seanceIds).equals(before)) {
+                version.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(SeanceSlot a, SeanceSlot b) {
+        ConflictKey key = new ConflictKey(a.getId(), b.getId());
+        SeanceSlot first = a.getId() < b.getId() ? a : b;
+        SeanceSlot second = first == a ? b : a;
+        List<String> types = ConflictRules.evaluate(first, second);
+        boolean room = ConflictRules.isRoomConflict(first, second);
+        if (types.isEmpty() && !room) {
+            return;
+        }
+        if (!types.isEmpty()) {
+            conflicts.put(key, List.copyOf(types));
+        }
+        if (room) {
+            roomConflicts.put(key, ConflictRules.ROOM);
+        }
+        partners.computeIfAbsent(a.getId(), k -> new HashSet<>()).add(b.getId());
+        partners.computeIfAbsent(b.getId(), k -> new HashSet<>()).add(a.getId());
+    }
+
+    private void unlinkAll(Long id) {
+        Set<Long> others = partners.remove(id);
+        if (others == null) {
+            return;
+        }
+        for (Long other : others) {
+            ConflictKey key = new ConflictKey(id, other);
+            conflicts.remove(key);
+            roomConflicts.remove(key);
+            Set<Long> back = partners.get(other);
+            if (back != null) {
+                back.remove(id);
+                if (back.isEmpty()) {
+                    partners.remove(other);
+                }
+            }
+        }
+    }
+
+    /**
+     * Current pairs involving one of the given seances
+     */
+    private Map<ConflictKey, PairState> pairsOf(Collection<Long> seanceIds) {
+        Map<ConflictKey, PairState> pairs = new HashMap<>();
+        for (Long id : seanceIds) {
+            for (Long other : partners.getOrDefault(id, Collections.emptySet())) {
+                ConflictKey key = new ConflictKey(id, other);
+                pairs.put(key, new PairState(conflicts.get(key), roomConflicts.containsKey(key)));
+            }
+        }
+        return pairs;
+    }
+
+    private void ensureLoaded() {
+        if (!stale) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) {
+                reload();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        ensureLoaded();
+        Snapshot current = snapshot;
+        if (current.version() == version.get()) {
+            return current;
+        }
+        lock.readLock().lock();
+        try {
+            List<SeanceConflictDTO> all = new ArrayList<>(conflicts.size());
+            conflicts.forEach((key, types) ->
+                    all.add(new SeanceConflictDTO(key.getFirst(), key.getSecond(), types)));
+            List<SeanceRoomConflictDTO> rooms = new ArrayList<>(roomConflicts.size());
+            roomConflicts.forEach((key, type) ->
+                    rooms.add(new SeanceRoomConflictDTO(key.getFirst(), key.getSecond(), type)));
+            current = new Snapshot(version.get(), Collections.unmodifiableList(all),
+                    Collections.unmodifiableList(rooms));
+            snapshot = current;
+            return current;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
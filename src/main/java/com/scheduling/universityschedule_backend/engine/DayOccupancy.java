@@ -0,0 +1,163 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of one resource (a room, a teacher, a TP) on one day, as bitmaps of 15-minute slots.
+ * <p>
+ * Weekly seances fill the weekly layer. Seances do not store their week parity, and the conflict
+ * rules assume two bi-weekly seances alternate, so bi-weekly seances fill week A first and week B
+ * when A is taken, in id order. Catch-up seances fill a layer per date. A seance added after every
+ * held id only sets its own bits, so loading in id order stays linear; any other change rebuilds the
+ * bitmaps from the seance list, so overlapping seances never clear each other's bits.
+ */
+final class DayOccupancy {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS + 63) / 64;
+
+    private final List<SeanceSlot> seances = new ArrayList<>();
+
+    private long[] weekly = new long[WORDS];
+    private long[] weekA = new long[WORDS];
+    private long[] weekB = new long[WORDS];
+    private long[] catchUps = new long[WORDS];
+    private Map<LocalDate, long[]> dated = new HashMap<>();
+
+    void add(SeanceSlot slot) {
+        if (seances.isEmpty() || seances.get(seances.size() - 1).getId() < slot.getId()) {
+            // Last in id order: the earlier seances keep their week, as a rebuild would give them
+            seances.add(slot);
+            place(slot, weekly, weekA, weekB, catchUps, dated);
+            return;
+        }
+        seances.add(slot);
+        rebuild();
+    }
+
+    boolean remove(Long seanceId) {
+        boolean removed = seances.removeIf(slot -> slot.getId().equals(seanceId));
+        if (removed) {
+            rebuild();
+        }
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return seances.isEmpty();
+    }
+
+    /**
+     * Whether a seance of the given frequency fits in the mask, with the room conflict rules:
+     * a weekly slot must be free every week and of every catch-up (of the date, if given);
+     * a bi-weekly slot needs one free week and ignores catch-ups;
+     * a catch-up ignores bi-weekly seances and only clashes with catch-ups of its date.
+     */
+    boolean isFree(long[] mask, FrequenceType frequence, LocalDate date) {
+        if (intersects(weekly, mask)) {
+            return false;
+        }
+        return switch (frequence == null ? FrequenceType.WEEKLY : frequence) {
+            case WEEKLY -> !intersects(weekA, mask) && !intersects(weekB, mask)
+                    && !intersects(date == null ? catchUps : dated.get(date), mask);
+            case BIWEEKLY -> !intersects(weekA, mask) || !intersects(weekB, mask);
+            case CATCHUP -> !intersects(date == null ? catchUps : dated.get(date), mask);
+        };
+    }
+
+    /**
+     * Slots of every seance that may take place on the given date: weekly ones, both bi-weekly
+     * weeks (the parity of a date is unknown) and the catch-ups of that date.
+     */
+    long[] busyOn(LocalDate date) {
+        long[] result = weekly.clone();
+        or(result, weekA);
+        or(result, weekB);
+        or(result, dated.get(date));
+        return result;
+    }
+
+    private void rebuild() {
+        long[] newWeekly = new long[WORDS];
+        long[] newWeekA = new long[WORDS];
+        long[] newWeekB = new long[WORDS];
+        long[] newCatchUps = new long[WORDS];
+        Map<LocalDate, long[]> newDated = new HashMap<>();
+        // Id order keeps the A/B assignment stable across rebuilds
+        seances.sort(Comparator.comparing(SeanceSlot::getId));
+        for (SeanceSlot slot : seances) {
+            place(slot, newWeekly, newWeekA, newWeekB, newCatchUps, newDated);
+        }
+        weekly = newWeekly;
+        weekA = newWeekA;
+        weekB = newWeekB;
+        catchUps = newCatchUps;
+        dated = newDated;
+    }
+
+    private static void place(SeanceSlot slot, long[] weekly, long[] weekA, long[] weekB, long[] catchUps,
+                              Map<LocalDate, long[]> dated) {
+        long[] mask = mask(slot.getDebut(), slot.getFin());
+        switch (slot.getFrequence() == null ? FrequenceType.WEEKLY : slot.getFrequence()) {
+            case WEEKLY -> or(weekly, mask);
+            case BIWEEKLY -> or(intersects(weekA, mask) ? weekB : weekA, mask);
+            case CATCHUP -> {
+                or(catchUps, mask);
+                if (slot.getDate() != null) {
+                    or(dated.computeIfAbsent(slot.getDate(), d -> new long[WORDS]), mask);
+                }
+            }
+        }
+    }
+
+    // ============================
+    //    Bitmap helpers
+    // ============================
+
+    /**
+     * Bits of the 15-minute slots touched by [debut, fin) in minutes since midnight.
+     * Times off the quarter-hour grid widen to the enclosing slots.
+     */
+    static long[] mask(int debut, int fin) {
+        long[] mask = new long[WORDS];
+        int from = Math.max(0, debut / SLOT_MINUTES);
+        int to = Math.min(SLOTS, (fin + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        for (int bit = from; bit < to; bit++) {
+            mask[bit >>> 6] |= 1L << bit;
+        }
+        return mask;
+    }
+
+    static boolean intersects(long[] bits, long[] mask) {
+        if (bits == null) {
+            return false;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            if ((bits[i] & mask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static long[] empty() {
+        return new long[WORDS];
+    }
+
+    static void or(long[] target, long[] bits) {
+        if (bits == null) {
+            return;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            target[i] |= bits[i];
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the Branche → TD → TP hierarchy used to expand a seance's
+ * declared groups into the TPs it actually addresses.
+ * <p>
+ * The expansion follows the rules of the repository conflict queries:
+ * <ul>
+ *     <li>every TP listed directly,</li>
+ *     <li>every TP of a listed TD,</li>
+ *     <li>every TP of a listed Branche, unless the seance also lists a TD of that Branche
+ *     (the TDs then narrow the audience).</li>
+ * </ul>
+ */
+public final class GroupHierarchy {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, long[]> tpsByTd;
+    private final Map<Long, long[]> tdsByBranche;
+    private final Map<Long, Long> brancheByTd;
+    private final Map<Long, Long> tdByTp;
+    private final TpOrdinals ordinals;
+
+    private GroupHierarchy(Map<Long, long[]> tpsByTd, Map<Long, long[]> tdsByBranche,
+                           Map<Long, Long> brancheByTd, Map<Long, Long> tdByTp, TpOrdinals ordinals) {
+        this.tpsByTd = tpsByTd;
+        this.tdsByBranche = tdsByBranche;
+        this.brancheByTd = brancheByTd;
+        this.tdByTp = tdByTp;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Builds the hierarchy from (tpId, tdId) and (tdId, brancheId) rows; parent ids may be null.
+     * Audiences are encoded against the given ordinals so they stay comparable across snapshots.
+     */
+    public static GroupHierarchy of(List<Object[]> tpRows, List<Object[]> tdRows, TpOrdinals ordinals) {
+        Map<Long, Long> tdByTp = new HashMap<>();
+        Map<Long, LongList> tps = new HashMap<>();
+        for (Object[] row : tpRows) {
+            Long tpId = (Long) row[0];
+            Long tdId = (Long) row[1];
+            ordinals.ordinalOf(tpId);
+            if (tdId != null) {
+                tdByTp.put(tpId, tdId);
+                tps.computeIfAbsent(tdId, k -> new LongList()).add(tpId);
+            }
+        }
+        Map<Long, Long> brancheByTd = new HashMap<>();
+        Map<Long, LongList> tds = new HashMap<>();
+        for (Object[] row : tdRows) {
+            Long tdId = (Long) row[0];
+            Long brancheId = (Long) row[1];
+            if (brancheId != null) {
+                brancheByTd.put(tdId, brancheId);
+                tds.computeIfAbsent(brancheId, k -> new LongList()).add(tdId);
+            }
+        }
+        return new GroupHierarchy(freeze(tps), freeze(tds), brancheByTd, tdByTp, ordinals);
+    }
+
+    public static GroupHierarchy empty() {
+        return new GroupHierarchy(Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap(), new TpOrdinals());
+    }
+
+    /**
+     * Expands declared groups into the sorted, distinct set of effective TP ids.
+     */
+    public long[] resolveAudience(long[] tpIds, long[] tdIds, long[] brancheIds) {
+        LongList result = new LongList();
+        if (tpIds != null) {
+            for (long tp : tpIds) {
+                result.add(tp);
+            }
+        }
+        if (tdIds != null) {
+            for (long td : tdIds) {
+                result.addAll(tpsByTd.getOrDefault(td, EMPTY));
+            }
+        }
+        if (brancheIds != null) {
+            for (long branche : brancheIds) {
+                if (narrowedByTd(branche, tdIds)) {
+                    continue;
+                }
+                for (long td : tdsByBranche.getOrDefault(branche, EMPTY)) {
+                    result.addAll(tpsByTd.getOrDefault(td, EMPTY));
+                }
+            }
+        }
+        return result.toSortedDistinctArray();
+    }
+
+    /**
+     * Encodes effective TP ids as a bitset over the shared TP ordinals.
+     */
+    public AudienceBitset encode(long[] audience) {
+        return AudienceBitset.of(audience, ordinals);
+    }
+
+    /**
+     * Expands and encodes declared groups in one step.
+     */
+    public AudienceBitset resolveAudienceBits(long[] tpIds, long[] tdIds, long[] brancheIds) {
+        return encode(resolveAudience(tpIds, tdIds, brancheIds));
+    }
+
+    public TpOrdinals ordinals() {
+        return ordinals;
+    }
+
+    private boolean narrowedByTd(long branche, long[] tdIds) {
+        if (tdIds == null) {
+            return false;
+        }
+        for (long td : tdIds) {
+            Long parent = brancheByTd.get(td);
+            if (parent != null && parent == branche) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long[] tpsOfTd(Long tdId) {
+        return tpsByTd.getOrDefault(tdId, EMPTY);
+    }
+
+    public long[] tdsOfBranche(Long brancheId) {
+        return tdsByBranche.getOrDefault(brancheId, EMPTY);
+    }
+
+    public Long tdOfTp(Long tpId) {
+        return tdByTp.get(tpId);
+    }
+
+    public Long brancheOfTd(Long tdId) {
+        return brancheByTd.get(tdId);
+    }
+
+    private static Map<Long, long[]> freeze(Map<Long, LongList> lists) {
+        Map<Long, long[]> frozen = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> frozen.put(key, list.toSortedDistinctArray()));
+        return frozen;
+    }
+
+    /**
+     * Minimal growable primitive list to avoid boxing while expanding audiences.
+     */
+    static final class LongList {
+        private long[] values = new long[8];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(long[] more) {
+            for (long value : more) {
+                add(value);
+            }
+        }
+
+        long[] toSortedDistinctArray() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 1;
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] != sorted[distinct - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
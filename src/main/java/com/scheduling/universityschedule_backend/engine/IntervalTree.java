@@ -0,0 +1,225 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import java.util.function.Consumer;
+
+/**
+ * Augmented AVL interval tree over half-open integer intervals [start, end).
+ * Entries are ordered by (start, id) and every node keeps the maximum end of its subtree,
+ * so an overlap query only descends into subtrees that can still contain a match.
+ * Insert and remove are O(log n), an overlap query is O(log n + k).
+ *
+ * @param <T> payload stored with each interval
+ */
+public class IntervalTree<T> {
+
+    private static final class Node<T> {
+        final int start;
+        final long id;
+        int end;
+        T value;
+        int height = 1;
+        int maxEnd;
+        Node<T> left;
+        Node<T> right;
+
+        Node(int start, int end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Inserts an interval, replacing any entry with the same start and id.
+     */
+    public void insert(int start, int end, long id, T value) {
+        root = insert(root, start, end, id, value);
+    }
+
+    /**
+     * Removes the interval identified by its start and id.
+     * @return true if an entry was removed
+     */
+    public boolean remove(int start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Visits every stored interval overlapping [start, end).
+     */
+    public void forEachOverlapping(int start, int end, Consumer<T> action) {
+        visit(root, start, end, action);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks the ordering, AVL balance, height and max-end of every node; used by tests.
+     * @return the height of the tree
+     * @throws IllegalStateException on the first broken invariant
+     */
+    int checkInvariants() {
+        return check(root, null, null);
+    }
+
+    /**
+     * @param lower nearest ancestor the subtree must sort after, or null
+     * @param upper nearest ancestor the subtree must sort before, or null
+     */
+    private static int check(Node<?> node, Node<?> lower, Node<?> upper) {
+        if (node == null) {
+            return 0;
+        }
+        if ((lower != null && compare(node.start, node.id, lower) <= 0)
+                || (upper != null && compare(node.start, node.id, upper) >= 0)) {
+            throw new IllegalStateException("Out of order at id " + node.id);
+        }
+        int left = check(node.left, lower, node);
+        int right = check(node.right, node, upper);
+        if (Math.abs(left - right) > 1) {
+            throw new IllegalStateException("Unbalanced at id " + node.id + ": " + left + " / " + right);
+        }
+        if (node.height != 1 + Math.max(left, right)) {
+            throw new IllegalStateException("Wrong height at id " + node.id);
+        }
+        int maxEnd = Math.max(node.end, Math.max(node.left == null ? Integer.MIN_VALUE : node.left.maxEnd,
+                node.right == null ? Integer.MIN_VALUE : node.right.maxEnd));
+        if (node.maxEnd != maxEnd) {
+            throw new IllegalStateException("Wrong max end at id " + node.id + ": " + node.maxEnd + " != " + maxEnd);
+        }
+        return node.height;
+    }
+
+    private void visit(Node<T> node, int start, int end, Consumer<T> action) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        visit(node.left, start, end, action);
+        if (node.start >= end) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end > start) {
+            action.accept(node.value);
+        }
+        visit(node.right, start, end, action);
+    }
+
+    private static int compare(int start, long id, Node<?> node) {
+        int c = Integer.compare(start, node.start);
+        return c != 0 ? c : Long.compare(id, node.id);
+    }
+
+    private Node<T> insert(Node<T> node, int start, int end, long id, T value) {
+        if (node == null) {
+            size++;
+            return new Node<>(start, end, id, value);
+        }
+        int c = compare(start, id, node);
+        if (c < 0) {
+            node.left = insert(node.left, start, end, id, value);
+        } else if (c > 0) {
+            node.right = insert(node.right, start, end, id, value);
+        } else {
+            node.end = end;
+            node.value = value;
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> remove(Node<T> node, int start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node);
+        if (c < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            // Detach the successor, then put it in place of the removed node
+            size++;
+            Node<T> right = remove(node.right, successor.start, successor.id);
+            successor.left = node.left;
+            successor.right = right;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int max = node.end;
+        if (node.left != null && node.left.maxEnd > max) {
+            max = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > max) {
+            max = node.right.maxEnd;
+        }
+        node.maxEnd = max;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> Node<T> rebalance(Node<T> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,337 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.event.SalleChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.repository.SalleRepository;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Occupancy of rooms, teachers and TPs kept in memory as {@link DayOccupancy} bitmaps per resource and day.
+ * A free-room or free-window search is a few word ORs and ANDs per candidate, with no query.
+ * Kept in sync with committed {@link SeanceChangedEvent}s and {@link SalleChangedEvent}s
+ * the same way as the {@link ConflictStore}.
+ */
+@Component
+public class OccupancyIndex {
+
+    private static final Comparator<Room> ROOM_ORDER =
+            Comparator.comparing(Room::identifiant, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Room attributes used by the search filters.
+     */
+    public record Room(Long id, String identifiant, String type, int capacite) {
+    }
+
+    /**
+     * A window where the teacher, the groups and the listed rooms are all free.
+     * Times are minutes since midnight.
+     */
+    public record FreeWindow(LocalDate date, int debut, int fin, List<Long> salleIds) {
+    }
+
+    private final SeanceSlotLoader seanceSlotLoader;
+    private final AudienceRegistry audienceRegistry;
+    private final SalleRepository salleRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Room> rooms = new HashMap<>();
+    private final Map<Long, SeanceSlot> seances = new HashMap<>();
+    private final EnumMap<DayOfWeek, Map<Long, DayOccupancy>> roomDays = new EnumMap<>(DayOfWeek.class);
+    private final EnumMap<DayOfWeek, Map<Long, DayOccupancy>> teacherDays = new EnumMap<>(DayOfWeek.class);
+    private final EnumMap<DayOfWeek, Map<Long, DayOccupancy>> tpDays = new EnumMap<>(DayOfWeek.class);
+    private List<Room> orderedRooms = List.of();
+    private volatile boolean stale = true;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public OccupancyIndex(SeanceSlotLoader seanceSlotLoader,
+                          AudienceRegistry audienceRegistry,
+                          SalleRepository salleRepository) {
+        this.seanceSlotLoader = seanceSlotLoader;
+        this.audienceRegistry = audienceRegistry;
+        this.salleRepository = salleRepository;
+    }
+
+    // ============================
+    //    Reads
+    // ============================
+
+    /**
+     * Ids of the rooms free for a seance of the given frequency, ordered by identifiant.
+     *
+     * @param frequence   frequency of the seance to place; null means weekly, or catch-up when a date is given
+     * @param date        date of a catch-up; null checks against every catch-up
+     * @param minCapacity minimum capacity, or null for any
+     * @param type        room type (case-insensitive), or null for any
+     */
+    public List<Long> findFreeRooms(DayOfWeek day, LocalTime heureDebut, LocalTime heureFin,
+                                    FrequenceType frequence, LocalDate date,
+                                    Integer minCapacity, String type) {
+        ensureLoaded();
+        FrequenceType effective = frequence != null ? frequence
+                : date != null ? FrequenceType.CATCHUP : FrequenceType.WEEKLY;
+        long[] mask = DayOccupancy.mask(heureDebut.toSecondOfDay() / 60, heureFin.toSecondOfDay() / 60);
+        lock.readLock().lock();
+        try {
+            return freeRooms(roomDays.getOrDefault(day, Map.of()), mask, effective, date, minCapacity, type);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Earliest windows, in date then time order, where a catch-up of the given duration fits:
+     * the teacher and every TP of the audience are free and at least one matching room is free.
+     * Windows start on the 15-minute grid between {@code dayStart} and {@code dayEnd}.
+     * Bi-weekly seances of the teacher and the groups count as busy on every date,
+     * since their week is not stored.
+     *
+     * @param enseignantId teacher, or null to ignore teachers
+     * @param audience     effective TP ids
+     * @param dayStart     earliest start, in minutes since midnight
+     * @param dayEnd       latest end, in minutes since midnight
+     * @param limit        maximum number of windows
+     */
+    public List<FreeWindow> findFreeWindows(Long enseignantId, long[] audience, int duration,
+                                            LocalDate from, LocalDate to, Integer minCapacity, String type,
+                                            int dayStart, int dayEnd, int limit) {
+        ensureLoaded();
+        List<FreeWindow> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (LocalDate date = from; !date.isAfter(to) && result.size() < limit; date = date.plusDays(1)) {
+                DayOfWeek day = date.getDayOfWeek();
+                if (day == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                // Everything the teacher and the groups may attend on that date
+                long[] busy = DayOccupancy.empty();
+                DayOccupancy teacherDay = teacherDays.getOrDefault(day, Map.of()).get(enseignantId);
+                if (teacherDay != null) {
+                    DayOccupancy.or(busy, teacherDay.busyOn(date));
+                }
+                Map<Long, DayOccupancy> groups = tpDays.getOrDefault(day, Map.of());
+                for (long tp : audience) {
+                    DayOccupancy tpDay = groups.get(tp);
+                    if (tpDay != null) {
+                        DayOccupancy.or(busy, tpDay.busyOn(date));
+                    }
+                }
+
+                Map<Long, DayOccupancy> roomsOfDay = roomDays.getOrDefault(day, Map.of());
+                for (int debut = dayStart; debut + duration <= dayEnd && result.size() < limit;
+                     debut += DayOccupancy.SLOT_MINUTES) {
+                    long[] mask = DayOccupancy.mask(debut, debut + duration);
+                    if (DayOccupancy.intersects(busy, mask)) {
+                        continue;
+                    }
+                    List<Long> salleIds = freeRooms(roomsOfDay, mask, FrequenceType.CATCHUP, date, minCapacity, type);
+                    if (!salleIds.isEmpty()) {
+                        result.add(new FreeWindow(date, debut, debut + duration, salleIds));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> freeRooms(Map<Long, DayOccupancy> occupancy, long[] mask, FrequenceType frequence,
+                                 LocalDate date, Integer minCapacity, String type) {
+        List<Long> result = new ArrayList<>();
+        for (Room room : orderedRooms) {
+            if (minCapacity != null && room.capacite() < minCapacity) {
+                continue;
+            }
+            if (type != null && !type.equalsIgnoreCase(room.type())) {
+                continue;
+            }
+            DayOccupancy roomDay = occupancy.get(room.id());
+            if (roomDay == null || roomDay.isFree(mask, frequence, date)) {
+                result.add(room.id());
+            }
+        }
+        return result;
+    }
+
+    // ============================
+    //    Maintenance
+    // ============================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSeanceChanged(SeanceChangedEvent event) {
+        try {
+            if (event.isFullReload()) {
+                reload();
+            } else {
+                apply(event.getSeanceIds());
+            }
+        } catch (Exception e) {
+            CustomLogger.logError("Occupancy update failed, scheduling full reload", e);
+            stale = true;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSalleChanged(SalleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (stale) {
+                return;
+            }
+            rooms.remove(event.getSalleId());
+            for (Object[] row : salleRepository.findRoomRowsByIds(List.of(event.getSalleId()))) {
+                Room room = toRoom(row);
+                rooms.put(room.id(), room);
+            }
+            orderRooms();
+        } catch (Exception e) {
+            CustomLogger.logError("Occupancy update failed, scheduling full reload", e);
+            stale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the rooms and every occupancy from the database.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            for (Object[] row : salleRepository.findAllRoomRows()) {
+                Room room = toRoom(row);
+                rooms.put(room.id(), room);
+            }
+            orderRooms();
+            seances.clear();
+            roomDays.clear();
+            teacherDays.clear();
+            tpDays.clear();
+            // Id order lets each resource day set the bits of one seance at a time
+            seanceSlotLoader.loadAll(audienceRegistry.hierarchy()).stream()
+                    .sorted(Comparator.comparing(SeanceSlot::getId))
+                    .forEach(this::index);
+            stale = false;
+            CustomLogger.logInfo("Occupancy loaded: " + seances.size() + " sessions in "
+                    + rooms.size() + " rooms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Collection<Long> seanceIds) {
+        if (seanceIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) {
+                // Not loaded yet: the next read loads the committed state
+                return;
+            }
+            seanceIds.forEach(this::unindex);
+            seanceSlotLoader.loadByIds(seanceIds, audienceRegistry.hierarchy()).forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(SeanceSlot slot) {
+        if (!slot.isSchedulable()) {
+            return;
+        }
+        seances.put(slot.getId(), slot);
+        if (slot.getSalleId() != null) {
+            occupancyOf(roomDays, slot.getJour(), slot.getSalleId()).add(slot);
+        }
+        if (slot.getEnseignantId() != null) {
+            occupancyOf(teacherDays, slot.getJour(), slot.getEnseignantId()).add(slot);
+        }
+        for (long tp : slot.getAudience()) {
+            occupancyOf(tpDays, slot.getJour(), tp).add(slot);
+        }
+    }
+
+    private void unindex(Long seanceId) {
+        SeanceSlot slot = seances.remove(seanceId);
+        if (slot == null) {
+            return;
+        }
+        if (slot.getSalleId() != null) {
+            remove(roomDays, slot.getJour(), slot.getSalleId(), seanceId);
+        }
+        if (slot.getEnseignantId() != null) {
+            remove(teacherDays, slot.getJour(), slot.getEnseignantId(), seanceId);
+        }
+        for (long tp : slot.getAudience()) {
+            remove(tpDays, slot.getJour(), tp, seanceId);
+        }
+    }
+
+    private static DayOccupancy occupancyOf(EnumMap<DayOfWeek, Map<Long, DayOccupancy>> days,
+                                            DayOfWeek day, Long key) {
+        return days.computeIfAbsent(day, d -> new HashMap<>()).computeIfAbsent(key, k -> new DayOccupancy());
+    }
+
+    private static void remove(EnumMap<DayOfWeek, Map<Long, DayOccupancy>> days,
+                               DayOfWeek day, Long key, Long seanceId) {
+        Map<Long, DayOccupancy> occupancy = days.get(day);
+        DayOccupancy resourceDay = occupancy == null ? null : occupancy.get(key);
+        if (resourceDay == null) {
+            return;
+        }
+        resourceDay.remove(seanceId);
+        if (resourceDay.isEmpty()) {
+            occupancy.remove(key);
+        }
+    }
+
+    private void orderRooms() {
+        List<Room> ordered = new ArrayList<>(rooms.values());
+        ordered.sort(ROOM_ORDER);
+        orderedRooms = List.copyOf(ordered);
+    }
+
+    private void ensureLoaded() {
+        if (!stale) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) {
+                reload();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Room toRoom(Object[] row) {
+        return new Room((Long) row[0], (String) row[1], (String) row[2], row[3] == null ? 0 : (Integer) row[3]);
+    }
+}
@@ -0,0 +1,132 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Immutable, detached view of a Seance carrying only what conflict detection needs.
+ * Times are stored as minutes since midnight and the student audience is already
+ * expanded to the effective TP ids (sorted, without duplicates) and encoded as a bitset,
+ * so two slots can be compared without touching the persistence context.
+ */
+public final class SeanceSlot {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Long id;
+    private final DayOfWeek jour;
+    private final int debut;
+    private final int fin;
+    private final FrequenceType frequence;
+    private final LocalDate date;
+    private final Long salleId;
+    private final Long enseignantId;
+    private final long[] tpIds;
+    private final long[] tdIds;
+    private final long[] brancheIds;
+    private final long[] audience;
+    private final AudienceBitset audienceBits;
+
+    public SeanceSlot(Long id, DayOfWeek jour, LocalTime heureDebut, LocalTime heureFin,
+                      FrequenceType frequence, LocalDate date, Long salleId, Long enseignantId,
+                      long[] tpIds, long[] tdIds, long[] brancheIds, long[] audience,
+                      AudienceBitset audienceBits) {
+        this.id = id;
+        this.jour = jour;
+        this.debut = heureDebut == null ? -1 : heureDebut.toSecondOfDay() / 60;
+        this.fin = heureFin == null ? -1 : heureFin.toSecondOfDay() / 60;
+        this.frequence = frequence;
+        this.date = date;
+        this.salleId = salleId;
+        this.enseignantId = enseignantId;
+        this.tpIds = tpIds == null ? EMPTY : tpIds;
+        this.tdIds = tdIds == null ? EMPTY : tdIds;
+        this.brancheIds = brancheIds == null ? EMPTY : brancheIds;
+        this.audience = audience == null ? EMPTY : audience;
+        this.audienceBits = audienceBits == null ? AudienceBitset.EMPTY : audienceBits;
+    }
+
+    /**
+     * A slot can only take part in conflicts when its day and a valid time range are known.
+     */
+    public boolean isSchedulable() {
+        return jour != null && debut >= 0 && fin > debut;
+    }
+
+    /**
+     * Same-day, half-open time overlap, as in the repository queries.
+     */
+    public boolean overlaps(SeanceSlot other) {
+        return jour != null && jour == other.jour && debut < other.fin && fin > other.debut;
+    }
+
+    /**
+     * Whether both slots address at least one common TP: a single AND over the audience bitsets.
+     */
+    public boolean sharesAudienceWith(SeanceSlot other) {
+        return audienceBits.intersects(other.audienceBits);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public DayOfWeek getJour() {
+        return jour;
+    }
+
+    public int getDebut() {
+        return debut;
+    }
+
+    public int getFin() {
+        return fin;
+    }
+
+    public FrequenceType getFrequence() {
+        return frequence;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getSalleId() {
+        return salleId;
+    }
+
+    public Long getEnseignantId() {
+        return enseignantId;
+    }
+
+    public long[] getTpIds() {
+        return tpIds;
+    }
+
+    public long[] getTdIds() {
+        return tdIds;
+    }
+
+    public long[] getBrancheIds() {
+        return brancheIds;
+    }
+
+    public long[] getAudience() {
+        return audience;
+    }
+
+    public AudienceBitset getAudienceBits() {
+        return audienceBits;
+    }
+
+    @Override
+    public String toString() {
+        return "SeanceSlot{id=" + id + ", jour=" + jour + ", debut=" + debut + ", fin=" + fin
+                + ", frequence=" + frequence + ", salleId=" + salleId + ", enseignantId=" + enseignantId
+                + ", audience=" + Arrays.toString(audience) + '}';
+    }
+}
@@ -0,0 +1,118 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+import com.scheduling.universityschedule_backend.repository.TDRepository;
+import com.scheduling.universityschedule_backend.repository.TPRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads seances as detached {@link SeanceSlot}s using scalar projections only:
+ * one query for the seance columns and one per group association, whatever the number of seances.
+ */
+@Component
+public class SeanceSlotLoader {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final SeanceRepository seanceRepository;
+    private final TPRepository tpRepository;
+    private final TDRepository tdRepository;
+    private final TpOrdinals tpOrdinals;
+
+    public SeanceSlotLoader(SeanceRepository seanceRepository,
+                            TPRepository tpRepository,
+                            TDRepository tdRepository,
+                            TpOrdinals tpOrdinals) {
+        this.seanceRepository = seanceRepository;
+        this.tpRepository = tpRepository;
+        this.tdRepository = tdRepository;
+        this.tpOrdinals = tpOrdinals;
+    }
+
+    /**
+     * Loads the current Branche → TD → TP hierarchy.
+     */
+    @Transactional(readOnly = true)
+    public GroupHierarchy loadHierarchy() {
+        return GroupHierarchy.of(tpRepository.findAllTdLinks(), tdRepository.findAllBrancheLinks(), tpOrdinals);
+    }
+
+    /**
+     * Loads every seance of the week.
+     */
+    @Transactional(readOnly = true)
+    public List<SeanceSlot> loadAll(GroupHierarchy hierarchy) {
+        return toSlots(seanceRepository.findAllSlotRows(),
+                group(seanceRepository.findAllTpLinks()),
+                group(seanceRepository.findAllTdLinks()),
+                group(seanceRepository.findAllBrancheLinks()),
+                hierarchy);
+    }
+
+    /**
+     * Loads the given seances; ids that no longer exist are simply absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public List<SeanceSlot> loadByIds(Collection<Long> ids, GroupHierarchy hierarchy) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toSlots(seanceRepository.findSlotRowsByIds(ids),
+                group(seanceRepository.findTpLinksByIds(ids)),
+                group(seanceRepository.findTdLinksByIds(ids)),
+                group(seanceRepository.findBrancheLinksByIds(ids)),
+                hierarchy);
+    }
+
+    private static List<SeanceSlot> toSlots(List<Object[]> rows,
+                                            Map<Long, long[]> tps,
+                                            Map<Long, long[]> tds,
+                                            Map<Long, long[]> branches,
+                                            GroupHierarchy hierarchy) {
+        List<SeanceSlot> slots = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            long[] tpIds = tps.getOrDefault(id, EMPTY);
+            long[] tdIds = tds.getOrDefault(id, EMPTY);
+            long[] brancheIds = branches.getOrDefault(id, EMPTY);
+            long[] audience = hierarchy.resolveAudience(tpIds, tdIds, brancheIds);
+            slots.add(new SeanceSlot(
+                    id,
+                    (DayOfWeek) row[1],
+                    (LocalTime) row[2],
+                    (LocalTime) row[3],
+                    (FrequenceType) row[4],
+                    (LocalDate) row[5],
+                    (Long) row[6],
+                    (Long) row[7],
+                    tpIds,
+                    tdIds,
+                    brancheIds,
+                    audience,
+                    hierarchy.encode(audience)));
+        }
+        return slots;
+    }
+
+    private static Map<Long, long[]> group(List<Object[]> links) {
+        Map<Long, GroupHierarchy.LongList> grouped = new HashMap<>();
+        for (Object[] link : links) {
+            grouped.computeIfAbsent((Long) link[0], k -> new GroupHierarchy.LongList()).add((Long) link[1]);
+        }
+        Map<Long, long[]> result = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((id, list) -> result.put(id, list.toSortedDistinctArray()));
+        return result;
+    }
+}
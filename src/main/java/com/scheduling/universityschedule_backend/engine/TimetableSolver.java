@@ -0,0 +1,379 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local-search timetable solver.
+ * <p>
+ * Every course is a seance to place: a day, a start time on the grid and one of its candidate
+ * rooms (already filtered on capacity and type). The cost of a placement is the sum, over every
+ * overlapping pair, of the {@link ConflictRules} that {@code getAllConflicts} would report:
+ * room, teacher and student group clashes are hard; pairs the rules tolerate (alternating
+ * bi-weekly seances, catch-up exceptions) are soft. Existing seances that are not re-placed
+ * stay fixed and only add to the cost, so a teacher's current timetable is respected.
+ * Moving a course that came from an existing seance costs a little, to keep the week stable.
+ * <p>
+ * Each worker runs its own simulated annealing from the seed placement with its own random
+ * stream; the best solution among workers wins. The search stops at the deadline, on
+ * cancellation, or as soon as a worker reaches a zero cost.
+ */
+public final class TimetableSolver {
+
+    static final int HARD = 1000;
+    static final int TOLERATED = 10;
+    static final int MOVED = 1;
+
+    private static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * A seance to place. The template carries the teacher, the frequency and the expanded
+     * audience; its day, times and room are ignored.
+     *
+     * @param rooms   ids of the rooms the course may use
+     * @param initial seed placement, or null to start from a random one
+     */
+    public record Course(SeanceSlot template, int duration, List<Long> rooms, Placement initial) {
+    }
+
+    /**
+     * Day, start (minutes since midnight) and room of a course.
+     */
+    public record Placement(DayOfWeek jour, int debut, Long salleId) {
+    }
+
+    /**
+     * Best placements found, in course order.
+     */
+    public record Result(List<Placement> placements, int hardViolations, int softViolations,
+                         long iterations, boolean cancelled) {
+    }
+
+    private final List<Course> courses;
+    private final List<DayOfWeek> days;
+    private final int dayStart;
+    private final int dayEnd;
+    private final int granularity;
+    private final Map<DayOfWeek, List<SeanceSlot>> fixedByDay = new EnumMap<>(DayOfWeek.class);
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicReference<Candidate> best = new AtomicReference<>();
+
+    private record Candidate(SeanceSlot[] slots, long cost) {
+    }
+
+    /**
+     * @param fixed       seances that stay where they are
+     * @param days        days courses may be placed on
+     * @param dayStart    earliest start, in minutes since midnight
+     * @param dayEnd      latest end, in minutes since midnight
+     * @param granularity step between two start times, in minutes
+     */
+    public TimetableSolver(List<Course> courses, List<SeanceSlot> fixed, List<DayOfWeek> days,
+                           int dayStart, int dayEnd, int granularity) {
+        this.courses = List.copyOf(courses);
+        this.days = List.copyOf(days);
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.granularity = granularity;
+        for (Course course : courses) {
+            if (course.rooms().isEmpty()) {
+                throw new IllegalArgumentException("No room can host " + course.template());
+            }
+            if (dayStart + course.duration() > dayEnd) {
+                throw new IllegalArgumentException("Course does not fit in a day: " + course.template());
+            }
+        }
+        // Only fixed seances that can meet a course matter
+        Set<Long> teachers = new HashSet<>();
+        Set<Long> rooms = new HashSet<>();
+        AudienceBitset audience = AudienceBitset.EMPTY;
+        for (Course course : courses) {
+            teachers.add(course.template().getEnseignantId());
+            rooms.addAll(course.rooms());
+            audience = audience.or(course.template().getAudienceBits());
+        }
+        teachers.remove(null);
+        for (SeanceSlot slot : fixed) {
+            if (slot.isSchedulable() && days.contains(slot.getJour())
+                    && (teachers.contains(slot.getEnseignantId()) || rooms.contains(slot.getSalleId())
+                    || slot.getAudienceBits().intersects(audience))) {
+                fixedByDay.computeIfAbsent(slot.getJour(), d -> new ArrayList<>()).add(slot);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code workers} searches on the executor and waits for them.
+     *
+     * @param timeLimitMillis wall-clock budget of the search
+     * @param seed            base of the random streams, for reproducible runs
+     */
+    public Result solve(ExecutorService executor, int workers, long timeLimitMillis, long seed)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Future<?>> running = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            Random random = new Random(seeds.nextLong());
+            running.add(executor.submit(() -> search(random, deadline)));
+        }
+        try {
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            cancel();
+            throw new IllegalStateException("Timetable search failed", e.getCause());
+        } catch (InterruptedException e) {
+            cancel();
+            throw e;
+        }
+        return result();
+    }
+
+    /**
+     * Asks every worker to stop; {@link #solve} then returns the best solution so far.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public long getIterations() {
+        return iterations.get();
+    }
+
+    /**
+     * Cost of the best solution so far, or -1 before the first one.
+     */
+    public long getBestCost() {
+        Candidate current = best.get();
+        return current == null ? -1 : current.cost();
+    }
+
+    // ============================
+    //    Search
+    // ============================
+
+    private void search(Random random, long deadline) {
+        int n = courses.size();
+        SeanceSlot[] slots = new SeanceSlot[n];
+        Map<DayOfWeek, List<Integer>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (int i = 0; i < n; i++) {
+            Course course = courses.get(i);
+            slots[i] = place(course, course.initial() != null ? course.initial() : randomPlacement(course, random));
+            byDay.computeIfAbsent(slots[i].getJour(), d -> new ArrayList<>()).add(i);
+        }
+        long[] costs = new long[n];
+        for (int i = 0; i < n; i++) {
+            costs[i] = cost(i, slots[i], slots, byDay);
+        }
+        long total = totalCost(slots);
+        long bestTotal = total;
+        offer(slots, total);
+
+        double temperature = HARD;
+        long start = System.nanoTime();
+        long iteration = 0;
+        while (bestTotal > 0) {
+            if (++iteration % CHECK_INTERVAL == 0) {
+                iterations.addAndGet(CHECK_INTERVAL);
+                long now = System.nanoTime();
+                Candidate shared = best.get();
+                if (now >= deadline || cancelled.get() || Thread.currentThread().isInterrupted()
+                        || (shared != null && shared.cost() == 0)) {
+                    break;
+                }
+                // Cool down from HARD to below MOVED over the time budget
+                double progress = (double) (now - start) / Math.max(1, deadline - start);
+                temperature = HARD * Math.pow(0.5 / HARD, progress);
+            }
+
+            int i = pickCourse(costs, random);
+            Course course = courses.get(i);
+            SeanceSlot current = slots[i];
+            SeanceSlot moved = place(course, neighbour(course, current, random));
+            long before = cost(i, current, slots, byDay);
+            long after = cost(i, moved, slots, byDay);
+            long delta = after - before;
+            if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                continue;
+            }
+
+            // Accepted: update the neighbours' costs on both days
+            updateNeighbours(i, current, slots, byDay, costs, -1);
+            byDay.get(current.getJour()).remove(Integer.valueOf(i));
+            slots[i] = moved;
+            byDay.computeIfAbsent(moved.getJour(), d -> new ArrayList<>()).add(i);
+            updateNeighbours(i, moved, slots, byDay, costs, 1);
+            costs[i] = after;
+            total += delta;
+            if (total < bestTotal) {
+                bestTotal = total;
+                offer(slots, total);
+            }
+        }
+        iterations.addAndGet(iteration % CHECK_INTERVAL);
+    }
+
+    /**
+     * Mostly courses in conflict, so moves go where the cost is.
+     */
+    private static int pickCourse(long[] costs, Random random) {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int i = random.nextInt(costs.length);
+            if (costs[i] > 0) {
+                return i;
+            }
+        }
+        return random.nextInt(costs.length);
+    }
+
+    private Placement neighbour(Course course, SeanceSlot current, Random random) {
+        Placement next = randomPlacement(course, random);
+        return switch (random.nextInt(4)) {
+            case 0 -> new Placement(current.getJour(), current.getDebut(), next.salleId());
+            case 1 -> new Placement(current.getJour(), next.debut(), current.getSalleId());
+            case 2 -> new Placement(next.jour(), current.getDebut(), current.getSalleId());
+            default -> next;
+        };
+    }
+
+    private Placement randomPlacement(Course course, Random random) {
+        int starts = (dayEnd - course.duration() - dayStart) / granularity + 1;
+        return new Placement(days.get(random.nextInt(days.size())),
+                dayStart + random.nextInt(starts) * granularity,
+                course.rooms().get(random.nextInt(course.rooms().size())));
+    }
+
+    private long cost(int i, SeanceSlot slot, SeanceSlot[] slots, Map<DayOfWeek, List<Integer>> byDay) {
+        long cost = movedCost(courses.get(i), slot);
+        for (int j : byDay.getOrDefault(slot.getJour(), List.of())) {
+            if (j != i) {
+                cost += pairCost(slot, slots[j]);
+            }
+        }
+        for (SeanceSlot fixed : fixedByDay.getOrDefault(slot.getJour(), List.of())) {
+            cost += pairCost(slot, fixed);
+        }
+        return cost;
+    }
+
+    private void updateNeighbours(int i, SeanceSlot slot, SeanceSlot[] slots,
+                                  Map<DayOfWeek, List<Integer>> byDay, long[] costs, int sign) {
+        for (int j : byDay.getOrDefault(slot.getJour(), List.of())) {
+            if (j != i) {
+                costs[j] += sign * pairCost(slot, slots[j]);
+            }
+        }
+    }
+
+    private void offer(SeanceSlot[] slots, long cost) {
+        Candidate candidate = new Candidate(slots.clone(), cost);
+        best.accumulateAndGet(candidate, (current, offered) ->
+                current == null || offered.cost() < current.cost() ? offered : current);
+    }
+
+    // ============================
+    //    Cost model
+    // ============================
+
+    /**
+     * Cost of a whole solution: the pairs between courses are counted once, so a move
+     * changes it by exactly the difference of the moved course's own cost.
+     */
+    private long totalCost(SeanceSlot[] slots) {
+        long total = 0;
+        for (int i = 0; i < slots.length; i++) {
+            total += movedCost(courses.get(i), slots[i]);
+            for (int j = i + 1; j < slots.length; j++) {
+                total += pairCost(slots[i], slots[j]);
+            }
+            for (SeanceSlot fixed : fixedByDay.getOrDefault(slots[i].getJour(), List.of())) {
+                total += pairCost(slots[i], fixed);
+            }
+        }
+        return total;
+    }
+
+    static int pairCost(SeanceSlot a, SeanceSlot b) {
+        if (!a.overlaps(b)) {
+            return 0;
+        }
+        List<String> types = ConflictRules.evaluate(a, b);
+        if (types.isEmpty()) {
+            return 0;
+        }
+        if (ConflictRules.isRoomConflict(a, b)) {
+            return HARD;
+        }
+        boolean tolerated = types.contains(ConflictRules.BI_WEEKLY)
+                || types.contains(ConflictRules.CATCH_UP_EXCEPTION);
+        boolean clash = types.contains(ConflictRules.TEACHER) || types.contains(ConflictRules.STUDENT_GROUP);
+        return clash && !tolerated ? HARD : TOLERATED;
+    }
+
+    private static int movedCost(Course course, SeanceSlot slot) {
+        Placement initial = course.initial();
+        if (initial == null) {
+            return 0;
+        }
+        boolean same = initial.jour() == slot.getJour() && initial.debut() == slot.getDebut()
+                && initial.salleId().equals(slot.getSalleId());
+        return same ? 0 : MOVED;
+    }
+
+    private static SeanceSlot place(Course course, Placement placement) {
+        SeanceSlot template = course.template();
+        return new SeanceSlot(template.getId(), placement.jour(),
+                LocalTime.ofSecondOfDay(placement.debut() * 60L),
+                LocalTime.ofSecondOfDay((placement.debut() + course.duration()) * 60L),
+                template.getFrequence() == null ? FrequenceType.WEEKLY : template.getFrequence(),
+                null, placement.salleId(), template.getEnseignantId(),
+                template.getTpIds(), template.getTdIds(), template.getBrancheIds(),
+                template.getAudience(), template.getAudienceBits());
+    }
+
+    private Result result() {
+        Candidate found = best.get();
+        List<Placement> placements = new ArrayList<>(found.slots().length);
+        int hard = 0;
+        int soft = 0;
+        for (int i = 0; i < found.slots().length; i++) {
+            SeanceSlot slot = found.slots()[i];
+            placements.add(new Placement(slot.getJour(), slot.getDebut(), slot.getSalleId()));
+            for (int j = i + 1; j < found.slots().length; j++) {
+                int cost = pairCost(slot, found.slots()[j]);
+                hard += cost == HARD ? 1 : 0;
+                soft += cost == TOLERATED ? 1 : 0;
+            }
+            for (SeanceSlot fixed : fixedByDay.getOrDefault(slot.getJour(), List.of())) {
+                int cost = pairCost(slot, fixed);
+                hard += cost == HARD ? 1 : 0;
+                soft += cost == TOLERATED ? 1 : 0;
+            }
+        }
+        return new Result(placements, hard, soft, iterations.get(), cancelled.get());
+    }
+}
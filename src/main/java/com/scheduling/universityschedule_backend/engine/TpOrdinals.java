@@ -0,0 +1,53 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense ordinals for TP ids, shared by every {@link AudienceBitset}.
+ * Ordinals are only ever appended, so a bitset encoded earlier stays valid when the
+ * hierarchy changes; a deleted TP simply leaves an unused bit behind.
+ */
+@Component
+public class TpOrdinals {
+
+    private final ConcurrentHashMap<Long, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile long[] tpIds = new long[64];
+    private int size;
+
+    /**
+     * Ordinal of a TP, assigning the next free one on first sight.
+     */
+    public int ordinalOf(long tpId) {
+        Integer ordinal = ordinals.get(tpId);
+        return ordinal != null ? ordinal : assign(tpId);
+    }
+
+    /**
+     * TP id of an ordinal previously returned by {@link #ordinalOf(long)}.
+     */
+    public long tpIdOf(int ordinal) {
+        return tpIds[ordinal];
+    }
+
+    public int size() {
+        return ordinals.size();
+    }
+
+    private synchronized int assign(long tpId) {
+        Integer existing = ordinals.get(tpId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = size++;
+        if (ordinal == tpIds.length) {
+            tpIds = Arrays.copyOf(tpIds, ordinal * 2);
+        }
+        tpIds[ordinal] = tpId;
+        // Published last so readers that see the ordinal also see its reverse mapping
+        ordinals.put(tpId, ordinal);
+        return ordinal;
+    }
+}
@@ -0,0 +1,38 @@
+package com.scheduling.universityschedule_backend.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Published when a TP, TD or Branche is created or moved in the Branche → TD → TP hierarchy.
+ * Listeners re-expand only the seances whose audience can depend on the changed groups.
+ */
+@Getter
+@ToString
+public class GroupHierarchyChangedEvent {
+
+    private final Set<Long> tpIds;
+    private final Set<Long> tdIds;
+    private final Set<Long> brancheIds;
+
+    private GroupHierarchyChangedEvent(Set<Long> tpIds, Set<Long> tdIds, Set<Long> brancheIds) {
+        this.tpIds = tpIds;
+        this.tdIds = tdIds;
+        this.brancheIds = brancheIds;
+    }
+
+    public static GroupHierarchyChangedEvent ofTp(Long tpId) {
+        return new GroupHierarchyChangedEvent(Set.of(tpId), Collections.emptySet(), Collections.emptySet());
+    }
+
+    public static GroupHierarchyChangedEvent ofTd(Long tdId) {
+        return new GroupHierarchyChangedEvent(Collections.emptySet(), Set.of(tdId), Collections.emptySet());
+    }
+
+    public static GroupHierarchyChangedEvent ofBranche(Long brancheId) {
+        return new GroupHierarchyChangedEvent(Collections.emptySet(), Collections.emptySet(), Set.of(brancheId));
+    }
+}
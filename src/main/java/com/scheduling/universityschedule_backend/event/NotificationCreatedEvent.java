@@ -0,0 +1,69 @@
+package com.scheduling.universityschedule_backend.event;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.model.enums.AudienceScope;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published when notifications are sent, so connected users receive them without polling.
+ * Either lists the recipients, or describes an audience (everyone, a role or one group)
+ * that listeners match against their subscribers.
+ * Notifications inserted in bulk have no id in the event; clients reload their inbox to get it.
+ */
+@Getter
+@ToString
+public class NotificationCreatedEvent {
+
+    private final NotificationDTO notification;
+    private final Set<Long> recipientIds;    // Empty for audience events
+    private final AudienceScope scope;       // Null for recipient events
+    private final UserRole role;             // For ROLE
+    private final Long targetId;             // Branche, TD or TP id for the group scopes
+
+    private NotificationCreatedEvent(NotificationDTO notification, Set<Long> recipientIds,
+                                     AudienceScope scope, UserRole role, Long targetId) {
+        this.notification = notification;
+        this.recipientIds = recipientIds;
+        this.scope = scope;
+        this.role = role;
+        this.targetId = targetId;
+    }
+
+    public static NotificationCreatedEvent toRecipients(NotificationDTO notification, Collection<Long> recipientIds) {
+        return new NotificationCreatedEvent(notification, recipientIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet()), null, null, null);
+    }
+
+    public static NotificationCreatedEvent toAudience(NotificationDTO notification, AudienceScope scope,
+                                                      UserRole role, Long targetId) {
+        return new NotificationCreatedEvent(notification, Collections.emptySet(), scope, role, targetId);
+    }
+
+    /**
+     * Content of notifications inserted in bulk, whose per-recipient ids are not known.
+     */
+    public static NotificationDTO bulkContent(String message, LocalDateTime date, String type, Long expediteurId) {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setMessage(message);
+        notification.setDate(date);
+        notification.setType(type);
+        notification.setIsread(false);
+        notification.setExpediteurId(expediteurId);
+        notification.setScope("DIRECT");
+        return notification;
+    }
+
+    public boolean isAudience() {
+        return scope != null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.scheduling.universityschedule_backend.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when the read state of a user's notifications changes (read, bulk read, edited or deleted),
+ * so cached unread counts of that user are recomputed once the change is committed.
+ */
+@Getter
+@ToString
+public class NotificationReadEvent {
+
+    private final Long personneId;
+
+    private NotificationReadEvent(Long personneId) {
+        this.personneId = personneId;
+    }
+
+    public static NotificationReadEvent of(Long personneId) {
+        return new NotificationReadEvent(personneId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.scheduling.universityschedule_backend.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a room is created or its type or capacity changes.
+ * Room deletions cascade to seances and publish {@link SeanceChangedEvent#all()} instead.
+ */
+@Getter
+@ToString
+public class SalleChangedEvent {
+
+    private final Long salleId;
+
+    private SalleChangedEvent(Long salleId) {
+        this.salleId = salleId;
+    }
+
+    public static SalleChangedEvent of(Long salleId) {
+        return new SalleChangedEvent(salleId);
+    }
+}
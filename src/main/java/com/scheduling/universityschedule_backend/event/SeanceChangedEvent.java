@@ -0,0 +1,43 @@
+package com.scheduling.universityschedule_backend.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published whenever seances are created, updated or deleted.
+ * Listeners reload the given ids; ids that no longer exist are treated as deletions.
+ * A full reload is requested when a write touches an unknown set of seances
+ * (for instance a cascading delete of a room or a group).
+ */
+@Getter
+@ToString
+public class SeanceChangedEvent {
+
+    private final Set<Long> seanceIds;
+    private final boolean fullReload;
+
+    private SeanceChangedEvent(Set<Long> seanceIds, boolean fullReload) {
+        this.seanceIds = seanceIds;
+        this.fullReload = fullReload;
+    }
+
+    public static SeanceChangedEvent of(Long seanceId) {
+        return new SeanceChangedEvent(Set.of(seanceId), false);
+    }
+
+    public static SeanceChangedEvent of(Collection<Long> seanceIds) {
+        return new SeanceChangedEvent(seanceIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet()), false);
+    }
+
+    public static SeanceChangedEvent all() {
+        return new SeanceChangedEvent(Collections.emptySet(), true);
+    }
+}
@@ -14,8 +14,14 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -56,26 +62,8 @@ public abstract class EntityMapper {
      */
     @Named("stringToDayOfWeek")
     public DayOfWeek stringToDayOfWeek(String day) {
-        if (day == null || day.isEmpty()) {
-            return null;
-        }
-
-        try {
-            // Try direct enum parsing (MONDAY, TUESDAY, etc.)
-            return DayOfWeek.valueOf(day.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            // Handle French day names as fallback
-            return switch (day.toLowerCase()) {
-                case "lundi" -> DayOfWeek.MONDAY;
-                case "mardi" -> DayOfWeek.TUESDAY;
-                case "mercredi" -> DayOfWeek.WEDNESDAY;
-                case "jeudi" -> DayOfWeek.THURSDAY;
-                case "vendredi" -> DayOfWeek.FRIDAY;
-                case "samedi" -> DayOfWeek.SATURDAY;
-                case "dimanche" -> DayOfWeek.SUNDAY;
-                default -> null;
-            };
-        }
+        // Lookup table of English enum names and French day names
+        return SeanceRowParser.parseDay(day);
     }
 
     /**
@@ -100,15 +88,7 @@ public abstract class EntityMapper {
      */
     @Named("stringToLocalTime")
     public LocalTime stringToLocalTime(String time) {
-        if (time == null || time.isEmpty()) {
-            return null;
-        }
-
-        try {
-            return LocalTime.parse(time, TIME_FORMATTER);
-        } catch (DateTimeParseException e) {
-            return null;
-        }
+        return SeanceRowParser.parseTime(time);
     }
 
     /**
@@ -159,15 +139,7 @@ public abstract class EntityMapper {
      */
     @Named("stringToLocalDate")
     public LocalDate stringToLocalDate(String date) {
-        if (date == null || date.isEmpty()) {
-            return null;
-        }
-
-        try {
-            return LocalDate.parse(date, DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            return null;
-        }
+        return SeanceRowParser.parseDate(date);
     }
 
     /**
@@ -334,6 +306,7 @@ public abstract class EntityMapper {
     @Mapping(target = "recepteurId", source = "recepteur.id")
     @Mapping(target = "expediteurId", source = "expediteur.id")
     @Mapping(target = "isread", source = "isread")
+    @Mapping(target = "scope", constant = "DIRECT")
     public abstract NotificationDTO toNotificationDTO(Notification notification);
 
     /**
@@ -353,6 +326,14 @@ public abstract class EntityMapper {
     @Mapping(target = "isread", source = "isread")
     public abstract void updateFromDto(NotificationDTO dto, @MappingTarget Notification notification);
 
+    /**
+     * Maps an AudienceNotification to NotificationDTO.
+     * Recipient and read state depend on the reader and are set by the caller.
+     */
+    @Mapping(target = "recepteurId", ignore = true)
+    @Mapping(target = "isread", ignore = true)
+    public abstract NotificationDTO toAudienceNotificationDTO(AudienceNotification notification);
+
     /* --------------------------- */
     /* PROPOSITION DE RATTRAPAGE   */
     /* --------------------------- */
@@ -482,6 +463,7 @@ public abstract class EntityMapper {
     @Mapping(target = "branches", source = "brancheIds", qualifiedByName = "mapIdListToBrancheList")
     @Mapping(target = "tds", source = "tdIds", qualifiedByName = "mapIdListToTDList")
     @Mapping(target = "tps", source = "tpIds", qualifiedByName = "mapIdListToTPList")
+    @Mapping(target = "fichierExcelId", ignore = true)
     public abstract Seance toSeance(SeanceDTO dto);
 
     /**
@@ -540,8 +522,103 @@ public abstract class EntityMapper {
     @Mapping(target = "branches", source = "brancheIds", qualifiedByName = "mapIdListToBrancheList")
     @Mapping(target = "tds", source = "tdIds", qualifiedByName = "mapIdListToTDList")
     @Mapping(target = "tps", source = "tpIds", qualifiedByName = "mapIdListToTPList")
+    @Mapping(target = "fichierExcelId", ignore = true)
     public abstract void updateFromDto(SeanceDTO dto, @MappingTarget Seance seance);
 
+    /**
+     * Loads every room, teacher and group referenced by a batch of sessions, one query per entity type.
+     * Unknown ids are simply absent; mapping a session that uses one fails with the usual "not found" error.
+     */
+    public SeanceReferences loadSeanceReferences(Collection<SeanceDTO> dtos) {
+        Set<Long> salleIds = new HashSet<>();
+        Set<Long> enseignantIds = new HashSet<>();
+        Set<Long> brancheIds = new HashSet<>();
+        Set<Long> tdIds = new HashSet<>();
+        Set<Long> tpIds = new HashSet<>();
+        for (SeanceDTO dto : dtos) {
+            if (dto == null) {
+                continue;
+            }
+            addId(salleIds, dto.getSalleId());
+            addId(enseignantIds, dto.getEnseignantId());
+            addIds(brancheIds, dto.getBrancheIds());
+            addIds(tdIds, dto.getTdIds());
+            addIds(tpIds, dto.getTpIds());
+        }
+        return new SeanceReferences(
+                byId(salleIds, salleRepository::findAllById, Salle::getId),
+                byId(enseignantIds, enseignantRepository::findAllById, Enseignant::getId),
+                byId(brancheIds, brancheRepository::findAllById, Branche::getId),
+                byId(tdIds, tdRepository::findAllById, TD::getId),
+                byId(tpIds, tpRepository::findAllById, TP::getId));
+    }
+
+    /**
+     * Maps a SeanceDTO to Seance entity like {@link #toSeance(SeanceDTO)}, resolving references
+     * from a preloaded batch instead of one lookup each.
+     */
+    public Seance toSeance(SeanceDTO dto, SeanceReferences references) throws CustomException {
+        if (dto == null) {
+            return null;
+        }
+        Seance seance = toSeanceWithoutReferences(dto);
+        attachReferences(seance, dto, references);
+        return seance;
+    }
+
+    /**
+     * Sets the room, teacher and groups of a session parsed elsewhere, e.g. by {@link SeanceRowParser},
+     * from a preloaded batch.
+     */
+    public void attachReferences(Seance seance, SeanceDTO dto, SeanceReferences references) throws CustomException {
+        seance.setSalle(references.salle(dto.getSalleId()));
+        seance.setEnseignant(references.enseignant(dto.getEnseignantId()));
+        seance.setBranches(references.branches(dto.getBrancheIds()));
+        seance.setTds(references.tds(dto.getTdIds()));
+        seance.setTps(references.tps(dto.getTpIds()));
+    }
+
+    /**
+     * Field conversions of {@link #toSeance(SeanceDTO)}; named so that MapStruct never picks it on its own.
+     */
+    @Named("toSeanceWithoutReferences")
+    @Mapping(target = "jour", source = "jour", qualifiedByName = "stringToDayOfWeek")
+    @Mapping(target = "heureDebut", source = "heureDebut", qualifiedByName = "stringToLocalTime")
+    @Mapping(target = "heureFin", source = "heureFin", qualifiedByName = "stringToLocalTime")
+    @Mapping(target = "frequence", source = "frequence", qualifiedByName = "stringToFrequenceType")
+    @Mapping(target = "type", source = "type", qualifiedByName = "stringToSeanceType")
+    @Mapping(target = "date", source = "date", qualifiedByName = "stringToLocalDate")
+    @Mapping(target = "salle", ignore = true)
+    @Mapping(target = "enseignant", ignore = true)
+    @Mapping(target = "branches", ignore = true)
+    @Mapping(target = "tds", ignore = true)
+    @Mapping(target = "tps", ignore = true)
+    @Mapping(target = "fichierExcelId", ignore = true)
+    protected abstract Seance toSeanceWithoutReferences(SeanceDTO dto);
+
+    private static void addId(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static void addIds(Set<Long> ids, List<Long> values) {
+        if (values != null) {
+            values.forEach(id -> addId(ids, id));
+        }
+    }
+
+    private static <T> Map<Long, T> byId(Set<Long> ids, Function<Set<Long>, List<T>> loader, Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, T> loaded = new HashMap<>();
+        for (T entity : loader.apply(ids)) {
+            loaded.put(idOf.apply(entity), entity);
+        }
+        return loaded;
+    }
+
     /* --------------------------- */
     /* CONFLICT MAPPINGS           */
     /* --------------------------- */
@@ -0,0 +1,85 @@
+package com.scheduling.universityschedule_backend.mapper;
+
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.Branche;
+import com.scheduling.universityschedule_backend.model.Enseignant;
+import com.scheduling.universityschedule_backend.model.Salle;
+import com.scheduling.universityschedule_backend.model.TD;
+import com.scheduling.universityschedule_backend.model.TP;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identity map of the rooms, teachers and groups referenced by a batch of sessions.
+ * Built by {@link EntityMapper#loadSeanceReferences} with one query per entity type, it lets
+ * {@link EntityMapper#toSeance(com.scheduling.universityschedule_backend.dto.SeanceDTO, SeanceReferences)}
+ * resolve every row of the batch without going back to the database. Entities are only valid
+ * within the transaction that loaded them.
+ */
+public final class SeanceReferences {
+
+    private final Map<Long, Salle> salles;
+    private final Map<Long, Enseignant> enseignants;
+    private final Map<Long, Branche> branches;
+    private final Map<Long, TD> tds;
+    private final Map<Long, TP> tps;
+
+    SeanceReferences(Map<Long, Salle> salles, Map<Long, Enseignant> enseignants, Map<Long, Branche> branches,
+                     Map<Long, TD> tds, Map<Long, TP> tps) {
+        this.salles = salles;
+        this.enseignants = enseignants;
+        this.branches = branches;
+        this.tds = tds;
+        this.tps = tps;
+    }
+
+    public Salle salle(Long id) throws CustomException {
+        return find(salles, id, "Salle");
+    }
+
+    public Enseignant enseignant(Long id) throws CustomException {
+        return find(enseignants, id, "Enseignant");
+    }
+
+    public List<Branche> branches(List<Long> ids) throws CustomException {
+        return findAll(branches, ids, "Branche");
+    }
+
+    public List<TD> tds(List<Long> ids) throws CustomException {
+        return findAll(tds, ids, "TD");
+    }
+
+    public List<TP> tps(List<Long> ids) throws CustomException {
+        return findAll(tps, ids, "TP");
+    }
+
+    private static <T> T find(Map<Long, T> loaded, Long id, String entity) throws CustomException {
+        if (id == null) {
+            return null;
+        }
+        T found = loaded.get(id);
+        if (found == null) {
+            throw new CustomException(entity + " not found with ID: " + id);
+        }
+        return found;
+    }
+
+    /**
+     * A new list per session, in the given order and without repeated ids
+     */
+    private static <T> List<T> findAll(Map<Long, T> loaded, List<Long> ids, String entity) throws CustomException {
+        List<T> found = new ArrayList<>();
+        if (ids == null) {
+            return found;
+        }
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id != null) {
+                found.add(find(loaded, id, entity));
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,170 @@
+package com.scheduling.universityschedule_backend.mapper;
+
+import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.SeanceType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Parses the text fields of a session without exceptions and with as few allocations as possible.
+ * <p>
+ * Day names (English or French) and session types are looked up case-insensitively in tables built
+ * once, times and dates are read digit by digit. Results match the {@link EntityMapper} conversions,
+ * which delegate here. Stateless and thread-safe, so rows of an import can be parsed on any thread;
+ * unlike the mapper, it never needs a transaction.
+ */
+public final class SeanceRowParser {
+
+    private static final Map<String, DayOfWeek> DAYS = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private static final Map<String, SeanceType> TYPES = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            DAYS.put(day.name(), day);
+        }
+        DAYS.put("lundi", DayOfWeek.MONDAY);
+        DAYS.put("mardi", DayOfWeek.TUESDAY);
+        DAYS.put("mercredi", DayOfWeek.WEDNESDAY);
+        DAYS.put("jeudi", DayOfWeek.THURSDAY);
+        DAYS.put("vendredi", DayOfWeek.FRIDAY);
+        DAYS.put("samedi", DayOfWeek.SATURDAY);
+        DAYS.put("dimanche", DayOfWeek.SUNDAY);
+        for (SeanceType type : SeanceType.values()) {
+            TYPES.put(type.name(), type);
+        }
+    }
+
+    private SeanceRowParser() {
+    }
+
+    /**
+     * Outcome of parsing one row: the session with its own fields set (references are left to the caller),
+     * or why the row is invalid.
+     */
+    public record Result(Seance seance, String error) {
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Parses and validates the fields of a session that do not reference other entities.
+     */
+    public static Result parse(SeanceDTO dto) {
+        DayOfWeek jour = parseDay(dto.getJour());
+        if (jour == null) {
+            return invalid("Missing or invalid day: " + dto.getJour());
+        }
+        LocalTime heureDebut = parseTime(dto.getHeureDebut());
+        LocalTime heureFin = parseTime(dto.getHeureFin());
+        if (heureDebut == null || heureFin == null) {
+            return invalid("Missing start or end time");
+        }
+        if (!heureDebut.isBefore(heureFin)) {
+            return invalid("Start time must be before end time");
+        }
+        if (dto.getType() == null) {
+            return invalid("Missing session type");
+        }
+        SeanceType type = parseType(dto.getType());
+        if (type == null) {
+            return invalid("Invalid session type: " + dto.getType());
+        }
+        FrequenceType frequence = FrequenceType.fromString(dto.getFrequence());
+        if (dto.getFrequence() != null && frequence == null) {
+            return invalid("Invalid frequency: " + dto.getFrequence());
+        }
+        LocalDate date = parseDate(dto.getDate());
+        if (date == null && dto.getDate() != null && !dto.getDate().isEmpty()) {
+            return invalid("Invalid date, expected yyyy-MM-dd: " + dto.getDate());
+        }
+
+        Seance seance = new Seance();
+        seance.setName(dto.getName());
+        seance.setMatiere(dto.getMatiere());
+        seance.setJour(jour);
+        seance.setType(type);
+        seance.setHeureDebut(heureDebut);
+        seance.setHeureFin(heureFin);
+        seance.setFrequence(frequence);
+        seance.setDate(date);
+        return new Result(seance, null);
+    }
+
+    /**
+     * English enum name or French day name, ignoring case
+     * @return the day, or null when missing or unknown
+     */
+    public static DayOfWeek parseDay(String day) {
+        return day == null ? null : DAYS.get(day);
+    }
+
+    /**
+     * Session type name, ignoring case
+     * @return the type, or null when missing or unknown
+     */
+    public static SeanceType parseType(String type) {
+        return type == null ? null : TYPES.get(type);
+    }
+
+    /**
+     * Time in HH:mm format
+     * @return the time, or null when missing or invalid
+     */
+    public static LocalTime parseTime(String time) {
+        if (time == null || time.length() != 5 || time.charAt(2) != ':') {
+            return null;
+        }
+        int hour = twoDigits(time, 0);
+        int minute = twoDigits(time, 3);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+
+    /**
+     * Date in yyyy-MM-dd format; like the mapper's formatter, a day past the end of its month
+     * (e.g. 2025-02-30) resolves to the last day of the month
+     * @return the date, or null when missing or invalid
+     */
+    public static LocalDate parseDate(String date) {
+        if (date == null || date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return null;
+        }
+        int century = twoDigits(date, 0);
+        int yearOfCentury = twoDigits(date, 2);
+        int month = twoDigits(date, 5);
+        int day = twoDigits(date, 8);
+        if (century < 0 || yearOfCentury < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        int year = century * 100 + yearOfCentury;
+        return LocalDate.of(year, month, Math.min(day, Month.of(month).length(Year.isLeap(year))));
+    }
+
+    /**
+     * The number written by the two digits at the given position, or -1 when they are not digits
+     */
+    private static int twoDigits(String text, int from) {
+        int tens = text.charAt(from) - '0';
+        int units = text.charAt(from + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+
+    private static Result invalid(String error) {
+        return new Result(null, error);
+    }
+}
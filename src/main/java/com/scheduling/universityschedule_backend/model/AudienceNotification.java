@@ -0,0 +1,43 @@
+package com.scheduling.universityschedule_backend.model;
+
+import com.scheduling.universityschedule_backend.model.enums.AudienceScope;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification addressed to a group rather than to a person: one row per targeted group,
+ * whatever the number of recipients. Recipients are matched when they read their inbox,
+ * and their read state is kept in {@link AudienceNotificationRead}.
+ */
+@Entity
+@Table(name = "audience_notification", indexes = {
+        @Index(name = "idx_audience_notification_target", columnList = "scope,target_id,date"),
+        @Index(name = "idx_audience_notification_role", columnList = "scope,role,date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AudienceNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+    @Column(nullable = false)
+    private LocalDateTime date;
+    private String type;
+    private Long expediteurId;
+
+    @Enumerated(EnumType.STRING)
+    private AudienceScope scope;
+    @Enumerated(EnumType.STRING)
+    private UserRole role;               // For ROLE
+    @Column(name = "target_id")
+    private Long targetId;               // Branche, TD or TP id for the group scopes
+}
@@ -0,0 +1,39 @@
+package com.scheduling.universityschedule_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read receipt of an audience notification: a row exists only once the person has read it,
+ * so unread messages cost nothing to store.
+ */
+@Entity
+@Table(name = "audience_notification_read", indexes = {
+        @Index(name = "idx_audience_read_personne", columnList = "personne_id,notification_id")
+})
+@IdClass(AudienceNotificationRead.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@ToString
+public class AudienceNotificationRead {
+
+    @Id
+    @Column(name = "notification_id")
+    private Long notificationId;
+
+    @Id
+    @Column(name = "personne_id")
+    private Long personneId;
+
+    private LocalDateTime readAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long notificationId;
+        private Long personneId;
+    }
+}
@@ -19,8 +19,23 @@ public class FichierExcel {
     private String fileName;
     private String status;
 
+    // Import whose sessions this one replaces, null for a fresh import
+    private Long replacesId;
+
     @ElementCollection
     private List<String> errors;
 
     private LocalDateTime importDate;
+
+    // Import progress, updated after every chunk
+    private int rowsParsed;
+    private int rowsInserted;
+    private int rowsUpdated;
+    private int rowsUnchanged;
+    private int rowsRejected;
+    private int rowsConflicting;
+    private int rowsDeleted;
+    private int rowsPendingDeletion;
+
+    private LocalDateTime completedAt;
 }
@@ -1,5 +1,8 @@
 package com.scheduling.universityschedule_backend.model;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Enum representing the frequency type of a session (Seance).
  * Used to indicate whether a session occurs weekly, biweekly, or is a makeup session.
@@ -20,6 +23,20 @@ public enum FrequenceType {
      */
     CATCHUP;
 
+    /**
+     * Accepted spellings, matched ignoring case without copying the value
+     */
+    private static final Map<String, FrequenceType> ALIASES = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        ALIASES.put("weekly", WEEKLY);
+        ALIASES.put("1/1", WEEKLY);
+        ALIASES.put("biweekly", BIWEEKLY);
+        ALIASES.put("1/15", BIWEEKLY);
+        ALIASES.put("makeup", CATCHUP);
+        ALIASES.put("catch-up", CATCHUP);
+    }
+
     /**
      * Convert a string representation to FrequenceType enum
      * @param value String value to convert
@@ -29,15 +46,7 @@ public enum FrequenceType {
         if (value == null) {
             return null;
         }
-
-        return switch (value.toLowerCase()) {
-            case "weekly" -> WEEKLY;
-            case "1/1" -> WEEKLY;
-            case "biweekly" -> BIWEEKLY;
-            case "1/15" -> BIWEEKLY;
-            case "makeup", "catch-up"  -> CATCHUP;
-            default -> null;
-        };
+        return ALIASES.get(value);
     }
 
     /**
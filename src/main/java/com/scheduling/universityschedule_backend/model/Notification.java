@@ -10,8 +10,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "notification", indexes = {
         @Index(name = "idx_notification_recepteur", columnList = "recepteur_id"),
+        @Index(name = "idx_notification_recepteur_isread", columnList = "recepteur_id,isread"),
+        @Index(name = "idx_notification_inbox", columnList = "recepteur_id,date DESC,id DESC"),
         @Index(name = "idx_notification_date", columnList = "date"),
-        @Index(name = "idx_notification_isread", columnList = "isread")
+        @Index(name = "idx_notification_isread", columnList = "isread"),
+        @Index(name = "idx_notification_retention", columnList = "isread,date")
 })
 @Data
 @NoArgsConstructor
@@ -22,6 +25,7 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String message;
+    @Column(nullable = false)
     private LocalDateTime date;
     private String type;
     private Boolean isread;
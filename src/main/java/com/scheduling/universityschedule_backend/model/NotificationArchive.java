@@ -0,0 +1,49 @@
+package com.scheduling.universityschedule_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read notifications moved out of the notification table by the retention job.
+ * Rows keep their original id. The date is part of the key, without foreign keys to personne,
+ * so the table can be range-partitioned by date on MySQL/MariaDB.
+ */
+@Entity
+@Table(name = "notification_archive", indexes = {
+        @Index(name = "idx_notification_archive_recepteur", columnList = "recepteur_id,date")
+})
+@IdClass(NotificationArchive.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@ToString
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    @Id
+    private LocalDateTime date;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+    private String type;
+    private Boolean isread;
+
+    @Column(name = "recepteur_id")
+    private Long recepteurId;
+
+    @Column(name = "expediteur_id")
+    private Long expediteurId;
+
+    private LocalDateTime archivedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long id;
+        private LocalDateTime date;
+    }
+}
@@ -0,0 +1,55 @@
+package com.scheduling.universityschedule_backend.model;
+
+import com.scheduling.universityschedule_backend.model.enums.DispatchStatus;
+import com.scheduling.universityschedule_backend.model.enums.DispatchTarget;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable record of a notification send, written by the admin request and expanded later
+ * by the outbox worker. Recipients are processed in ascending id order; {@code lastRecipientId}
+ * is moved in the same transaction as the inserted chunk, so a crash replays at most the
+ * uncommitted chunk and never notifies a recipient twice.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status,next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+    private String type;
+    private Long expediteurId;
+    private LocalDateTime date;          // Date given to every notification of the send
+
+    @Enumerated(EnumType.STRING)
+    private DispatchTarget target;
+    private String brancheIds;           // Comma-separated, for GROUPS
+    private String tdIds;                // Comma-separated, for GROUPS
+    private String tpIds;                // Comma-separated, for GROUPS
+
+    @Enumerated(EnumType.STRING)
+    private DispatchStatus status = DispatchStatus.PENDING;
+    private Long lastRecipientId = 0L;   // Cursor: every recipient up to this id is notified
+    private Long sent = 0L;
+    private Long total;                  // Recipients counted when the first worker claims it
+    private int attempts;
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime leaseUntil;
+    private LocalDateTime completedAt;
+}
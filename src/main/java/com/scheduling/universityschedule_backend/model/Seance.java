@@ -17,14 +17,18 @@ import java.util.List;
         @Index(name = "idx_seance_enseignant", columnList = "enseignant_id"),
         @Index(name = "idx_seance_salle", columnList = "salle_id"),
         @Index(name = "idx_seance_frequence", columnList = "frequence"),
-        @Index(name = "idx_seance_date", columnList = "date")
+        @Index(name = "idx_seance_date", columnList = "date"),
+        @Index(name = "idx_seance_fichier_excel", columnList = "fichier_excel_id")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @ToString
 public class Seance {
 
+    // Table generator so that bulk creates can reserve a block of ids (see SeanceBatchWriter)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "seance_id")
+    @TableGenerator(name = "seance_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "seances", allocationSize = 1)
     private Long id;
 
     private String name;
@@ -47,6 +51,10 @@ public class Seance {
     @Nullable
     private LocalDate date;
 
+    // Import that created or last changed the session, null when created otherwise; re-imports of a file are diffed against it
+    @Nullable
+    private Long fichierExcelId;
+
     @ManyToOne
     @JoinColumn(name = "salle_id")
     private Salle salle;
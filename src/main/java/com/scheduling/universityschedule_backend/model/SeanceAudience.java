@@ -0,0 +1,38 @@
+package com.scheduling.universityschedule_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Closure of a seance's audience: one row per effective TP.
+ * The Branche → TD → TP expansion is applied once when the seance is written,
+ * so conflict checks and schedule lookups only need an indexed join on this table.
+ * Rows are maintained by SeanceAudienceService, never edited directly.
+ */
+@Entity
+@Table(name = "seance_audience", indexes = {
+        @Index(name = "idx_seance_audience_tp", columnList = "tp_id,seance_id")
+})
+@IdClass(SeanceAudience.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@ToString
+public class SeanceAudience {
+
+    @Id
+    @Column(name = "seance_id")
+    private Long seanceId;
+
+    @Id
+    @Column(name = "tp_id")
+    private Long tpId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long seanceId;
+        private Long tpId;
+    }
+}
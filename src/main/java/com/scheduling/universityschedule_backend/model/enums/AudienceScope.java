@@ -0,0 +1,12 @@
+package com.scheduling.universityschedule_backend.model.enums;
+
+/**
+ * Audience of a notification stored once and resolved when the recipient reads it.
+ */
+public enum AudienceScope {
+    ALL,        // Every user
+    ROLE,       // Every user of a role (teachers or students)
+    BRANCHE,    // Students of a branch
+    TD,         // Students of a tutorial group
+    TP          // Students of a practical group
+}
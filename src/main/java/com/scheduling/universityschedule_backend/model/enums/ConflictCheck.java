@@ -0,0 +1,10 @@
+package com.scheduling.universityschedule_backend.model.enums;
+
+/**
+ * How bulk session creation (batch endpoint, sheet imports) treats conflicts, checked in memory before inserting.
+ */
+public enum ConflictCheck {
+    NONE,       // Insert without checking
+    REPORT,     // Insert every session and report its conflicts
+    REJECT      // Skip sessions conflicting with the week or with a session kept earlier in the batch
+}
@@ -0,0 +1,11 @@
+package com.scheduling.universityschedule_backend.model.enums;
+
+/**
+ * Lifecycle of a queued notification dispatch (NotificationOutbox).
+ */
+public enum DispatchStatus {
+    PENDING,    // Waiting for a worker, or for its next retry
+    RUNNING,    // Claimed by a worker until its lease expires
+    DONE,       // Every recipient has been notified
+    FAILED      // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,11 @@
+package com.scheduling.universityschedule_backend.model.enums;
+
+/**
+ * Audience of a queued notification dispatch.
+ */
+public enum DispatchTarget {
+    ALL,        // Every user
+    TEACHERS,   // Every teacher
+    STUDENTS,   // Every student
+    GROUPS      // Students of the listed branches, TDs and TPs
+}
@@ -0,0 +1,63 @@
+package com.scheduling.universityschedule_backend.repository;
+
+import com.scheduling.universityschedule_backend.model.AudienceNotificationRead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AudienceNotificationReadRepository
+        extends JpaRepository<AudienceNotificationRead, AudienceNotificationRead.Key> {
+
+    @Query("""
+    SELECT r.notificationId FROM AudienceNotificationRead r
+    WHERE r.personneId = :personneId AND r.notificationId IN :notificationIds
+    """)
+    List<Long> findReadIds(@Param("personneId") Long personneId,
+                           @Param("notificationIds") Collection<Long> notificationIds);
+
+    /**
+     * Records a read receipt; reading the same message twice keeps the first receipt.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT IGNORE INTO audience_notification_read (notification_id, personne_id, read_at)
+    VALUES (:notificationId, :personneId, :readAt)
+    """, nativeQuery = true)
+    int markRead(@Param("notificationId") Long notificationId,
+                 @Param("personneId") Long personneId,
+                 @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Records read receipts for every audience notification visible to a person, in one statement.
+     * Group ids the person does not have must be passed as -1.
+     * @return number of notifications that were unread
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT IGNORE INTO audience_notification_read (notification_id, personne_id, read_at)
+    SELECT v.id, :personneId, :readAt FROM (
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'ALL'
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'ROLE' AND a.role = :role
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'BRANCHE' AND a.target_id = :brancheId
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'TD' AND a.target_id = :tdId
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'TP' AND a.target_id = :tpId
+    ) v
+    """, nativeQuery = true)
+    int markAllRead(@Param("personneId") Long personneId,
+                    @Param("role") String role,
+                    @Param("brancheId") Long brancheId,
+                    @Param("tdId") Long tdId,
+                    @Param("tpId") Long tpId,
+                    @Param("readAt") LocalDateTime readAt);
+}
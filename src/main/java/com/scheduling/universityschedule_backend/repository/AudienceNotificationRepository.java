@@ -0,0 +1,190 @@
+package com.scheduling.universityschedule_backend.repository;
+
+import com.scheduling.universityschedule_backend.model.AudienceNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inbox queries of audience notifications.
+ * Each UNION ALL branch is an equality lookup on one index prefix (scope + role or scope + target),
+ * and a person belongs to at most one group per scope, so no message can come back twice.
+ * Group ids the person does not have must be passed as -1.
+ */
+@Repository
+public interface AudienceNotificationRepository extends JpaRepository<AudienceNotification, Long> {
+
+    @Query(value = """
+    SELECT v.* FROM (
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'ALL'
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'ROLE' AND a.role = :role
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'BRANCHE' AND a.target_id = :brancheId
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'TD' AND a.target_id = :tdId
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'TP' AND a.target_id = :tpId
+    ) v
+    ORDER BY v.date DESC, v.id DESC
+    """, nativeQuery = true)
+    List<AudienceNotification> findVisible(@Param("role") String role,
+                                           @Param("brancheId") Long brancheId,
+                                           @Param("tdId") Long tdId,
+                                           @Param("tpId") Long tpId);
+
+    /**
+     * Same messages as {@link #findVisible}, without those the person has already read.
+     */
+    @Query(value = """
+    SELECT v.* FROM (
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'ALL'
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'ROLE' AND a.role = :role
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'BRANCHE' AND a.target_id = :brancheId
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'TD' AND a.target_id = :tdId
+        UNION ALL
+        SELECT a.* FROM audience_notification a WHERE a.scope = 'TP' AND a.target_id = :tpId
+    ) v
+    WHERE NOT EXISTS (
+        SELECT 1 FROM audience_notification_read r
+        WHERE r.personne_id = :personneId AND r.notification_id = v.id
+    )
+    ORDER BY v.date DESC, v.id DESC
+    """, nativeQuery = true)
+    List<AudienceNotification> findVisibleUnread(@Param("personneId") Long personneId,
+                                                 @Param("role") String role,
+                                                 @Param("brancheId") Long brancheId,
+                                                 @Param("tdId") Long tdId,
+                                                 @Param("tpId") Long tpId);
+
+    @Query(value = """
+    SELECT COUNT(*) FROM (
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'ALL'
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'ROLE' AND a.role = :role
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'BRANCHE' AND a.target_id = :brancheId
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'TD' AND a.target_id = :tdId
+        UNION ALL
+        SELECT a.id FROM audience_notification a WHERE a.scope = 'TP' AND a.target_id = :tpId
+    ) v
+    WHERE NOT EXISTS (
+        SELECT 1 FROM audience_notification_read r
+        WHERE r.personne_id = :personneId AND r.notification_id = v.id
+    )
+    """, nativeQuery = true)
+    long countVisibleUnread(@Param("personneId") Long personneId,
+                            @Param("role") String role,
+                            @Param("brancheId") Long brancheId,
+                            @Param("tdId") Long tdId,
+                            @Param("tpId") Long tpId);
+
+    /**
+     * Whether the message is among those {@link #findVisible} returns for the person's role and groups.
+     */
+    @Query(value = """
+    SELECT COUNT(*) FROM audience_notification a
+    WHERE a.id = :id
+      AND (a.scope = 'ALL'
+           OR (a.scope = 'ROLE' AND a.role = :role)
+           OR (a.scope = 'BRANCHE' AND a.target_id = :brancheId)
+           OR (a.scope = 'TD' AND a.target_id = :tdId)
+           OR (a.scope = 'TP' AND a.target_id = :tpId))
+    """, nativeQuery = true)
+    long countVisible(@Param("id") Long id,
+                      @Param("role") String role,
+                      @Param("brancheId") Long brancheId,
+                      @Param("tdId") Long tdId,
+                      @Param("tpId") Long tpId);
+
+    /**
+     * Dates the audience notifications stored without one, which the inbox keyset cannot reach.
+     */
+    @Modifying
+    @Query("UPDATE AudienceNotification a SET a.date = :date WHERE a.date IS NULL")
+    int fillMissingDates(@Param("date") LocalDateTime date);
+
+    /**
+     * Rows [id, message, date, type, expediteurId, scope, read] of the audience notifications visible
+     * to a person and older than the (beforeDate, beforeId) position, newest first. Each branch reads
+     * at most :limit rows from its (scope, target, date) index range before the merge.
+     * Null filters are ignored.
+     */
+    @Query(value = """
+    SELECT v.id, v.message, v.date, v.type, v.expediteur_id, v.scope,
+           EXISTS (SELECT 1 FROM audience_notification_read r
+                   WHERE r.personne_id = :personneId AND r.notification_id = v.id) AS is_read
+    FROM (
+        (SELECT a.id, a.message, a.date, a.type, a.expediteur_id, a.scope
+         FROM audience_notification a
+         WHERE a.scope = 'ALL'
+           AND (a.date < :beforeDate OR (a.date = :beforeDate AND a.id < :beforeId))
+           AND (:type IS NULL OR a.type = :type)
+           AND (:read IS NULL OR :read = EXISTS (SELECT 1 FROM audience_notification_read r
+                                                 WHERE r.personne_id = :personneId AND r.notification_id = a.id))
+         ORDER BY a.date DESC, a.id DESC
+         LIMIT :limit)
+        UNION ALL
+        (SELECT a.id, a.message, a.date, a.type, a.expediteur_id, a.scope
+         FROM audience_notification a
+         WHERE a.scope = 'ROLE' AND a.role = :role
+           AND (a.date < :beforeDate OR (a.date = :beforeDate AND a.id < :beforeId))
+           AND (:type IS NULL OR a.type = :type)
+           AND (:read IS NULL OR :read = EXISTS (SELECT 1 FROM audience_notification_read r
+                                                 WHERE r.personne_id = :personneId AND r.notification_id = a.id))
+         ORDER BY a.date DESC, a.id DESC
+         LIMIT :limit)
+        UNION ALL
+        (SELECT a.id, a.message, a.date, a.type, a.expediteur_id, a.scope
+         FROM audience_notification a
+         WHERE a.scope = 'BRANCHE' AND a.target_id = :brancheId
+           AND (a.date < :beforeDate OR (a.date = :beforeDate AND a.id < :beforeId))
+           AND (:type IS NULL OR a.type = :type)
+           AND (:read IS NULL OR :read = EXISTS (SELECT 1 FROM audience_notification_read r
+                                                 WHERE r.personne_id = :personneId AND r.notification_id = a.id))
+         ORDER BY a.date DESC, a.id DESC
+         LIMIT :limit)
+        UNION ALL
+        (SELECT a.id, a.message, a.date, a.type, a.expediteur_id, a.scope
+         FROM audience_notification a
+         WHERE a.scope = 'TD' AND a.target_id = :tdId
+           AND (a.date < :beforeDate OR (a.date = :beforeDate AND a.id < :beforeId))
+           AND (:type IS NULL OR a.type = :type)
+           AND (:read IS NULL OR :read = EXISTS (SELECT 1 FROM audience_notification_read r
+                                                 WHERE r.personne_id = :personneId AND r.notification_id = a.id))
+         ORDER BY a.date DESC, a.id DESC
+         LIMIT :limit)
+        UNION ALL
+        (SELECT a.id, a.message, a.date, a.type, a.expediteur_id, a.scope
+         FROM audience_notification a
+         WHERE a.scope = 'TP' AND a.target_id = :tpId
+           AND (a.date < :beforeDate OR (a.date = :beforeDate AND a.id < :beforeId))
+           AND (:type IS NULL OR a.type = :type)
+           AND (:read IS NULL OR :read = EXISTS (SELECT 1 FROM audience_notification_read r
+                                                 WHERE r.personne_id = :personneId AND r.notification_id = a.id))
+         ORDER BY a.date DESC, a.id DESC
+         LIMIT :limit)
+    ) v
+    ORDER BY v.date DESC, v.id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findInboxPage(@Param("personneId") Long personneId,
+                                 @Param("role") String role,
+                                 @Param("brancheId") Long brancheId,
+                                 @Param("tdId") Long tdId,
+                                 @Param("tpId") Long tpId,
+                                 @Param("beforeDate") LocalDateTime beforeDate,
+                                 @Param("beforeId") Long beforeId,
+                                 @Param("type") String type,
+                                 @Param("read") Boolean read,
+                                 @Param("limit") int limit);
+}
@@ -2,8 +2,31 @@ package com.scheduling.universityschedule_backend.repository;
 
 import com.scheduling.universityschedule_backend.model.Etudiant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
+
+    /**
+     * Rows [tpId, number of students] of every TP with at least one student.
+     */
+    @Query("SELECT e.tp.id, COUNT(e) FROM Etudiant e WHERE e.tp IS NOT NULL GROUP BY e.tp.id")
+    List<Object[]> countStudentsByTp();
+
+    /**
+     * Rows [tpId, tdId, brancheId] of a student's groups, following TP -> TD -> Branche
+     * (ids may be null); no row if the student does not exist.
+     */
+    @Query("""
+    SELECT tp.id, td.id, b.id FROM Etudiant e
+    LEFT JOIN e.tp tp
+    LEFT JOIN tp.td td
+    LEFT JOIN td.branche b
+    WHERE e.id = :id
+    """)
+    List<Object[]> findGroupPath(@Param("id") Long id);
 }
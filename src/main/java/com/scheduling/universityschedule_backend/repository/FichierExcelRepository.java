@@ -2,8 +2,49 @@ package com.scheduling.universityschedule_backend.repository;
 
 import com.scheduling.universityschedule_backend.model.FichierExcel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
 @Repository
 public interface FichierExcelRepository extends JpaRepository<FichierExcel, Long> {
+
+    /**
+     * The import that replaced the given one, if any.
+     */
+    Optional<FichierExcel> findFirstByReplacesId(Long replacesId);
+
+    /**
+     * Records the progress of a running import, leaving its status and errors alone.
+     */
+    @Modifying
+    @Query("""
+    UPDATE FichierExcel f SET f.rowsParsed = :parsed, f.rowsInserted = :inserted, f.rowsUpdated = :updated,
+        f.rowsUnchanged = :unchanged, f.rowsRejected = :rejected, f.rowsConflicting = :conflicting
+    WHERE f.id = :id
+    """)
+    int updateProgress(@Param("id") Long id,
+                       @Param("parsed") int parsed,
+                       @Param("inserted") int inserted,
+                       @Param("updated") int updated,
+                       @Param("unchanged") int unchanged,
+                       @Param("rejected") int rejected,
+                       @Param("conflicting") int conflicting);
+
+    /**
+     * Closes imports left unfinished, e.g. by a restart while they were queued or running.
+     */
+    @Modifying
+    @Query("""
+    UPDATE FichierExcel f SET f.status = :status, f.completedAt = :now
+    WHERE f.status IN :unfinished
+    """)
+    int closeUnfinished(@Param("unfinished") Collection<String> unfinished,
+                        @Param("status") String status,
+                        @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,60 @@
+package com.scheduling.universityschedule_backend.repository;
+
+import com.scheduling.universityschedule_backend.model.NotificationOutbox;
+import com.scheduling.universityschedule_backend.model.enums.DispatchStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Sends ready to run: pending ones whose retry time has come, and running ones whose
+     * worker stopped renewing its lease (e.g. after a crash).
+     */
+    @Query("""
+    SELECT o.id FROM NotificationOutbox o
+    WHERE (o.status = :pending AND o.nextAttemptAt <= :now)
+       OR (o.status = :running AND o.leaseUntil < :now)
+    ORDER BY o.id
+    """)
+    List<Long> findDueIds(@Param("pending") DispatchStatus pending,
+                          @Param("running") DispatchStatus running,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    /**
+     * Takes a due send for one worker. Only one concurrent claim can match the row.
+     * @return 1 when claimed, 0 when another worker got it first
+     */
+    @Modifying
+    @Query("""
+    UPDATE NotificationOutbox o SET o.status = :running, o.leaseUntil = :leaseUntil
+    WHERE o.id = :id
+      AND ((o.status = :pending AND o.nextAttemptAt <= :now)
+        OR (o.status = :running AND o.leaseUntil < :now))
+    """)
+    int claim(@Param("id") Long id,
+              @Param("pending") DispatchStatus pending,
+              @Param("running") DispatchStatus running,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Loads a send with a row lock held until the end of the transaction, so two workers
+     * never process a chunk of the same send at once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.id = :id")
+    Optional<NotificationOutbox> lockById(@Param("id") Long id);
+}
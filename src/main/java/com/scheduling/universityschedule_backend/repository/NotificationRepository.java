@@ -1,11 +1,15 @@
 package com.scheduling.universityschedule_backend.repository;
 
 import com.scheduling.universityschedule_backend.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +22,218 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     @Query("SELECT n FROM Notification n WHERE n.recepteur.id = :personneId")
     List<Notification> findAllByPersonneId(@Param("personneId") Long personneId);
+
+    /**
+     * Unread notifications addressed to a specific Personne ID, newest first.
+     * @param personneId the ID of the Personne (destination)
+     * @return List of unread notifications for the specified Personne ID
+     */
+    @Query("SELECT n FROM Notification n WHERE n.recepteur.id = :personneId AND n.isread = false ORDER BY n.date DESC")
+    List<Notification> findUnreadByPersonneId(@Param("personneId") Long personneId);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recepteur.id = :personneId AND n.isread = false")
+    long countUnreadByPersonneId(@Param("personneId") Long personneId);
+
+    /**
+     * Marks every notification of a Personne as read with a single UPDATE.
+     * @return number of notifications that were unread
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isread = true WHERE n.recepteur.id = :personneId AND n.isread = false")
+    int markAllReadByPersonneId(@Param("personneId") Long personneId);
+
+    /**
+     * Dates the notifications stored without one, which the inbox keyset cannot reach.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.date = :date WHERE n.date IS NULL")
+    int fillMissingDates(@Param("date") LocalDateTime date);
+
+    /**
+     * Rows [id, message, date, type, isread, expediteurId] of a Personne's notifications older than
+     * the (beforeDate, beforeId) position, newest first. Only the listed columns are read, from the
+     * (recepteur_id, date, id) index range. Null filters are ignored.
+     */
+    @Query("""
+    SELECT n.id, n.message, n.date, n.type, n.isread, n.expediteur.id
+    FROM Notification n
+    WHERE n.recepteur.id = :personneId
+      AND (n.date < :beforeDate OR (n.date = :beforeDate AND n.id < :beforeId))
+      AND (:type IS NULL OR n.type = :type)
+      AND (:read IS NULL OR n.isread = :read)
+    ORDER BY n.date DESC, n.id DESC
+    """)
+    List<Object[]> findInboxPage(@Param("personneId") Long personneId,
+                                 @Param("beforeDate") LocalDateTime beforeDate,
+                                 @Param("beforeId") Long beforeId,
+                                 @Param("type") String type,
+                                 @Param("read") Boolean read,
+                                 Pageable pageable);
+
+    // ============================
+    //    Set-based fan-out
+    // ============================
+    // One INSERT ... SELECT per send, whatever the number of recipients.
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT INTO notification (message, date, type, isread, recepteur_id, expediteur_id)
+    SELECT :message, :date, :type, false, p.id, :expediteurId
+    FROM personne p
+    """, nativeQuery = true)
+    int insertForAllPersons(@Param("message") String message,
+                            @Param("date") LocalDateTime date,
+                            @Param("type") String type,
+                            @Param("expediteurId") Long expediteurId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT INTO notification (message, date, type, isread, recepteur_id, expediteur_id)
+    SELECT :message, :date, :type, false, e.id, :expediteurId
+    FROM enseignants e
+    """, nativeQuery = true)
+    int insertForAllTeachers(@Param("message") String message,
+                             @Param("date") LocalDateTime date,
+                             @Param("type") String type,
+                             @Param("expediteurId") Long expediteurId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT INTO notification (message, date, type, isread, recepteur_id, expediteur_id)
+    SELECT :message, :date, :type, false, e.id, :expediteurId
+    FROM etudiants e
+    """, nativeQuery = true)
+    int insertForAllStudents(@Param("message") String message,
+                             @Param("date") LocalDateTime date,
+                             @Param("type") String type,
+                             @Param("expediteurId") Long expediteurId);
+
+    /**
+     * Notifies every student of the listed branches, TDs and TPs once, even when the targets
+     * overlap. Students are reached through their TP, as in Branche -> TD -> TP -> Etudiant.
+     * None of the id lists may be empty; pass an id that matches nothing instead.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT INTO notification (message, date, type, isread, recepteur_id, expediteur_id)
+    SELECT :message, :date, :type, false, s.id, :expediteurId
+    FROM (
+        SELECT DISTINCT e.id
+        FROM etudiants e
+        JOIN tps tp ON tp.id = e.tp_id
+        LEFT JOIN tds td ON td.id = tp.td_id
+        WHERE td.branche_id IN (:brancheIds)
+           OR td.id IN (:tdIds)
+           OR tp.id IN (:tpIds)
+    ) s
+    """, nativeQuery = true)
+    int insertForStudentsOfGroups(@Param("message") String message,
+                                  @Param("date") LocalDateTime date,
+                                  @Param("type") String type,
+                                  @Param("expediteurId") Long expediteurId,
+                                  @Param("brancheIds") Collection<Long> brancheIds,
+                                  @Param("tdIds") Collection<Long> tdIds,
+                                  @Param("tpIds") Collection<Long> tpIds);
+
+    // ============================
+    //    Chunked fan-out (outbox worker)
+    // ============================
+    // Recipients are read in ascending id pages so a send can resume after its last chunk.
+
+    @Query(value = "SELECT p.id FROM personne p WHERE p.id > :afterId ORDER BY p.id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findPersonIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT e.id FROM enseignants e WHERE e.id > :afterId ORDER BY e.id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findTeacherIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT e.id FROM etudiants e WHERE e.id > :afterId ORDER BY e.id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findStudentIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Same recipients as {@link #insertForStudentsOfGroups}, one id page at a time.
+     */
+    @Query(value = """
+    SELECT DISTINCT e.id
+    FROM etudiants e
+    JOIN tps tp ON tp.id = e.tp_id
+    LEFT JOIN tds td ON td.id = tp.td_id
+    WHERE (td.branche_id IN (:brancheIds) OR td.id IN (:tdIds) OR tp.id IN (:tpIds))
+      AND e.id > :afterId
+    ORDER BY e.id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<Long> findGroupStudentIdsAfter(@Param("brancheIds") Collection<Long> brancheIds,
+                                        @Param("tdIds") Collection<Long> tdIds,
+                                        @Param("tpIds") Collection<Long> tpIds,
+                                        @Param("afterId") Long afterId,
+                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM personne", nativeQuery = true)
+    long countPersons();
+
+    @Query(value = "SELECT COUNT(*) FROM enseignants", nativeQuery = true)
+    long countTeachers();
+
+    @Query(value = "SELECT COUNT(*) FROM etudiants", nativeQuery = true)
+    long countStudents();
+
+    @Query(value = """
+    SELECT COUNT(DISTINCT e.id)
+    FROM etudiants e
+    JOIN tps tp ON tp.id = e.tp_id
+    LEFT JOIN tds td ON td.id = tp.td_id
+    WHERE td.branche_id IN (:brancheIds) OR td.id IN (:tdIds) OR tp.id IN (:tpIds)
+    """, nativeQuery = true)
+    long countGroupStudents(@Param("brancheIds") Collection<Long> brancheIds,
+                            @Param("tdIds") Collection<Long> tdIds,
+                            @Param("tpIds") Collection<Long> tpIds);
+
+    /**
+     * Inserts one notification per recipient id, as a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT INTO notification (message, date, type, isread, recepteur_id, expediteur_id)
+    SELECT :message, :date, :type, false, p.id, :expediteurId
+    FROM personne p
+    WHERE p.id IN (:recipientIds)
+    """, nativeQuery = true)
+    int insertForRecipients(@Param("message") String message,
+                            @Param("date") LocalDateTime date,
+                            @Param("type") String type,
+                            @Param("expediteurId") Long expediteurId,
+                            @Param("recipientIds") Collection<Long> recipientIds);
+
+    // ============================
+    //    Retention
+    // ============================
+    // Old read notifications are copied to notification_archive and deleted in the same transaction.
+
+    @Query(value = """
+    SELECT n.id FROM notification n
+    WHERE n.isread = true AND n.date < :cutoff
+    ORDER BY n.date, n.id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Copies notifications to the archive; rows already archived by a concurrent run are skipped.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+    INSERT IGNORE INTO notification_archive
+        (id, date, message, type, isread, recepteur_id, expediteur_id, archived_at)
+    SELECT n.id, n.date, n.message, n.type, n.isread, n.recepteur_id, n.expediteur_id, :archivedAt
+    FROM notification n
+    WHERE n.id IN (:ids)
+    """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM notification WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -52,4 +53,16 @@ public interface SalleRepository extends JpaRepository<Salle, Long> {
             @Param("heureFin") LocalTime heureFin,
             @Param("date") LocalDate date
     );
+
+    /**
+     * Rows [id, identifiant, type, capacite] of every room, for the occupancy index.
+     */
+    @Query("SELECT s.id, s.identifiant, s.type, s.capacite FROM Salle s")
+    List<Object[]> findAllRoomRows();
+
+    /**
+     * Rows [id, identifiant, type, capacite] of the given rooms.
+     */
+    @Query("SELECT s.id, s.identifiant, s.type, s.capacite FROM Salle s WHERE s.id IN :ids")
+    List<Object[]> findRoomRowsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,101 @@
+package com.scheduling.universityschedule_backend.repository;
+
+import com.scheduling.universityschedule_backend.model.SeanceAudience;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintenance statements of the seance_audience closure.
+ * Both inserts apply the expansion rules of the conflict queries: listed TPs, TPs of listed TDs,
+ * and TPs of listed Branches unless the seance also lists a TD of that Branche.
+ */
+@Repository
+public interface SeanceAudienceRepository extends JpaRepository<SeanceAudience, SeanceAudience.Key> {
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "DELETE FROM seance_audience WHERE seance_id IN (:ids)", nativeQuery = true)
+    int deleteBySeanceIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+    INSERT INTO seance_audience (seance_id, tp_id)
+    SELECT st.seance_id, st.tp_id
+    FROM seance_tp st
+    WHERE st.seance_id IN (:ids)
+    UNION
+    SELECT sd.seance_id, tp.id
+    FROM seance_td sd
+    JOIN tps tp ON tp.td_id = sd.td_id
+    WHERE sd.seance_id IN (:ids)
+    UNION
+    SELECT sb.seance_id, tp.id
+    FROM seance_branche sb
+    JOIN tds td ON td.branche_id = sb.branche_id
+    JOIN tps tp ON tp.td_id = td.id
+    WHERE sb.seance_id IN (:ids)
+      AND NOT EXISTS (
+          SELECT 1 FROM seance_td sd2
+          JOIN tds td2 ON td2.id = sd2.td_id
+          WHERE sd2.seance_id = sb.seance_id AND td2.branche_id = sb.branche_id
+      )
+    """, nativeQuery = true)
+    int insertForSeances(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "DELETE FROM seance_audience", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+    INSERT INTO seance_audience (seance_id, tp_id)
+    SELECT st.seance_id, st.tp_id
+    FROM seance_tp st
+    UNION
+    SELECT sd.seance_id, tp.id
+    FROM seance_td sd
+    JOIN tps tp ON tp.td_id = sd.td_id
+    UNION
+    SELECT sb.seance_id, tp.id
+    FROM seance_branche sb
+    JOIN tds td ON td.branche_id = sb.branche_id
+    JOIN tps tp ON tp.td_id = td.id
+    WHERE NOT EXISTS (
+          SELECT 1 FROM seance_td sd2
+          JOIN tds td2 ON td2.id = sd2.td_id
+          WHERE sd2.seance_id = sb.seance_id AND td2.branche_id = sb.branche_id
+      )
+    """, nativeQuery = true)
+    int insertAll();
+
+    /**
+     * The week of a TP in one read of the closure's tp index: rows [id, name, matiere, jour, type, heureDebut,
+     * heureFin, frequence, date, salleId, enseignantId, brancheIds, tdIds, tpIds], times and dates already
+     * formatted as the DTOs expect them and group ids as comma-separated lists.
+     */
+    @Query(value = """
+    SELECT s.id, s.name, s.matiere, s.jour, s.type,
+           TIME_FORMAT(s.heure_debut, '%H:%i'), TIME_FORMAT(s.heure_fin, '%H:%i'),
+           s.frequence, DATE_FORMAT(s.date, '%Y-%m-%d'), s.salle_id, s.enseignant_id,
+           (SELECT GROUP_CONCAT(sb.branche_id) FROM seance_branche sb WHERE sb.seance_id = s.id),
+           (SELECT GROUP_CONCAT(sd.td_id) FROM seance_td sd WHERE sd.seance_id = s.id),
+           (SELECT GROUP_CONCAT(st.tp_id) FROM seance_tp st WHERE st.seance_id = s.id)
+    FROM seance_audience a
+    JOIN seances s ON s.id = a.seance_id
+    WHERE a.tp_id = :tpId
+    """, nativeQuery = true)
+    List<Object[]> findWeekRowsByTp(@Param("tpId") Long tpId);
+
+    @Query(value = "SELECT DISTINCT tp_id FROM seance_audience WHERE seance_id IN (:ids)", nativeQuery = true)
+    List<Long> findTpIdsBySeanceIds(@Param("ids") Collection<Long> ids);
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,25 +24,8 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
           CASE WHEN s1.salle.id = s2.salle.id THEN 'Room Conflict; ' ELSE '' END,
           CASE WHEN s1.enseignant.id = s2.enseignant.id THEN 'Teacher Conflict; ' ELSE '' END,
           CASE WHEN EXISTS (
-             SELECT 1 FROM TP tp
-             WHERE (
-                   (tp MEMBER OF s1.tps)
-                   OR EXISTS (SELECT 1 FROM s1.tds t1 WHERE t1 = tp.td)
-                   OR EXISTS (
-                         SELECT 1 FROM s1.branches b1 
-                         WHERE b1 = tp.td.branche 
-                           AND NOT EXISTS (SELECT 1 FROM s1.tds t2 WHERE t2.branche = b1)
-                   )
-             )
-             AND (
-                   (tp MEMBER OF s2.tps)
-                   OR EXISTS (SELECT 1 FROM s2.tds t3 WHERE t3 = tp.td)
-                   OR EXISTS (
-                         SELECT 1 FROM s2.branches b2 
-                         WHERE b2 = tp.td.branche 
-                           AND NOT EXISTS (SELECT 1 FROM s2.tds t4 WHERE t4.branche = b2)
-                   )
-             )
+             SELECT 1 FROM SeanceAudience a1, SeanceAudience a2
+             WHERE a1.seanceId = s1.id AND a2.seanceId = s2.id AND a2.tpId = a1.tpId
           ) THEN 'Student Group Conflict; ' ELSE '' END,
           CASE WHEN s1.frequence = :biweekly AND s2.frequence = :biweekly THEN 'Bi-Weekly Conflict; ' ELSE '' END,
           CASE WHEN ((s1.frequence = :catchup AND s2.frequence = :biweekly)
@@ -57,25 +41,8 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
               s1.salle.id = s2.salle.id
               OR s1.enseignant.id = s2.enseignant.id
               OR EXISTS (
-                   SELECT 1 FROM TP tp
-                   WHERE (
-                         (tp MEMBER OF s1.tps)
-                         OR EXISTS (SELECT 1 FROM s1.tds t1 WHERE t1 = tp.td)
-                         OR EXISTS (
-                               SELECT 1 FROM s1.branches b1 
-                               WHERE b1 = tp.td.branche
-                                 AND NOT EXISTS (SELECT 1 FROM s1.tds t2 WHERE t2.branche = b1)
-                         )
-                   )
-                   AND (
-                         (tp MEMBER OF s2.tps)
-                         OR EXISTS (SELECT 1 FROM s2.tds t3 WHERE t3 = tp.td)
-                         OR EXISTS (
-                               SELECT 1 FROM s2.branches b2 
-                               WHERE b2 = tp.td.branche
-                                 AND NOT EXISTS (SELECT 1 FROM s2.tds t4 WHERE t4.branche = b2)
-                         )
-                   )
+                   SELECT 1 FROM SeanceAudience a1, SeanceAudience a2
+                   WHERE a1.seanceId = s1.id AND a2.seanceId = s2.id AND a2.tpId = a1.tpId
               )
          )
     """)
@@ -114,25 +81,8 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
           CASE WHEN s.salle.id = s_main.salle.id THEN 'Room Conflict; ' ELSE '' END,
           CASE WHEN s.enseignant.id = s_main.enseignant.id THEN 'Teacher Conflict; ' ELSE '' END,
           CASE WHEN EXISTS (
-             SELECT 1 FROM TP tp
-             WHERE (
-                   (tp MEMBER OF s.tps)
-                   OR EXISTS (SELECT 1 FROM s.tds t1 WHERE t1 = tp.td)
-                   OR EXISTS (
-                         SELECT 1 FROM s.branches b1 
-                         WHERE b1 = tp.td.branche
-                           AND NOT EXISTS (SELECT 1 FROM s.tds t2 WHERE t2.branche = b1)
-                   )
-             )
-             AND (
-                   (tp MEMBER OF s_main.tps)
-                   OR EXISTS (SELECT 1 FROM s_main.tds t3 WHERE t3 = tp.td)
-                   OR EXISTS (
-                         SELECT 1 FROM s_main.branches b2 
-                         WHERE b2 = tp.td.branche
-                           AND NOT EXISTS (SELECT 1 FROM s_main.tds t4 WHERE t4.branche = b2)
-                   )
-             )
+             SELECT 1 FROM SeanceAudience a1, SeanceAudience a2
+             WHERE a1.seanceId = s_main.id AND a2.seanceId = s.id AND a2.tpId = a1.tpId
           ) THEN 'Student Group Conflict; ' ELSE '' END,
           CASE WHEN s.frequence = :biweekly AND s_main.frequence = :biweekly THEN 'Bi-Weekly Conflict; ' ELSE '' END,
           CASE WHEN ((s.frequence = :catchup AND s_main.frequence = :biweekly)
@@ -150,31 +100,20 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
              s.salle.id = s_main.salle.id
              OR s.enseignant.id = s_main.enseignant.id
              OR EXISTS (
-                   SELECT 1 FROM TP tp
-                   WHERE (
-                         (tp MEMBER OF s.tps)
-                         OR EXISTS (SELECT 1 FROM s.tds t1 WHERE t1 = tp.td)
-                         OR EXISTS (
-                               SELECT 1 FROM s.branches b1 
-                               WHERE b1 = tp.td.branche
-                                 AND NOT EXISTS (SELECT 1 FROM s.tds t2 WHERE t2.branche = b1)
-                         )
-                   )
-                   AND (
-                         (tp MEMBER OF s_main.tps)
-                         OR EXISTS (SELECT 1 FROM s_main.tds t3 WHERE t3 = tp.td)
-                         OR EXISTS (
-                               SELECT 1 FROM s_main.branches b2 
-                               WHERE b2 = tp.td.branche
-                                 AND NOT EXISTS (SELECT 1 FROM s_main.tds t4 WHERE t4.branche = b2)
-                         )
-                   )
+                   SELECT 1 FROM SeanceAudience a1, SeanceAudience a2
+                   WHERE a1.seanceId = s_main.id AND a2.seanceId = s.id AND a2.tpId = a1.tpId
              )
          )
     """)
     List<Object[]> findRoomConflictsForSeanceById(@Param("seanceId") Long seanceId,
                                                   @Param("biweekly") FrequenceType biweekly,
                                                   @Param("catchup") FrequenceType catchup);
+
+    /**
+     * Conflicts of a prospective seance.
+     * incomingTpIds is the already expanded audience of that seance (see TPRepository#resolveAudience);
+     * pass a list containing only -1 when it has no audience.
+     */
     @Query("""
 SELECT s,
        CONCAT(
@@ -183,23 +122,8 @@ SELECT s,
            CASE WHEN (:enseignantId IS NOT NULL AND s.enseignant.id = :enseignantId)
                 THEN 'Teacher Conflict; ' ELSE '' END,
            CASE WHEN EXISTS (
-                SELECT tp FROM TP tp
-                WHERE tp IN elements(s.tps)
-                   OR tp.td IN elements(s.tds)
-                   OR (tp.td.branche IN elements(s.branches) 
-                       AND NOT EXISTS (
-                          SELECT t2 FROM TD t2 WHERE t2.branche = tp.td.branche AND t2 IN elements(s.tds)
-                       )
-                   )
-                   AND (
-                       (:incomingTpIds IS NOT NULL AND tp.id IN :incomingTpIds)
-                    OR (:incomingTdIds IS NOT NULL AND tp.td.id IN :incomingTdIds)
-                    OR (:incomingBranchIds IS NOT NULL AND tp.td.branche.id IN :incomingBranchIds
-                        AND NOT EXISTS (
-                            SELECT td FROM TD td WHERE td.branche = tp.td.branche AND td.id IN :incomingTdIds
-                        )
-                    )
-                   )
+                SELECT 1 FROM SeanceAudience a
+                WHERE a.seanceId = s.id AND a.tpId IN :incomingTpIds
             ) THEN 'Student Group Conflict; ' ELSE '' END,
            CASE WHEN (s.frequence = :biweekly AND :frequence = :biweekly)
                 THEN 'Bi-Weekly Conflict; ' ELSE '' END,
@@ -215,41 +139,15 @@ WHERE s.jour = :jour
         (:salleId IS NOT NULL AND s.salle.id = :salleId)
      OR (:enseignantId IS NOT NULL AND s.enseignant.id = :enseignantId)
      OR EXISTS (
-          SELECT tp FROM TP tp
-          WHERE tp IN elements(s.tps)
-             OR tp.td IN elements(s.tds)
-             OR (tp.td.branche IN elements(s.branches) 
-                 AND NOT EXISTS (SELECT t2 FROM TD t2 WHERE t2.branche = tp.td.branche AND t2 IN elements(s.tds))
-                )
-             AND (
-                 (:incomingTpIds IS NOT NULL AND tp.id IN :incomingTpIds)
-              OR (:incomingTdIds IS NOT NULL AND tp.td.id IN :incomingTdIds)
-              OR (:incomingBranchIds IS NOT NULL AND tp.td.branche.id IN :incomingBranchIds
-                  AND NOT EXISTS (
-                       SELECT td FROM TD td WHERE td.branche = tp.td.branche AND td.id IN :incomingTdIds
-                  )
-                )
-             )
+          SELECT 1 FROM SeanceAudience a
+          WHERE a.seanceId = s.id AND a.tpId IN :incomingTpIds
      )
   )
   AND NOT (
       (s.frequence = :biweekly AND :frequence = :biweekly)
       AND EXISTS (
-          SELECT tp FROM TP tp
-          WHERE tp IN elements(s.tps)
-             OR tp.td IN elements(s.tds)
-             OR (tp.td.branche IN elements(s.branches) 
-                 AND NOT EXISTS (SELECT t2 FROM TD t2 WHERE t2.branche = tp.td.branche AND t2 IN elements(s.tds))
-                )
-             AND (
-                 (:incomingTpIds IS NOT NULL AND tp.id IN :incomingTpIds)
-              OR (:incomingTdIds IS NOT NULL AND tp.td.id IN :incomingTdIds)
-              OR (:incomingBranchIds IS NOT NULL AND tp.td.branche.id IN :incomingBranchIds
-                  AND NOT EXISTS (
-                       SELECT td FROM TD td WHERE td.branche = tp.td.branche AND td.id IN :incomingTdIds
-                  )
-                )
-             )
+          SELECT 1 FROM SeanceAudience a
+          WHERE a.seanceId = s.id AND a.tpId IN :incomingTpIds
       )
   )
   AND NOT (
@@ -260,30 +158,15 @@ WHERE s.jour = :jour
       ((s.frequence = :catchup AND :frequence = :biweekly)
         OR (s.frequence = :biweekly AND :frequence = :catchup))
       AND EXISTS (
-          SELECT tp FROM TP tp
-          WHERE tp IN elements(s.tps)
-             OR tp.td IN elements(s.tds)
-             OR (tp.td.branche IN elements(s.branches) 
-                 AND NOT EXISTS (SELECT t2 FROM TD t2 WHERE t2.branche = tp.td.branche AND t2 IN elements(s.tds))
-                )
-             AND (
-                 (:incomingTpIds IS NOT NULL AND tp.id IN :incomingTpIds)
-              OR (:incomingTdIds IS NOT NULL AND tp.td.id IN :incomingTdIds)
-              OR (:incomingBranchIds IS NOT NULL AND tp.td.branche.id IN :incomingBranchIds
-                  AND NOT EXISTS (
-                       SELECT td FROM TD td WHERE td.branche = tp.td.branche AND td.id IN :incomingTdIds
-                  )
-                )
-             )
+          SELECT 1 FROM SeanceAudience a
+          WHERE a.seanceId = s.id AND a.tpId IN :incomingTpIds
       )
   )
 """)
     List<Object[]> findConflictsForSeance(
             @Param("salleId") Long salleId,
             @Param("enseignantId") Long enseignantId,
-            @Param("incomingTpIds") List<Long> incomingTpIds,
-            @Param("incomingTdIds") List<Long> incomingTdIds,
-            @Param("incomingBranchIds") List<Long> incomingBranchIds,
+            @Param("incomingTpIds") Collection<Long> incomingTpIds,
             @Param("jour") DayOfWeek jour,
             @Param("heureDebut") LocalTime heureDebut,
             @Param("heureFin") LocalTime heureFin,
@@ -293,5 +176,92 @@ WHERE s.jour = :jour
             @Param("catchup") FrequenceType catchup
     );
 
+    /**
+     * Seances whose audience may depend on the given groups: those currently reaching one of the TPs
+     * through the closure, and those listing one of the groups. Empty collections must be replaced by
+     * a list containing only -1.
+     */
+    @Query("""
+    SELECT s.id FROM Seance s
+    WHERE EXISTS (SELECT 1 FROM SeanceAudience a WHERE a.seanceId = s.id AND a.tpId IN :tpIds)
+       OR EXISTS (SELECT 1 FROM s.tps tp WHERE tp.id IN :tpIds)
+       OR EXISTS (SELECT 1 FROM s.tds td WHERE td.id IN :tdIds)
+       OR EXISTS (SELECT 1 FROM s.branches b WHERE b.id IN :brancheIds)
+    """)
+    List<Long> findIdsByGroups(@Param("tpIds") Collection<Long> tpIds,
+                               @Param("tdIds") Collection<Long> tdIds,
+                               @Param("brancheIds") Collection<Long> brancheIds);
+
+    // ============================
+    //    Conflict engine projections
+    // ============================
+
+    /**
+     * Scalar rows [id, jour, heureDebut, heureFin, frequence, date, salleId, enseignantId]
+     * for every seance, used to build the in-memory conflict index without loading entities.
+     */
+    @Query("""
+    SELECT s.id, s.jour, s.heureDebut, s.heureFin, s.frequence, s.date, sa.id, en.id
+    FROM Seance s
+    LEFT JOIN s.salle sa
+    LEFT JOIN s.enseignant en
+    """)
+    List<Object[]> findAllSlotRows();
+
+    @Query("""
+    SELECT s.id, s.jour, s.heureDebut, s.heureFin, s.frequence, s.date, sa.id, en.id
+    FROM Seance s
+    LEFT JOIN s.salle sa
+    LEFT JOIN s.enseignant en
+    WHERE s.id IN :ids
+    """)
+    List<Object[]> findSlotRowsByIds(@Param("ids") Collection<Long> ids);
 
+    @Query("SELECT s.id, tp.id FROM Seance s JOIN s.tps tp")
+    List<Object[]> findAllTpLinks();
+
+    @Query("SELECT s.id, tp.id FROM Seance s JOIN s.tps tp WHERE s.id IN :ids")
+    List<Object[]> findTpLinksByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id, td.id FROM Seance s JOIN s.tds td")
+    List<Object[]> findAllTdLinks();
+
+    @Query("SELECT s.id, td.id FROM Seance s JOIN s.tds td WHERE s.id IN :ids")
+    List<Object[]> findTdLinksByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id, b.id FROM Seance s JOIN s.branches b")
+    List<Object[]> findAllBrancheLinks();
+
+    @Query("SELECT s.id, b.id FROM Seance s JOIN s.branches b WHERE s.id IN :ids")
+    List<Object[]> findBrancheLinksByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sessions saved by the given imports, for diffing the import that replaces them.
+     */
+    @Query("""
+    SELECT s.id, s.matiere, s.type, s.jour, s.heureDebut, s.heureFin, en.id, s.name, s.frequence, s.date, sa.id
+    FROM Seance s
+    LEFT JOIN s.salle sa
+    LEFT JOIN s.enseignant en
+    WHERE s.fichierExcelId IN :fichierExcelIds
+    """)
+    List<Object[]> findImportedRows(@Param("fichierExcelIds") Collection<Long> fichierExcelIds);
+
+    @Query("""
+    SELECT s.id, tp.id FROM Seance s JOIN s.tps tp
+    WHERE s.fichierExcelId IN :fichierExcelIds
+    """)
+    List<Object[]> findImportedTpLinks(@Param("fichierExcelIds") Collection<Long> fichierExcelIds);
+
+    @Query("""
+    SELECT s.id, td.id FROM Seance s JOIN s.tds td
+    WHERE s.fichierExcelId IN :fichierExcelIds
+    """)
+    List<Object[]> findImportedTdLinks(@Param("fichierExcelIds") Collection<Long> fichierExcelIds);
+
+    @Query("""
+    SELECT s.id, b.id FROM Seance s JOIN s.branches b
+    WHERE s.fichierExcelId IN :fichierExcelIds
+    """)
+    List<Object[]> findImportedBrancheLinks(@Param("fichierExcelIds") Collection<Long> fichierExcelIds);
 }
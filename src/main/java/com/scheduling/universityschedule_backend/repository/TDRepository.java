@@ -20,4 +20,9 @@ public interface TDRepository extends JpaRepository<TD, Long> {
     @Query("SELECT td FROM TD td WHERE td.branche.id = :brancheId")
     List<TD> getAllTDbyBrancheId(@Param("brancheId") Long brancheId);
 
+    /**
+     * Rows [tdId, brancheId] describing the Branche each TD belongs to (brancheId may be null).
+     */
+    @Query("SELECT td.id, b.id FROM TD td LEFT JOIN td.branche b")
+    List<Object[]> findAllBrancheLinks();
 }
@@ -2,8 +2,36 @@ package com.scheduling.universityschedule_backend.repository;
 
 import com.scheduling.universityschedule_backend.model.TP;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TPRepository extends JpaRepository<TP, Long> {
+
+    /**
+     * Rows [tpId, tdId] describing the TD each TP belongs to (tdId may be null).
+     */
+    @Query("SELECT tp.id, td.id FROM TP tp LEFT JOIN tp.td td")
+    List<Object[]> findAllTdLinks();
+
+    /**
+     * Expands declared groups into effective TP ids with the seance_audience rules.
+     * Empty collections must be replaced by a list containing only -1.
+     */
+    @Query("""
+    SELECT DISTINCT tp.id FROM TP tp
+    LEFT JOIN tp.td td
+    LEFT JOIN td.branche b
+    WHERE tp.id IN :tpIds
+       OR td.id IN :tdIds
+       OR (b.id IN :brancheIds
+           AND NOT EXISTS (SELECT 1 FROM TD t2 WHERE t2.branche = b AND t2.id IN :tdIds))
+    """)
+    List<Long> resolveAudience(@Param("tpIds") Collection<Long> tpIds,
+                               @Param("tdIds") Collection<Long> tdIds,
+                               @Param("brancheIds") Collection<Long> brancheIds);
 }
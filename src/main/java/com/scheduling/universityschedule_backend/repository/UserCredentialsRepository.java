@@ -3,6 +3,8 @@ package com.scheduling.universityschedule_backend.repository;
 import com.scheduling.universityschedule_backend.model.UserCredentials;
 import com.scheduling.universityschedule_backend.model.Personne;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -19,5 +21,8 @@ public interface UserCredentialsRepository extends JpaRepository<UserCredentials
     // Additional useful methods
     Optional<UserCredentials> findByPersonneId(Long personneId);
 
+    @Query("SELECT c.personne.id FROM UserCredentials c WHERE c.username = :username")
+    Optional<Long> findPersonneIdByUsername(@Param("username") String username);
+
     void deleteByUsername(String username);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.scheduling.universityschedule_backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,6 +40,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of streamed responses, already authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers(
                                 "/swagger-ui/**",
@@ -52,6 +55,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/technicians/**").hasAuthority("ROLE_TECHNICIAN")
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
+                        // Actuator endpoints (metrics)
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         // Room management endpoints
                         .requestMatchers("/api/rooms/**").hasAuthority("ROLE_TECHNICIAN")
                         // Any other request requires authentication
@@ -0,0 +1,56 @@
+package com.scheduling.universityschedule_backend.service;
+
+import com.scheduling.universityschedule_backend.dto.SeanceConflictDTO;
+import com.scheduling.universityschedule_backend.dto.SeanceRoomConflictDTO;
+import com.scheduling.universityschedule_backend.dto.SingleSeanceConflictDTO;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * In-memory conflict detection.
+ * Loads the week once, indexes it per day by room, teacher and student group,
+ * and reports the same conflicts and labels as the SeanceRepository queries.
+ */
+public interface ConflictEngine {
+
+    /**
+     * Same result as SeanceRepository#findConflictingSeancePairs.
+     * @return List of session conflicts
+     * @throws CustomException if detection fails
+     */
+    List<SeanceConflictDTO> findAllConflicts() throws CustomException;
+
+    /**
+     * Same conflicts as {@link #findAllConflicts()}, handed to the sink as they are found
+     * instead of being collected.
+     * @param sink Receives each conflict, in day order
+     * @throws CustomException if detection fails or the sink throws
+     */
+    void streamAllConflicts(Consumer<SeanceConflictDTO> sink) throws CustomException;
+
+    /**
+     * Same result as {@link #findAllConflicts()}, computed day by day on a fork/join pool.
+     * Each day is further split into ranges of sessions; per-day timings are published
+     * as the scheduling.conflicts.partition metric.
+     * @return List of session conflicts
+     * @throws CustomException if detection fails
+     */
+    List<SeanceConflictDTO> findAllConflictsParallel() throws CustomException;
+
+    /**
+     * Same result as SeanceRepository#findConflictingByRooms.
+     * @return List of room conflicts
+     * @throws CustomException if detection fails
+     */
+    List<SeanceRoomConflictDTO> findRoomConflicts() throws CustomException;
+
+    /**
+     * Same result as SeanceRepository#findRoomConflictsForSeanceById.
+     * @param seanceId Session's unique identifier
+     * @return List of conflicts for the given session
+     * @throws CustomException if the session does not exist or detection fails
+     */
+    List<SingleSeanceConflictDTO> findConflictsForSeance(Long seanceId) throws CustomException;
+}
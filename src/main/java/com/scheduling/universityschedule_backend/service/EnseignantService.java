@@ -122,5 +122,15 @@ public interface EnseignantService {
      */
     List<TPDTO> getStudentGroups(Long id) throws CustomException;
 
+    /**
+     * Finds the earliest windows where a makeup session of the teacher could take place:
+     * the teacher, every attending group and at least one suitable room are free.
+     * @param id Teacher's unique identifier
+     * @param query Attending groups, duration, date range and room filters
+     * @return Free windows ordered by date then start time, each with its free rooms
+     * @throws CustomException if the teacher doesn't exist or the query is invalid
+     */
+    List<FreeSlotDTO> findFreeSlots(Long id, FreeSlotQueryDTO query) throws CustomException;
+
 
 }
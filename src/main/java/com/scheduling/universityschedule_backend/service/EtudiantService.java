@@ -81,7 +81,7 @@ public interface EtudiantService {
      */
     public List<SeanceDTO> getTDSchedule(Long id) throws CustomException;
     /**
-     * Retrieves student's notifications.
+     * Retrieves student's notifications, including those sent to the student's groups.
      * @param id Student's unique identifier
      * @return List of notifications
      * @throws CustomException if retrieval fails
@@ -2,6 +2,9 @@ package com.scheduling.universityschedule_backend.service;
 
 import com.scheduling.universityschedule_backend.dto.*;
 import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
+import org.springframework.web.multipart.MultipartFile;
+
 import java.util.List;
 
 /**
@@ -60,12 +63,43 @@ public interface ExcelFileService {
 
     /**
      * Uploads and processes an Excel file.
+     * When the file names in replacesId the import it replaces, sessions are applied as a diff of that import,
+     * like {@link #importFile}.
      * @param file Excel file data
      * @param seanceDTOS the list of seance dtos to add to database
      * @throws CustomException if upload fails
      */
     void upload(FichierExcelDTO file , List<SeanceDTO> seanceDTOS) throws CustomException;
 
+    /**
+     * Queues the import of the sessions of an .xlsx or .csv timetable sheet.
+     * A background job streams the sheet row by row and saves it in chunks, each committed on its own
+     * with the progress counts of the import record; rows that cannot be read or saved are recorded
+     * in the file's errors and skipped. Unless the conflict check is NONE, each chunk is checked in memory
+     * for conflicts with the current week and within the chunk before it is saved; conflicting rows are
+     * listed in the errors (REPORT) or rejected (REJECT).
+     * When it replaces an earlier import, the sheet is applied as a diff of the sessions that import holds,
+     * matched by subject, type, day, hours, teacher and groups: matching rows update their session only
+     * if it changed, other rows are inserted, and once the sheet is fully read the unmatched sessions are deleted.
+     * A rejected row matches nothing, so if any row was rejected the unmatched sessions are kept and only
+     * counted as pending deletion.
+     * @param file Uploaded sheet, its first row naming the session columns
+     * @param conflictCheck Conflict check to run before each chunk is saved, null for the configured default
+     * @param replaces Id of the import this one replaces, null to only add sessions
+     * @return The queued import record; poll it with {@link #findById(Long)}
+     * @throws CustomException if the file is empty or of an unsupported type, the replaced import is unknown,
+     * in progress or already replaced, or too many imports are queued
+     */
+    FichierExcelDTO importFile(MultipartFile file, ConflictCheck conflictCheck, Long replaces) throws CustomException;
+
+    /**
+     * Cancels a queued or running import. Chunks already committed are kept.
+     * @param id Import record identifier
+     * @return The import record; a running import reports Cancelled once it has stopped
+     * @throws CustomException if the import is unknown or no longer in progress
+     */
+    FichierExcelDTO cancelImport(Long id) throws CustomException;
+
     /**
      * Retrieves the import history of all Excel files.
      * @return List of imported Excel files
@@ -0,0 +1,56 @@
+package com.scheduling.universityschedule_backend.service;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDispatchDTO;
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+
+import java.util.List;
+
+/**
+ * Service interface for asynchronous notification sends.
+ * A send only writes one outbox row; the outbox worker expands the audience in chunks
+ * in the background, retries failures and reports its progress on the row.
+ */
+public interface NotificationDispatchService {
+
+    /**
+     * Queues a notification for every user.
+     * @param notificationDTO Notification content
+     * @return The queued dispatch
+     * @throws CustomException if the notification is invalid
+     */
+    NotificationDispatchDTO queueBroadcast(NotificationDTO notificationDTO) throws CustomException;
+
+    /**
+     * Queues a notification for every teacher.
+     * @param notificationDTO Notification content
+     * @return The queued dispatch
+     * @throws CustomException if the notification is invalid
+     */
+    NotificationDispatchDTO queueToTeachers(NotificationDTO notificationDTO) throws CustomException;
+
+    /**
+     * Queues a notification for every student.
+     * @param notificationDTO Notification content
+     * @return The queued dispatch
+     * @throws CustomException if the notification is invalid
+     */
+    NotificationDispatchDTO queueToStudents(NotificationDTO notificationDTO) throws CustomException;
+
+    /**
+     * Queues a notification for the students of the given branches, each notified once.
+     * @param notificationDTO Notification content
+     * @param brancheIds Target branches
+     * @return The queued dispatch
+     * @throws CustomException if the notification or the branch list is invalid
+     */
+    NotificationDispatchDTO queueToBranches(NotificationDTO notificationDTO, List<Long> brancheIds) throws CustomException;
+
+    /**
+     * Retrieves the progress of a queued send.
+     * @param id Dispatch identifier
+     * @return Dispatch status and progress
+     * @throws CustomException if the dispatch is not found
+     */
+    NotificationDispatchDTO getDispatch(Long id) throws CustomException;
+}
@@ -0,0 +1,80 @@
+package com.scheduling.universityschedule_backend.service;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.dto.NotificationInboxQueryDTO;
+import com.scheduling.universityschedule_backend.dto.NotificationPageDTO;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Service interface for a user's inbox.
+ * An inbox merges the notifications addressed to the user directly with the group notifications
+ * (everyone, a role, the user's branch, TD or TP) that are stored once and matched at read time.
+ * {@link NotificationDTO#getScope()} tells the two apart: audience notifications have their own ids
+ * and are marked as read per user.
+ */
+public interface NotificationInboxService {
+
+    /**
+     * Retrieves every notification of a user, newest first.
+     * @param personneId User's unique identifier
+     * @return Direct and audience notifications
+     * @throws CustomException if the user is not found
+     */
+    List<NotificationDTO> getNotificationsFor(Long personneId) throws CustomException;
+
+    /**
+     * Retrieves the unread notifications of a user, newest first.
+     * @param personneId User's unique identifier
+     * @return Unread direct and audience notifications
+     * @throws CustomException if the user is not found
+     */
+    List<NotificationDTO> getUnreadNotificationsFor(Long personneId) throws CustomException;
+
+    /**
+     * Retrieves one page of a user's inbox, newest first, optionally filtered by type and read state.
+     * Pages are addressed by an opaque cursor, so a page costs the same whatever its depth and
+     * notifications arriving meanwhile do not shift the following pages.
+     * @param personneId User's unique identifier
+     * @param query Cursor, page size and filters
+     * @return The page and the cursor of the next one
+     * @throws CustomException if the user is not found or the query is invalid
+     */
+    NotificationPageDTO getInboxPage(Long personneId, NotificationInboxQueryDTO query) throws CustomException;
+
+    /**
+     * Marks an audience notification as read for one user; other recipients are not affected.
+     * @param personneId User's unique identifier
+     * @param notificationId Audience notification's unique identifier
+     * @throws CustomException if the user is not found, or the notification is not in their inbox
+     */
+    void markAudienceNotificationAsRead(Long personneId, Long notificationId) throws CustomException;
+
+    /**
+     * Counts the unread notifications of a user, direct and audience ones, from a cached counter.
+     * @param personneId User's unique identifier
+     * @return Number of unread notifications
+     * @throws CustomException if the user is not found
+     */
+    long getUnreadCount(Long personneId) throws CustomException;
+
+    /**
+     * Marks every notification of a user as read, with one statement for the direct notifications
+     * and one for the audience notifications.
+     * @param personneId User's unique identifier
+     * @return Number of notifications that were unread
+     * @throws CustomException if the user is not found
+     */
+    int markAllAsRead(Long personneId) throws CustomException;
+
+    /**
+     * Opens a Server-Sent Events stream of the notifications sent to a user from now on,
+     * direct and audience ones, as "notification" events carrying a {@link NotificationDTO}.
+     * @param username Authenticated user's login
+     * @return The open stream
+     * @throws CustomException if the login does not belong to a user
+     */
+    SseEmitter openStream(String username) throws CustomException;
+}
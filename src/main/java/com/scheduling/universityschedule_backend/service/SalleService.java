@@ -2,6 +2,7 @@ package com.scheduling.universityschedule_backend.service;
 
 import com.scheduling.universityschedule_backend.dto.*;
 import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -74,6 +75,22 @@ public interface SalleService {
      */
     List<SalleDTO> getAvailableRooms(LocalDate date, DayOfWeek day, LocalTime startTime, LocalTime endTime) throws CustomException;
 
+    /**
+     * Finds rooms free for a session of the given frequency, with optional capacity and type filters.
+     * @param date Date of a catch-up session (can be null)
+     * @param day Day of week
+     * @param startTime Start time
+     * @param endTime End time
+     * @param frequence Frequency of the session to place; null means weekly, or catch-up when a date is given
+     * @param minCapacity Minimum capacity (can be null)
+     * @param type Room type, case-insensitive (can be null)
+     * @return List of matching rooms, ordered by identifier
+     * @throws CustomException if search fails or parameters are inconsistent
+     * @apiNote A bi-weekly session fits when one of the two alternating weeks is free
+     */
+    List<SalleDTO> getAvailableRooms(LocalDate date, DayOfWeek day, LocalTime startTime, LocalTime endTime,
+                                     FrequenceType frequence, Integer minCapacity, String type) throws CustomException;
+
 
 
 }
@@ -0,0 +1,39 @@
+package com.scheduling.universityschedule_backend.service;
+
+import com.scheduling.universityschedule_backend.exception.CustomException;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for the seance audience closure (seance_audience).
+ * The closure is refreshed automatically from SeanceChangedEvent in the publishing transaction.
+ */
+public interface SeanceAudienceService {
+
+    /**
+     * Recomputes the closure rows of the given sessions; deleted sessions lose their rows.
+     * @param seanceIds Sessions to refresh
+     * @throws CustomException if the refresh fails
+     */
+    void refresh(Collection<Long> seanceIds) throws CustomException;
+
+    /**
+     * Recomputes the whole closure, e.g. after a change of the group hierarchy.
+     * @return Number of closure rows written
+     * @throws CustomException if the rebuild fails
+     */
+    int rebuild() throws CustomException;
+
+    /**
+     * Re-expands only the sessions whose audience can depend on the given groups,
+     * after they were created or moved in the hierarchy.
+     * @param tpIds Changed practical groups
+     * @param tdIds Changed tutorial groups
+     * @param brancheIds Changed branches
+     * @return IDs of the refreshed sessions
+     * @throws CustomException if the refresh fails
+     */
+    List<Long> refreshGroups(Collection<Long> tpIds, Collection<Long> tdIds, Collection<Long> brancheIds)
+            throws CustomException;
+}
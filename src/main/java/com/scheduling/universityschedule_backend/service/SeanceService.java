@@ -2,7 +2,9 @@ package com.scheduling.universityschedule_backend.service;
 
 import com.scheduling.universityschedule_backend.dto.*;
 import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for session management.
@@ -37,6 +39,19 @@ public interface SeanceService {
      */
     SeanceDTO create(SeanceDTO seance) throws CustomException;
 
+    /**
+     * Creates several teaching sessions at once.
+     * Every row is validated and its references resolved before anything is inserted; valid rows are
+     * then inserted in JDBC batches and invalid ones reported without stopping the others.
+     * Unless the check is NONE, valid rows are first checked in memory for conflicts with the current week
+     * and with each other, and their conflicts reported (REPORT) or the conflicting rows rejected (REJECT).
+     * @param seances Sessions data to be created
+     * @param conflictCheck Conflict check to run before inserting, null for the configured default
+     * @return Created ids and the outcome of each row, in request order
+     * @throws CustomException if the list is empty or the insert fails
+     */
+    BatchDTO createBatch(List<SeanceDTO> seances, ConflictCheck conflictCheck) throws CustomException;
+
     /**
      * Updates an existing teaching session.
      * @param id Session's unique identifier
@@ -89,4 +104,38 @@ public interface SeanceService {
      */
     List<SingleSeanceConflictDTO> getConflictsForSession(SeanceDTO seanceDto) throws CustomException;
 
+    /**
+     * Retrieves the version of the maintained conflict set.
+     * The version changes whenever a session change is applied, so clients can poll it
+     * and only fetch the conflicts again when it moved.
+     * @return Current version and number of conflicts
+     * @throws CustomException if retrieval fails
+     */
+    ConflictVersionDTO getConflictsVersion() throws CustomException;
+
+    /**
+     * Hands every session conflict to the sink as it is found, without building the full list.
+     * @param sink Receives each conflict
+     * @throws CustomException if retrieval fails or the sink throws
+     */
+    void streamAllConflicts(Consumer<SeanceConflictDTO> sink) throws CustomException;
+
+    /**
+     * Retrieves one page of session conflicts, ordered by (seance1Id, seance2Id).
+     * The next page starts strictly after the cursor returned with this one.
+     * @param query Cursor, page size and optional filters
+     * @return Conflicts of the page and the cursor of the next one
+     * @throws CustomException if a filter is invalid or retrieval fails
+     */
+    ConflictPageDTO getConflictsPage(ConflictQueryDTO query) throws CustomException;
+
+    /**
+     * Simulates a batch of session creates, updates and deletes on an in-memory copy of the week
+     * and reports the conflicts it would introduce and resolve. Nothing is written.
+     * @param batch Proposed changes
+     * @return Conflicts introduced and resolved by the batch
+     * @throws CustomException if a proposed session is invalid or unknown
+     */
+    ConflictSandboxResultDTO simulateConflicts(ConflictSandboxDTO batch) throws CustomException;
+
 }
@@ -0,0 +1,37 @@
+package com.scheduling.universityschedule_backend.service;
+
+import com.scheduling.universityschedule_backend.dto.TimetableJobDTO;
+import com.scheduling.universityschedule_backend.dto.TimetableRequestDTO;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+
+/**
+ * Service interface for automatic timetable generation.
+ * A generation runs in the background as a job; its result is a list of sessions
+ * that can be reviewed, then saved through the usual session endpoints.
+ */
+public interface TimetableService {
+
+    /**
+     * Validates the request, snapshots the current week and queues a generation job.
+     * @param request Courses to place, existing sessions to re-place and search bounds
+     * @return The queued job
+     * @throws CustomException if the request is invalid or a course cannot be placed in any room
+     */
+    TimetableJobDTO startGeneration(TimetableRequestDTO request) throws CustomException;
+
+    /**
+     * Retrieves the progress of a job, and its sessions once it has finished.
+     * @param jobId Job identifier
+     * @return Job status
+     * @throws CustomException if the job is unknown
+     */
+    TimetableJobDTO getJob(String jobId) throws CustomException;
+
+    /**
+     * Stops a job. A running job finishes with the best solution found so far.
+     * @param jobId Job identifier
+     * @return Job status after the cancellation request
+     * @throws CustomException if the job is unknown
+     */
+    TimetableJobDTO cancelJob(String jobId) throws CustomException;
+}
@@ -2,6 +2,7 @@ package com.scheduling.universityschedule_backend.service.impl;
 
 import com.scheduling.universityschedule_backend.dto.AdministrateurDTO;
 import com.scheduling.universityschedule_backend.dto.PropositionDeRattrapageDTO;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
 import com.scheduling.universityschedule_backend.model.*;
@@ -10,6 +11,7 @@ import com.scheduling.universityschedule_backend.repository.PropositionDeRattrap
 import com.scheduling.universityschedule_backend.repository.SalleRepository;
 import com.scheduling.universityschedule_backend.repository.SeanceRepository;
 import com.scheduling.universityschedule_backend.service.AdministrateurService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +40,7 @@ public class AdministrateurServiceImpl implements AdministrateurService {
     private final EntityMapper entityMapper;
     private final SalleRepository salleRepository;
     private final SeanceRepository seanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
@@ -45,12 +48,14 @@ public class AdministrateurServiceImpl implements AdministrateurService {
      */
     public AdministrateurServiceImpl(AdministrateurRepository administrateurRepository,
                                      PropositionDeRattrapageRepository propositionDeRattrapageRepository,
-                                     EntityMapper entityMapper, SalleRepository salleRepository,SeanceRepository seanceRepository) {
+                                     EntityMapper entityMapper, SalleRepository salleRepository,SeanceRepository seanceRepository,
+                                     ApplicationEventPublisher eventPublisher) {
         this.administrateurRepository = administrateurRepository;
         this.propositionDeRattrapageRepository = propositionDeRattrapageRepository;
         this.entityMapper = entityMapper;
         this.salleRepository = salleRepository;
         this.seanceRepository = seanceRepository;
+        this.eventPublisher = eventPublisher;
 
     }
 
@@ -240,7 +245,8 @@ public class AdministrateurServiceImpl implements AdministrateurService {
                 newSeance.setTps(new ArrayList<>(proposition.getTps()));
 
                 // Save the new Seance
-                seanceRepository.save(newSeance);
+                Seance savedSeance = seanceRepository.save(newSeance);
+                eventPublisher.publishEvent(SeanceChangedEvent.of(savedSeance.getId()));
 
                 // Update proposition status
                 proposition.setStatus(Status.APPROVED);
@@ -325,7 +331,8 @@ public class AdministrateurServiceImpl implements AdministrateurService {
             newSeance.setTps(new ArrayList<>(proposition.getTps()));
 
             // Save the new Seance
-            seanceRepository.save(newSeance);
+            Seance savedSeance = seanceRepository.save(newSeance);
+            eventPublisher.publishEvent(SeanceChangedEvent.of(savedSeance.getId()));
 
             // Update proposition status
             proposition.setStatus(Status.APPROVED);
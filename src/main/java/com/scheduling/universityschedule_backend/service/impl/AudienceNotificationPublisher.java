@@ -0,0 +1,94 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.event.NotificationCreatedEvent;
+import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.model.AudienceNotification;
+import com.scheduling.universityschedule_backend.model.enums.AudienceScope;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+import com.scheduling.universityschedule_backend.repository.AudienceNotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes group notifications once per targeted group instead of once per recipient.
+ * With {@code scheduling.notifications.fan-out=read} (the default) every group send goes through here
+ * and recipients find the message when they read their inbox; with {@code write} the senders
+ * keep inserting one notification per recipient.
+ * Every stored message is announced with a {@link NotificationCreatedEvent} for connected users.
+ */
+@Component
+public class AudienceNotificationPublisher {
+
+    private final AudienceNotificationRepository audienceNotificationRepository;
+    private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${scheduling.notifications.fan-out:read}")
+    private String fanOut;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public AudienceNotificationPublisher(AudienceNotificationRepository audienceNotificationRepository,
+                                         EntityMapper entityMapper,
+                                         ApplicationEventPublisher eventPublisher) {
+        this.audienceNotificationRepository = audienceNotificationRepository;
+        this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return true when group sends are stored once and resolved at read time
+     */
+    public boolean isFanOutOnRead() {
+        return !"write".equalsIgnoreCase(fanOut.trim());
+    }
+
+    public void publishToAll(String message, LocalDateTime date, String type, Long expediteurId) {
+        announce(audienceNotificationRepository.save(
+                new AudienceNotification(null, message, date, type, expediteurId, AudienceScope.ALL, null, null)));
+    }
+
+    public void publishToRole(String message, LocalDateTime date, String type, Long expediteurId, UserRole role) {
+        announce(audienceNotificationRepository.save(
+                new AudienceNotification(null, message, date, type, expediteurId, AudienceScope.ROLE, role, null)));
+    }
+
+    /**
+     * Stores one message per listed group. Ids below 1, such as the placeholder of an empty id list,
+     * are skipped.
+     */
+    public void publishToGroups(String message, LocalDateTime date, String type, Long expediteurId,
+                                Collection<Long> brancheIds, Collection<Long> tdIds, Collection<Long> tpIds) {
+        List<AudienceNotification> rows = new ArrayList<>();
+        addGroups(rows, message, date, type, expediteurId, AudienceScope.BRANCHE, brancheIds);
+        addGroups(rows, message, date, type, expediteurId, AudienceScope.TD, tdIds);
+        addGroups(rows, message, date, type, expediteurId, AudienceScope.TP, tpIds);
+        audienceNotificationRepository.saveAll(rows).forEach(this::announce);
+    }
+
+    private void announce(AudienceNotification notification) {
+        NotificationDTO dto = entityMapper.toAudienceNotificationDTO(notification);
+        eventPublisher.publishEvent(NotificationCreatedEvent.toAudience(dto,
+                notification.getScope(), notification.getRole(), notification.getTargetId()));
+    }
+
+    private static void addGroups(List<AudienceNotification> rows, String message, LocalDateTime date, String type,
+                                  Long expediteurId, AudienceScope scope, Collection<Long> ids) {
+        if (ids == null) {
+            return;
+        }
+        ids.stream()
+                .filter(id -> id != null && id > 0)
+                .distinct()
+                .forEach(id -> rows.add(new AudienceNotification(null, message, date, type, expediteurId,
+                        scope, null, id)));
+    }
+}
@@ -3,6 +3,8 @@ package com.scheduling.universityschedule_backend.service.impl;
 import com.scheduling.universityschedule_backend.dto.BrancheDTO;
 import com.scheduling.universityschedule_backend.dto.EtudiantDTO;
 import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import com.scheduling.universityschedule_backend.event.GroupHierarchyChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
 import com.scheduling.universityschedule_backend.model.Branche;
@@ -11,6 +13,7 @@ import com.scheduling.universityschedule_backend.model.Seance;
 import com.scheduling.universityschedule_backend.repository.BrancheRepository;
 import com.scheduling.universityschedule_backend.repository.TDRepository;
 import com.scheduling.universityschedule_backend.service.BrancheService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,16 +33,19 @@ public class BrancheServiceImpl implements BrancheService {
     private final BrancheRepository brancheRepository;
     private final TDRepository tdRepository;
     private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor injection for dependencies
      */
     public BrancheServiceImpl(BrancheRepository brancheRepository,
                               TDRepository tdRepository,
-                              EntityMapper entityMapper) {
+                              EntityMapper entityMapper,
+                              ApplicationEventPublisher eventPublisher) {
         this.brancheRepository = brancheRepository;
         this.tdRepository = tdRepository;
         this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -97,6 +103,7 @@ public class BrancheServiceImpl implements BrancheService {
 
             // Save entity
             Branche savedBranche = brancheRepository.save(branche);
+            eventPublisher.publishEvent(GroupHierarchyChangedEvent.ofBranche(savedBranche.getId()));
 
             // Convert back to DTO
             return entityMapper.toBrancheDTO(savedBranche);
@@ -128,6 +135,7 @@ public class BrancheServiceImpl implements BrancheService {
 
             // Save updated entity
             Branche updatedBranche = brancheRepository.save(existingBranche);
+            eventPublisher.publishEvent(GroupHierarchyChangedEvent.ofBranche(id));
 
             // Convert back to DTO
             return entityMapper.toBrancheDTO(updatedBranche);
@@ -153,6 +161,8 @@ public class BrancheServiceImpl implements BrancheService {
 
             // Delete branch
             brancheRepository.deleteById(id);
+            // Sessions of the branch are removed by cascade: reload everything
+            eventPublisher.publishEvent(SeanceChangedEvent.all());
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -0,0 +1,231 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.SeanceConflictDTO;
+import com.scheduling.universityschedule_backend.dto.SeanceRoomConflictDTO;
+import com.scheduling.universityschedule_backend.dto.SingleSeanceConflictDTO;
+import com.scheduling.universityschedule_backend.engine.ConflictIndex;
+import com.scheduling.universityschedule_backend.engine.GroupHierarchy;
+import com.scheduling.universityschedule_backend.engine.SeanceSlot;
+import com.scheduling.universityschedule_backend.engine.SeanceSlotLoader;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.service.ConflictEngine;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Interval-index implementation of the conflict engine.
+ * Each call takes a fresh snapshot of the week (a handful of projection queries)
+ * and runs the detection entirely in memory.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConflictEngineImpl implements ConflictEngine {
+
+    /**
+     * Below this many sessions a day slice is scanned sequentially instead of being split
+     */
+    private static final int SLICE_THRESHOLD = 256;
+
+    private final SeanceSlotLoader seanceSlotLoader;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate snapshotRead;
+
+    @Value("${scheduling.conflicts.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public ConflictEngineImpl(SeanceSlotLoader seanceSlotLoader, MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.seanceSlotLoader = seanceSlotLoader;
+        this.meterRegistry = meterRegistry;
+        this.snapshotRead = new TransactionTemplate(transactionManager);
+        this.snapshotRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotRead.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void startPool() {
+        // 0 or less means one worker per available processor
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stopPool() {
+        pool.shutdown();
+    }
+
+    @Override
+    public List<SeanceConflictDTO> findAllConflicts() throws CustomException {
+        try {
+            long start = System.nanoTime();
+            ConflictIndex index = loadIndex();
+
+            List<SeanceConflictDTO> conflicts = new ArrayList<>();
+            index.forEachConflictPair((first, second, types) ->
+                    conflicts.add(new SeanceConflictDTO(first.getId(), second.getId(), types)));
+
+            CustomLogger.logInfo("Conflict engine: " + conflicts.size() + " conflicts among " + index.size()
+                    + " sessions in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return conflicts;
+        } catch (Exception e) {
+            throw new CustomException("Failed to compute session conflicts in memory", e);
+        }
+    }
+
+    /**
+     * Runs outside any transaction: the week is loaded in a short one of its own, then the pairs are written
+     * to the sink without holding a connection while the client reads
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllConflicts(Consumer<SeanceConflictDTO> sink) throws CustomException {
+        try {
+            ConflictIndex index = snapshotRead.execute(status -> loadIndex());
+            index.forEachConflictPair((first, second, types) ->
+                    sink.accept(new SeanceConflictDTO(first.getId(), second.getId(), types)));
+        } catch (Exception e) {
+            throw new CustomException("Failed to stream session conflicts", e);
+        }
+    }
+
+    @Override
+    public List<SeanceConflictDTO> findAllConflictsParallel() throws CustomException {
+        try {
+            long start = System.nanoTime();
+            ConflictIndex index = loadIndex();
+
+            // Conflicts never cross days: one independent partition per day
+            List<ForkJoinTask<List<SeanceConflictDTO>>> partitions = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                List<SeanceSlot> slots = index.slotsOf(day);
+                if (slots.isEmpty()) {
+                    continue;
+                }
+                Timer timer = Timer.builder("scheduling.conflicts.partition")
+                        .description("Conflict detection time of one day partition")
+                        .tag("day", day.name())
+                        .register(meterRegistry);
+                Supplier<List<SeanceConflictDTO>> scan = () -> new SliceTask(index, slots, 0, slots.size()).invoke();
+                partitions.add(pool.submit(() -> timer.record(scan)));
+            }
+
+            // Merge in day order, as the sequential scan does
+            List<SeanceConflictDTO> conflicts = new ArrayList<>();
+            for (ForkJoinTask<List<SeanceConflictDTO>> partition : partitions) {
+                conflicts.addAll(partition.join());
+            }
+
+            CustomLogger.logInfo("Conflict engine (parallelism " + pool.getParallelism() + "): "
+                    + conflicts.size() + " conflicts among " + index.size() + " sessions in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return conflicts;
+        } catch (Exception e) {
+            throw new CustomException("Failed to compute session conflicts in parallel", e);
+        }
+    }
+
+    @Override
+    public List<SeanceRoomConflictDTO> findRoomConflicts() throws CustomException {
+        try {
+            ConflictIndex index = loadIndex();
+
+            List<SeanceRoomConflictDTO> conflicts = new ArrayList<>();
+            index.forEachRoomConflictPair((first, second, types) ->
+                    conflicts.add(new SeanceRoomConflictDTO(first.getId(), second.getId(), types.get(0))));
+            return conflicts;
+        } catch (Exception e) {
+            throw new CustomException("Failed to compute room conflicts in memory", e);
+        }
+    }
+
+    @Override
+    public List<SingleSeanceConflictDTO> findConflictsForSeance(Long seanceId) throws CustomException {
+        try {
+            // Validate input
+            if (seanceId == null) {
+                throw new CustomException("Session ID cannot be null");
+            }
+
+            ConflictIndex index = loadIndex();
+            SeanceSlot slot = index.get(seanceId);
+            if (slot == null) {
+                throw new CustomException("Session not found with ID: " + seanceId);
+            }
+
+            List<SingleSeanceConflictDTO> conflicts = new ArrayList<>();
+            index.forEachConflict(slot, (other, types) ->
+                    conflicts.add(new SingleSeanceConflictDTO(other.getId(), types)));
+            return conflicts;
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to compute conflicts for session with ID: " + seanceId, e);
+        }
+    }
+
+    private ConflictIndex loadIndex() {
+        GroupHierarchy hierarchy = seanceSlotLoader.loadHierarchy();
+        return ConflictIndex.of(seanceSlotLoader.loadAll(hierarchy));
+    }
+
+    /**
+     * Reports the conflicts of a range of one day's sessions, splitting the range in halves
+     * until it is small enough. Each pair is owned by its lower-id session, so ranges never overlap.
+     */
+    private static final class SliceTask extends RecursiveTask<List<SeanceConflictDTO>> {
+
+        private final ConflictIndex index;
+        private final List<SeanceSlot> slots;
+        private final int from;
+        private final int to;
+
+        SliceTask(ConflictIndex index, List<SeanceSlot> slots, int from, int to) {
+            this.index = index;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SeanceConflictDTO> compute() {
+            if (to - from <= SLICE_THRESHOLD) {
+                List<SeanceConflictDTO> conflicts = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    index.forEachConflictPairFrom(slots.get(i), (first, second, types) ->
+                            conflicts.add(new SeanceConflictDTO(first.getId(), second.getId(), types)));
+                }
+                return conflicts;
+            }
+            int middle = (from + to) >>> 1;
+            SliceTask left = new SliceTask(index, slots, from, middle);
+            left.fork();
+            List<SeanceConflictDTO> right = new SliceTask(index, slots, middle, to).compute();
+            List<SeanceConflictDTO> conflicts = left.join();
+            conflicts.addAll(right);
+            return conflicts;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.scheduling.universityschedule_backend.service.impl;
 
 import com.scheduling.universityschedule_backend.dto.EnseignantDTO;
+import com.scheduling.universityschedule_backend.dto.FreeSlotDTO;
+import com.scheduling.universityschedule_backend.dto.FreeSlotQueryDTO;
 import com.scheduling.universityschedule_backend.dto.PropositionDeRattrapageDTO;
 import com.scheduling.universityschedule_backend.dto.SeanceDTO;
 import com.scheduling.universityschedule_backend.dto.SignalDTO;
 import com.scheduling.universityschedule_backend.dto.TPDTO;
+import com.scheduling.universityschedule_backend.engine.AudienceRegistry;
+import com.scheduling.universityschedule_backend.engine.OccupancyIndex;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
 import com.scheduling.universityschedule_backend.model.*;
@@ -14,10 +19,13 @@ import com.scheduling.universityschedule_backend.repository.SeanceRepository;
 import com.scheduling.universityschedule_backend.repository.SignalRepository;
 import com.scheduling.universityschedule_backend.service.EnseignantService;
 import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,23 +37,44 @@ import java.util.stream.Collectors;
 @Transactional
 public class EnseignantServiceImpl implements EnseignantService {
 
+    /**
+     * Free-slot search bounds
+     */
+    private static final int DEFAULT_FREE_SLOT_LIMIT = 20;
+    private static final int MAX_FREE_SLOT_RANGE_DAYS = 366;
+
     private final EnseignantRepository enseignantRepository;
     private final SeanceRepository seanceRepository;
     private final EntityMapper entityMapper;
     private final PropositionDeRattrapageRepository propositionDeRattrapageRepository;
     private final SignalRepository signalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OccupancyIndex occupancyIndex;
+    private final AudienceRegistry audienceRegistry;
+
+    @Value("${scheduling.free-slots.day-start:08:00}")
+    private String freeSlotDayStart;
+
+    @Value("${scheduling.free-slots.day-end:19:00}")
+    private String freeSlotDayEnd;
 
     /**
      * Constructor injection for dependencies
      */
     public EnseignantServiceImpl(EnseignantRepository enseignantRepository,
                                  SeanceRepository seanceRepository,
-                                 EntityMapper entityMapper, PropositionDeRattrapageRepository propositionDeRattrapageRepository, SignalRepository signalRepository) {
+                                 EntityMapper entityMapper, PropositionDeRattrapageRepository propositionDeRattrapageRepository, SignalRepository signalRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 OccupancyIndex occupancyIndex,
+                                 AudienceRegistry audienceRegistry) {
         this.enseignantRepository = enseignantRepository;
         this.seanceRepository = seanceRepository;
         this.entityMapper = entityMapper;
         this.propositionDeRattrapageRepository = propositionDeRattrapageRepository;
         this.signalRepository = signalRepository;
+        this.eventPublisher = eventPublisher;
+        this.occupancyIndex = occupancyIndex;
+        this.audienceRegistry = audienceRegistry;
     }
 
     @Override
@@ -158,6 +187,7 @@ public class EnseignantServiceImpl implements EnseignantService {
             EnseignantDTO returnedEnseignant = this.findById(id);
             // Delete teacher
             enseignantRepository.deleteById(id);
+            eventPublisher.publishEvent(SeanceChangedEvent.all());
             enseignantRepository.flush();
             return returnedEnseignant;
         } catch (CustomException e) {
@@ -547,4 +577,67 @@ public class EnseignantServiceImpl implements EnseignantService {
             throw new CustomException("Failed to retrieve student groups for teacher with ID: " + id, e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeSlotDTO> findFreeSlots(Long id, FreeSlotQueryDTO query) throws CustomException {
+        try {
+            // Validate inputs
+            if (id == null) {
+                throw new CustomException("Teacher ID cannot be null");
+            }
+            if (query == null || query.getDuration() == null || query.getDuration() <= 0) {
+                throw new CustomException("Duration must be a positive number of minutes");
+            }
+            if (query.getStartDate() == null || query.getEndDate() == null) {
+                throw new CustomException("Start date and end date are required");
+            }
+            LocalDate startDate = LocalDate.parse(query.getStartDate());
+            LocalDate endDate = LocalDate.parse(query.getEndDate());
+            if (endDate.isBefore(startDate)) {
+                throw new CustomException("End date cannot be before start date");
+            }
+            if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_FREE_SLOT_RANGE_DAYS) {
+                throw new CustomException("Date range cannot exceed " + MAX_FREE_SLOT_RANGE_DAYS + " days");
+            }
+            if (!enseignantRepository.existsById(id)) {
+                throw new CustomException("Teacher not found with ID: " + id);
+            }
+
+            // Expand the attending groups once, then search the occupancy bitmaps
+            long[] audience = audienceRegistry.hierarchy().resolveAudience(
+                    toIds(query.getTpIds()), toIds(query.getTdIds()), toIds(query.getBrancheIds()));
+            int limit = query.getLimit() == null || query.getLimit() <= 0
+                    ? DEFAULT_FREE_SLOT_LIMIT : query.getLimit();
+            List<OccupancyIndex.FreeWindow> windows = occupancyIndex.findFreeWindows(
+                    id, audience, query.getDuration(), startDate, endDate,
+                    query.getMinCapacity(), query.getType(),
+                    LocalTime.parse(freeSlotDayStart).toSecondOfDay() / 60,
+                    LocalTime.parse(freeSlotDayEnd).toSecondOfDay() / 60,
+                    limit);
+
+            // Convert to DTOs
+            return windows.stream()
+                    .map(window -> new FreeSlotDTO(
+                            window.date().toString(),
+                            window.date().getDayOfWeek().name(),
+                            LocalTime.ofSecondOfDay(window.debut() * 60L).toString(),
+                            LocalTime.ofSecondOfDay(window.fin() * 60L).toString(),
+                            window.salleIds()))
+                    .collect(Collectors.toList());
+        } catch (CustomException e) {
+            throw e;
+        } catch (DateTimeException e) {
+            throw new CustomException("Invalid date format: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new CustomException("Failed to find free slots for teacher with ID: " + id, e);
+        }
+    }
+
+    private static long[] toIds(List<Long> ids) {
+        if (ids == null) {
+            return new long[0];
+        }
+        return ids.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+}
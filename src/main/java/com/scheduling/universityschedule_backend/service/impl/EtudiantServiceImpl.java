@@ -9,8 +9,8 @@ import com.scheduling.universityschedule_backend.model.Etudiant;
 import com.scheduling.universityschedule_backend.model.Seance;
 import com.scheduling.universityschedule_backend.model.TD;
 import com.scheduling.universityschedule_backend.repository.EtudiantRepository;
-import com.scheduling.universityschedule_backend.repository.NotificationRepository;
 import com.scheduling.universityschedule_backend.service.EtudiantService;
+import com.scheduling.universityschedule_backend.service.NotificationInboxService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,17 +28,20 @@ import java.util.stream.Collectors;
 public class EtudiantServiceImpl implements EtudiantService {
 
     private final EtudiantRepository etudiantRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationInboxService notificationInboxService;
+    private final TpTimetableCache tpTimetableCache;
     private final EntityMapper entityMapper;
 
     /**
      * Constructor injection for dependencies
      */
     public EtudiantServiceImpl(EtudiantRepository etudiantRepository,
-                               NotificationRepository notificationRepository,
+                               NotificationInboxService notificationInboxService,
+                               TpTimetableCache tpTimetableCache,
                                EntityMapper entityMapper) {
         this.etudiantRepository = etudiantRepository;
-        this.notificationRepository = notificationRepository;
+        this.notificationInboxService = notificationInboxService;
+        this.tpTimetableCache = tpTimetableCache;
         this.entityMapper = entityMapper;
     }
 
@@ -177,16 +180,8 @@ public class EtudiantServiceImpl implements EtudiantService {
                 throw new CustomException("Student with ID: " + id + " is not assigned to any practical group (TP)");
             }
 
-            // Get sessions from TP
-            if (etudiant.getTp().getSeances() == null) {
-                return Collections.emptyList();
-            }
-
-            // Convert to DTOs
-            return etudiant.getTp().getSeances().stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toSeanceDTO)
-                    .collect(Collectors.toList());
+            // Every session attended by the TP (listed directly or through its TD / branch), ordered by day and time
+            return tpTimetableCache.getWeek(etudiant.getTp().getId());
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -224,16 +219,9 @@ public class EtudiantServiceImpl implements EtudiantService {
                 throw new CustomException("Student's practical group is not associated with any tutorial group (TD)");
             }
 
-            // Get TD sessions
-            List<Seance> tdSessions = td.getSeances();
-            if (tdSessions == null) {
-                return Collections.emptyList();
-            }
-
-            // Convert to DTOs
-            return tdSessions.stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toSeanceDTO)
+            // Sessions listing the TD all reach its TPs, so they are part of the student's week
+            return tpTimetableCache.getWeek(etudiant.getTp().getId()).stream()
+                    .filter(seance -> seance.getTdIds().contains(td.getId()))
                     .collect(Collectors.toList());
         } catch (CustomException e) {
             throw e;
@@ -296,12 +284,8 @@ public class EtudiantServiceImpl implements EtudiantService {
                 throw new CustomException("Student not found with ID: " + id);
             }
 
-            // Get notifications for student
-
-            return notificationRepository.findAllByPersonneId(id).stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toNotificationDTO)
-                    .collect(Collectors.toList());
+            // Direct notifications merged with those of the student's groups, newest first
+            return notificationInboxService.getNotificationsFor(id);
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
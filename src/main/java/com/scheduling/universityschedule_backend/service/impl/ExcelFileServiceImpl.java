@@ -2,25 +2,63 @@ package com.scheduling.universityschedule_backend.service.impl;
 
 import com.scheduling.universityschedule_backend.dto.FichierExcelDTO;
 import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import com.scheduling.universityschedule_backend.dto.SingleSeanceConflictDTO;
+import com.scheduling.universityschedule_backend.engine.ConflictStore;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.mapper.SeanceReferences;
+import com.scheduling.universityschedule_backend.mapper.SeanceRowParser;
 import com.scheduling.universityschedule_backend.model.FichierExcel;
 import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
 import com.scheduling.universityschedule_backend.repository.FichierExcelRepository;
 import com.scheduling.universityschedule_backend.repository.SeanceRepository;
 import com.scheduling.universityschedule_backend.service.ExcelFileService;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for Excel file operations.
  * Handles file uploads, processing, and history tracking.
+ * Sheet imports run as background jobs on a bounded pool: rows are saved in chunks of
+ * {@code scheduling.import.chunk-size}, each committed on its own with the progress counts
+ * of the import record, so a large import never holds its locks for longer than one chunk.
+ * Before its transaction opens, each chunk is parsed and validated by {@link SeanceRowParser} on a shared
+ * parser pool, so only the reference lookups and writes run inside it.
+ * An import naming the one it replaces is applied as a diff of the sessions that import holds
+ * (see {@link ImportedSeances}): only changed rows are written and dropped rows are deleted at the end,
+ * unless rows were rejected, in which case the deletions are only reported as pending.
  */
 @Service
 @Transactional
@@ -32,20 +70,95 @@ public class ExcelFileServiceImpl implements ExcelFileService {
     private static final String STATUS_PROCESSING = "Processing";
     private static final String STATUS_COMPLETED = "Completed";
     private static final String STATUS_FAILED = "Failed";
+    private static final String STATUS_COMPLETED_WITH_ERRORS = "Completed with errors";
+    private static final String STATUS_QUEUED = "Queued";
+    private static final String STATUS_CANCELLED = "Cancelled";
+
+    /**
+     * Fewest rows worth handing to a parser thread
+     */
+    private static final int MIN_PARSE_SLICE = 128;
 
     private final FichierExcelRepository fichierExcelRepository;
     private final SeanceRepository seanceRepository;
     private final EntityMapper entityMapper;
+    private final SeanceBatchWriter seanceBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ConflictStore conflictStore;
+    private final SeanceConflictGate conflictGate;
+
+    @Value("${scheduling.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${scheduling.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${scheduling.import.workers:2}")
+    private int workers;
+
+    @Value("${scheduling.import.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${scheduling.import.parser-threads:0}")
+    private int parserThreads;
+
+    /**
+     * Imports queued or running on this instance, by FichierExcel id
+     */
+    private final Map<Long, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService importRunner;
+    private ExecutorService rowParser;
 
     /**
      * Constructor injection for dependencies
      */
     public ExcelFileServiceImpl(FichierExcelRepository fichierExcelRepository,
                                 SeanceRepository seanceRepository,
-                                EntityMapper entityMapper) {
+                                EntityMapper entityMapper,
+                                SeanceBatchWriter seanceBatchWriter,
+                                TransactionTemplate transactionTemplate,
+                                ConflictStore conflictStore,
+                                SeanceConflictGate conflictGate) {
         this.fichierExcelRepository = fichierExcelRepository;
         this.seanceRepository = seanceRepository;
         this.entityMapper = entityMapper;
+        this.seanceBatchWriter = seanceBatchWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.conflictStore = conflictStore;
+        this.conflictGate = conflictGate;
+    }
+
+    @PostConstruct
+    void startPool() {
+        // Bounded queue: imports beyond it are refused rather than piling up on disk
+        int size = Math.max(1, workers);
+        importRunner = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)));
+        // Shared by the running imports; a chunk is split across it only when large enough to pay off
+        rowParser = Executors.newFixedThreadPool(parserPoolSize());
+    }
+
+    @PreDestroy
+    void stopPool() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        importRunner.shutdownNow();
+        rowParser.shutdownNow();
+    }
+
+    /**
+     * Imports queued or running when the application stopped will never finish; committed chunks stay
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void closeInterruptedImports() {
+        try {
+            Integer closed = transactionTemplate.execute(status -> fichierExcelRepository.closeUnfinished(
+                    List.of(STATUS_QUEUED, STATUS_PROCESSING), STATUS_FAILED, LocalDateTime.now()));
+            if (closed != null && closed > 0) {
+                CustomLogger.logInfo(closed + " interrupted imports marked as failed");
+            }
+        } catch (Exception e) {
+            CustomLogger.logError("Failed to close interrupted imports", e);
+        }
     }
 
     @Override
@@ -180,7 +293,8 @@ public class ExcelFileServiceImpl implements ExcelFileService {
                 throw new CustomException("Sessions data cannot be null");
             }
 
-            // Convert file to entity
+            // Check the import it replaces, then convert file to entity
+            List<Long> replaced = replacedImports(file.getReplacesId());
             fichierExcel = entityMapper.toFichierExcel(file);
 
             // Set import date and initial status
@@ -190,16 +304,47 @@ public class ExcelFileServiceImpl implements ExcelFileService {
             // Save file with initial status
             fichierExcelRepository.save(fichierExcel);
 
-            // Convert and save sessions
-            List<Seance> seances = seanceDTOS.stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toSeance)
-                    .collect(Collectors.toList());
+            // Convert sessions, resolving the references of the whole file at once
+            SeanceReferences references = entityMapper.loadSeanceReferences(seanceDTOS);
+            List<Seance> seances = new ArrayList<>(seanceDTOS.size());
+            List<Integer> rowNumbers = new ArrayList<>(seanceDTOS.size());
+            for (int i = 0; i < seanceDTOS.size(); i++) {
+                if (seanceDTOS.get(i) != null) {
+                    seances.add(entityMapper.toSeance(seanceDTOS.get(i), references));
+                    rowNumbers.add(i + 1);
+                }
+            }
 
-            seanceRepository.saveAll(seances);
+            // Apply them as a diff of the replaced import, checked with the configured default
+            ImportedSeances previous = ImportedSeances.load(seanceRepository, replaced);
+            ChunkResult result = applyDiff(seances, rowNumbers, fichierExcel.getId(), conflictGate.resolve(null),
+                    previous, new LinkedHashMap<>());
+            List<Long> dropped = previous.unclaimedIds();
+            List<String> errors = new ArrayList<>();
+            result.rejected().forEach((row, message) -> errors.add("Row " + row + ": " + message));
+            if (result.conflicts() != null) {
+                result.conflicts().forEach((row, message) -> errors.add("Row " + row + ": " + message));
+            }
+            int pending = 0;
+            if (result.rejected().isEmpty()) {
+                seanceBatchWriter.delete(dropped);
+            } else if (!dropped.isEmpty()) {
+                pending = dropped.size();
+                errors.add(pendingDeletionNote(pending, fichierExcel.getReplacesId()));
+            }
 
             // Update file status to completed
-            fichierExcel.setStatus(STATUS_COMPLETED);
+            fichierExcel.setErrors(errors);
+            fichierExcel.setRowsParsed(seanceDTOS.size());
+            fichierExcel.setRowsInserted(result.savedIds().size());
+            fichierExcel.setRowsUpdated(result.updatedIds().size());
+            fichierExcel.setRowsUnchanged(result.unchanged());
+            fichierExcel.setRowsRejected(result.rejected().size());
+            fichierExcel.setRowsConflicting(result.conflicts() == null ? 0 : result.conflicts().size());
+            fichierExcel.setRowsDeleted(pending == 0 ? dropped.size() : 0);
+            fichierExcel.setRowsPendingDeletion(pending);
+            fichierExcel.setCompletedAt(LocalDateTime.now());
+            fichierExcel.setStatus(result.rejected().isEmpty() ? STATUS_COMPLETED : STATUS_COMPLETED_WITH_ERRORS);
             fichierExcelRepository.save(fichierExcel);
         } catch (Exception e) {
             // Update file status to failed if an error occurs
@@ -222,6 +367,89 @@ public class ExcelFileServiceImpl implements ExcelFileService {
         }
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FichierExcelDTO importFile(MultipartFile file, ConflictCheck conflictCheck, Long replaces)
+            throws CustomException {
+        // Validate input
+        if (file == null || file.isEmpty()) {
+            throw new CustomException("Uploaded file cannot be empty");
+        }
+
+        String fileName = file.getOriginalFilename();
+        SeanceSheetReader.Format format = SeanceSheetReader.Format.of(fileName);
+        if (format == null) {
+            throw new CustomException("Unsupported file type, expected .xlsx or .csv: " + fileName);
+        }
+        List<Long> replaced = replacedImports(replaces);
+
+        Path upload = null;
+        boolean queued = false;
+        try {
+            // The upload only lives as long as the request: the job reads its own copy from disk
+            upload = Files.createTempFile("seance-import-", format.extension());
+            file.transferTo(upload);
+
+            FichierExcel pending = new FichierExcel();
+            pending.setFileName(fileName);
+            pending.setReplacesId(replaces);
+            pending.setImportDate(LocalDateTime.now());
+            pending.setStatus(STATUS_QUEUED);
+            pending.setErrors(new ArrayList<>());
+            FichierExcel fichierExcel = transactionTemplate.execute(status -> fichierExcelRepository.save(pending));
+            FichierExcelDTO result = entityMapper.toFichierExcelDTO(fichierExcel);
+
+            ImportJob job = new ImportJob(fichierExcel, upload, format, conflictGate.resolve(conflictCheck), replaced);
+            jobs.put(fichierExcel.getId(), job);
+            try {
+                synchronized (job) {
+                    job.future = importRunner.submit(() -> run(job));
+                }
+            } catch (RejectedExecutionException e) {
+                jobs.remove(fichierExcel.getId());
+                job.progress.errors.add("Too many imports in progress");
+                finish(job, STATUS_FAILED);
+                throw new CustomException("Too many imports in progress, try again later");
+            }
+            queued = true;
+            CustomLogger.logInfo("Import " + fichierExcel.getId() + " of " + fileName + " queued");
+            return result;
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to queue the import of " + fileName, e);
+        } finally {
+            if (!queued) {
+                deleteUpload(upload);
+            }
+        }
+    }
+
+    @Override
+    public FichierExcelDTO cancelImport(Long id) throws CustomException {
+        // Validate input
+        if (id == null) {
+            throw new CustomException("File ID cannot be null");
+        }
+
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            FichierExcelDTO fichierExcel = findById(id);
+            throw new CustomException("Import " + id + " is not in progress (status: " + fichierExcel.getStatus() + ")");
+        }
+
+        // A queued job is dropped here; a running one stops before its next row
+        boolean dequeued;
+        synchronized (job) {
+            job.cancelled = true;
+            dequeued = !job.running && job.future != null && job.future.cancel(false);
+        }
+        if (dequeued) {
+            dropCancelled(job);
+        }
+        return findById(id);
+    }
+
     @Override
     public List<FichierExcelDTO> getImportHistory() throws CustomException {
         try {
@@ -232,4 +460,466 @@ public class ExcelFileServiceImpl implements ExcelFileService {
             throw new CustomException("Failed to retrieve import history", e.getCause());
         }
     }
-}
\ No newline at end of file
+
+    // ============================
+    //    Import jobs
+    // ============================
+
+    private void run(ImportJob job) {
+        boolean started;
+        synchronized (job) {
+            started = !job.cancelled;
+            job.running = started;
+        }
+        if (!started) {
+            dropCancelled(job);
+            return;
+        }
+        Long id = job.fichierExcel.getId();
+        String fileName = job.fichierExcel.getFileName();
+        SheetImport progress = job.progress;
+        long start = System.nanoTime();
+        String status;
+        try {
+            job.fichierExcel.setStatus(STATUS_PROCESSING);
+            transactionTemplate.executeWithoutResult(tx -> fichierExcelRepository.save(job.fichierExcel));
+            job.previous = transactionTemplate.execute(tx -> ImportedSeances.load(seanceRepository, job.replaced));
+            SeanceSheetReader.read(job.upload, job.format, progress);
+            progress.flush();
+            // Only a fully read file tells which sessions of the replaced import were dropped
+            List<Long> dropped = job.previous.unclaimedIds();
+            if (progress.rejected == 0) {
+                transactionTemplate.executeWithoutResult(tx -> seanceBatchWriter.delete(dropped));
+                progress.deleted = dropped.size();
+            } else if (!dropped.isEmpty()) {
+                progress.pendingDeletion = dropped.size();
+                progress.errors.add(pendingDeletionNote(dropped.size(), job.fichierExcel.getReplacesId()));
+            }
+            status = progress.rejected == 0 ? STATUS_COMPLETED : STATUS_COMPLETED_WITH_ERRORS;
+        } catch (CancellationException e) {
+            // Rows buffered for the next chunk are dropped; committed chunks stay
+            progress.errors.add("Cancelled after " + progress.inserted + " sessions");
+            status = STATUS_CANCELLED;
+        } catch (Exception e) {
+            // Chunks saved so far stay committed; the errors tell where the import stopped
+            CustomLogger.logError("Import " + id + " of " + fileName + " stopped", e);
+            progress.errors.add("Import stopped after " + progress.inserted + " sessions: " + reason(e));
+            status = STATUS_FAILED;
+        } finally {
+            jobs.remove(id);
+            deleteUpload(job.upload);
+        }
+
+        try {
+            finish(job, status);
+            CustomLogger.logInfo("Import " + id + " of " + fileName + " " + status + ": " + progress.inserted
+                    + " sessions saved, " + progress.updated + " updated, " + progress.unchanged + " unchanged, "
+                    + progress.deleted + " deleted, " + progress.pendingDeletion + " pending deletion, "
+                    + progress.rejected + " rows rejected, " + progress.conflicting + " conflicting, in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            CustomLogger.logError("Failed to record the result of import " + id, e);
+        }
+    }
+
+    /**
+     * Closes an import cancelled before it started
+     */
+    private void dropCancelled(ImportJob job) {
+        jobs.remove(job.fichierExcel.getId());
+        deleteUpload(job.upload);
+        job.progress.errors.add("Cancelled before it started");
+        finish(job, STATUS_CANCELLED);
+    }
+
+    /**
+     * The import a new one replaces followed by the imports it replaced in turn, which together hold its sessions:
+     * a session left unchanged by an import keeps the id of the import that saved it
+     * @throws CustomException if the import is unknown, still in progress or already replaced
+     */
+    private List<Long> replacedImports(Long replaces) throws CustomException {
+        if (replaces == null) {
+            return List.of();
+        }
+        FichierExcel replaced = fichierExcelRepository.findById(replaces)
+                .orElseThrow(() -> new CustomException("Replaced import not found with ID: " + replaces));
+        if (jobs.containsKey(replaces)) {
+            throw new CustomException("Import " + replaces + " is still in progress");
+        }
+        Optional<FichierExcel> replacement = fichierExcelRepository.findFirstByReplacesId(replaces);
+        if (replacement.isPresent()) {
+            throw new CustomException("Import " + replaces + " was already replaced by import "
+                    + replacement.get().getId() + ", replace that one instead");
+        }
+        List<Long> ids = new ArrayList<>();
+        for (FichierExcel f = replaced; f != null && !ids.contains(f.getId());
+             f = f.getReplacesId() == null ? null : fichierExcelRepository.findById(f.getReplacesId()).orElse(null)) {
+            ids.add(f.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * A rejected row claims nothing, so the sessions left unclaimed may still be in the file: they are kept
+     */
+    private static String pendingDeletionNote(int pending, Long replaces) {
+        return pending + " sessions of import " + replaces + " missing from this file were kept because rows were "
+                + "rejected; fix the rows and import the file again to delete them";
+    }
+
+    /**
+     * Stores the final status, counts and errors of an import
+     */
+    private void finish(ImportJob job, String status) {
+        SheetImport progress = job.progress;
+        FichierExcel fichierExcel = job.fichierExcel;
+        fichierExcel.setStatus(status);
+        fichierExcel.setRowsParsed(progress.parsed);
+        fichierExcel.setRowsInserted(progress.inserted);
+        fichierExcel.setRowsUpdated(progress.updated);
+        fichierExcel.setRowsUnchanged(progress.unchanged);
+        fichierExcel.setRowsDeleted(progress.deleted);
+        fichierExcel.setRowsPendingDeletion(progress.pendingDeletion);
+        fichierExcel.setRowsRejected(progress.rejected);
+        fichierExcel.setRowsConflicting(progress.conflicting);
+        fichierExcel.setErrors(progress.summarizeErrors());
+        fichierExcel.setCompletedAt(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(tx -> fichierExcelRepository.save(fichierExcel));
+    }
+
+    /**
+     * Parses and validates the rows of a chunk on the parser pool, in slices, keeping their order.
+     * Parsing needs no transaction, so it runs before the chunk's one opens.
+     */
+    private List<ParsedRow> parseAll(List<ImportRow> rows) {
+        int slices = Math.min(parserPoolSize(), rows.size() / MIN_PARSE_SLICE);
+        if (slices <= 1) {
+            return parseSlice(rows);
+        }
+        List<CompletableFuture<List<ParsedRow>>> parts = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            List<ImportRow> part = rows.subList(rows.size() * slice / slices, rows.size() * (slice + 1) / slices);
+            parts.add(CompletableFuture.supplyAsync(() -> parseSlice(part), rowParser));
+        }
+        List<ParsedRow> parsed = new ArrayList<>(rows.size());
+        for (CompletableFuture<List<ParsedRow>> part : parts) {
+            parsed.addAll(part.join());
+        }
+        return parsed;
+    }
+
+    private static List<ParsedRow> parseSlice(List<ImportRow> rows) {
+        List<ParsedRow> parsed = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            parsed.add(new ParsedRow(row.rowNumber(), row.seance(), SeanceRowParser.parse(row.seance())));
+        }
+        return parsed;
+    }
+
+    private int parserPoolSize() {
+        return parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Saves a chunk of parsed rows in the current transaction. References are loaded once for the chunk;
+     * invalid rows and rows whose references cannot be resolved are left out and returned with their reason.
+     */
+    private ChunkResult saveChunk(List<ParsedRow> rows, ImportJob job) {
+        SeanceReferences references = entityMapper.loadSeanceReferences(rows.stream()
+                .filter(row -> row.result().isValid())
+                .map(ParsedRow::seance)
+                .toList());
+        List<Seance> seances = new ArrayList<>(rows.size());
+        List<Integer> rowNumbers = new ArrayList<>(rows.size());
+        Map<Integer, String> rejected = new LinkedHashMap<>();
+        for (ParsedRow row : rows) {
+            if (!row.result().isValid()) {
+                rejected.put(row.rowNumber(), row.result().error());
+                continue;
+            }
+            try {
+                entityMapper.attachReferences(row.result().seance(), row.seance(), references);
+                seances.add(row.result().seance());
+                rowNumbers.add(row.rowNumber());
+            } catch (Exception e) {
+                rejected.put(row.rowNumber(), reason(e));
+            }
+        }
+        return applyDiff(seances, rowNumbers, job.fichierExcel.getId(), job.conflictCheck, job.previous, rejected);
+    }
+
+    /**
+     * Saves mapped rows of an import in the current transaction as a diff of the replaced import:
+     * rows claiming an unchanged stored session are skipped, rows claiming a changed one update it in place
+     * and the others are inserted. Unless the check is NONE, updated and inserted rows are first checked for
+     * conflicts, leaving out the stored sessions still unclaimed: a row moving one of them is not held against
+     * its old version, which is deleted once the file is read unless a later row claims it.
+     * The claims stay made even if the transaction rolls back: the caller gives them back with
+     * {@link ImportedSeances#releaseSince(int)}.
+     * @param rejected Rows already left out, completed with the rows rejected for their conflicts
+     */
+    private ChunkResult applyDiff(List<Seance> seances, List<Integer> rowNumbers, Long fichierExcelId,
+                                  ConflictCheck check, ImportedSeances previous, Map<Integer, String> rejected) {
+        List<Seance> changed = new ArrayList<>(seances.size());
+        List<Integer> changedRows = new ArrayList<>(seances.size());
+        int unchanged = 0;
+        for (int i = 0; i < seances.size(); i++) {
+            Seance seance = seances.get(i);
+            // Only a claim gives a row an id; a retried row may still carry the one of its failed attempt
+            seance.setId(null);
+            seance.setFichierExcelId(fichierExcelId);
+            ImportedSeances.Stored stored = previous.claim(seance);
+            if (stored != null) {
+                if (stored.sameAs(seance)) {
+                    unchanged++;
+                    continue;
+                }
+                seance.setId(stored.id());
+            }
+            changed.add(seance);
+            changedRows.add(rowNumbers.get(i));
+        }
+
+        List<Seance> accepted = changed;
+        Map<Integer, String> conflicts = null;
+        if (check != ConflictCheck.NONE) {
+            // Earlier chunks are committed, so the conflict store already holds them. Stored sessions no row has
+            // matched are left out: a row that moves one must not be held against its own old version
+            SeanceConflictGate.Screening screening = conflictGate.screen(changed, check, previous.unclaimedIds());
+            accepted = new ArrayList<>(changed.size());
+            conflicts = new LinkedHashMap<>();
+            for (int i = 0; i < changed.size(); i++) {
+                if (!screening.hasConflicts(i)) {
+                    accepted.add(changed.get(i));
+                    continue;
+                }
+                String description = screening.describe(i, other -> "row " + changedRows.get(other));
+                if (screening.isRejected(i)) {
+                    rejected.put(changedRows.get(i), description);
+                } else {
+                    accepted.add(changed.get(i));
+                    conflicts.put(changedRows.get(i), description);
+                }
+            }
+        }
+
+        List<Seance> inserts = new ArrayList<>(accepted.size());
+        List<Seance> updates = new ArrayList<>();
+        for (Seance seance : accepted) {
+            (seance.getId() == null ? inserts : updates).add(seance);
+        }
+        return new ChunkResult(seanceBatchWriter.insert(inserts), seanceBatchWriter.update(updates), unchanged,
+                rejected, conflicts);
+    }
+
+    /**
+     * Sessions among the given ones that conflict with another session. The conflict store
+     * applies each chunk when it commits, so it already knows them.
+     */
+    private int countConflicting(List<Long> seanceIds) {
+        int conflicting = 0;
+        for (Long seanceId : seanceIds) {
+            List<SingleSeanceConflictDTO> conflicts = conflictStore.getConflictsForSeance(seanceId);
+            if (conflicts != null && !conflicts.isEmpty()) {
+                conflicting++;
+            }
+        }
+        return conflicting;
+    }
+
+    /**
+     * The message of the CustomException behind a failure (mapper lookups come wrapped), else of its root cause
+     */
+    private static String reason(Throwable e) {
+        Throwable root = e;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CustomException) {
+                return cause.getMessage();
+            }
+            root = cause;
+        }
+        return String.valueOf(root.getMessage());
+    }
+
+    private static void deleteUpload(Path upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            CustomLogger.logError("Failed to delete import file " + upload, e);
+        }
+    }
+
+    private record ImportRow(int rowNumber, SeanceDTO seance) {
+    }
+
+    private record ParsedRow(int rowNumber, SeanceDTO seance, SeanceRowParser.Result result) {
+    }
+
+    /**
+     * @param savedIds Ids of the inserted sessions
+     * @param updatedIds Ids of the stored sessions updated in place
+     * @param unchanged Rows identical to a stored session
+     * @param conflicts Saved rows found conflicting before the insert, with their conflicts; null when not checked
+     */
+    private record ChunkResult(List<Long> savedIds, List<Long> updatedIds, int unchanged,
+                               Map<Integer, String> rejected, Map<Integer, String> conflicts) {
+    }
+
+    /**
+     * A queued or running import. Its record is only written by the job thread once the job runs.
+     */
+    private final class ImportJob {
+        private final FichierExcel fichierExcel;
+        private final Path upload;
+        private final SeanceSheetReader.Format format;
+        private final SheetImport progress;
+        private final ConflictCheck conflictCheck;
+        private final List<Long> replaced;
+        private ImportedSeances previous = ImportedSeances.none();
+        private volatile boolean cancelled;
+        private boolean running;
+        private Future<?> future;
+
+        private ImportJob(FichierExcel fichierExcel, Path upload, SeanceSheetReader.Format format,
+                          ConflictCheck conflictCheck, List<Long> replaced) {
+            this.fichierExcel = fichierExcel;
+            this.upload = upload;
+            this.format = format;
+            this.conflictCheck = conflictCheck;
+            this.replaced = replaced;
+            this.progress = new SheetImport(this);
+        }
+    }
+
+    /**
+     * Buffers valid rows into chunks and keeps the counts and errors of one import.
+     * Progress is written with each chunk, in its transaction, so the counts always match what is committed.
+     */
+    private final class SheetImport implements SeanceSheetReader.RowHandler {
+
+        private final ImportJob job;
+        private final List<ImportRow> chunk = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int parsed;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int deleted;
+        private int pendingDeletion;
+        private int rejected;
+        private int conflicting;
+        private int unreported;
+
+        private SheetImport(ImportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void onRow(int rowNumber, SeanceDTO seance) {
+            countRow();
+            chunk.add(new ImportRow(rowNumber, seance));
+            flushIfDue();
+        }
+
+        @Override
+        public void onError(int rowNumber, String message) {
+            countRow();
+            reject(rowNumber, message);
+            flushIfDue();
+        }
+
+        private void countRow() {
+            if (job.cancelled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            parsed++;
+            unreported++;
+        }
+
+        private void reject(int rowNumber, String message) {
+            rejected++;
+            note(rowNumber, message);
+        }
+
+        private void note(int rowNumber, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add("Row " + rowNumber + ": " + message);
+            }
+        }
+
+        /**
+         * Saves a full chunk, and reports progress at least every chunk-size rows even when they are all rejected
+         */
+        private void flushIfDue() {
+            if (unreported >= Math.max(1, chunkSize)) {
+                flush();
+            }
+        }
+
+        void flush() {
+            List<ParsedRow> rows = parseAll(List.copyOf(chunk));
+            chunk.clear();
+            unreported = 0;
+            try {
+                record(saveInTransaction(rows));
+            } catch (Exception e) {
+                // A row the database refused rolled the whole chunk back: retry row by row to keep the others
+                for (ParsedRow row : rows) {
+                    try {
+                        record(saveInTransaction(List.of(row)));
+                    } catch (Exception rowFailure) {
+                        reject(row.rowNumber(), reason(rowFailure));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Saves rows in a transaction of their own. Whether the rollback comes from a write, a before-commit
+         * listener or the commit itself, the claims the rows made are given back so a retry matches the same sessions.
+         */
+        private ChunkResult saveInTransaction(List<ParsedRow> rows) {
+            int mark = job.previous.mark();
+            try {
+                return transactionTemplate.execute(status -> saveAndReport(rows));
+            } catch (RuntimeException e) {
+                job.previous.releaseSince(mark);
+                throw e;
+            }
+        }
+
+        private ChunkResult saveAndReport(List<ParsedRow> rows) {
+            ChunkResult result = saveChunk(rows, job);
+            int found = result.conflicts() == null ? 0 : result.conflicts().size();
+            fichierExcelRepository.updateProgress(job.fichierExcel.getId(), parsed,
+                    inserted + result.savedIds().size(), updated + result.updatedIds().size(),
+                    unchanged + result.unchanged(), rejected + result.rejected().size(), conflicting + found);
+            return result;
+        }
+
+        private void record(ChunkResult result) {
+            inserted += result.savedIds().size();
+            updated += result.updatedIds().size();
+            unchanged += result.unchanged();
+            result.rejected().forEach(this::reject);
+            if (result.conflicts() == null) {
+                conflicting += countConflicting(result.savedIds()) + countConflicting(result.updatedIds());
+            } else {
+                // Checked before the insert: no need to ask the conflict store
+                conflicting += result.conflicts().size();
+                result.conflicts().forEach(this::note);
+            }
+        }
+
+        List<String> summarizeErrors() {
+            int omitted = rejected - Math.min(rejected, maxErrors);
+            if (omitted > 0) {
+                errors.add("... and " + omitted + " more rejected rows");
+            }
+            return errors;
+        }
+    }
+}
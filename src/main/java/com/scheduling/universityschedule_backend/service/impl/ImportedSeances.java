@@ -0,0 +1,166 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.model.Branche;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.SeanceType;
+import com.scheduling.universityschedule_backend.model.TD;
+import com.scheduling.universityschedule_backend.model.TP;
+import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Sessions saved by the import a new one replaces, indexed by natural key, to apply the new import as a diff.
+ * <p>
+ * The key is what identifies a session in a timetable sheet: subject, type, day, hours, teacher and
+ * declared groups. Rows of the new version claim, in order, the stored sessions with the same key: a claimed
+ * session whose other columns (name, frequency, date, room) are unchanged is left alone, otherwise it is
+ * updated in place. Rows with nothing left to claim are new sessions, and sessions no row claimed are the
+ * ones the new version dropped. Claims are journaled so that those of a rolled back transaction can be given
+ * back with {@link #releaseSince(int)}. Only used by the thread running the import.
+ */
+public final class ImportedSeances {
+
+    /**
+     * Natural key of a session; group ids are sorted and without duplicates
+     */
+    record Key(String matiere, SeanceType type, DayOfWeek jour, LocalTime heureDebut, LocalTime heureFin,
+               Long enseignantId, List<Long> brancheIds, List<Long> tdIds, List<Long> tpIds) {
+
+        static Key of(Seance seance) {
+            return new Key(seance.getMatiere(), seance.getType(), seance.getJour(), seance.getHeureDebut(),
+                    seance.getHeureFin(), seance.getEnseignant() == null ? null : seance.getEnseignant().getId(),
+                    sortedIds(seance.getBranches(), Branche::getId), sortedIds(seance.getTds(), TD::getId),
+                    sortedIds(seance.getTps(), TP::getId));
+        }
+    }
+
+    /**
+     * Stored columns of a session that are not part of its key
+     */
+    record Stored(long id, String name, FrequenceType frequence, LocalDate date, Long salleId) {
+
+        boolean sameAs(Seance seance) {
+            return Objects.equals(name, seance.getName())
+                    && frequence == seance.getFrequence()
+                    && Objects.equals(date, seance.getDate())
+                    && Objects.equals(salleId, seance.getSalle() == null ? null : seance.getSalle().getId());
+        }
+    }
+
+    private record Claim(Key key, Stored stored) {
+    }
+
+    private final Map<Key, ArrayDeque<Stored>> unclaimed;
+    private final List<Claim> claims = new ArrayList<>();
+
+    private ImportedSeances(Map<Key, ArrayDeque<Stored>> unclaimed) {
+        this.unclaimed = unclaimed;
+    }
+
+    /**
+     * Nothing to diff against: every row is a new session
+     */
+    public static ImportedSeances none() {
+        return new ImportedSeances(new HashMap<>());
+    }
+
+    /**
+     * Loads the sessions saved by the given imports, with one query for the columns and one per group type
+     */
+    public static ImportedSeances load(SeanceRepository seanceRepository, Collection<Long> fichierExcelIds) {
+        if (fichierExcelIds == null || fichierExcelIds.isEmpty()) {
+            return none();
+        }
+        Map<Long, List<Long>> tps = group(seanceRepository.findImportedTpLinks(fichierExcelIds));
+        Map<Long, List<Long>> tds = group(seanceRepository.findImportedTdLinks(fichierExcelIds));
+        Map<Long, List<Long>> branches = group(seanceRepository.findImportedBrancheLinks(fichierExcelIds));
+        Map<Key, ArrayDeque<Stored>> unclaimed = new HashMap<>();
+        for (Object[] row : seanceRepository.findImportedRows(fichierExcelIds)) {
+            Long id = (Long) row[0];
+            Key key = new Key((String) row[1], (SeanceType) row[2], (DayOfWeek) row[3], (LocalTime) row[4],
+                    (LocalTime) row[5], (Long) row[6], branches.getOrDefault(id, List.of()),
+                    tds.getOrDefault(id, List.of()), tps.getOrDefault(id, List.of()));
+            unclaimed.computeIfAbsent(key, k -> new ArrayDeque<>())
+                    .add(new Stored(id, (String) row[7], (FrequenceType) row[8], (LocalDate) row[9], (Long) row[10]));
+        }
+        return new ImportedSeances(unclaimed);
+    }
+
+    /**
+     * Claims the next stored session with the key of the given one
+     * @return the claimed session, or null when the row is a new session
+     */
+    public Stored claim(Seance seance) {
+        Key key = Key.of(seance);
+        ArrayDeque<Stored> candidates = unclaimed.get(key);
+        if (candidates == null) {
+            return null;
+        }
+        Stored stored = candidates.poll();
+        if (candidates.isEmpty()) {
+            unclaimed.remove(key);
+        }
+        claims.add(new Claim(key, stored));
+        return stored;
+    }
+
+    /**
+     * Position in the claim journal, to take before the claims of a transaction
+     */
+    public int mark() {
+        return claims.size();
+    }
+
+    /**
+     * Gives back, latest first, the claims made since the mark, so that claiming again matches the same sessions
+     */
+    public void releaseSince(int mark) {
+        for (int i = claims.size() - 1; i >= mark; i--) {
+            Claim claim = claims.remove(i);
+            unclaimed.computeIfAbsent(claim.key(), k -> new ArrayDeque<>()).addFirst(claim.stored());
+        }
+    }
+
+    /**
+     * Ids of the stored sessions no row claimed
+     */
+    public List<Long> unclaimedIds() {
+        List<Long> ids = new ArrayList<>();
+        unclaimed.values().forEach(stored -> stored.forEach(s -> ids.add(s.id())));
+        return ids;
+    }
+
+    private static <T> List<Long> sortedIds(List<T> entities, Function<T, Long> idOf) {
+        if (entities == null || entities.isEmpty()) {
+            return List.of();
+        }
+        TreeSet<Long> ids = new TreeSet<>();
+        for (T entity : entities) {
+            ids.add(idOf.apply(entity));
+        }
+        return List.copyOf(ids);
+    }
+
+    private static Map<Long, List<Long>> group(List<Object[]> links) {
+        Map<Long, TreeSet<Long>> grouped = new HashMap<>();
+        for (Object[] link : links) {
+            grouped.computeIfAbsent((Long) link[0], k -> new TreeSet<>()).add((Long) link[1]);
+        }
+        Map<Long, List<Long>> result = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((id, ids) -> result.put(id, List.copyOf(ids)));
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDispatchDTO;
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.NotificationOutbox;
+import com.scheduling.universityschedule_backend.model.enums.DispatchStatus;
+import com.scheduling.universityschedule_backend.model.enums.DispatchTarget;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+import com.scheduling.universityschedule_backend.repository.NotificationOutboxRepository;
+import com.scheduling.universityschedule_backend.repository.NotificationRepository;
+import com.scheduling.universityschedule_backend.service.NotificationDispatchService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for asynchronous notification sends.
+ * Writing the outbox row is the only work done in the caller's transaction;
+ * {@link NotificationOutboxWorker} delivers it. When fan-out happens at read time the audience
+ * notification is stored right away instead, and the row is recorded as already delivered.
+ */
+@Service
+@Transactional
+public class NotificationDispatchServiceImpl implements NotificationDispatchService {
+
+    /**
+     * Stands in for an empty id list, which SQL cannot express as IN (); ids start at 1
+     */
+    private static final List<Long> NO_IDS = List.of(-1L);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final AudienceNotificationPublisher audiencePublisher;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public NotificationDispatchServiceImpl(NotificationOutboxRepository outboxRepository,
+                                           NotificationRepository notificationRepository,
+                                           AudienceNotificationPublisher audiencePublisher) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.audiencePublisher = audiencePublisher;
+    }
+
+    @Override
+    public NotificationDispatchDTO queueBroadcast(NotificationDTO notificationDTO) throws CustomException {
+        return queue(notificationDTO, DispatchTarget.ALL, "BROADCAST", null);
+    }
+
+    @Override
+    public NotificationDispatchDTO queueToTeachers(NotificationDTO notificationDTO) throws CustomException {
+        return queue(notificationDTO, DispatchTarget.TEACHERS, "TEACHER_BROADCAST", null);
+    }
+
+    @Override
+    public NotificationDispatchDTO queueToStudents(NotificationDTO notificationDTO) throws CustomException {
+        return queue(notificationDTO, DispatchTarget.STUDENTS, "STUDENT_BROADCAST", null);
+    }
+
+    @Override
+    public NotificationDispatchDTO queueToBranches(NotificationDTO notificationDTO, List<Long> brancheIds) throws CustomException {
+        // Validate input
+        if (brancheIds == null || brancheIds.stream().noneMatch(Objects::nonNull)) {
+            throw new CustomException("Branch list cannot be null or empty");
+        }
+        return queue(notificationDTO, DispatchTarget.GROUPS, "BRANCH_NOTIFICATION", brancheIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationDispatchDTO getDispatch(Long id) throws CustomException {
+        try {
+            // Validate input
+            if (id == null) {
+                throw new CustomException("Dispatch ID cannot be null");
+            }
+
+            // Retrieve dispatch
+            NotificationOutbox outbox = outboxRepository.findById(id)
+                    .orElseThrow(() -> new CustomException("Notification dispatch not found with ID: " + id));
+
+            // Convert to DTO
+            return toDTO(outbox);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve notification dispatch with ID: " + id, e);
+        }
+    }
+
+    private NotificationDispatchDTO queue(NotificationDTO notificationDTO, DispatchTarget target, String type,
+                                          List<Long> brancheIds) throws CustomException {
+        try {
+            // Validate input
+            if (notificationDTO == null) {
+                throw new CustomException("Notification data cannot be null");
+            }
+
+            // Validate message content
+            if (notificationDTO.getMessage() == null || notificationDTO.getMessage().trim().isEmpty()) {
+                throw new CustomException("Notification message cannot be empty");
+            }
+
+            // One row; the worker picks it up on its next poll
+            LocalDateTime now = LocalDateTime.now();
+            NotificationOutbox outbox = new NotificationOutbox();
+            outbox.setMessage(notificationDTO.getMessage());
+            outbox.setType(type);
+            outbox.setExpediteurId(notificationDTO.getExpediteurId());
+            outbox.setDate(now);
+            outbox.setTarget(target);
+            outbox.setBrancheIds(joinIds(brancheIds));
+            outbox.setStatus(DispatchStatus.PENDING);
+            outbox.setCreatedAt(now);
+            outbox.setNextAttemptAt(now);
+
+            if (audiencePublisher.isFanOutOnRead()) {
+                publish(outbox, brancheIds);
+            }
+
+            // Save entity and convert to DTO
+            return toDTO(outboxRepository.save(outbox));
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to queue notification: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores the audience notification and completes the row; total and sent report the
+     * number of users reached.
+     */
+    private void publish(NotificationOutbox outbox, List<Long> brancheIds) {
+        String message = outbox.getMessage();
+        String type = outbox.getType();
+        Long expediteurId = outbox.getExpediteurId();
+        LocalDateTime date = outbox.getDate();
+        long recipients = switch (outbox.getTarget()) {
+            case ALL -> {
+                audiencePublisher.publishToAll(message, date, type, expediteurId);
+                yield notificationRepository.countPersons();
+            }
+            case TEACHERS -> {
+                audiencePublisher.publishToRole(message, date, type, expediteurId, UserRole.ROLE_TEACHER);
+                yield notificationRepository.countTeachers();
+            }
+            case STUDENTS -> {
+                audiencePublisher.publishToRole(message, date, type, expediteurId, UserRole.ROLE_STUDENT);
+                yield notificationRepository.countStudents();
+            }
+            case GROUPS -> {
+                List<Long> ids = brancheIds.stream().filter(Objects::nonNull).distinct().toList();
+                audiencePublisher.publishToGroups(message, date, type, expediteurId, ids, NO_IDS, NO_IDS);
+                yield notificationRepository.countGroupStudents(ids, NO_IDS, NO_IDS);
+            }
+        };
+        outbox.setTotal(recipients);
+        outbox.setSent(recipients);
+        outbox.setStatus(DispatchStatus.DONE);
+        outbox.setCompletedAt(outbox.getCreatedAt());
+    }
+
+    private static String joinIds(List<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    private static NotificationDispatchDTO toDTO(NotificationOutbox outbox) {
+        return new NotificationDispatchDTO(outbox.getId(), outbox.getStatus().name(), outbox.getTarget().name(),
+                outbox.getType(), outbox.getSent(), outbox.getTotal(), outbox.getAttempts(), outbox.getLastError(),
+                outbox.getCreatedAt(), outbox.getCompletedAt());
+    }
+}
@@ -0,0 +1,237 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.event.NotificationCreatedEvent;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes notifications to connected users over Server-Sent Events.
+ * <p>
+ * A stream is an async servlet response: once opened it holds no request thread, only its
+ * {@link SseEmitter} in this registry. Committed {@link NotificationCreatedEvent}s are matched against
+ * the subscribers (by id for direct sends, by role and groups for audience sends) as they are published,
+ * and queued on each matching stream. A stream is written by at most one virtual thread, started when
+ * an event is queued on an idle stream, so a user sees notifications in commit order, a slow client never
+ * delays the others and idle streams cost no thread.
+ * The audience of a subscriber is resolved when the stream opens; streams expire after a timeout
+ * and clients reconnect, which picks up group changes.
+ */
+@Component
+public class NotificationEventBus {
+
+    private static final long RECONNECT_MILLIS = 3000;
+
+    private final RecipientAudienceResolver audienceResolver;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.notifications.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${scheduling.notifications.stream.max-per-user:5}")
+    private int maxPerUser;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private ExecutorService senders;
+
+    /**
+     * One open stream and the events waiting to be written to it, oldest first.
+     */
+    private final class Subscriber {
+
+        private final RecipientAudience audience;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(RecipientAudience audience, SseEmitter emitter) {
+            this.audience = audience;
+            this.emitter = emitter;
+        }
+
+        RecipientAudience audience() {
+            return audience;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        /**
+         * Queues the event behind those already published, and starts a sender unless one is running.
+         */
+        void send(SseEmitter.SseEventBuilder event) {
+            pending.add(event);
+            if (!sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (Exception e) {
+                sending.set(false);
+                CustomLogger.logError("Notification push skipped", e);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (Exception e) {
+                        // The stream is gone: keep the flag set so nothing else is written to it
+                        pending.clear();
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                sending.set(false);
+                // An event queued after the last poll but before the reset found the flag still set
+            } while (!pending.isEmpty() && sending.compareAndSet(false, true));
+        }
+    }
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public NotificationEventBus(RecipientAudienceResolver audienceResolver, MeterRegistry meterRegistry) {
+        this.audienceResolver = audienceResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void startSenders() {
+        senders = Executors.newVirtualThreadPerTaskExecutor();
+        Gauge.builder("scheduling.notifications.streams", this, NotificationEventBus::getConnectionCount)
+                .description("Open notification streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stopSenders() {
+        senders.shutdownNow();
+        subscribers.values().forEach(own -> own.forEach(subscriber -> subscriber.emitter().complete()));
+    }
+
+    /**
+     * Opens a stream for a user. Beyond the per-user limit the oldest stream of the user is closed.
+     * @throws CustomException if the user is not found
+     */
+    public SseEmitter subscribe(Long personneId) throws CustomException {
+        RecipientAudience audience = audienceResolver.resolve(personneId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(audience, emitter);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        List<Subscriber> own = subscribers.compute(personneId, (id, list) -> {
+            List<Subscriber> result = list == null ? new CopyOnWriteArrayList<>() : list;
+            result.add(subscriber);
+            return result;
+        });
+        while (own.size() > Math.max(1, maxPerUser)) {
+            own.remove(0).emitter().complete();
+        }
+
+        subscriber.send(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MILLIS));
+        return emitter;
+    }
+
+    /**
+     * @return number of open streams
+     */
+    public int getConnectionCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Routes on the committing thread, so each stream queues events in the order they were published;
+     * only the writes run on sender threads.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            route(event);
+        } catch (Exception e) {
+            CustomLogger.logError("Notification push skipped", e);
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${scheduling.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(own -> own.forEach(subscriber ->
+                subscriber.send(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void route(NotificationCreatedEvent event) {
+        if (!event.isAudience()) {
+            for (Long recipientId : event.getRecipientIds()) {
+                List<Subscriber> own = subscribers.get(recipientId);
+                if (own != null) {
+                    own.forEach(subscriber -> push(subscriber, event.getNotification()));
+                }
+            }
+            return;
+        }
+        subscribers.values().forEach(own -> own.forEach(subscriber -> {
+            if (subscriber.audience().matches(event.getScope(), event.getRole(), event.getTargetId())) {
+                push(subscriber, event.getNotification());
+            }
+        }));
+    }
+
+    private void push(Subscriber subscriber, NotificationDTO notification) {
+        subscriber.send(SseEmitter.event()
+                .name("notification")
+                .data(forRecipient(notification, subscriber.audience().personneId())));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.audience().personneId(), (id, own) -> {
+            own.remove(subscriber);
+            return own.isEmpty() ? null : own;
+        });
+    }
+
+    private static NotificationDTO forRecipient(NotificationDTO notification, Long personneId) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getId());
+        dto.setMessage(notification.getMessage());
+        dto.setDate(notification.getDate());
+        dto.setType(notification.getType());
+        dto.setIsread(false);
+        dto.setRecepteurId(personneId);
+        dto.setExpediteurId(notification.getExpediteurId());
+        dto.setScope(notification.getScope());
+        return dto;
+    }
+}
@@ -0,0 +1,364 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.dto.NotificationInboxQueryDTO;
+import com.scheduling.universityschedule_backend.dto.NotificationPageDTO;
+import com.scheduling.universityschedule_backend.event.NotificationReadEvent;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.model.AudienceNotification;
+import com.scheduling.universityschedule_backend.model.Notification;
+import com.scheduling.universityschedule_backend.repository.AudienceNotificationReadRepository;
+import com.scheduling.universityschedule_backend.repository.AudienceNotificationRepository;
+import com.scheduling.universityschedule_backend.repository.NotificationRepository;
+import com.scheduling.universityschedule_backend.repository.UserCredentialsRepository;
+import com.scheduling.universityschedule_backend.service.NotificationInboxService;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for user inboxes.
+ * Direct notifications come from the recipient index of the notification table; audience
+ * notifications from one UNION ALL over the user's role and groups; the two are merged by date.
+ */
+@Service
+@Transactional
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private static final String DIRECT = "DIRECT";
+
+    private static final Comparator<NotificationDTO> NEWEST_FIRST =
+            Comparator.comparing(NotificationDTO::getDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    /**
+     * Total order of inbox pages: date, then direct before audience notifications, then id
+     */
+    private static final Comparator<NotificationDTO> INBOX_ORDER = NEWEST_FIRST
+            .thenComparing(dto -> !DIRECT.equals(dto.getScope()))
+            .thenComparing(NotificationDTO::getId, Comparator.reverseOrder());
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Later than any stored date; DATETIME cannot hold LocalDateTime.MAX
+     */
+    private static final LocalDateTime NEWEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /**
+     * Date given to notifications stored without one, which were listed last
+     */
+    private static final LocalDateTime UNDATED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NotificationRepository notificationRepository;
+    private final AudienceNotificationRepository audienceNotificationRepository;
+    private final AudienceNotificationReadRepository audienceNotificationReadRepository;
+    private final RecipientAudienceResolver audienceResolver;
+    private final UserCredentialsRepository userCredentialsRepository;
+    private final NotificationEventBus notificationEventBus;
+    private final UnreadCounterCache unreadCounterCache;
+    private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public NotificationInboxServiceImpl(NotificationRepository notificationRepository,
+                                        AudienceNotificationRepository audienceNotificationRepository,
+                                        AudienceNotificationReadRepository audienceNotificationReadRepository,
+                                        RecipientAudienceResolver audienceResolver,
+                                        UserCredentialsRepository userCredentialsRepository,
+                                        NotificationEventBus notificationEventBus,
+                                        UnreadCounterCache unreadCounterCache,
+                                        EntityMapper entityMapper,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.notificationRepository = notificationRepository;
+        this.audienceNotificationRepository = audienceNotificationRepository;
+        this.audienceNotificationReadRepository = audienceNotificationReadRepository;
+        this.audienceResolver = audienceResolver;
+        this.userCredentialsRepository = userCredentialsRepository;
+        this.notificationEventBus = notificationEventBus;
+        this.unreadCounterCache = unreadCounterCache;
+        this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Dates the notifications stored before dates were required: a null date fails both sides of the
+     * (date, id) keyset comparison, so such rows would never appear in an inbox page.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingDates() {
+        int filled = notificationRepository.fillMissingDates(UNDATED)
+                + audienceNotificationRepository.fillMissingDates(UNDATED);
+        if (filled > 0) {
+            CustomLogger.logInfo("Dated " + filled + " notifications stored without a date");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getNotificationsFor(Long personneId) throws CustomException {
+        try {
+            // Validate input
+            RecipientAudience audience = audienceResolver.resolve(personneId);
+
+            // Audience messages, flagged with the user's read receipts
+            List<AudienceNotification> shared = audienceNotificationRepository.findVisible(
+                    audience.role().name(), audience.brancheId(), audience.tdId(), audience.tpId());
+            Set<Long> read = shared.isEmpty() ? Set.of() : new HashSet<>(audienceNotificationReadRepository
+                    .findReadIds(personneId, shared.stream().map(AudienceNotification::getId).toList()));
+
+            return merge(notificationRepository.findAllByPersonneId(personneId),
+                    shared.stream().map(n -> toDTO(n, personneId, read.contains(n.getId()))));
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve notifications for user with ID: " + personneId, e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUnreadNotificationsFor(Long personneId) throws CustomException {
+        try {
+            // Validate input
+            RecipientAudience audience = audienceResolver.resolve(personneId);
+
+            List<AudienceNotification> shared = audienceNotificationRepository.findVisibleUnread(personneId,
+                    audience.role().name(), audience.brancheId(), audience.tdId(), audience.tpId());
+
+            return merge(notificationRepository.findUnreadByPersonneId(personneId),
+                    shared.stream().map(n -> toDTO(n, personneId, false)));
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve unread notifications for user with ID: " + personneId, e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageDTO getInboxPage(Long personneId, NotificationInboxQueryDTO query) throws CustomException {
+        try {
+            // Validate input
+            RecipientAudience audience = audienceResolver.resolve(personneId);
+            NotificationInboxQueryDTO request = query == null ? new NotificationInboxQueryDTO() : query;
+            int limit = request.getLimit() == null ? DEFAULT_PAGE_SIZE : request.getLimit();
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new CustomException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            String type = request.getType() == null || request.getType().isBlank() ? null : request.getType().trim();
+            InboxCursor cursor = InboxCursor.decode(request.getCursor());
+
+            // Each source returns one row more than the page, so the merge knows whether more remain
+            List<NotificationDTO> rows = new ArrayList<>();
+            for (Object[] row : notificationRepository.findInboxPage(personneId, cursor.date(),
+                    cursor.directBeforeId(), type, request.getRead(), PageRequest.of(0, limit + 1))) {
+                rows.add(directRow(row, personneId));
+            }
+            for (Object[] row : audienceNotificationRepository.findInboxPage(personneId, audience.role().name(),
+                    audience.brancheId(), audience.tdId(), audience.tpId(), cursor.date(),
+                    cursor.audienceBeforeId(), type, request.getRead(), limit + 1)) {
+                rows.add(audienceRow(row, personneId));
+            }
+            rows.sort(INBOX_ORDER);
+
+            boolean hasMore = rows.size() > limit;
+            List<NotificationDTO> page = List.copyOf(hasMore ? rows.subList(0, limit) : rows);
+            String nextCursor = hasMore ? InboxCursor.after(page.get(page.size() - 1)).encode() : null;
+            return new NotificationPageDTO(page, nextCursor, hasMore);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve inbox page for user with ID: " + personneId, e);
+        }
+    }
+
+    @Override
+    public void markAudienceNotificationAsRead(Long personneId, Long notificationId) throws CustomException {
+        try {
+            // Validate inputs
+            if (personneId == null) {
+                throw new CustomException("User ID cannot be null");
+            }
+
+            if (notificationId == null) {
+                throw new CustomException("Notification ID cannot be null");
+            }
+
+            RecipientAudience audience = audienceResolver.resolve(personneId);
+
+            // Only a message of the user's inbox can be read; others look missing
+            if (audienceNotificationRepository.countVisible(notificationId, audience.role().name(),
+                    audience.brancheId(), audience.tdId(), audience.tpId()) == 0) {
+                throw new CustomException("Notification not found with ID: " + notificationId);
+            }
+
+            // Idempotent: a second read keeps the first receipt
+            if (audienceNotificationReadRepository.markRead(notificationId, personneId, LocalDateTime.now()) > 0) {
+                eventPublisher.publishEvent(NotificationReadEvent.of(personneId));
+            }
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to mark notification as read: " + notificationId, e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long personneId) throws CustomException {
+        try {
+            // Validate input
+            if (personneId == null) {
+                throw new CustomException("User ID cannot be null");
+            }
+
+            return unreadCounterCache.getUnreadCount(personneId);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to count unread notifications for user with ID: " + personneId, e);
+        }
+    }
+
+    @Override
+    public int markAllAsRead(Long personneId) throws CustomException {
+        try {
+            // Validate input
+            RecipientAudience audience = audienceResolver.resolve(personneId);
+
+            // One UPDATE for direct notifications, one INSERT ... SELECT of receipts for audience ones
+            int direct = notificationRepository.markAllReadByPersonneId(personneId);
+            int shared = audienceNotificationReadRepository.markAllRead(personneId, audience.role().name(),
+                    audience.brancheId(), audience.tdId(), audience.tpId(), LocalDateTime.now());
+
+            eventPublisher.publishEvent(NotificationReadEvent.of(personneId));
+            return direct + shared;
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to mark notifications as read for user with ID: " + personneId, e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter openStream(String username) throws CustomException {
+        try {
+            // Validate input
+            if (username == null || username.isBlank()) {
+                throw new CustomException("Username cannot be empty");
+            }
+
+            Long personneId = userCredentialsRepository.findPersonneIdByUsername(username)
+                    .orElseThrow(() -> new CustomException("User not found: " + username));
+
+            return notificationEventBus.subscribe(personneId);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to open notification stream for user: " + username, e);
+        }
+    }
+
+    /**
+     * Position in the inbox order; the next page starts strictly after it.
+     * Direct notifications come before audience notifications of the same date, so from an audience
+     * position every direct notification of that date has already been returned, and from a direct
+     * position none of the audience ones has.
+     */
+    private record InboxCursor(LocalDateTime date, boolean direct, long id) {
+
+        static final InboxCursor FIRST = new InboxCursor(NEWEST, true, Long.MAX_VALUE);
+
+        long directBeforeId() {
+            return direct ? id : 0L;
+        }
+
+        long audienceBeforeId() {
+            return direct ? Long.MAX_VALUE : id;
+        }
+
+        static InboxCursor after(NotificationDTO last) {
+            return new InboxCursor(last.getDate(), DIRECT.equals(last.getScope()), last.getId());
+        }
+
+        String encode() {
+            String raw = date + "|" + (direct ? "D" : "A") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static InboxCursor decode(String cursor) throws CustomException {
+            if (cursor == null || cursor.isBlank()) {
+                return FIRST;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8)
+                        .split("\\|");
+                return new InboxCursor(LocalDateTime.parse(parts[0]), "D".equals(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new CustomException("Invalid inbox cursor: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * Row [id, message, date, type, isread, expediteurId] of {@link NotificationRepository#findInboxPage}.
+     */
+    private static NotificationDTO directRow(Object[] row, Long personneId) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId((Long) row[0]);
+        dto.setMessage((String) row[1]);
+        dto.setDate((LocalDateTime) row[2]);
+        dto.setType((String) row[3]);
+        dto.setIsread((Boolean) row[4]);
+        dto.setRecepteurId(personneId);
+        dto.setExpediteurId((Long) row[5]);
+        dto.setScope(DIRECT);
+        return dto;
+    }
+
+    /**
+     * Row [id, message, date, type, expediteurId, scope, read] of
+     * {@link AudienceNotificationRepository#findInboxPage}; native results carry JDBC types.
+     */
+    private static NotificationDTO audienceRow(Object[] row, Long personneId) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(((Number) row[0]).longValue());
+        dto.setMessage((String) row[1]);
+        dto.setDate(row[2] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[2]);
+        dto.setType((String) row[3]);
+        dto.setExpediteurId(row[4] == null ? null : ((Number) row[4]).longValue());
+        dto.setScope((String) row[5]);
+        dto.setIsread(row[6] instanceof Boolean read ? read : ((Number) row[6]).intValue() != 0);
+        dto.setRecepteurId(personneId);
+        return dto;
+    }
+
+    private List<NotificationDTO> merge(List<Notification> direct, Stream<NotificationDTO> shared) {
+        return Stream.concat(direct.stream().filter(Objects::nonNull).map(entityMapper::toNotificationDTO), shared)
+                .sorted(NEWEST_FIRST)
+                .toList();
+    }
+
+    private NotificationDTO toDTO(AudienceNotification notification, Long personneId, boolean read) {
+        NotificationDTO dto = entityMapper.toAudienceNotificationDTO(notification);
+        dto.setIsread(read);
+        dto.setRecepteurId(personneId);
+        return dto;
+    }
+}
@@ -0,0 +1,220 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.event.NotificationCreatedEvent;
+import com.scheduling.universityschedule_backend.model.NotificationOutbox;
+import com.scheduling.universityschedule_backend.model.enums.DispatchStatus;
+import com.scheduling.universityschedule_backend.repository.NotificationOutboxRepository;
+import com.scheduling.universityschedule_backend.repository.NotificationRepository;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Delivers queued notification sends from the outbox.
+ * <p>
+ * A poller claims due rows and hands each one to a worker thread. The worker reads the next
+ * page of recipient ids after the row's cursor, inserts their notifications and moves the cursor,
+ * all in one transaction with the row locked. A crash therefore rolls back the current chunk only:
+ * the lease of the row expires, another poll claims it and resumes from the committed cursor,
+ * so no recipient is skipped or notified twice. Failed attempts are retried with an exponential
+ * backoff until the maximum number of attempts.
+ */
+@Component
+public class NotificationOutboxWorker {
+
+    /**
+     * Stands in for an empty id list, which SQL cannot express as IN (); ids start at 1
+     */
+    private static final List<Long> NO_IDS = List.of(-1L);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${scheduling.notifications.outbox.workers:2}")
+    private int workers;
+
+    @Value("${scheduling.notifications.outbox.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${scheduling.notifications.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${scheduling.notifications.outbox.lease-seconds:60}")
+    private int leaseSeconds;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private ExecutorService pool;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public NotificationOutboxWorker(NotificationOutboxRepository outboxRepository,
+                                    NotificationRepository notificationRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void startPool() {
+        pool = Executors.newFixedThreadPool(Math.max(1, workers));
+    }
+
+    @PreDestroy
+    void stopPool() {
+        // Interrupted sends stop between chunks; their lease expires and the next start resumes them
+        pool.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${scheduling.notifications.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        int free = Math.max(1, workers) - inFlight.size();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> due = outboxRepository.findDueIds(DispatchStatus.PENDING, DispatchStatus.RUNNING,
+                    now, PageRequest.of(0, free));
+            for (Long id : due) {
+                if (!inFlight.add(id)) {
+                    continue;
+                }
+                Integer claimed = transactionTemplate.execute(status -> outboxRepository.claim(id,
+                        DispatchStatus.PENDING, DispatchStatus.RUNNING, now, now.plusSeconds(leaseSeconds)));
+                if (claimed == null || claimed == 0) {
+                    inFlight.remove(id);
+                    continue;
+                }
+                pool.submit(() -> {
+                    try {
+                        dispatch(id);
+                    } finally {
+                        inFlight.remove(id);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            CustomLogger.logError("Notification outbox poll failed", e);
+        }
+    }
+
+    private void dispatch(Long id) {
+        try {
+            long start = System.nanoTime();
+            boolean done = false;
+            while (!done && !Thread.currentThread().isInterrupted()) {
+                done = Boolean.TRUE.equals(transactionTemplate.execute(status -> deliverChunk(id)));
+            }
+            if (done) {
+                CustomLogger.logInfo("Notification dispatch " + id + " delivered in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        } catch (Exception e) {
+            CustomLogger.logError("Notification dispatch " + id + " failed", e);
+            transactionTemplate.executeWithoutResult(status -> recordFailure(id, e));
+        }
+    }
+
+    /**
+     * Delivers the next chunk of a send.
+     * @return true when the send is finished (or no longer ours to run)
+     */
+    private boolean deliverChunk(Long id) {
+        NotificationOutbox outbox = outboxRepository.lockById(id).orElse(null);
+        if (outbox == null || outbox.getStatus() != DispatchStatus.RUNNING) {
+            return true;
+        }
+        if (outbox.getTotal() == null) {
+            outbox.setTotal(countRecipients(outbox));
+        }
+        List<Long> recipients = nextRecipients(outbox);
+        LocalDateTime now = LocalDateTime.now();
+        if (recipients.isEmpty()) {
+            outbox.setStatus(DispatchStatus.DONE);
+            outbox.setCompletedAt(now);
+            outbox.setLeaseUntil(null);
+            return true;
+        }
+        notificationRepository.insertForRecipients(outbox.getMessage(), outbox.getDate(), outbox.getType(),
+                outbox.getExpediteurId(), recipients);
+        // Pushed to connected recipients when the chunk commits
+        eventPublisher.publishEvent(NotificationCreatedEvent.toRecipients(NotificationCreatedEvent.bulkContent(
+                outbox.getMessage(), outbox.getDate(), outbox.getType(), outbox.getExpediteurId()), recipients));
+        outbox.setLastRecipientId(recipients.get(recipients.size() - 1));
+        outbox.setSent(outbox.getSent() + recipients.size());
+        outbox.setLeaseUntil(now.plusSeconds(leaseSeconds));
+        return false;
+    }
+
+    private void recordFailure(Long id, Exception e) {
+        outboxRepository.lockById(id).ifPresent(outbox -> {
+            int attempts = outbox.getAttempts() + 1;
+            String error = String.valueOf(e.getMessage());
+            outbox.setAttempts(attempts);
+            outbox.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            outbox.setLeaseUntil(null);
+            if (attempts >= maxAttempts) {
+                outbox.setStatus(DispatchStatus.FAILED);
+                return;
+            }
+            // 2, 4, 8, ... seconds between attempts
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 20));
+            outbox.setStatus(DispatchStatus.PENDING);
+            outbox.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+        });
+    }
+
+    private List<Long> nextRecipients(NotificationOutbox outbox) {
+        Long after = outbox.getLastRecipientId();
+        return switch (outbox.getTarget()) {
+            case ALL -> notificationRepository.findPersonIdsAfter(after, chunkSize);
+            case TEACHERS -> notificationRepository.findTeacherIdsAfter(after, chunkSize);
+            case STUDENTS -> notificationRepository.findStudentIdsAfter(after, chunkSize);
+            case GROUPS -> notificationRepository.findGroupStudentIdsAfter(parseIds(outbox.getBrancheIds()),
+                    parseIds(outbox.getTdIds()), parseIds(outbox.getTpIds()), after, chunkSize);
+        };
+    }
+
+    private long countRecipients(NotificationOutbox outbox) {
+        return switch (outbox.getTarget()) {
+            case ALL -> notificationRepository.countPersons();
+            case TEACHERS -> notificationRepository.countTeachers();
+            case STUDENTS -> notificationRepository.countStudents();
+            case GROUPS -> notificationRepository.countGroupStudents(parseIds(outbox.getBrancheIds()),
+                    parseIds(outbox.getTdIds()), parseIds(outbox.getTpIds()));
+        };
+    }
+
+    private static List<Long> parseIds(String ids) {
+        if (ids == null || ids.isBlank()) {
+            return NO_IDS;
+        }
+        List<Long> result = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            result.add(Long.parseLong(id.trim()));
+        }
+        return result;
+    }
+}
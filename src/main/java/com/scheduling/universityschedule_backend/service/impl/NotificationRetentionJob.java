@@ -0,0 +1,229 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.repository.NotificationRepository;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves read notifications older than the retention period to notification_archive.
+ * <p>
+ * Each batch selects the oldest archivable ids, copies them and deletes them in one transaction,
+ * so an interrupted run leaves every row in exactly one table. Batches are bounded in size and
+ * number, with a pause between them, so the job never holds locks or the connection pool for long.
+ * Unread notifications are never moved; audience notifications are single rows and are kept.
+ * <p>
+ * Optionally the archive is range-partitioned by month on MySQL/MariaDB, the job creating
+ * partitions ahead of the archived dates and dropping those past the archive retention.
+ * The live notification table is not partitioned: MySQL does not allow foreign keys on
+ * partitioned tables, and keeping it small is what the archive is for.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final String ARCHIVE_TABLE = "notification_archive";
+    private static final String OLDEST_PARTITION = "pold";
+    private static final String NEWEST_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scheduling.notifications.retention.max-age-days:180}")
+    private int maxAgeDays;
+
+    @Value("${scheduling.notifications.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${scheduling.notifications.retention.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${scheduling.notifications.retention.max-batches-per-run:1000}")
+    private int maxBatchesPerRun;
+
+    @Value("${scheduling.notifications.retention.partition-archive:false}")
+    private boolean partitionArchive;
+
+    @Value("${scheduling.notifications.retention.partition-months-ahead:3}")
+    private int partitionMonthsAhead;
+
+    @Value("${scheduling.notifications.retention.archive-retention-months:0}")
+    private int archiveRetentionMonths;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Counter archivedCounter;
+    private Timer runTimer;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void registerMeters() {
+        archivedCounter = Counter.builder("scheduling.notifications.retention.archived")
+                .description("Notifications moved to the archive")
+                .register(meterRegistry);
+        runTimer = Timer.builder("scheduling.notifications.retention.run")
+                .description("Duration of a notification retention run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${scheduling.notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (enabled) {
+            archiveOldNotifications();
+        }
+    }
+
+    /**
+     * Runs one retention pass unless one is already running.
+     * @return number of notifications moved to the archive
+     */
+    public long archiveOldNotifications() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long moved = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+            if (partitionArchive) {
+                maintainPartitions(cutoff);
+            }
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer count = transactionTemplate.execute(status -> moveBatch(cutoff));
+                if (count == null || count == 0) {
+                    break;
+                }
+                moved += count;
+                archivedCounter.increment(count);
+                if (count < batchSize) {
+                    break;
+                }
+                // Throttle: let the inbox queries through between batches
+                Thread.sleep(pauseMillis);
+            }
+            CustomLogger.logInfo("Notification retention archived " + moved + " notifications in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            CustomLogger.logError("Notification retention failed after archiving " + moved + " notifications", e);
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+        return moved;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = notificationRepository.findArchivableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        notificationRepository.copyToArchive(ids, LocalDateTime.now());
+        return notificationRepository.deleteByIds(ids);
+    }
+
+    // ============================
+    //    Archive partitions
+    // ============================
+
+    /**
+     * Monthly partitions pYYYYMM, plus pold below the first month and an empty pmax above the last.
+     * Archived rows are older than the cutoff, so months are created up to a few months past it.
+     */
+    private void maintainPartitions(LocalDateTime cutoff) {
+        try {
+            YearMonth last = YearMonth.from(cutoff).plusMonths(Math.max(1, partitionMonthsAhead));
+            List<String> partitions = jdbcTemplate.queryForList("""
+                    SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                    ORDER BY PARTITION_ORDINAL_POSITION
+                    """, String.class, ARCHIVE_TABLE);
+
+            if (partitions.isEmpty()) {
+                LocalDateTime oldest = jdbcTemplate.queryForObject(
+                        "SELECT MIN(date) FROM " + ARCHIVE_TABLE, LocalDateTime.class);
+                YearMonth first = YearMonth.from(oldest == null ? cutoff : oldest);
+                StringBuilder ddl = new StringBuilder("ALTER TABLE " + ARCHIVE_TABLE
+                        + " PARTITION BY RANGE COLUMNS(date) (PARTITION " + OLDEST_PARTITION
+                        + " VALUES LESS THAN ('" + first.atDay(1) + "')");
+                for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                    ddl.append(", ").append(monthPartition(month));
+                }
+                ddl.append(", PARTITION ").append(NEWEST_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+                jdbcTemplate.execute(ddl.toString());
+                CustomLogger.logInfo("Partitioned " + ARCHIVE_TABLE + " by month from " + first + " to " + last);
+                return;
+            }
+
+            // Split the empty pmax for the months that are missing
+            YearMonth newest = partitions.stream()
+                    .filter(NotificationRetentionJob::isMonthPartition)
+                    .map(NotificationRetentionJob::monthOf)
+                    .max(YearMonth::compareTo)
+                    .orElse(YearMonth.from(cutoff).minusMonths(1));
+            for (YearMonth month = newest.plusMonths(1); !month.isAfter(last); month = month.plusMonths(1)) {
+                jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " REORGANIZE PARTITION " + NEWEST_PARTITION
+                        + " INTO (" + monthPartition(month) + ", PARTITION " + NEWEST_PARTITION
+                        + " VALUES LESS THAN (MAXVALUE))");
+            }
+
+            // Dropping a month partition discards its rows without scanning them
+            if (archiveRetentionMonths > 0) {
+                YearMonth expired = YearMonth.now().minusMonths(archiveRetentionMonths);
+                for (String name : partitions) {
+                    if (isMonthPartition(name) && monthOf(name).isBefore(expired)) {
+                        jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " DROP PARTITION " + name);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Archiving does not depend on partitions; carry on with a plain table
+            CustomLogger.logError("Archive partition maintenance failed", e);
+        }
+    }
+
+    private static boolean isMonthPartition(String name) {
+        return name.matches("p\\d{6}");
+    }
+
+    private static YearMonth monthOf(String partition) {
+        return YearMonth.parse(partition, PARTITION_NAME);
+    }
+
+    private static String monthPartition(YearMonth month) {
+        LocalDate end = month.plusMonths(1).atDay(1);
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + end + "')";
+    }
+}
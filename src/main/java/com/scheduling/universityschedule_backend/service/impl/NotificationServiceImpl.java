@@ -1,20 +1,24 @@
 package com.scheduling.universityschedule_backend.service.impl;
 
 import com.scheduling.universityschedule_backend.dto.*;
+import com.scheduling.universityschedule_backend.event.NotificationCreatedEvent;
+import com.scheduling.universityschedule_backend.event.NotificationReadEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
 import com.scheduling.universityschedule_backend.model.*;
+import com.scheduling.universityschedule_backend.model.enums.AudienceScope;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
 import com.scheduling.universityschedule_backend.repository.*;
 import com.scheduling.universityschedule_backend.service.NotificationService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -25,24 +29,27 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    /**
+     * Stands in for an empty id list, which SQL cannot express as IN (); ids start at 1
+     */
+    private static final List<Long> NO_IDS = List.of(-1L);
+
     private final NotificationRepository notificationRepository;
+    private final AudienceNotificationPublisher audiencePublisher;
     private final EntityMapper entityMapper;
-    @Autowired
-    private PersonneRepository personneRepository;
-    @Autowired
-    private EtudiantRepository etudiantRepository;
-    @Autowired
-    private EnseignantRepository enseignantRepository;
-    @Autowired
-    private TDRepository tdRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor injection for dependencies
      */
     public NotificationServiceImpl(NotificationRepository notificationRepository,
-                                   EntityMapper entityMapper) {
+                                   AudienceNotificationPublisher audiencePublisher,
+                                   EntityMapper entityMapper,
+                                   ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
+        this.audiencePublisher = audiencePublisher;
         this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -98,11 +105,21 @@ public class NotificationServiceImpl implements NotificationService {
             // Convert to entity
             Notification notification = entityMapper.toNotification(notificationDTO);
 
+            // Inbox pages are ordered by date
+            if (notification.getDate() == null) {
+                notification.setDate(LocalDateTime.now());
+            }
+
             // Save entity
             Notification savedNotification = notificationRepository.save(notification);
 
-            // Convert back to DTO
-            return entityMapper.toNotificationDTO(savedNotification);
+            // Convert back to DTO and push it to the recipient once committed
+            NotificationDTO savedDTO = entityMapper.toNotificationDTO(savedNotification);
+            if (savedDTO.getRecepteurId() != null) {
+                eventPublisher.publishEvent(NotificationCreatedEvent.toRecipients(savedDTO,
+                        List.of(savedDTO.getRecepteurId())));
+            }
+            return savedDTO;
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -127,11 +144,21 @@ public class NotificationServiceImpl implements NotificationService {
                     .orElseThrow(() -> new CustomException("Notification not found with ID: " + id));
 
             // Update entity with DTO data
+            Long previousRecepteurId = recepteurId(existingNotification);
+            LocalDateTime previousDate = existingNotification.getDate();
             entityMapper.updateFromDto(notificationDTO, existingNotification);
+            if (existingNotification.getDate() == null) {
+                // Inbox pages are ordered by date: keep the one it was sent with
+                existingNotification.setDate(previousDate);
+            }
 
             // Save updated entity
             Notification updatedNotification = notificationRepository.save(existingNotification);
 
+            // Read state or recipient may have changed: recount both recipients
+            eventPublisher.publishEvent(NotificationReadEvent.of(previousRecepteurId));
+            eventPublisher.publishEvent(NotificationReadEvent.of(recepteurId(updatedNotification)));
+
             // Convert back to DTO
             return entityMapper.toNotificationDTO(updatedNotification);
         } catch (CustomException e) {
@@ -150,12 +177,12 @@ public class NotificationServiceImpl implements NotificationService {
             }
 
             // Check if notification exists
-            if (!notificationRepository.existsById(id)) {
-                throw new CustomException("Notification not found with ID: " + id);
-            }
+            Notification notification = notificationRepository.findById(id)
+                    .orElseThrow(() -> new CustomException("Notification not found with ID: " + id));
 
             // Delete notification
-            notificationRepository.deleteById(id);
+            notificationRepository.delete(notification);
+            eventPublisher.publishEvent(NotificationReadEvent.of(recepteurId(notification)));
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -185,6 +212,7 @@ public class NotificationServiceImpl implements NotificationService {
 
             // Save updated notification
             notificationRepository.save(notification);
+            eventPublisher.publishEvent(NotificationReadEvent.of(recepteurId(notification)));
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -222,31 +250,18 @@ public class NotificationServiceImpl implements NotificationService {
 
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("BROADCAST");
-
-            // Get all users (Personne entities) using repository
-            List<Personne> allUsers = personneRepository.findAll();
-
-            // Create and save individual notifications for each user
-            List<Notification> notifications = allUsers.stream()
-                    .filter(Objects::nonNull)
-                    .map(user -> {
-                        Notification notification = new Notification();
-                        notification.setMessage(baseNotification.getMessage());
-                        notification.setDate(baseNotification.getDate());
-                        notification.setType(baseNotification.getType());
-                        notification.setIsread(false);
-                        notification.setRecepteur(user);
-                        notification.setExpediteur(baseNotification.getExpediteur());
-                        return notification;
-                    })
-                    .collect(Collectors.toList());
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            if (audiencePublisher.isFanOutOnRead()) {
+                // Stored once, matched when each recipient reads their inbox
+                audiencePublisher.publishToAll(baseNotification.getMessage(), LocalDateTime.now(),
+                        "BROADCAST", expediteurId(baseNotification));
+            } else {
+                // One INSERT ... SELECT over every user
+                LocalDateTime date = LocalDateTime.now();
+                notificationRepository.insertForAllPersons(baseNotification.getMessage(), date,
+                        "BROADCAST", expediteurId(baseNotification));
+                announceBulk(baseNotification, date, "BROADCAST", AudienceScope.ALL, null, null);
+            }
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -269,31 +284,18 @@ public class NotificationServiceImpl implements NotificationService {
 
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("TEACHER_BROADCAST");
-
-            // Get all teachers using repository
-            List<Enseignant> allTeachers = enseignantRepository.findAll();
-
-            // Create and save individual notifications for each teacher
-            List<Notification> notifications = allTeachers.stream()
-                    .filter(Objects::nonNull)
-                    .map(teacher -> {
-                        Notification notification = new Notification();
-                        notification.setMessage(baseNotification.getMessage());
-                        notification.setDate(baseNotification.getDate());
-                        notification.setType(baseNotification.getType());
-                        notification.setIsread(false);
-                        notification.setRecepteur(teacher);
-                        notification.setExpediteur(baseNotification.getExpediteur());
-                        return notification;
-                    })
-                    .collect(Collectors.toList());
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            if (audiencePublisher.isFanOutOnRead()) {
+                // Stored once, matched when each recipient reads their inbox
+                audiencePublisher.publishToRole(baseNotification.getMessage(), LocalDateTime.now(),
+                        "TEACHER_BROADCAST", expediteurId(baseNotification), UserRole.ROLE_TEACHER);
+            } else {
+                // One INSERT ... SELECT over every teacher
+                LocalDateTime date = LocalDateTime.now();
+                notificationRepository.insertForAllTeachers(baseNotification.getMessage(), date,
+                        "TEACHER_BROADCAST", expediteurId(baseNotification));
+                announceBulk(baseNotification, date, "TEACHER_BROADCAST", AudienceScope.ROLE, UserRole.ROLE_TEACHER, null);
+            }
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -316,37 +318,25 @@ public class NotificationServiceImpl implements NotificationService {
 
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("STUDENT_BROADCAST");
-
-            // Get all students using repository
-            List<Etudiant> allStudents = etudiantRepository.findAll();
-
-            // Create and save individual notifications for each student
-            List<Notification> notifications = allStudents.stream()
-                    .filter(Objects::nonNull)
-                    .map(student -> {
-                        Notification notification = new Notification();
-                        notification.setMessage(baseNotification.getMessage());
-                        notification.setDate(baseNotification.getDate());
-                        notification.setType(baseNotification.getType());
-                        notification.setIsread(false);
-                        notification.setRecepteur(student);
-                        notification.setExpediteur(baseNotification.getExpediteur());
-                        return notification;
-                    })
-                    .collect(Collectors.toList());
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            if (audiencePublisher.isFanOutOnRead()) {
+                // Stored once, matched when each recipient reads their inbox
+                audiencePublisher.publishToRole(baseNotification.getMessage(), LocalDateTime.now(),
+                        "STUDENT_BROADCAST", expediteurId(baseNotification), UserRole.ROLE_STUDENT);
+            } else {
+                // One INSERT ... SELECT over every student
+                LocalDateTime date = LocalDateTime.now();
+                notificationRepository.insertForAllStudents(baseNotification.getMessage(), date,
+                        "STUDENT_BROADCAST", expediteurId(baseNotification));
+                announceBulk(baseNotification, date, "STUDENT_BROADCAST", AudienceScope.ROLE, UserRole.ROLE_STUDENT, null);
+            }
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
             throw new CustomException("Failed to send notification to students: " + e.getMessage(), e);
         }
     }
+
     @Override
     public void sendNotificationToBranches(NotificationDTO notificationDTO, List<BrancheDTO> brancheDTOS) throws CustomException {
         try {
@@ -359,47 +349,12 @@ public class NotificationServiceImpl implements NotificationService {
                 throw new CustomException("Branch list cannot be null or empty");
             }
 
-            // Convert branch DTOs to entities
-            List<Branche> branches = brancheDTOS.stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toBranche)
-                    .toList();
-
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("BRANCH_NOTIFICATION");
-
-            // Get all students from these branches using repository
-            List<Notification> notifications = new ArrayList<>();
-
-            // For each branch, get its TDs and their students
-            for (Branche branch : branches) {
-                List<TD> tds = tdRepository.getAllTDbyBrancheId(branch.getId());
-                for (TD td : tds) {
-                    if (td.getTpList() != null) {
-                        for (TP tp : td.getTpList()) {
-                            if (tp.getEtudiants() != null) {
-                                for (Etudiant student : tp.getEtudiants()) {
-                                    Notification notification = new Notification();
-                                    notification.setMessage(baseNotification.getMessage());
-                                    notification.setDate(baseNotification.getDate());
-                                    notification.setType(baseNotification.getType());
-                                    notification.setIsread(false);
-                                    notification.setRecepteur(student);
-                                    notification.setExpediteur(baseNotification.getExpediteur());
-                                    notifications.add(notification);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            // Resolve and notify the students of the groups in one statement
+            notifyGroups(baseNotification, "BRANCH_NOTIFICATION",
+                    idsOf(brancheDTOS, BrancheDTO::getId), NO_IDS, NO_IDS);
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -419,42 +374,12 @@ public class NotificationServiceImpl implements NotificationService {
                 throw new CustomException("Branch data cannot be null");
             }
 
-            // Convert branch DTO to entity
-            Branche branch = entityMapper.toBranche(brancheDTO);
-
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("SINGLE_BRANCH_NOTIFICATION");
-
-            // Get all students from this branch using repository
-            List<TD> tds = tdRepository.getAllTDbyBrancheId(branch.getId());
-            List<Notification> notifications = new ArrayList<>();
-
-            // For each TD, get its TPs and their students
-            for (TD td : tds) {
-                if (td.getTpList() != null) {
-                    for (TP tp : td.getTpList()) {
-                        if (tp.getEtudiants() != null) {
-                            for (Etudiant student : tp.getEtudiants()) {
-                                Notification notification = new Notification();
-                                notification.setMessage(baseNotification.getMessage());
-                                notification.setDate(baseNotification.getDate());
-                                notification.setType(baseNotification.getType());
-                                notification.setIsread(false);
-                                notification.setRecepteur(student);
-                                notification.setExpediteur(baseNotification.getExpediteur());
-                                notifications.add(notification);
-                            }
-                        }
-                    }
-                }
-            }
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            // Resolve and notify the students of the groups in one statement
+            notifyGroups(baseNotification, "SINGLE_BRANCH_NOTIFICATION",
+                    idsOf(List.of(brancheDTO), BrancheDTO::getId), NO_IDS, NO_IDS);
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -474,43 +399,12 @@ public class NotificationServiceImpl implements NotificationService {
                 throw new CustomException("Tutorial groups list cannot be null or empty");
             }
 
-            // Convert TD DTOs to entities
-            List<TD> tds = tddtos.stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toTD)
-                    .toList();
-
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("TD_GROUP_NOTIFICATION");
-
-            List<Notification> notifications = new ArrayList<>();
-
-            // For each TD, get its TPs and their students
-            for (TD td : tds) {
-                if (td.getTpList() != null) {
-                    for (TP tp : td.getTpList()) {
-                        if (tp.getEtudiants() != null) {
-                            for (Etudiant student : tp.getEtudiants()) {
-                                Notification notification = new Notification();
-                                notification.setMessage(baseNotification.getMessage());
-                                notification.setDate(baseNotification.getDate());
-                                notification.setType(baseNotification.getType());
-                                notification.setIsread(false);
-                                notification.setRecepteur(student);
-                                notification.setExpediteur(baseNotification.getExpediteur());
-                                notifications.add(notification);
-                            }
-                        }
-                    }
-                }
-            }
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            // Resolve and notify the students of the groups in one statement
+            notifyGroups(baseNotification, "TD_GROUP_NOTIFICATION",
+                    NO_IDS, idsOf(tddtos, TDDTO::getId), NO_IDS);
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -530,44 +424,19 @@ public class NotificationServiceImpl implements NotificationService {
                 throw new CustomException("Tutorial group data cannot be null");
             }
 
-            // Convert TD DTO to entity
-            TD td = entityMapper.toTD(tddto);
-
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("SINGLE_TD_NOTIFICATION");
-
-            List<Notification> notifications = new ArrayList<>();
-
-            // Get all students from TPs in this TD
-            if (td.getTpList() != null) {
-                for (TP tp : td.getTpList()) {
-                    if (tp.getEtudiants() != null) {
-                        for (Etudiant student : tp.getEtudiants()) {
-                            Notification notification = new Notification();
-                            notification.setMessage(baseNotification.getMessage());
-                            notification.setDate(baseNotification.getDate());
-                            notification.setType(baseNotification.getType());
-                            notification.setIsread(false);
-                            notification.setRecepteur(student);
-                            notification.setExpediteur(baseNotification.getExpediteur());
-                            notifications.add(notification);
-                        }
-                    }
-                }
-            }
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            // Resolve and notify the students of the groups in one statement
+            notifyGroups(baseNotification, "SINGLE_TD_NOTIFICATION",
+                    NO_IDS, idsOf(List.of(tddto), TDDTO::getId), NO_IDS);
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
             throw new CustomException("Failed to send notification to tutorial group: " + e.getMessage(), e);
         }
     }
+
     @Override
     public void sendNotificationToTPs(NotificationDTO notificationDTO, List<TPDTO> tpdtos) throws CustomException {
         try {
@@ -580,39 +449,12 @@ public class NotificationServiceImpl implements NotificationService {
                 throw new CustomException("Practical groups list cannot be null or empty");
             }
 
-            // Convert TP DTOs to entities for processing
-            List<TP> tps = tpdtos.stream()
-                    .filter(Objects::nonNull)
-                    .map(entityMapper::toTP)
-                    .toList();
-
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("TP_GROUP_NOTIFICATION");
-
-            List<Notification> notifications = new ArrayList<>();
-
-            // For each TP, create notifications for its students
-            for (TP tp : tps) {
-                if (tp.getEtudiants() != null) {
-                    for (Etudiant student : tp.getEtudiants()) {
-                        Notification notification = new Notification();
-                        notification.setMessage(baseNotification.getMessage());
-                        notification.setDate(baseNotification.getDate());
-                        notification.setType(baseNotification.getType());
-                        notification.setIsread(false);
-                        notification.setRecepteur(student);
-                        notification.setExpediteur(baseNotification.getExpediteur());
-                        notifications.add(notification);
-                    }
-                }
-            }
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            // Resolve and notify the students of the groups in one statement
+            notifyGroups(baseNotification, "TP_GROUP_NOTIFICATION",
+                    NO_IDS, NO_IDS, idsOf(tpdtos, TPDTO::getId));
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -632,38 +474,73 @@ public class NotificationServiceImpl implements NotificationService {
                 throw new CustomException("Practical group data cannot be null");
             }
 
-            // Convert TP DTO to entity
-            TP tp = entityMapper.toTP(tpdto);
-
             // Create base notification
             Notification baseNotification = entityMapper.toNotification(notificationDTO);
-            baseNotification.setDate(LocalDateTime.now());
-            baseNotification.setIsread(false);
-            baseNotification.setType("SINGLE_TP_NOTIFICATION");
-
-            List<Notification> notifications = new ArrayList<>();
-
-            // Create notifications for all students in the TP
-            if (tp.getEtudiants() != null) {
-                for (Etudiant student : tp.getEtudiants()) {
-                    Notification notification = new Notification();
-                    notification.setMessage(baseNotification.getMessage());
-                    notification.setDate(baseNotification.getDate());
-                    notification.setType(baseNotification.getType());
-                    notification.setIsread(false);
-                    notification.setRecepteur(student);
-                    notification.setExpediteur(baseNotification.getExpediteur());
-                    notifications.add(notification);
-                }
-            }
-
-            // Save all notifications in batch
-            notificationRepository.saveAll(notifications);
 
+            // Resolve and notify the students of the groups in one statement
+            notifyGroups(baseNotification, "SINGLE_TP_NOTIFICATION",
+                    NO_IDS, NO_IDS, idsOf(List.of(tpdto), TPDTO::getId));
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
             throw new CustomException("Failed to send notification to practical group: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    // ============================
+    //    Fan-out helpers
+    // ============================
+
+    /**
+     * Notifies every student of the groups once: one audience row per group when fan-out happens
+     * at read time, otherwise a single INSERT ... SELECT over the students.
+     */
+    private void notifyGroups(Notification baseNotification, String type,
+                              List<Long> brancheIds, List<Long> tdIds, List<Long> tpIds) {
+        if (audiencePublisher.isFanOutOnRead()) {
+            audiencePublisher.publishToGroups(baseNotification.getMessage(), LocalDateTime.now(), type,
+                    expediteurId(baseNotification), brancheIds, tdIds, tpIds);
+            return;
+        }
+        LocalDateTime date = LocalDateTime.now();
+        notificationRepository.insertForStudentsOfGroups(baseNotification.getMessage(), date, type,
+                expediteurId(baseNotification), brancheIds, tdIds, tpIds);
+        for (Long id : brancheIds) {
+            announceBulk(baseNotification, date, type, AudienceScope.BRANCHE, null, id);
+        }
+        for (Long id : tdIds) {
+            announceBulk(baseNotification, date, type, AudienceScope.TD, null, id);
+        }
+        for (Long id : tpIds) {
+            announceBulk(baseNotification, date, type, AudienceScope.TP, null, id);
+        }
+    }
+
+    /**
+     * Pushes a bulk-inserted notification to the connected members of the audience once committed.
+     * The -1 placeholder of an empty id list matches no subscriber.
+     */
+    private void announceBulk(Notification baseNotification, LocalDateTime date, String type,
+                              AudienceScope scope, UserRole role, Long targetId) {
+        eventPublisher.publishEvent(NotificationCreatedEvent.toAudience(NotificationCreatedEvent.bulkContent(
+                baseNotification.getMessage(), date, type, expediteurId(baseNotification)), scope, role, targetId));
+    }
+
+    private static Long expediteurId(Notification notification) {
+        return notification.getExpediteur() == null ? null : notification.getExpediteur().getId();
+    }
+
+    private static Long recepteurId(Notification notification) {
+        return notification.getRecepteur() == null ? null : notification.getRecepteur().getId();
+    }
+
+    private static <T> List<Long> idsOf(List<T> dtos, Function<T, Long> id) {
+        List<Long> ids = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(id)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return ids.isEmpty() ? NO_IDS : ids;
+    }
+}
@@ -0,0 +1,29 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.model.enums.AudienceScope;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+
+/**
+ * Role and groups a user's audience notifications are matched against.
+ * Groups the user does not belong to are -1, the placeholder used by the audience queries.
+ */
+public record RecipientAudience(Long personneId, UserRole role, Long brancheId, Long tdId, Long tpId) {
+
+    /**
+     * In-memory equivalent of the audience inbox query, for notifications pushed as they are sent.
+     */
+    public boolean matches(AudienceScope scope, UserRole targetRole, Long targetId) {
+        return switch (scope) {
+            case ALL -> true;
+            case ROLE -> role == targetRole;
+            case BRANCHE -> isMember(brancheId, targetId);
+            case TD -> isMember(tdId, targetId);
+            case TP -> isMember(tpId, targetId);
+        };
+    }
+
+    private static boolean isMember(Long groupId, Long targetId) {
+        // The -1 placeholder is neither a group nor a target
+        return targetId != null && targetId > 0 && targetId.equals(groupId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.Enseignant;
+import com.scheduling.universityschedule_backend.model.Etudiant;
+import com.scheduling.universityschedule_backend.model.Personne;
+import com.scheduling.universityschedule_backend.model.Technicien;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+import com.scheduling.universityschedule_backend.repository.EtudiantRepository;
+import com.scheduling.universityschedule_backend.repository.PersonneRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the role of a user and, for students, the TP -> TD -> Branche path group sends are matched on.
+ */
+@Component
+public class RecipientAudienceResolver {
+
+    /**
+     * Stands in for a group the user does not belong to; ids start at 1
+     */
+    private static final Long NO_GROUP = -1L;
+
+    private final PersonneRepository personneRepository;
+    private final EtudiantRepository etudiantRepository;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public RecipientAudienceResolver(PersonneRepository personneRepository,
+                                     EtudiantRepository etudiantRepository) {
+        this.personneRepository = personneRepository;
+        this.etudiantRepository = etudiantRepository;
+    }
+
+    public RecipientAudience resolve(Long personneId) throws CustomException {
+        if (personneId == null) {
+            throw new CustomException("User ID cannot be null");
+        }
+
+        Personne personne = personneRepository.findById(personneId)
+                .orElseThrow(() -> new CustomException("User not found with ID: " + personneId));
+
+        if (!(personne instanceof Etudiant)) {
+            return new RecipientAudience(personneId, roleOf(personne), NO_GROUP, NO_GROUP, NO_GROUP);
+        }
+
+        // Students are matched through TP -> TD -> Branche, like group sends
+        Object[] path = etudiantRepository.findGroupPath(personneId).stream().findFirst().orElse(new Object[3]);
+        return new RecipientAudience(personneId, UserRole.ROLE_STUDENT,
+                groupId(path[2]), groupId(path[1]), groupId(path[0]));
+    }
+
+    private static UserRole roleOf(Personne personne) {
+        if (personne instanceof Enseignant) {
+            return UserRole.ROLE_TEACHER;
+        }
+        if (personne instanceof Technicien) {
+            return UserRole.ROLE_TECHNICIAN;
+        }
+        return UserRole.ROLE_ADMIN;
+    }
+
+    private static Long groupId(Object id) {
+        return id == null ? NO_GROUP : ((Number) id).longValue();
+    }
+}
@@ -1,11 +1,16 @@
 package com.scheduling.universityschedule_backend.service.impl;
 
 import com.scheduling.universityschedule_backend.dto.SalleDTO;
+import com.scheduling.universityschedule_backend.engine.OccupancyIndex;
+import com.scheduling.universityschedule_backend.event.SalleChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
 import com.scheduling.universityschedule_backend.model.Salle;
 import com.scheduling.universityschedule_backend.repository.SalleRepository;
 import com.scheduling.universityschedule_backend.service.SalleService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,7 +19,9 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -27,14 +34,20 @@ public class SalleServiceImpl implements SalleService {
 
     private final SalleRepository salleRepository;
     private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OccupancyIndex occupancyIndex;
 
     /**
      * Constructor injection for dependencies
      */
     public SalleServiceImpl(SalleRepository salleRepository,
-                            EntityMapper entityMapper) {
+                            EntityMapper entityMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            OccupancyIndex occupancyIndex) {
         this.salleRepository = salleRepository;
         this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
+        this.occupancyIndex = occupancyIndex;
     }
 
     @Override
@@ -92,6 +105,7 @@ public class SalleServiceImpl implements SalleService {
 
             // Save entity
             Salle savedSalle = salleRepository.save(salle);
+            eventPublisher.publishEvent(SalleChangedEvent.of(savedSalle.getId()));
 
             // Convert back to DTO
             return entityMapper.toSalleDTO(savedSalle);
@@ -123,6 +137,7 @@ public class SalleServiceImpl implements SalleService {
 
             // Save updated entity
             Salle updatedSalle = salleRepository.save(existingSalle);
+            eventPublisher.publishEvent(SalleChangedEvent.of(id));
 
             // Convert back to DTO
             return entityMapper.toSalleDTO(updatedSalle);
@@ -148,6 +163,7 @@ public class SalleServiceImpl implements SalleService {
 
             // Delete room
             salleRepository.deleteById(id);
+            eventPublisher.publishEvent(SeanceChangedEvent.all());
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -157,6 +173,13 @@ public class SalleServiceImpl implements SalleService {
 
     @Override
     public List<SalleDTO> getAvailableRooms(LocalDate date, DayOfWeek day, LocalTime startTime, LocalTime endTime) throws CustomException {
+        return getAvailableRooms(date, day, startTime, endTime, null, null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalleDTO> getAvailableRooms(LocalDate date, DayOfWeek day, LocalTime startTime, LocalTime endTime,
+                                            FrequenceType frequence, Integer minCapacity, String type) throws CustomException {
         try {
             // Input validation
             if (day == null) {
@@ -168,15 +191,19 @@ public class SalleServiceImpl implements SalleService {
             if (startTime.isAfter(endTime) || startTime.equals(endTime)) {
                 throw new CustomException("Start time must be before end time");
             }
+            if (minCapacity != null && minCapacity < 0) {
+                throw new CustomException("Minimum capacity cannot be negative");
+            }
 
-            // For catch-up sessions (which require a specific date)
-            // the date parameter is optional for regular sessions
-
-            // Use the repository's custom query method that already handles the logic efficiently
-            List<Salle> availableRooms = salleRepository.findAvailableRooms(day, startTime, endTime, date);
+            // Bitmap search over the in-memory occupancy, then one fetch of the matching rooms
+            List<Long> roomIds = occupancyIndex.findFreeRooms(
+                    day, startTime, endTime, frequence, date, minCapacity, type);
+            Map<Long, Salle> salles = salleRepository.findAllById(roomIds).stream()
+                    .collect(Collectors.toMap(Salle::getId, Function.identity()));
 
-            // Transform to DTOs
-            return availableRooms.stream()
+            // Transform to DTOs, keeping the index order
+            return roomIds.stream()
+                    .map(salles::get)
                     .filter(Objects::nonNull)
                     .map(entityMapper::toSalleDTO)
                     .collect(Collectors.toList());
@@ -189,4 +216,4 @@ public class SalleServiceImpl implements SalleService {
             throw new CustomException("Failed to find available rooms: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
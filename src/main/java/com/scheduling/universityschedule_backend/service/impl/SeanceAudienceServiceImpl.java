@@ -0,0 +1,202 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.engine.AudienceRegistry;
+import com.scheduling.universityschedule_backend.engine.GroupHierarchy;
+import com.scheduling.universityschedule_backend.engine.SeanceSlotLoader;
+import com.scheduling.universityschedule_backend.event.GroupHierarchyChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.repository.SeanceAudienceRepository;
+import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+import com.scheduling.universityschedule_backend.service.SeanceAudienceService;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service implementation keeping the seance_audience closure in sync with the sessions.
+ * Refreshes run just before the publishing transaction commits, so the closure is
+ * always committed together with the session change it reflects.
+ */
+@Service
+public class SeanceAudienceServiceImpl implements SeanceAudienceService {
+
+    private final SeanceAudienceRepository seanceAudienceRepository;
+    private final SeanceRepository seanceRepository;
+    private final SeanceSlotLoader seanceSlotLoader;
+    private final AudienceRegistry audienceRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public SeanceAudienceServiceImpl(SeanceAudienceRepository seanceAudienceRepository,
+                                     SeanceRepository seanceRepository,
+                                     SeanceSlotLoader seanceSlotLoader,
+                                     AudienceRegistry audienceRegistry,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.seanceAudienceRepository = seanceAudienceRepository;
+        this.seanceRepository = seanceRepository;
+        this.seanceSlotLoader = seanceSlotLoader;
+        this.audienceRegistry = audienceRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> seanceIds) throws CustomException {
+        try {
+            // Validate input
+            if (seanceIds == null || seanceIds.isEmpty()) {
+                return;
+            }
+
+            seanceAudienceRepository.deleteBySeanceIds(seanceIds);
+            seanceAudienceRepository.insertForSeances(seanceIds);
+        } catch (Exception e) {
+            throw new CustomException("Failed to refresh session audience", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() throws CustomException {
+        try {
+            long start = System.nanoTime();
+            seanceAudienceRepository.deleteAllRows();
+            int rows = seanceAudienceRepository.insertAll();
+            CustomLogger.logInfo("Session audience rebuilt: " + rows + " rows in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return rows;
+        } catch (Exception e) {
+            throw new CustomException("Failed to rebuild session audience", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Long> refreshGroups(Collection<Long> tpIds, Collection<Long> tdIds, Collection<Long> brancheIds)
+            throws CustomException {
+        try {
+            // The new hierarchy tells which groups are now related to the changed ones;
+            // the closure still holds the previous audiences, which covers the old relations.
+            GroupHierarchy hierarchy = seanceSlotLoader.loadHierarchy();
+
+            Set<Long> tps = new HashSet<>(tpIds);
+            Set<Long> tds = new HashSet<>(tdIds);
+            Set<Long> branches = new HashSet<>(brancheIds);
+            for (Long branche : brancheIds) {
+                for (long td : hierarchy.tdsOfBranche(branche)) {
+                    tds.add(td);
+                }
+            }
+            for (Long tp : tpIds) {
+                Long td = hierarchy.tdOfTp(tp);
+                if (td != null) {
+                    tds.add(td);
+                }
+            }
+            for (Long td : new ArrayList<>(tds)) {
+                for (long tp : hierarchy.tpsOfTd(td)) {
+                    tps.add(tp);
+                }
+                Long branche = hierarchy.brancheOfTd(td);
+                if (branche != null) {
+                    branches.add(branche);
+                }
+            }
+
+            List<Long> affected = seanceRepository.findIdsByGroups(orNone(tps), orNone(tds), orNone(branches));
+            refresh(affected);
+            invalidateHierarchyAfterCommit();
+
+            CustomLogger.logInfo("Group hierarchy changed: refreshed audience of " + affected.size() + " sessions");
+            return affected;
+        } catch (Exception e) {
+            throw new CustomException("Failed to refresh audience after a group change", e);
+        }
+    }
+
+    /**
+     * Applies a group change inside the publishing transaction, then lets the conflict store
+     * re-evaluate the affected sessions once the transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onGroupHierarchyChanged(GroupHierarchyChangedEvent event) throws CustomException {
+        List<Long> affected = refreshGroups(event.getTpIds(), event.getTdIds(), event.getBrancheIds());
+        if (!affected.isEmpty()) {
+            eventPublisher.publishEvent(SeanceChangedEvent.of(affected));
+        }
+    }
+
+    /**
+     * Applies a session change inside the publishing transaction.
+     * Deliberately not @Transactional (the service has no class-level transaction either):
+     * it joins the transaction being committed, or the repository opens its own when the
+     * event is published outside one.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSeanceChanged(SeanceChangedEvent event) throws CustomException {
+        if (event.isFullReload()) {
+            invalidateHierarchyAfterCommit();
+            rebuild();
+        } else {
+            refresh(event.getSeanceIds());
+        }
+    }
+
+    /**
+     * Fills the closure on first start after the table was created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() throws CustomException {
+        if (seanceAudienceRepository.count() == 0 && seanceRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Lets the shared hierarchy reload once the group change is visible to everyone. Runs before the
+     * AFTER_COMMIT listeners (unordered, hence last), so the conflict store re-evaluates the affected
+     * sessions against the new groups; a rolled back change leaves the hierarchy untouched.
+     */
+    private void invalidateHierarchyAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            audienceRegistry.invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                audienceRegistry.invalidate();
+            }
+        });
+    }
+
+    /**
+     * Replaces an empty id list by a list matching no row, since IN () is invalid.
+     */
+    private static Collection<Long> orNone(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of(-1L) : ids;
+    }
+}
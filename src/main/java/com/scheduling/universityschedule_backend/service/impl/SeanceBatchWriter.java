@@ -0,0 +1,224 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.model.Branche;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.TD;
+import com.scheduling.universityschedule_backend.model.TP;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes seances in JDBC batches instead of one Hibernate statement each: new seances, and the
+ * updates and deletes a re-import applies to the seances of its previous version.
+ * <p>
+ * Seance ids come from the {@code seances} row of the {@code id_generators} table, the generator
+ * {@link Seance} uses for single creates. A batch reserves all its ids with one update of that row,
+ * in a short transaction of its own, then inserts the seances and their branch, TD and TP links with
+ * batched statements in the caller's transaction. {@code rewriteBatchedStatements} on the MySQL URL
+ * turns each batch into multi-row inserts.
+ */
+@Component
+public class SeanceBatchWriter {
+
+    private static final String ID_GENERATOR = "seances";
+
+    // Both statements bind the columns in the same order, the id last
+    private static final String INSERT_SEANCE = """
+    INSERT INTO seances (name, matiere, jour, type, heure_debut, heure_fin, frequence, date, salle_id, enseignant_id,
+        fichier_excel_id, id)
+    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String UPDATE_SEANCE = """
+    UPDATE seances SET name = ?, matiere = ?, jour = ?, type = ?, heure_debut = ?, heure_fin = ?, frequence = ?,
+        date = ?, salle_id = ?, enseignant_id = ?, fichier_excel_id = ?
+    WHERE id = ?
+    """;
+
+    private static final String SELECT_NEXT_ID =
+            "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate separateTransaction;
+
+    @Value("${scheduling.seances.jdbc-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public SeanceBatchWriter(JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Starts the id generator after the highest existing seance id, so that ids handed out
+     * never collide with rows created before the generator existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void alignIdGenerator() {
+        try {
+            separateTransaction.executeWithoutResult(status -> seedIdGenerator());
+        } catch (Exception e) {
+            CustomLogger.logError("Failed to align the seance id generator", e);
+        }
+    }
+
+    /**
+     * Inserts new seances and their group links in the current transaction and announces them.
+     * @param seances Mapped seances without id; their ids are set on them
+     * @return The ids of the seances, in order
+     */
+    public List<Long> insert(List<Seance> seances) {
+        if (seances.isEmpty()) {
+            return List.of();
+        }
+        long firstId = reserveIds(seances.size());
+        List<Long> ids = new ArrayList<>(seances.size());
+        List<long[]> branches = new ArrayList<>();
+        List<long[]> tds = new ArrayList<>();
+        List<long[]> tps = new ArrayList<>();
+        for (int i = 0; i < seances.size(); i++) {
+            Seance seance = seances.get(i);
+            long id = firstId + i;
+            seance.setId(id);
+            ids.add(id);
+            addLinks(branches, id, seance.getBranches(), Branche::getId);
+            addLinks(tds, id, seance.getTds(), TD::getId);
+            addLinks(tps, id, seance.getTps(), TP::getId);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SEANCE, seances, batchSize, SeanceBatchWriter::bindSeance);
+        insertLinks("INSERT INTO seance_branche (seance_id, branche_id) VALUES (?, ?)", branches);
+        insertLinks("INSERT INTO seance_td (seance_id, td_id) VALUES (?, ?)", tds);
+        insertLinks("INSERT INTO seance_tp (seance_id, tp_id) VALUES (?, ?)", tps);
+
+        eventPublisher.publishEvent(SeanceChangedEvent.of(ids));
+        return ids;
+    }
+
+    /**
+     * Rewrites the columns of existing seances in the current transaction and announces them.
+     * Their group links are left as they are.
+     * @param seances Mapped seances carrying the id of the row to update
+     * @return The ids of the seances, in order
+     */
+    public List<Long> update(List<Seance> seances) {
+        if (seances.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SEANCE, seances, batchSize, SeanceBatchWriter::bindSeance);
+        List<Long> ids = seances.stream().map(Seance::getId).toList();
+        eventPublisher.publishEvent(SeanceChangedEvent.of(ids));
+        return ids;
+    }
+
+    /**
+     * Deletes seances and their group links in the current transaction and announces them.
+     */
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (String table : List.of("seance_branche", "seance_td", "seance_tp")) {
+            jdbcTemplate.batchUpdate("DELETE FROM " + table + " WHERE seance_id = ?", ids, batchSize,
+                    (ps, id) -> ps.setLong(1, id));
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM seances WHERE id = ?", ids, batchSize, (ps, id) -> ps.setLong(1, id));
+        eventPublisher.publishEvent(SeanceChangedEvent.of(ids));
+    }
+
+    /**
+     * Takes {@code count} consecutive ids from the generator row, locked only for this short transaction
+     * @return The first reserved id
+     */
+    private long reserveIds(int count) {
+        Long firstId = separateTransaction.execute(status -> {
+            List<Long> next = jdbcTemplate.queryForList(SELECT_NEXT_ID, Long.class, ID_GENERATOR);
+            if (next.isEmpty()) {
+                // Startup alignment failed or has not run yet
+                seedIdGenerator();
+                next = jdbcTemplate.queryForList(SELECT_NEXT_ID, Long.class, ID_GENERATOR);
+            }
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?",
+                    next.get(0) + count, ID_GENERATOR);
+            return next.get(0);
+        });
+        return firstId;
+    }
+
+    private void seedIdGenerator() {
+        jdbcTemplate.update("""
+        INSERT IGNORE INTO id_generators (sequence_name, next_val)
+        SELECT ?, COALESCE(MAX(id), 0) + 1 FROM seances
+        """, ID_GENERATOR);
+        jdbcTemplate.update("""
+        UPDATE id_generators
+        SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM seances))
+        WHERE sequence_name = ?
+        """, ID_GENERATOR);
+    }
+
+    private static <T> void addLinks(List<long[]> links, long seanceId, List<T> targets, Function<T, Long> idOf) {
+        if (targets == null) {
+            return;
+        }
+        for (T target : targets) {
+            links.add(new long[]{seanceId, idOf.apply(target)});
+        }
+    }
+
+    private void insertLinks(String sql, List<long[]> links) {
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, links, batchSize, (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+    }
+
+    private static void bindSeance(PreparedStatement ps, Seance seance) throws SQLException {
+        setNullable(ps, 1, seance.getName(), Types.VARCHAR);
+        setNullable(ps, 2, seance.getMatiere(), Types.VARCHAR);
+        setNullable(ps, 3, seance.getJour() == null ? null : seance.getJour().name(), Types.VARCHAR);
+        setNullable(ps, 4, seance.getType() == null ? null : seance.getType().name(), Types.VARCHAR);
+        setNullable(ps, 5, seance.getHeureDebut(), Types.TIME);
+        setNullable(ps, 6, seance.getHeureFin(), Types.TIME);
+        setNullable(ps, 7, seance.getFrequence() == null ? null : seance.getFrequence().name(), Types.VARCHAR);
+        setNullable(ps, 8, seance.getDate(), Types.DATE);
+        setNullable(ps, 9, seance.getSalle() == null ? null : seance.getSalle().getId(), Types.BIGINT);
+        setNullable(ps, 10, seance.getEnseignant() == null ? null : seance.getEnseignant().getId(), Types.BIGINT);
+        setNullable(ps, 11, seance.getFichierExcelId(), Types.BIGINT);
+        ps.setLong(12, seance.getId());
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+}
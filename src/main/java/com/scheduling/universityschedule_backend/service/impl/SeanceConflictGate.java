@@ -0,0 +1,174 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.SingleSeanceConflictDTO;
+import com.scheduling.universityschedule_backend.engine.AudienceRegistry;
+import com.scheduling.universityschedule_backend.engine.ConflictIndex;
+import com.scheduling.universityschedule_backend.engine.ConflictStore;
+import com.scheduling.universityschedule_backend.engine.SeanceSlot;
+import com.scheduling.universityschedule_backend.model.Branche;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.TD;
+import com.scheduling.universityschedule_backend.model.TP;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Checks a batch of new seances for conflicts before it is inserted, without querying the database.
+ * <p>
+ * The current slots of the days touched by the batch are copied from the {@link ConflictStore} into a
+ * private {@link ConflictIndex}; each new seance is then compared with that index and added to it, so
+ * one pass finds the conflicts with the existing week and within the batch. Seances of the batch carry
+ * temporary negative ids (-1 for the first) until they are inserted.
+ */
+@Component
+public class SeanceConflictGate {
+
+    private final ConflictStore conflictStore;
+    private final AudienceRegistry audienceRegistry;
+
+    @Value("${scheduling.seances.conflict-check:NONE}")
+    private ConflictCheck defaultCheck;
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public SeanceConflictGate(ConflictStore conflictStore, AudienceRegistry audienceRegistry) {
+        this.conflictStore = conflictStore;
+        this.audienceRegistry = audienceRegistry;
+    }
+
+    /**
+     * The requested check, or the configured default when none is requested
+     */
+    public ConflictCheck resolve(ConflictCheck requested) {
+        return requested != null ? requested : defaultCheck;
+    }
+
+    /**
+     * Checks mapped seances in order. A seance carrying an id replaces its stored version, which is not
+     * held against it. In REJECT mode a conflicting seance is left out of the index, so the seances after
+     * it are not held against it either.
+     */
+    public Screening screen(List<Seance> seances, ConflictCheck check) {
+        return screen(seances, check, List.of());
+    }
+
+    /**
+     * Checks mapped seances in order, leaving the given stored seances out of the week they are checked against,
+     * e.g. the sessions an import replaces and no row has matched yet
+     */
+    public Screening screen(List<Seance> seances, ConflictCheck check, Collection<Long> ignoredIds) {
+        List<SeanceSlot> candidates = new ArrayList<>(seances.size());
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (int i = 0; i < seances.size(); i++) {
+            SeanceSlot slot = slotOf(temporaryId(i), seances.get(i));
+            candidates.add(slot);
+            if (slot.getJour() != null) {
+                days.add(slot.getJour());
+            }
+        }
+
+        ConflictIndex index = ConflictIndex.of(conflictStore.slotsOf(days));
+        ignoredIds.forEach(index::remove);
+        for (Seance seance : seances) {
+            if (seance.getId() != null) {
+                index.remove(seance.getId());
+            }
+        }
+        List<Map<Long, List<String>>> conflicts = new ArrayList<>(candidates.size());
+        boolean[] rejected = new boolean[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            SeanceSlot slot = candidates.get(i);
+            Map<Long, List<String>> found = new TreeMap<>();
+            index.forEachConflict(slot, (other, types) -> found.put(other.getId(), types));
+            conflicts.add(found);
+            if (check == ConflictCheck.REJECT && !found.isEmpty()) {
+                rejected[i] = true;
+            } else {
+                index.add(slot);
+            }
+        }
+        return new Screening(conflicts, rejected);
+    }
+
+    private SeanceSlot slotOf(long id, Seance seance) {
+        return audienceRegistry.slotOf(id, seance.getJour(), seance.getHeureDebut(), seance.getHeureFin(),
+                seance.getFrequence(), seance.getDate(),
+                seance.getSalle() == null ? null : seance.getSalle().getId(),
+                seance.getEnseignant() == null ? null : seance.getEnseignant().getId(),
+                ids(seance.getTps(), TP::getId), ids(seance.getTds(), TD::getId), ids(seance.getBranches(), Branche::getId));
+    }
+
+    private static <T> List<Long> ids(List<T> entities, Function<T, Long> idOf) {
+        return entities == null ? List.of() : entities.stream().map(idOf).toList();
+    }
+
+    private static long temporaryId(int candidate) {
+        return -(candidate + 1L);
+    }
+
+    /**
+     * Conflicts found for each seance of a batch, by position in the screened list
+     */
+    public static final class Screening {
+
+        /**
+         * Per seance, the conflict labels by other seance id; negative ids are seances of the batch
+         */
+        private final List<Map<Long, List<String>>> conflicts;
+        private final boolean[] rejected;
+
+        private Screening(List<Map<Long, List<String>>> conflicts, boolean[] rejected) {
+            this.conflicts = conflicts;
+            this.rejected = rejected;
+        }
+
+        public boolean isRejected(int candidate) {
+            return rejected[candidate];
+        }
+
+        public boolean hasConflicts(int candidate) {
+            return !conflicts.get(candidate).isEmpty();
+        }
+
+        /**
+         * Readable list of the conflicts of a seance, e.g. for an import error
+         * @param batchLabel Names another seance of the batch by its position, e.g. "row 12"
+         */
+        public String describe(int candidate, IntFunction<String> batchLabel) {
+            StringBuilder description = new StringBuilder("Conflicts with ");
+            String separator = "";
+            for (Map.Entry<Long, List<String>> entry : conflicts.get(candidate).entrySet()) {
+                long other = entry.getKey();
+                description.append(separator)
+                        .append(other < 0 ? batchLabel.apply((int) (-other - 1)) : "session " + other)
+                        .append(' ').append(entry.getValue());
+                separator = ", ";
+            }
+            return description.toString();
+        }
+
+        /**
+         * Conflicts of a seance once the batch is inserted
+         * @param insertedIds Id given to each screened seance, null for the ones not inserted
+         */
+        public List<SingleSeanceConflictDTO> conflictsOf(int candidate, List<Long> insertedIds) {
+            List<SingleSeanceConflictDTO> result = new ArrayList<>();
+            conflicts.get(candidate).forEach((other, types) -> result.add(new SingleSeanceConflictDTO(
+                    other < 0 ? insertedIds.get((int) (-other - 1)) : other, types)));
+            return result;
+        }
+    }
+}
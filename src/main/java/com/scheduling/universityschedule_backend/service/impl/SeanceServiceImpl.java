@@ -1,17 +1,39 @@
 package com.scheduling.universityschedule_backend.service.impl;
 
+import com.scheduling.universityschedule_backend.dto.BatchDTO;
+import com.scheduling.universityschedule_backend.dto.BatchItemDTO;
 import com.scheduling.universityschedule_backend.dto.SeanceDTO;
 import com.scheduling.universityschedule_backend.dto.SeanceConflictDTO;
 import com.scheduling.universityschedule_backend.dto.SeanceRoomConflictDTO;
 import com.scheduling.universityschedule_backend.dto.SingleSeanceConflictDTO;
+import com.scheduling.universityschedule_backend.dto.ConflictVersionDTO;
+import com.scheduling.universityschedule_backend.dto.ConflictPageDTO;
+import com.scheduling.universityschedule_backend.dto.ConflictQueryDTO;
+import com.scheduling.universityschedule_backend.dto.ConflictSandboxDTO;
+import com.scheduling.universityschedule_backend.dto.ConflictSandboxResultDTO;
+import com.scheduling.universityschedule_backend.engine.AudienceRegistry;
+import com.scheduling.universityschedule_backend.engine.ConflictFilter;
+import com.scheduling.universityschedule_backend.engine.ConflictKey;
+import com.scheduling.universityschedule_backend.engine.ConflictSandbox;
+import com.scheduling.universityschedule_backend.engine.ConflictStore;
+import com.scheduling.universityschedule_backend.engine.SeanceSlot;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.mapper.SeanceReferences;
+import com.scheduling.universityschedule_backend.mapper.SeanceRowParser;
 import com.scheduling.universityschedule_backend.model.Seance;
 import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
 import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+import com.scheduling.universityschedule_backend.repository.TPRepository;
+import com.scheduling.universityschedule_backend.service.ConflictEngine;
 import com.scheduling.universityschedule_backend.service.SeanceService;
 import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
@@ -19,8 +41,14 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -38,16 +66,59 @@ public class SeanceServiceImpl implements SeanceService {
     private static final FrequenceType CATCHUP = FrequenceType.CATCHUP;
     private static final FrequenceType WEEKLY = FrequenceType.WEEKLY;
 
+    /**
+     * Placeholder for empty IN lists (ids are always positive)
+     */
+    private static final List<Long> NO_IDS = List.of(-1L);
+
+    /**
+     * Conflict engine modes (property scheduling.conflicts.engine)
+     */
+    private static final String ENGINE_MEMORY = "memory";
+    private static final String ENGINE_VERIFY = "verify";
+    private static final String ENGINE_INCREMENTAL = "incremental";
+    private static final String ENGINE_PARALLEL = "parallel";
+
+    /**
+     * Conflict report page sizes
+     */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final SeanceRepository seanceRepository;
+    private final TPRepository tpRepository;
     private final EntityMapper entityMapper;
+    private final ConflictEngine conflictEngine;
+    private final ConflictStore conflictStore;
+    private final AudienceRegistry audienceRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeanceBatchWriter seanceBatchWriter;
+    private final SeanceConflictGate conflictGate;
+
+    @Value("${scheduling.conflicts.engine:jpql}")
+    private String conflictEngineMode;
 
     /**
      * Constructor injection for dependencies
      */
     public SeanceServiceImpl(SeanceRepository seanceRepository,
-                             EntityMapper entityMapper) {
+                             TPRepository tpRepository,
+                             EntityMapper entityMapper,
+                             ConflictEngine conflictEngine,
+                             ConflictStore conflictStore,
+                             AudienceRegistry audienceRegistry,
+                             ApplicationEventPublisher eventPublisher,
+                             SeanceBatchWriter seanceBatchWriter,
+                             SeanceConflictGate conflictGate) {
         this.seanceRepository = seanceRepository;
+        this.tpRepository = tpRepository;
         this.entityMapper = entityMapper;
+        this.conflictEngine = conflictEngine;
+        this.conflictStore = conflictStore;
+        this.audienceRegistry = audienceRegistry;
+        this.eventPublisher = eventPublisher;
+        this.seanceBatchWriter = seanceBatchWriter;
+        this.conflictGate = conflictGate;
     }
 
     @Override
@@ -102,6 +173,7 @@ public class SeanceServiceImpl implements SeanceService {
 
             // Save entity
             Seance savedSeance = seanceRepository.save(seance);
+            eventPublisher.publishEvent(SeanceChangedEvent.of(savedSeance.getId()));
 
             // Convert back to DTO
             return entityMapper.toSeanceDTO(savedSeance);
@@ -112,6 +184,92 @@ public class SeanceServiceImpl implements SeanceService {
         }
     }
 
+    @Override
+    public BatchDTO createBatch(List<SeanceDTO> seanceDTOs, ConflictCheck conflictCheck) throws CustomException {
+        try {
+            // Validate input
+            if (seanceDTOs == null || seanceDTOs.isEmpty()) {
+                throw new CustomException("Session list cannot be null or empty");
+            }
+
+            // Validate every row and resolve its references before inserting anything
+            long start = System.nanoTime();
+            SeanceReferences references = entityMapper.loadSeanceReferences(seanceDTOs);
+            List<BatchItemDTO> items = new ArrayList<>(seanceDTOs.size());
+            List<BatchItemDTO> candidates = new ArrayList<>();
+            List<Seance> seances = new ArrayList<>();
+            for (int i = 0; i < seanceDTOs.size(); i++) {
+                SeanceDTO seanceDTO = seanceDTOs.get(i);
+                SeanceRowParser.Result parsed = seanceDTO == null ? null : SeanceRowParser.parse(seanceDTO);
+                String error = parsed == null ? "Session data cannot be null" : parsed.error();
+                if (error == null) {
+                    try {
+                        entityMapper.attachReferences(parsed.seance(), seanceDTO, references);
+                        seances.add(parsed.seance());
+                    } catch (CustomException e) {
+                        error = e.getMessage();
+                    }
+                }
+                BatchItemDTO item = new BatchItemDTO(i, null, error == null, error, null);
+                items.add(item);
+                if (error == null) {
+                    candidates.add(item);
+                }
+            }
+
+            // Check the valid rows against the week and each other, in memory
+            ConflictCheck check = conflictGate.resolve(conflictCheck);
+            SeanceConflictGate.Screening screening = null;
+            List<Seance> accepted = seances;
+            if (check != ConflictCheck.NONE) {
+                screening = conflictGate.screen(seances, check);
+                accepted = new ArrayList<>(seances.size());
+                for (int i = 0; i < candidates.size(); i++) {
+                    if (screening.isRejected(i)) {
+                        BatchItemDTO item = candidates.get(i);
+                        item.setSuccess(false);
+                        item.setError(screening.describe(i, other -> "row " + candidates.get(other).getIndex()));
+                    } else {
+                        accepted.add(seances.get(i));
+                    }
+                }
+            }
+
+            // Insert the accepted rows in JDBC batches
+            List<Long> ids = seanceBatchWriter.insert(accepted);
+            List<Long> candidateIds = new ArrayList<>(candidates.size());
+            int inserted = 0;
+            for (BatchItemDTO item : candidates) {
+                Long id = item.isSuccess() ? ids.get(inserted++) : null;
+                item.setId(id);
+                candidateIds.add(id);
+            }
+            int conflicting = 0;
+            if (screening != null) {
+                for (int i = 0; i < candidates.size(); i++) {
+                    if (!screening.isRejected(i) && screening.hasConflicts(i)) {
+                        candidates.get(i).setConflicts(screening.conflictsOf(i, candidateIds));
+                        conflicting++;
+                    }
+                }
+            }
+
+            CustomLogger.logInfo("Batch of " + seanceDTOs.size() + " sessions: " + ids.size() + " created in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            boolean complete = ids.size() == seanceDTOs.size();
+            String message = complete ? "Batch creation successful"
+                    : "Created " + ids.size() + " of " + seanceDTOs.size() + " sessions";
+            if (conflicting > 0) {
+                message += ", " + conflicting + " with conflicts";
+            }
+            return new BatchDTO(ids, message, complete, "Seance", items);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to create sessions: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public SeanceDTO update(Long id, SeanceDTO seanceDTO) throws CustomException {
         try {
@@ -138,6 +296,7 @@ public class SeanceServiceImpl implements SeanceService {
 
             // Save updated entity
             Seance updatedSeance = seanceRepository.save(existingSeance);
+            eventPublisher.publishEvent(SeanceChangedEvent.of(id));
 
             // Convert back to DTO
             return entityMapper.toSeanceDTO(updatedSeance);
@@ -165,6 +324,7 @@ public class SeanceServiceImpl implements SeanceService {
 
             // Delete session
             seanceRepository.deleteById(id);
+            eventPublisher.publishEvent(SeanceChangedEvent.of(id));
         } catch (CustomException e) {
             throw e;
         } catch (Exception e) {
@@ -175,11 +335,26 @@ public class SeanceServiceImpl implements SeanceService {
     @Override
     public List<SeanceConflictDTO> getAllConflicts() throws CustomException {
         try {
+            if (ENGINE_INCREMENTAL.equals(conflictEngineMode)) {
+                return conflictStore.getAllConflicts();
+            }
+            if (ENGINE_MEMORY.equals(conflictEngineMode)) {
+                return conflictEngine.findAllConflicts();
+            }
+            if (ENGINE_PARALLEL.equals(conflictEngineMode)) {
+                return conflictEngine.findAllConflictsParallel();
+            }
+
             // Directly call repository method to find all conflicts
             List<Object[]> conflicts = seanceRepository.findConflictingSeancePairs(BIWEEKLY, CATCHUP);
 
             // Map conflicts to DTOs
-            return entityMapper.toSeanceConflictDTOList(conflicts);
+            List<SeanceConflictDTO> result = entityMapper.toSeanceConflictDTOList(conflicts);
+
+            if (ENGINE_VERIFY.equals(conflictEngineMode)) {
+                verifyAgainstEngine(result, conflictEngine.findAllConflicts());
+            }
+            return result;
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve all session conflicts", e);
         }
@@ -188,6 +363,13 @@ public class SeanceServiceImpl implements SeanceService {
     @Override
     public List<SeanceRoomConflictDTO> getRoomConflicts() throws CustomException {
         try {
+            if (ENGINE_INCREMENTAL.equals(conflictEngineMode)) {
+                return conflictStore.getRoomConflicts();
+            }
+            if (ENGINE_MEMORY.equals(conflictEngineMode) || ENGINE_PARALLEL.equals(conflictEngineMode)) {
+                return conflictEngine.findRoomConflicts();
+            }
+
             // Directly call repository method to find room conflicts
             List<Object[]> conflicts = seanceRepository.findConflictingByRooms(BIWEEKLY, CATCHUP);
 
@@ -206,6 +388,17 @@ public class SeanceServiceImpl implements SeanceService {
                 throw new CustomException("Session ID cannot be null");
             }
 
+            if (ENGINE_INCREMENTAL.equals(conflictEngineMode)) {
+                List<SingleSeanceConflictDTO> conflicts = conflictStore.getConflictsForSeance(seanceId);
+                if (conflicts == null) {
+                    throw new CustomException("Session not found with ID: " + seanceId);
+                }
+                return conflicts;
+            }
+            if (ENGINE_MEMORY.equals(conflictEngineMode) || ENGINE_PARALLEL.equals(conflictEngineMode)) {
+                return conflictEngine.findConflictsForSeance(seanceId);
+            }
+
             // Directly call repository method to find conflicts for specific session
             List<Object[]> conflicts = seanceRepository.findRoomConflictsForSeanceById(seanceId, BIWEEKLY, CATCHUP);
 
@@ -218,6 +411,190 @@ public class SeanceServiceImpl implements SeanceService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ConflictVersionDTO getConflictsVersion() throws CustomException {
+        try {
+            return new ConflictVersionDTO(conflictStore.getVersion(), conflictStore.size());
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve conflict version", e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllConflicts(Consumer<SeanceConflictDTO> sink) throws CustomException {
+        try {
+            // No connection is held while the client reads: both sources load in their own transaction
+            if (ENGINE_INCREMENTAL.equals(conflictEngineMode)) {
+                conflictStore.forEachConflict(sink);
+                return;
+            }
+            conflictEngine.streamAllConflicts(sink);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to stream session conflicts", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConflictPageDTO getConflictsPage(ConflictQueryDTO query) throws CustomException {
+        try {
+            // Validate input
+            if (query == null) {
+                query = new ConflictQueryDTO();
+            }
+            if ((query.getAfterSeance1Id() == null) != (query.getAfterSeance2Id() == null)) {
+                throw new CustomException("Both afterSeance1Id and afterSeance2Id are required to resume a page");
+            }
+            int size = query.getSize() == null ? DEFAULT_PAGE_SIZE : query.getSize();
+            if (size <= 0) {
+                throw new CustomException("Page size must be positive");
+            }
+            size = Math.min(size, MAX_PAGE_SIZE);
+
+            ConflictFilter filter;
+            try {
+                filter = new ConflictFilter(
+                        ConflictFilter.parseType(query.getType()),
+                        query.getDay() == null || query.getDay().isBlank()
+                                ? null : DayOfWeek.valueOf(query.getDay().trim().toUpperCase()),
+                        query.getSalleId(),
+                        query.getEnseignantId(),
+                        query.getBrancheId() == null
+                                ? null : audienceRegistry.audienceOf(null, null, List.of(query.getBrancheId())));
+            } catch (IllegalArgumentException e) {
+                throw new CustomException("Invalid conflict filter: " + e.getMessage());
+            }
+
+            // One extra row tells whether another page follows
+            long version = conflictStore.getVersion();
+            List<SeanceConflictDTO> conflicts = conflictStore.page(
+                    query.getAfterSeance1Id(), query.getAfterSeance2Id(), size + 1, filter);
+            if (conflicts.size() <= size) {
+                return new ConflictPageDTO(conflicts, null, null, version);
+            }
+            conflicts = new ArrayList<>(conflicts.subList(0, size));
+            SeanceConflictDTO last = conflicts.get(size - 1);
+            return new ConflictPageDTO(conflicts, last.getSeance1Id(), last.getSeance2Id(), version);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve conflict page", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConflictSandboxResultDTO simulateConflicts(ConflictSandboxDTO batch) throws CustomException {
+        try {
+            // Validate input
+            if (batch == null) {
+                throw new CustomException("Sandbox batch cannot be null");
+            }
+
+            // Proposed state of every touched seance; null means deleted
+            long version = conflictStore.getVersion();
+            Map<Long, SeanceSlot> changes = new LinkedHashMap<>();
+            Set<DayOfWeek> days = new HashSet<>();
+            if (batch.getDeletes() != null) {
+                for (Long id : batch.getDeletes()) {
+                    days.add(existingSlot(id).getJour());
+                    changes.put(id, null);
+                }
+            }
+            if (batch.getUpdates() != null) {
+                for (SeanceDTO seanceDTO : batch.getUpdates()) {
+                    if (seanceDTO == null || seanceDTO.getId() == null) {
+                        throw new CustomException("Session ID is required for a proposed update");
+                    }
+                    days.add(existingSlot(seanceDTO.getId()).getJour());
+                    SeanceSlot slot = toSlot(seanceDTO.getId(), seanceDTO);
+                    days.add(slot.getJour());
+                    changes.put(slot.getId(), slot);
+                }
+            }
+            if (batch.getCreates() != null) {
+                // Temporary ids cannot clash with stored ones, which are always positive
+                long temporaryId = 0;
+                for (SeanceDTO seanceDTO : batch.getCreates()) {
+                    if (seanceDTO == null) {
+                        throw new CustomException("Session data cannot be null");
+                    }
+                    SeanceSlot slot = toSlot(--temporaryId, seanceDTO);
+                    days.add(slot.getJour());
+                    changes.put(slot.getId(), slot);
+                }
+            }
+            days.remove(null); // Sessions without a day never conflict
+
+            ConflictSandbox sandbox = new ConflictSandbox(conflictStore.slotsOf(days)).apply(changes);
+            return new ConflictSandboxResultDTO(
+                    toConflictDTOs(sandbox.introduced()),
+                    toConflictDTOs(sandbox.resolved()),
+                    version);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to simulate session changes", e);
+        }
+    }
+
+    private SeanceSlot existingSlot(Long id) throws CustomException {
+        if (id == null) {
+            throw new CustomException("Session ID cannot be null");
+        }
+        SeanceSlot slot = conflictStore.getSlot(id);
+        if (slot == null) {
+            throw new CustomException("Session not found with ID: " + id);
+        }
+        return slot;
+    }
+
+    /**
+     * Parses a proposed session with the converters the mapper stores it with, so a check accepts what a
+     * create accepts; a value the mapper would drop is reported instead.
+     */
+    private SeanceSlot toSlot(Long id, SeanceDTO seanceDTO) throws CustomException {
+        DayOfWeek dayOfWeek = SeanceRowParser.parseDay(seanceDTO.getJour());
+        if (seanceDTO.getJour() != null && dayOfWeek == null) {
+            throw new CustomException("Invalid day of week: " + seanceDTO.getJour());
+        }
+        LocalTime startTime = SeanceRowParser.parseTime(seanceDTO.getHeureDebut());
+        if (seanceDTO.getHeureDebut() != null && startTime == null) {
+            throw new CustomException("Invalid start time, expected HH:mm: " + seanceDTO.getHeureDebut());
+        }
+        LocalTime endTime = SeanceRowParser.parseTime(seanceDTO.getHeureFin());
+        if (seanceDTO.getHeureFin() != null && endTime == null) {
+            throw new CustomException("Invalid end time, expected HH:mm: " + seanceDTO.getHeureFin());
+        }
+        if (startTime != null && endTime != null && endTime.isBefore(startTime)) {
+            throw new CustomException("End time cannot be before start time");
+        }
+        FrequenceType frequenceType = seanceDTO.getFrequence() == null
+                ? WEEKLY : FrequenceType.fromString(seanceDTO.getFrequence());
+        if (frequenceType == null) {
+            throw new CustomException("Invalid frequency type: " + seanceDTO.getFrequence());
+        }
+        LocalDate date = SeanceRowParser.parseDate(seanceDTO.getDate());
+        if (date == null && seanceDTO.getDate() != null && !seanceDTO.getDate().isEmpty()) {
+            throw new CustomException("Invalid date, expected yyyy-MM-dd: " + seanceDTO.getDate());
+        }
+
+        return audienceRegistry.slotOf(id, dayOfWeek, startTime, endTime, frequenceType, date,
+                seanceDTO.getSalleId(), seanceDTO.getEnseignantId(),
+                seanceDTO.getTpIds(), seanceDTO.getTdIds(), seanceDTO.getBrancheIds());
+    }
+
+    private static List<SeanceConflictDTO> toConflictDTOs(Map<ConflictKey, List<String>> conflicts) {
+        List<SeanceConflictDTO> result = new ArrayList<>(conflicts.size());
+        conflicts.forEach((key, types) ->
+                result.add(new SeanceConflictDTO(key.getFirst(), key.getSecond(), types)));
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<SingleSeanceConflictDTO> getConflictsForSession(SeanceDTO seanceDTO) throws CustomException {
@@ -289,13 +666,17 @@ public class SeanceServiceImpl implements SeanceService {
             }
             CustomLogger.logInfo("after checking"+ seanceDTO);
 
+            // Expand the declared groups once, then match them against the audience closure
+            List<Long> audience = tpRepository.resolveAudience(
+                    orNone(seanceDTO.getTpIds()),
+                    orNone(seanceDTO.getTdIds()),
+                    orNone(seanceDTO.getBrancheIds()));
+
             // Call repository with validated data
             List<Object[]> conflicts = seanceRepository.findConflictsForSeance(
                     seanceDTO.getSalleId(),
                     seanceDTO.getEnseignantId(),
-                    seanceDTO.getTpIds(),
-                    seanceDTO.getTdIds(),
-                    seanceDTO.getBrancheIds(),
+                    orNone(audience),
                     dayOfWeek,
                     startTime,
                     endTime,
@@ -321,5 +702,47 @@ public class SeanceServiceImpl implements SeanceService {
             throw new CustomException("Failed to check for session conflicts: " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Replaces a missing or empty id list by a list matching no row, since IN () is invalid.
+     */
+    private static List<Long> orNone(List<Long> ids) {
+        return ids == null || ids.isEmpty() ? NO_IDS : ids;
+    }
+
+    /**
+     * Compares the JPQL result with the in-memory engine and logs every difference.
+     * Only used when scheduling.conflicts.engine=verify.
+     */
+    private void verifyAgainstEngine(List<SeanceConflictDTO> jpql, List<SeanceConflictDTO> engine) {
+        Map<String, Set<String>> expected = indexConflicts(jpql);
+        Map<String, Set<String>> actual = indexConflicts(engine);
+
+        int mismatches = 0;
+        for (Map.Entry<String, Set<String>> entry : expected.entrySet()) {
+            Set<String> engineTypes = actual.get(entry.getKey());
+            if (!entry.getValue().equals(engineTypes)) {
+                mismatches++;
+                CustomLogger.logError("Conflict engine mismatch for pair " + entry.getKey()
+                        + ": jpql=" + entry.getValue() + ", engine=" + engineTypes);
+            }
+        }
+        for (String pair : actual.keySet()) {
+            if (!expected.containsKey(pair)) {
+                mismatches++;
+                CustomLogger.logError("Conflict engine reported extra pair " + pair + ": " + actual.get(pair));
+            }
+        }
+        CustomLogger.logInfo("Conflict engine verification: " + expected.size() + " jpql pairs, "
+                + actual.size() + " engine pairs, " + mismatches + " mismatches");
+    }
+
+    private static Map<String, Set<String>> indexConflicts(List<SeanceConflictDTO> conflicts) {
+        Map<String, Set<String>> indexed = new HashMap<>();
+        for (SeanceConflictDTO conflict : conflicts) {
+            indexed.put(conflict.getSeance1Id() + "-" + conflict.getSeance2Id(),
+                    new HashSet<>(conflict.getConflictTypes()));
+        }
+        return indexed;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,407 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the rows of a timetable sheet (.xlsx or .csv) as {@link SeanceDTO}s.
+ * <p>
+ * Workbooks are read with the SAX event API of POI, one row at a time, so memory does not grow with
+ * the number of rows; CSV files are read line by line. The first row is the header: columns are
+ * matched to the {@link SeanceDTO} fields by name, ignoring case, spaces and underscores
+ * (for example "Heure debut" or "salle_id"), and unknown columns are ignored. Id lists hold ids
+ * separated by commas, semicolons or spaces. Blank rows are skipped; a row whose cells cannot be
+ * read is reported to the handler and reading goes on with the next one.
+ */
+public final class SeanceSheetReader {
+
+    /**
+     * Supported file types
+     */
+    public enum Format {
+        XLSX(".xlsx"), CSV(".csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * @return the format matching the file extension, or null when it is not supported
+         */
+        public static Format of(String fileName) {
+            if (fileName == null) {
+                return null;
+            }
+            String name = fileName.toLowerCase(Locale.ROOT);
+            for (Format format : values()) {
+                if (name.endsWith(format.extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Receives the rows in file order. Row numbers are the ones shown by a spreadsheet, the header being row 1.
+     */
+    public interface RowHandler {
+
+        void onRow(int rowNumber, SeanceDTO seance);
+
+        void onError(int rowNumber, String message);
+    }
+
+    private enum Column {
+        NAME, JOUR, HEURE_DEBUT, HEURE_FIN, TYPE, MATIERE, FREQUENCE, DATE,
+        SALLE_ID, ENSEIGNANT_ID, BRANCHE_IDS, TD_IDS, TP_IDS;
+
+        private static final Map<String, Column> BY_HEADER = new HashMap<>();
+
+        static {
+            for (Column column : values()) {
+                BY_HEADER.put(normalize(column.name()), column);
+            }
+        }
+
+        static Column fromHeader(String header) {
+            return header == null ? null : BY_HEADER.get(normalize(header));
+        }
+
+        private static String normalize(String header) {
+            StringBuilder key = new StringBuilder(header.length());
+            for (int i = 0; i < header.length(); i++) {
+                char c = header.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    key.append(Character.toLowerCase(c));
+                }
+            }
+            return key.toString();
+        }
+    }
+
+    private static final DateTimeFormatter TIME_INPUT = DateTimeFormatter.ofPattern("H:mm[:ss]");
+    private static final DateTimeFormatter TIME_OUTPUT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DAY_FIRST_DATE = DateTimeFormatter.ofPattern("d/M/yyyy");
+
+    private SeanceSheetReader() {
+    }
+
+    /**
+     * Reads every row of the file, or of the first sheet of a workbook.
+     * @throws IOException if the file cannot be read or has no header row
+     */
+    public static void read(Path file, Format format, RowHandler handler) throws IOException {
+        if (format == Format.XLSX) {
+            readWorkbook(file, handler);
+        } else {
+            readCsv(file, handler);
+        }
+    }
+
+    // ============================
+    //          Workbook
+    // ============================
+
+    private static void readWorkbook(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("The workbook has no sheet");
+            }
+            RowAssembler rows = new RowAssembler(handler);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                        new ReadOnlySharedStringsTable(pkg), new SheetRows(rows), cellFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            rows.finish();
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unreadable workbook: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Formats date and time cells the way {@link SeanceDTO} expects them, whatever their display format
+     */
+    private static DataFormatter cellFormatter() {
+        DataFormatter formatter = new DataFormatter(Locale.ROOT);
+        for (String dateFormat : List.of("m/d/yy", "d/m/yy", "d/m/yyyy", "dd/mm/yyyy", "yyyy-mm-dd", "d-mmm-yy")) {
+            formatter.addFormat(dateFormat, new SimpleDateFormat("yyyy-MM-dd", Locale.ROOT));
+        }
+        for (String timeFormat : List.of("h:mm", "hh:mm", "h:mm:ss", "hh:mm:ss", "h:mm AM/PM", "h:mm:ss AM/PM")) {
+            formatter.addFormat(timeFormat, new SimpleDateFormat("HH:mm", Locale.ROOT));
+        }
+        return formatter;
+    }
+
+    /**
+     * Collects the cells of each row; cells without a reference take the next column
+     */
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowAssembler rows;
+        private int nextColumn;
+
+        SheetRows(RowAssembler rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            nextColumn = 0;
+            rows.start();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            rows.end(rowNum + 1);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? nextColumn : new CellReference(cellReference).getCol();
+            nextColumn = column + 1;
+            rows.cell(column, formattedValue);
+        }
+    }
+
+    // ============================
+    //          CSV
+    // ============================
+
+    private static void readCsv(Path file, RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowAssembler rows = new RowAssembler(handler);
+            List<String> cells = new ArrayList<>();
+            char delimiter = ',';
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1) {
+                    // Byte order mark written by Excel, and ';' used by locales where ',' is the decimal separator
+                    if (line.startsWith("\uFEFF")) {
+                        line = line.substring(1);
+                    }
+                    delimiter = line.indexOf(';') >= 0 ? ';' : ',';
+                }
+                splitCsvLine(line, delimiter, cells);
+                rows.start();
+                for (int i = 0; i < cells.size(); i++) {
+                    rows.cell(i, cells.get(i));
+                }
+                rows.end(lineNumber);
+            }
+            rows.finish();
+        }
+    }
+
+    /**
+     * Splits one line, honouring double-quoted cells and "" escapes. Quoted line breaks are not supported.
+     */
+    private static void splitCsvLine(String line, char delimiter, List<String> cells) {
+        cells.clear();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+    }
+
+    // ============================
+    //          Rows
+    // ============================
+
+    /**
+     * Turns the cells of a row into a {@link SeanceDTO}, the first row giving the columns
+     */
+    private static final class RowAssembler {
+
+        private final RowHandler handler;
+        private Column[] columns;
+        private String[] values = new String[0];
+        private boolean blank;
+
+        RowAssembler(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        void start() {
+            Arrays.fill(values, null);
+            blank = true;
+        }
+
+        void cell(int column, String value) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            if (column >= values.length) {
+                if (columns != null) {
+                    return; // Outside the header
+                }
+                values = Arrays.copyOf(values, column + 1);
+            }
+            values[column] = value.trim();
+            blank = false;
+        }
+
+        void end(int rowNumber) {
+            if (blank) {
+                return;
+            }
+            if (columns == null) {
+                readHeader();
+                return;
+            }
+            SeanceDTO seance;
+            try {
+                seance = toSeance();
+            } catch (IllegalArgumentException e) {
+                handler.onError(rowNumber, e.getMessage());
+                return;
+            }
+            handler.onRow(rowNumber, seance);
+        }
+
+        void finish() throws IOException {
+            if (columns == null) {
+                throw new IOException("The file has no header row");
+            }
+        }
+
+        private void readHeader() {
+            columns = new Column[values.length];
+            boolean known = false;
+            for (int i = 0; i < values.length; i++) {
+                columns[i] = Column.fromHeader(values[i]);
+                known |= columns[i] != null;
+            }
+            if (!known) {
+                throw new IllegalStateException("The header row names no session column");
+            }
+        }
+
+        private SeanceDTO toSeance() {
+            SeanceDTO seance = new SeanceDTO();
+            for (int i = 0; i < columns.length; i++) {
+                String value = values[i];
+                if (columns[i] == null || value == null) {
+                    continue;
+                }
+                switch (columns[i]) {
+                    case NAME -> seance.setName(value);
+                    case JOUR -> seance.setJour(value);
+                    case HEURE_DEBUT -> seance.setHeureDebut(toTime(value, "heureDebut"));
+                    case HEURE_FIN -> seance.setHeureFin(toTime(value, "heureFin"));
+                    case TYPE -> seance.setType(value);
+                    case MATIERE -> seance.setMatiere(value);
+                    case FREQUENCE -> seance.setFrequence(value);
+                    case DATE -> seance.setDate(toDate(value));
+                    case SALLE_ID -> seance.setSalleId(toId(value, "salleId"));
+                    case ENSEIGNANT_ID -> seance.setEnseignantId(toId(value, "enseignantId"));
+                    case BRANCHE_IDS -> seance.setBrancheIds(toIds(value, "brancheIds"));
+                    case TD_IDS -> seance.setTdIds(toIds(value, "tdIds"));
+                    case TP_IDS -> seance.setTpIds(toIds(value, "tpIds"));
+                }
+            }
+            return seance;
+        }
+    }
+
+    private static String toTime(String value, String column) {
+        try {
+            return LocalTime.parse(value, TIME_INPUT).format(TIME_OUTPUT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time '" + value + "' in column " + column + ", expected HH:mm");
+        }
+    }
+
+    private static String toDate(String value) {
+        try {
+            return LocalDate.parse(value).toString();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value, DAY_FIRST_DATE).toString();
+            } catch (DateTimeParseException again) {
+                throw new IllegalArgumentException("Invalid date '" + value + "', expected yyyy-MM-dd");
+            }
+        }
+    }
+
+    private static Long toId(String value, String column) {
+        try {
+            // Numeric cells may come formatted as decimals
+            return value.endsWith(".0") ? Long.parseLong(value.substring(0, value.length() - 2)) : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid id '" + value + "' in column " + column);
+        }
+    }
+
+    private static List<Long> toIds(String value, String column) {
+        List<Long> ids = new ArrayList<>();
+        for (String id : value.split("[,;\\s]+")) {
+            if (!id.isEmpty()) {
+                ids.add(toId(id, column));
+            }
+        }
+        return ids;
+    }
+}
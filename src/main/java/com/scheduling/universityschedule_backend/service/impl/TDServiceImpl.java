@@ -4,6 +4,8 @@ import com.scheduling.universityschedule_backend.dto.SeanceDTO;
 import com.scheduling.universityschedule_backend.dto.TDDTO;
 import com.scheduling.universityschedule_backend.dto.EtudiantDTO;
 import com.scheduling.universityschedule_backend.dto.TPDTO;
+import com.scheduling.universityschedule_backend.event.GroupHierarchyChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
 import com.scheduling.universityschedule_backend.model.Etudiant;
@@ -11,6 +13,7 @@ import com.scheduling.universityschedule_backend.model.TD;
 import com.scheduling.universityschedule_backend.repository.TDRepository;
 import com.scheduling.universityschedule_backend.service.TDService;
 import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,16 +33,20 @@ public class TDServiceImpl implements TDService {
 
     private final TDRepository tdRepository;
     private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor injection for dependencies
      *
      * @param tdRepository The repository for TD entities
      * @param entityMapper The mapper for converting between entities and DTOs
+     * @param eventPublisher The publisher notifying audience and conflict listeners of group changes
      */
-    public TDServiceImpl(TDRepository tdRepository, EntityMapper entityMapper) {
+    public TDServiceImpl(TDRepository tdRepository, EntityMapper entityMapper,
+                         ApplicationEventPublisher eventPublisher) {
         this.tdRepository = tdRepository;
         this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -103,6 +110,7 @@ public class TDServiceImpl implements TDService {
             CustomLogger.logInfo("Creating new tutorial group");
             TD td = entityMapper.toTD(tdDTO);
             TD savedTD = tdRepository.save(td);
+            eventPublisher.publishEvent(GroupHierarchyChangedEvent.ofTd(savedTD.getId()));
 
             CustomLogger.logInfo("Created tutorial group with ID: " + savedTD.getId());
             return entityMapper.toTDDTO(savedTD);
@@ -139,6 +147,7 @@ public class TDServiceImpl implements TDService {
             tdDTO.setId(id);
             entityMapper.updateFromDto(tdDTO, existingTD);
             TD updatedTD = tdRepository.save(existingTD);
+            eventPublisher.publishEvent(GroupHierarchyChangedEvent.ofTd(id));
 
             CustomLogger.logInfo("Updated tutorial group with ID: " + id);
             return entityMapper.toTDDTO(updatedTD);
@@ -167,6 +176,8 @@ public class TDServiceImpl implements TDService {
 
             CustomLogger.logInfo("Deleting tutorial group with ID: " + id);
             tdRepository.deleteById(id);
+            // Sessions of the TD and its TPs are removed by cascade: reload everything
+            eventPublisher.publishEvent(SeanceChangedEvent.all());
             CustomLogger.logInfo("Deleted tutorial group with ID: " + id);
         } catch (CustomException e) {
             throw e;
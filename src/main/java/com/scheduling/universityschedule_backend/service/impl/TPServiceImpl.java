@@ -3,12 +3,15 @@ package com.scheduling.universityschedule_backend.service.impl;
 import com.scheduling.universityschedule_backend.dto.SeanceDTO;
 import com.scheduling.universityschedule_backend.dto.TPDTO;
 import com.scheduling.universityschedule_backend.dto.EtudiantDTO;
+import com.scheduling.universityschedule_backend.event.GroupHierarchyChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
 import com.scheduling.universityschedule_backend.exception.CustomException;
 import com.scheduling.universityschedule_backend.mapper.EntityMapper;
 import com.scheduling.universityschedule_backend.model.TP;
 import com.scheduling.universityschedule_backend.repository.TPRepository;
 import com.scheduling.universityschedule_backend.service.TPService;
 import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,16 +34,20 @@ public class TPServiceImpl implements TPService {
 
     private final TPRepository tpRepository;
     private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor injection for dependencies
      *
      * @param tpRepository The repository for TP entities
      * @param entityMapper The mapper for converting between entities and DTOs
+     * @param eventPublisher The publisher notifying audience and conflict listeners of group changes
      */
-    public TPServiceImpl(TPRepository tpRepository, EntityMapper entityMapper) {
+    public TPServiceImpl(TPRepository tpRepository, EntityMapper entityMapper,
+                         ApplicationEventPublisher eventPublisher) {
         this.tpRepository = tpRepository;
         this.entityMapper = entityMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -107,6 +114,7 @@ public class TPServiceImpl implements TPService {
             CustomLogger.logInfo("Creating new practical group");
             TP tp = entityMapper.toTP(tpDTO);
             TP savedTP = tpRepository.save(tp);
+            eventPublisher.publishEvent(GroupHierarchyChangedEvent.ofTp(savedTP.getId()));
 
             CustomLogger.logInfo("Created practical group with ID: " + savedTP.getId());
             return entityMapper.toTPDTO(savedTP);
@@ -143,6 +151,7 @@ public class TPServiceImpl implements TPService {
             tpDTO.setId(id);
             entityMapper.updateFromDto(tpDTO, existingTP);
             TP updatedTP = tpRepository.save(existingTP);
+            eventPublisher.publishEvent(GroupHierarchyChangedEvent.ofTp(id));
 
             CustomLogger.logInfo("Updated practical group with ID: " + id);
             return entityMapper.toTPDTO(updatedTP);
@@ -171,6 +180,8 @@ public class TPServiceImpl implements TPService {
 
             CustomLogger.logInfo("Deleting practical group with ID: " + id);
             tpRepository.deleteById(id);
+            // Sessions of the TP are removed by cascade: reload everything
+            eventPublisher.publishEvent(SeanceChangedEvent.all());
             CustomLogger.logInfo("Deleted practical group with ID: " + id);
         } catch (CustomException e) {
             throw e;
@@ -0,0 +1,453 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.CourseRequirementDTO;
+import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import com.scheduling.universityschedule_backend.dto.TimetableJobDTO;
+import com.scheduling.universityschedule_backend.dto.TimetableRequestDTO;
+import com.scheduling.universityschedule_backend.engine.AudienceRegistry;
+import com.scheduling.universityschedule_backend.engine.ConflictStore;
+import com.scheduling.universityschedule_backend.engine.SeanceSlot;
+import com.scheduling.universityschedule_backend.engine.TimetableSolver;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.repository.EtudiantRepository;
+import com.scheduling.universityschedule_backend.repository.SalleRepository;
+import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+import com.scheduling.universityschedule_backend.service.TimetableService;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Timetable generation on top of the local-search {@link TimetableSolver}.
+ * The request is validated and the week snapshotted in the caller's transaction; the search
+ * itself runs on a background thread, one job at a time, with its workers on a dedicated pool.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TimetableServiceImpl implements TimetableService {
+
+    /**
+     * Defaults of the request fields
+     */
+    private static final List<DayOfWeek> DEFAULT_DAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+    private static final String DEFAULT_DAY_START = "08:00";
+    private static final String DEFAULT_DAY_END = "18:00";
+    private static final int DEFAULT_DURATION = 90;
+    private static final int DEFAULT_GRANULARITY = 30;
+    private static final int DEFAULT_TIME_LIMIT_SECONDS = 30;
+
+    /**
+     * Finished jobs kept for polling; older ones are dropped
+     */
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final SeanceRepository seanceRepository;
+    private final SalleRepository salleRepository;
+    private final EtudiantRepository etudiantRepository;
+    private final EntityMapper entityMapper;
+    private final ConflictStore conflictStore;
+    private final AudienceRegistry audienceRegistry;
+
+    @Value("${scheduling.timetable.threads:0}")
+    private int threads;
+
+    @Value("${scheduling.timetable.max-time-limit-seconds:300}")
+    private int maxTimeLimitSeconds;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ExecutorService jobRunner;
+    private ExecutorService workerPool;
+    private int workers;
+
+    /**
+     * A generation job and the course data needed to turn its placements into sessions.
+     */
+    private static final class Job {
+        private final String id;
+        private final TimetableSolver solver;
+        private final List<SeanceDTO> templates;
+        private final List<Integer> durations;
+        private final long timeLimitMillis;
+        private final long seed;
+        private final long createdAt = System.nanoTime();
+        private volatile String status = "QUEUED";
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile TimetableSolver.Result result;
+        private volatile String message;
+        private Future<?> future;
+
+        private Job(String id, TimetableSolver solver, List<SeanceDTO> templates, List<Integer> durations,
+                    long timeLimitMillis, long seed) {
+            this.id = id;
+            this.solver = solver;
+            this.templates = templates;
+            this.durations = durations;
+            this.timeLimitMillis = timeLimitMillis;
+            this.seed = seed;
+        }
+
+        private boolean isFinished() {
+            return finishedAt != 0;
+        }
+    }
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public TimetableServiceImpl(SeanceRepository seanceRepository,
+                                SalleRepository salleRepository,
+                                EtudiantRepository etudiantRepository,
+                                EntityMapper entityMapper,
+                                ConflictStore conflictStore,
+                                AudienceRegistry audienceRegistry) {
+        this.seanceRepository = seanceRepository;
+        this.salleRepository = salleRepository;
+        this.etudiantRepository = etudiantRepository;
+        this.entityMapper = entityMapper;
+        this.conflictStore = conflictStore;
+        this.audienceRegistry = audienceRegistry;
+    }
+
+    @PostConstruct
+    void startPools() {
+        // 0 or less means one worker per available processor
+        workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        jobRunner = Executors.newSingleThreadExecutor();
+        workerPool = Executors.newFixedThreadPool(workers);
+    }
+
+    @PreDestroy
+    void stopPools() {
+        jobs.values().forEach(job -> job.solver.cancel());
+        jobRunner.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public TimetableJobDTO startGeneration(TimetableRequestDTO request) throws CustomException {
+        try {
+            // Validate input
+            if (request == null) {
+                throw new CustomException("Timetable request cannot be null");
+            }
+            boolean noCourses = request.getCourses() == null || request.getCourses().isEmpty();
+            boolean noSeances = request.getSeanceIds() == null || request.getSeanceIds().isEmpty();
+            if (noCourses && noSeances) {
+                throw new CustomException("At least one course or session to place is required");
+            }
+            List<DayOfWeek> days = parseDays(request.getDays());
+            int dayStart = parseTime(request.getDayStart(), DEFAULT_DAY_START);
+            int dayEnd = parseTime(request.getDayEnd(), DEFAULT_DAY_END);
+            if (dayEnd <= dayStart) {
+                throw new CustomException("Day end must be after day start");
+            }
+            int granularity = request.getGranularity() == null ? DEFAULT_GRANULARITY : request.getGranularity();
+            if (granularity <= 0) {
+                throw new CustomException("Granularity must be a positive number of minutes");
+            }
+            int timeLimit = request.getTimeLimitSeconds() == null || request.getTimeLimitSeconds() <= 0
+                    ? DEFAULT_TIME_LIMIT_SECONDS : Math.min(request.getTimeLimitSeconds(), maxTimeLimitSeconds);
+
+            // Rooms, ordered by capacity so small groups try small rooms as often as large ones
+            List<Object[]> rooms = new ArrayList<>(salleRepository.findAllRoomRows());
+            rooms.sort(Comparator.comparingInt(row -> row[3] == null ? 0 : (Integer) row[3]));
+            if (rooms.isEmpty()) {
+                throw new CustomException("No room available for the timetable");
+            }
+            Map<Long, Long> students = new HashMap<>();
+            for (Object[] row : etudiantRepository.countStudentsByTp()) {
+                students.put((Long) row[0], (Long) row[1]);
+            }
+
+            List<TimetableSolver.Course> courses = new ArrayList<>();
+            List<SeanceDTO> templates = new ArrayList<>();
+            List<Integer> durations = new ArrayList<>();
+            Set<Long> replaced = new HashSet<>();
+
+            // Existing sessions start from where they are today
+            if (!noSeances) {
+                for (Seance seance : seanceRepository.findAllById(request.getSeanceIds())) {
+                    if (seance.getFrequence() == FrequenceType.CATCHUP) {
+                        throw new CustomException("Catch-up session " + seance.getId() + " cannot be re-placed");
+                    }
+                    if (seance.getHeureDebut() == null || seance.getHeureFin() == null
+                            || !seance.getHeureFin().isAfter(seance.getHeureDebut())) {
+                        throw new CustomException("Session " + seance.getId() + " has no valid time range");
+                    }
+                    SeanceDTO template = entityMapper.toSeanceDTO(seance);
+                    int duration = (seance.getHeureFin().toSecondOfDay() - seance.getHeureDebut().toSecondOfDay()) / 60;
+                    SeanceSlot slot = templateSlot(seance.getId(), seance.getFrequence(), template);
+                    String roomType = seance.getSalle() == null ? null : seance.getSalle().getType();
+                    List<Long> candidates = candidateRooms(rooms, headcount(slot, students, null), roomType);
+                    if (candidates.isEmpty()) {
+                        throw new CustomException("No room can host session " + seance.getId());
+                    }
+                    TimetableSolver.Placement initial = null;
+                    if (seance.getJour() != null && days.contains(seance.getJour())
+                            && seance.getSalle() != null && candidates.contains(seance.getSalle().getId())) {
+                        initial = new TimetableSolver.Placement(seance.getJour(),
+                                seance.getHeureDebut().toSecondOfDay() / 60, seance.getSalle().getId());
+                    }
+                    courses.add(new TimetableSolver.Course(slot, duration, candidates, initial));
+                    templates.add(template);
+                    durations.add(duration);
+                    replaced.add(seance.getId());
+                }
+                if (replaced.size() != new HashSet<>(request.getSeanceIds()).size()) {
+                    throw new CustomException("Some sessions to re-place were not found");
+                }
+            }
+
+            // New courses, one course per weekly session; temporary ids cannot clash with stored ones
+            long temporaryId = 0;
+            if (!noCourses) {
+                for (CourseRequirementDTO requirement : request.getCourses()) {
+                    if (requirement == null) {
+                        throw new CustomException("Course requirement cannot be null");
+                    }
+                    FrequenceType frequence = requirement.getFrequence() == null
+                            ? FrequenceType.WEEKLY : FrequenceType.fromString(requirement.getFrequence());
+                    if (frequence == null || frequence == FrequenceType.CATCHUP) {
+                        throw new CustomException("Invalid course frequency: " + requirement.getFrequence());
+                    }
+                    int duration = requirement.getDuration() == null ? DEFAULT_DURATION : requirement.getDuration();
+                    int sessions = requirement.getSessionsPerWeek() == null ? 1 : requirement.getSessionsPerWeek();
+                    if (duration <= 0 || sessions <= 0) {
+                        throw new CustomException("Duration and sessions per week must be positive");
+                    }
+                    SeanceDTO template = new SeanceDTO(null, requirement.getName(), null, null, null,
+                            requirement.getType(), requirement.getMatiere(), frequence.toString(), null, null,
+                            requirement.getEnseignantId(), requirement.getBrancheIds(),
+                            requirement.getTdIds(), requirement.getTpIds());
+                    for (int i = 0; i < sessions; i++) {
+                        SeanceSlot slot = templateSlot(--temporaryId, frequence, template);
+                        List<Long> candidates = candidateRooms(rooms,
+                                headcount(slot, students, requirement.getEffectif()), requirement.getSalleType());
+                        if (candidates.isEmpty()) {
+                            throw new CustomException("No room can host course: "
+                                    + (requirement.getName() != null ? requirement.getName() : requirement.getMatiere()));
+                        }
+                        courses.add(new TimetableSolver.Course(slot, duration, candidates, null));
+                        templates.add(template);
+                        durations.add(duration);
+                    }
+                }
+            }
+
+            // Every other session of those days stays where it is
+            List<SeanceSlot> fixed = new ArrayList<>();
+            for (SeanceSlot slot : conflictStore.slotsOf(days)) {
+                if (!replaced.contains(slot.getId())) {
+                    fixed.add(slot);
+                }
+            }
+
+            TimetableSolver solver = new TimetableSolver(courses, fixed, days, dayStart, dayEnd, granularity);
+            long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+            Job job = new Job(UUID.randomUUID().toString(), solver, templates, durations, timeLimit * 1000L, seed);
+            evictFinishedJobs();
+            jobs.put(job.id, job);
+            synchronized (job) {
+                job.future = jobRunner.submit(() -> run(job));
+            }
+            CustomLogger.logInfo("Timetable job " + job.id + " queued: " + courses.size() + " sessions to place, "
+                    + fixed.size() + " fixed, " + timeLimit + " s budget");
+            return toDTO(job);
+        } catch (CustomException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Invalid timetable request: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new CustomException("Failed to start timetable generation", e);
+        }
+    }
+
+    @Override
+    public TimetableJobDTO getJob(String jobId) throws CustomException {
+        return toDTO(findJob(jobId));
+    }
+
+    @Override
+    public TimetableJobDTO cancelJob(String jobId) throws CustomException {
+        Job job = findJob(jobId);
+        job.solver.cancel();
+        synchronized (job) {
+            if ("QUEUED".equals(job.status) && job.future.cancel(false)) {
+                job.status = "CANCELLED";
+                job.finishedAt = System.nanoTime();
+            }
+        }
+        return toDTO(job);
+    }
+
+    // ============================
+    //    Job execution
+    // ============================
+
+    private void run(Job job) {
+        synchronized (job) {
+            if (!"QUEUED".equals(job.status)) {
+                return;
+            }
+            job.status = "RUNNING";
+            job.startedAt = System.nanoTime();
+        }
+        try {
+            TimetableSolver.Result result = job.solver.solve(workerPool, workers, job.timeLimitMillis, job.seed);
+            job.result = result;
+            job.status = result.cancelled() ? "CANCELLED" : "COMPLETED";
+            CustomLogger.logInfo("Timetable job " + job.id + " " + job.status + ": " + result.hardViolations()
+                    + " hard and " + result.softViolations() + " soft violations after "
+                    + result.iterations() + " moves");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.status = "CANCELLED";
+        } catch (Exception e) {
+            CustomLogger.logError("Timetable job " + job.id + " failed", e);
+            job.message = e.getMessage();
+            job.status = "FAILED";
+        } finally {
+            job.finishedAt = System.nanoTime();
+        }
+    }
+
+    private Job findJob(String jobId) throws CustomException {
+        if (jobId == null) {
+            throw new CustomException("Job ID cannot be null");
+        }
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new CustomException("Timetable job not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    private void evictFinishedJobs() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.isFinished()) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() < MAX_RETAINED_JOBS) {
+            return;
+        }
+        finished.sort(Comparator.comparingLong(job -> job.createdAt));
+        for (Job job : finished.subList(0, finished.size() - MAX_RETAINED_JOBS + 1)) {
+            jobs.remove(job.id);
+        }
+    }
+
+    private TimetableJobDTO toDTO(Job job) {
+        long end = job.isFinished() ? job.finishedAt : System.nanoTime();
+        long elapsed = job.startedAt == 0 ? 0 : (end - job.startedAt) / 1_000_000;
+        TimetableSolver.Result result = job.result;
+        if (result == null) {
+            return new TimetableJobDTO(job.id, job.status, elapsed, job.solver.getIterations(),
+                    job.solver.getBestCost(), null, null, null, job.message);
+        }
+        List<SeanceDTO> seances = new ArrayList<>(result.placements().size());
+        for (int i = 0; i < result.placements().size(); i++) {
+            TimetableSolver.Placement placement = result.placements().get(i);
+            SeanceDTO template = job.templates.get(i);
+            int duration = job.durations.get(i);
+            seances.add(new SeanceDTO(template.getId(), template.getName(), placement.jour().name(),
+                    LocalTime.ofSecondOfDay(placement.debut() * 60L).toString(),
+                    LocalTime.ofSecondOfDay((placement.debut() + duration) * 60L).toString(),
+                    template.getType(), template.getMatiere(), template.getFrequence(), null,
+                    placement.salleId(), template.getEnseignantId(), template.getBrancheIds(),
+                    template.getTdIds(), template.getTpIds()));
+        }
+        return new TimetableJobDTO(job.id, job.status, elapsed, result.iterations(), job.solver.getBestCost(),
+                result.hardViolations(), result.softViolations(), seances, job.message);
+    }
+
+    // ============================
+    //    Request helpers
+    // ============================
+
+    private SeanceSlot templateSlot(Long id, FrequenceType frequence, SeanceDTO template) {
+        return audienceRegistry.slotOf(id, null, null, null, frequence, null, null, template.getEnseignantId(),
+                template.getTpIds(), template.getTdIds(), template.getBrancheIds());
+    }
+
+    /**
+     * Students of the effective audience, unless the request gives the headcount.
+     */
+    private static int headcount(SeanceSlot slot, Map<Long, Long> students, Integer effectif) {
+        if (effectif != null) {
+            return effectif;
+        }
+        long total = 0;
+        for (long tp : slot.getAudience()) {
+            total += students.getOrDefault(tp, 0L);
+        }
+        return (int) total;
+    }
+
+    private static List<Long> candidateRooms(Collection<Object[]> rooms, int headcount, String type) {
+        List<Long> result = new ArrayList<>();
+        for (Object[] row : rooms) {
+            int capacite = row[3] == null ? 0 : (Integer) row[3];
+            if (capacite < headcount) {
+                continue;
+            }
+            if (type != null && !type.equalsIgnoreCase((String) row[2])) {
+                continue;
+            }
+            result.add((Long) row[0]);
+        }
+        return result;
+    }
+
+    private static List<DayOfWeek> parseDays(List<String> days) throws CustomException {
+        if (days == null || days.isEmpty()) {
+            return DEFAULT_DAYS;
+        }
+        List<DayOfWeek> result = new ArrayList<>();
+        for (String day : days) {
+            try {
+                DayOfWeek dayOfWeek = DayOfWeek.valueOf(day.toUpperCase());
+                if (!result.contains(dayOfWeek)) {
+                    result.add(dayOfWeek);
+                }
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new CustomException("Invalid day of week: " + day);
+            }
+        }
+        return result;
+    }
+
+    private static int parseTime(String value, String defaultValue) throws CustomException {
+        try {
+            return LocalTime.parse(value == null ? defaultValue : value).toSecondOfDay() / 60;
+        } catch (DateTimeParseException e) {
+            throw new CustomException("Invalid time format: " + value);
+        }
+    }
+}
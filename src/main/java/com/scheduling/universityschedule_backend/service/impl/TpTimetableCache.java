@@ -0,0 +1,175 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import com.scheduling.universityschedule_backend.event.GroupHierarchyChangedEvent;
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.repository.SeanceAudienceRepository;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Effective week of each TP: every session listing the TP, its TD or its Branche, ordered by day and start time.
+ * <p>
+ * A week is built from one read of the seance_audience closure by tp, which also returns the formatted columns
+ * and group ids of each session, so no entity is loaded. It is then kept until a committed
+ * {@link SeanceChangedEvent} touches one of its sessions or adds a session to its audience, or a
+ * {@link GroupHierarchyChangedEvent} moves the TP. As in {@link UnreadCounterCache}, a week loaded while an
+ * event was being applied is returned but not cached. A week is read in a transaction of its own, started once
+ * the epoch is read: the caller's snapshot may predate a commit whose event already ran, and a week read from it
+ * would be cached stale. Cached lists are shared: callers must not modify them.
+ */
+@Component
+public class TpTimetableCache {
+
+    private static final Comparator<SeanceDTO> WEEK_ORDER = Comparator
+            .comparing((SeanceDTO s) -> s.getJour() == null ? null : DayOfWeek.valueOf(s.getJour()),
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SeanceDTO::getHeureDebut, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final SeanceAudienceRepository seanceAudienceRepository;
+    private final TransactionTemplate committedRead;
+
+    @Value("${scheduling.students.timetable-cache.max-entries:5000}")
+    private int maxEntries;
+
+    private final Map<Long, Week> weeks = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private record Week(List<SeanceDTO> seances, Set<Long> seanceIds) {
+    }
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public TpTimetableCache(SeanceAudienceRepository seanceAudienceRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.seanceAudienceRepository = seanceAudienceRepository;
+        this.committedRead = new TransactionTemplate(transactionManager);
+        this.committedRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.committedRead.setReadOnly(true);
+    }
+
+    /**
+     * Sessions attended by the TP, ordered by day and start time
+     */
+    public List<SeanceDTO> getWeek(Long tpId) {
+        Week week = weeks.get(tpId);
+        if (week != null) {
+            return week.seances();
+        }
+
+        long before = epoch.get();
+        // Not the caller's transaction: its snapshot may be older than the epoch just read
+        Week loaded = committedRead.execute(status -> load(tpId));
+
+        if (weeks.size() >= maxEntries) {
+            // Simple bound: start over rather than track recency
+            weeks.clear();
+        }
+        if (weeks.putIfAbsent(tpId, loaded) == null && epoch.get() != before) {
+            // An event was applied while loading and may have missed the new entry
+            weeks.remove(tpId, loaded);
+        }
+        return loaded.seances();
+    }
+
+    /**
+     * Drops the weeks holding one of the changed sessions and those the sessions now reach.
+     * Runs in its own read-only transaction since the publishing one is already committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSeanceChanged(SeanceChangedEvent event) {
+        epoch.incrementAndGet();
+        if (event.isFullReload()) {
+            weeks.clear();
+            return;
+        }
+        if (weeks.isEmpty() || event.getSeanceIds().isEmpty()) {
+            return;
+        }
+        weeks.values().removeIf(week -> event.getSeanceIds().stream().anyMatch(week.seanceIds()::contains));
+        try {
+            seanceAudienceRepository.findTpIdsBySeanceIds(event.getSeanceIds()).forEach(weeks::remove);
+        } catch (Exception e) {
+            CustomLogger.logError("Failed to find the TPs of changed sessions, dropping cached timetables", e);
+            weeks.clear();
+        }
+    }
+
+    /**
+     * Sessions whose audience changed are announced by a {@link SeanceChangedEvent} of their own;
+     * this only drops the weeks of TPs created or moved.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGroupHierarchyChanged(GroupHierarchyChangedEvent event) {
+        epoch.incrementAndGet();
+        event.getTpIds().forEach(weeks::remove);
+    }
+
+    private Week load(Long tpId) {
+        List<SeanceDTO> seances = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        for (Object[] row : seanceAudienceRepository.findWeekRowsByTp(tpId)) {
+            SeanceDTO dto = new SeanceDTO();
+            dto.setId(toLong(row[0]));
+            dto.setName((String) row[1]);
+            dto.setMatiere((String) row[2]);
+            dto.setJour((String) row[3]);
+            dto.setType((String) row[4]);
+            dto.setHeureDebut((String) row[5]);
+            dto.setHeureFin((String) row[6]);
+            dto.setFrequence(row[7] == null ? null : FrequenceType.valueOf((String) row[7]).toString());
+            dto.setDate((String) row[8]);
+            dto.setSalleId(toLong(row[9]));
+            dto.setEnseignantId(toLong(row[10]));
+            dto.setBrancheIds(toIds(row[11]));
+            dto.setTdIds(toIds(row[12]));
+            dto.setTpIds(toIds(row[13]));
+            seances.add(dto);
+            ids.add(dto.getId());
+        }
+        seances.sort(WEEK_ORDER);
+        return new Week(List.copyOf(seances), ids);
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    /**
+     * Ids of a GROUP_CONCAT column
+     */
+    private static List<Long> toIds(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        String joined = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.US_ASCII) : value.toString();
+        String[] parts = joined.split(",");
+        List<Long> ids = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            ids.add(Long.parseLong(part.trim()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,163 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.event.NotificationCreatedEvent;
+import com.scheduling.universityschedule_backend.event.NotificationReadEvent;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.repository.AudienceNotificationRepository;
+import com.scheduling.universityschedule_backend.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread notification counts per user, direct and audience ones together.
+ * <p>
+ * A count is computed once with two indexed COUNT queries, then kept up to date from committed
+ * {@link NotificationCreatedEvent}s, which only bump the counters of the matching users, so badge
+ * requests no longer touch the database. Read events drop the user's entry and the next request
+ * recounts. The map is a {@link ConcurrentHashMap}, whose locking is striped per bin, and each
+ * counter is atomic, so sends and reads of different users never contend.
+ * A count loaded while an event was being applied is returned but not cached, since the event
+ * may or may not be part of it: events bump the epoch when they start and when they are done, and a load
+ * is only kept when no event was in progress as it started and the epoch did not move until it was stored.
+ * An event starts before its transaction commits and is done once the counters are updated after it, so a
+ * count loaded between the database commit and that update is never cached.
+ */
+@Component
+public class UnreadCounterCache {
+
+    private final NotificationRepository notificationRepository;
+    private final AudienceNotificationRepository audienceNotificationRepository;
+    private final RecipientAudienceResolver audienceResolver;
+
+    @Value("${scheduling.notifications.unread-cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicInteger applying = new AtomicInteger();
+
+    private record Counter(RecipientAudience audience, AtomicLong unread) {
+    }
+
+    /**
+     * Constructor injection for dependencies
+     */
+    public UnreadCounterCache(NotificationRepository notificationRepository,
+                              AudienceNotificationRepository audienceNotificationRepository,
+                              RecipientAudienceResolver audienceResolver) {
+        this.notificationRepository = notificationRepository;
+        this.audienceNotificationRepository = audienceNotificationRepository;
+        this.audienceResolver = audienceResolver;
+    }
+
+    /**
+     * @throws CustomException if the user is not found
+     */
+    public long getUnreadCount(Long personneId) throws CustomException {
+        Counter counter = counters.get(personneId);
+        if (counter != null) {
+            return counter.unread().get();
+        }
+
+        long before = epoch.get();
+        boolean eventInProgress = applying.get() > 0;
+        RecipientAudience audience = audienceResolver.resolve(personneId);
+        long unread = notificationRepository.countUnreadByPersonneId(personneId)
+                + audienceNotificationRepository.countVisibleUnread(personneId, audience.role().name(),
+                audience.brancheId(), audience.tdId(), audience.tpId());
+
+        if (counters.size() >= maxEntries) {
+            // Simple bound: start over rather than track recency
+            counters.clear();
+        }
+        Counter loaded = new Counter(audience, new AtomicLong(unread));
+        if (counters.putIfAbsent(personneId, loaded) == null && (eventInProgress || epoch.get() != before)) {
+            // An event was applied while counting and may have missed the new entry
+            counters.remove(personneId, loaded);
+        }
+        return unread;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        applyOnCommit(() -> apply(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onNotificationRead(NotificationReadEvent event) {
+        applyOnCommit(() -> {
+            if (event.getPersonneId() != null) {
+                counters.remove(event.getPersonneId());
+            }
+        });
+    }
+
+    /**
+     * Marks the event in progress from before the commit, and applies it once the transaction committed
+     */
+    private void applyOnCommit(Runnable change) {
+        startEvent();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                change.run();
+            } finally {
+                endEvent();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        change.run();
+                    }
+                } finally {
+                    endEvent();
+                }
+            }
+        });
+    }
+
+    private void apply(NotificationCreatedEvent event) {
+        if (Boolean.TRUE.equals(event.getNotification().getIsread())) {
+            return;
+        }
+        if (!event.isAudience()) {
+            for (Long recipientId : event.getRecipientIds()) {
+                Counter counter = counters.get(recipientId);
+                if (counter != null) {
+                    counter.unread().incrementAndGet();
+                }
+            }
+            return;
+        }
+        counters.values().forEach(counter -> {
+            if (counter.audience().matches(event.getScope(), event.getRole(), event.getTargetId())) {
+                counter.unread().incrementAndGet();
+            }
+        });
+    }
+
+    private void startEvent() {
+        applying.incrementAndGet();
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Bumped again once done, so a load whose epoch was read mid-event never matches afterwards
+     */
+    private void endEvent() {
+        epoch.incrementAndGet();
+        applying.decrementAndGet();
+    }
+}
@@ -0,0 +1,189 @@
+package com.scheduling.universityschedule_backend.testingclasses;
+
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.model.*;
+import com.scheduling.universityschedule_backend.repository.*;
+import com.scheduling.universityschedule_backend.util.CustomLogger;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the student-group overlap of the conflict queries before and after the
+ * seance_audience closure, on a synthetic week (5000 sessions by default).
+ * <p>
+ * Needs groups, rooms and teachers in the database (see JPAtest#populateDatabase),
+ * then run from UniversityScheduleBackendApplication#run:
+ * <pre>
+ *     conflictQueryBenchmark.seed(5000);
+ *     conflictQueryBenchmark.compare();
+ *     conflictQueryBenchmark.cleanup();
+ * </pre>
+ * Both statements are run through MySQL's EXPLAIN ANALYZE so the plans and timings end up in the log.
+ */
+@Component
+public class ConflictQueryBenchmark {
+
+    private static final String BENCH_PREFIX = "BENCH-";
+    private static final int[] START_HOURS = {8, 10, 12, 14, 16};
+
+    /**
+     * Group overlap as the conflict queries computed it before the closure:
+     * every TP is re-expanded through tp.td.branche for both sides of every pair.
+     */
+    private static final String LEGACY_SQL = """
+    SELECT COUNT(*)
+    FROM seances s1
+    JOIN seances s2 ON s1.jour = s2.jour AND s1.id < s2.id
+    WHERE s1.heure_debut < s2.heure_fin AND s1.heure_fin > s2.heure_debut
+      AND EXISTS (
+          SELECT 1 FROM tps tp JOIN tds td ON td.id = tp.td_id
+          WHERE (EXISTS (SELECT 1 FROM seance_tp x WHERE x.seance_id = s1.id AND x.tp_id = tp.id)
+                 OR EXISTS (SELECT 1 FROM seance_td x WHERE x.seance_id = s1.id AND x.td_id = tp.td_id)
+                 OR EXISTS (SELECT 1 FROM seance_branche x WHERE x.seance_id = s1.id AND x.branche_id = td.branche_id
+                            AND NOT EXISTS (SELECT 1 FROM seance_td y JOIN tds t2 ON t2.id = y.td_id
+                                            WHERE y.seance_id = s1.id AND t2.branche_id = x.branche_id)))
+            AND (EXISTS (SELECT 1 FROM seance_tp x WHERE x.seance_id = s2.id AND x.tp_id = tp.id)
+                 OR EXISTS (SELECT 1 FROM seance_td x WHERE x.seance_id = s2.id AND x.td_id = tp.td_id)
+                 OR EXISTS (SELECT 1 FROM seance_branche x WHERE x.seance_id = s2.id AND x.branche_id = td.branche_id
+                            AND NOT EXISTS (SELECT 1 FROM seance_td y JOIN tds t2 ON t2.id = y.td_id
+                                            WHERE y.seance_id = s2.id AND t2.branche_id = x.branche_id)))
+      )
+    """;
+
+    /**
+     * Same overlap through the closure: an indexed join on (seance_id, tp_id).
+     */
+    private static final String CLOSURE_SQL = """
+    SELECT COUNT(*)
+    FROM seances s1
+    JOIN seances s2 ON s1.jour = s2.jour AND s1.id < s2.id
+    WHERE s1.heure_debut < s2.heure_fin AND s1.heure_fin > s2.heure_debut
+      AND EXISTS (
+          SELECT 1 FROM seance_audience a1
+          JOIN seance_audience a2 ON a2.tp_id = a1.tp_id AND a2.seance_id = s2.id
+          WHERE a1.seance_id = s1.id
+      )
+    """;
+
+    private final Random random = new Random(42);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final SeanceRepository seanceRepository;
+    private final SalleRepository salleRepository;
+    private final EnseignantRepository enseignantRepository;
+    private final BrancheRepository brancheRepository;
+    private final TDRepository tdRepository;
+    private final TPRepository tpRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ConflictQueryBenchmark(SeanceRepository seanceRepository,
+                                  SalleRepository salleRepository,
+                                  EnseignantRepository enseignantRepository,
+                                  BrancheRepository brancheRepository,
+                                  TDRepository tdRepository,
+                                  TPRepository tpRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.seanceRepository = seanceRepository;
+        this.salleRepository = salleRepository;
+        this.enseignantRepository = enseignantRepository;
+        this.brancheRepository = brancheRepository;
+        this.tdRepository = tdRepository;
+        this.tpRepository = tpRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Inserts synthetic sessions mixing TP, TD and branch audiences; the closure is rebuilt on commit.
+     */
+    @Transactional
+    public void seed(int seanceCount) throws CustomException {
+        List<Salle> salles = salleRepository.findAll();
+        List<Enseignant> enseignants = enseignantRepository.findAll();
+        List<Branche> branches = brancheRepository.findAll();
+        List<TD> tds = tdRepository.findAll();
+        List<TP> tps = tpRepository.findAll();
+        if (salles.isEmpty() || enseignants.isEmpty() || tps.isEmpty()) {
+            throw new CustomException("Benchmark needs rooms, teachers and groups: run JPAtest#populateDatabase first");
+        }
+
+        List<Seance> seances = new ArrayList<>(seanceCount);
+        for (int i = 0; i < seanceCount; i++) {
+            Seance seance = new Seance();
+            seance.setName(BENCH_PREFIX + i);
+            seance.setMatiere("Benchmark");
+            seance.setType(SeanceType.values()[random.nextInt(SeanceType.values().length)]);
+            seance.setJour(DayOfWeek.of(1 + random.nextInt(6)));
+            int hour = START_HOURS[random.nextInt(START_HOURS.length)];
+            seance.setHeureDebut(LocalTime.of(hour, 0));
+            seance.setHeureFin(LocalTime.of(hour + 1, 30));
+            seance.setFrequence(random.nextInt(5) == 0 ? FrequenceType.BIWEEKLY : FrequenceType.WEEKLY);
+            seance.setSalle(salles.get(random.nextInt(salles.size())));
+            seance.setEnseignant(enseignants.get(random.nextInt(enseignants.size())));
+            switch (random.nextInt(3)) {
+                case 0 -> seance.getTps().add(tps.get(random.nextInt(tps.size())));
+                case 1 -> {
+                    if (!tds.isEmpty()) {
+                        seance.getTds().add(tds.get(random.nextInt(tds.size())));
+                    }
+                }
+                default -> {
+                    if (!branches.isEmpty()) {
+                        seance.getBranches().add(branches.get(random.nextInt(branches.size())));
+                    }
+                }
+            }
+            seances.add(seance);
+        }
+        seanceRepository.saveAll(seances);
+        eventPublisher.publishEvent(SeanceChangedEvent.all());
+        CustomLogger.logInfo("Benchmark: seeded " + seanceCount + " sessions");
+    }
+
+    /**
+     * Logs the plan and timing of the legacy expansion and of the closure join.
+     */
+    @Transactional(readOnly = true)
+    public void compare() {
+        explain("legacy expansion", LEGACY_SQL);
+        explain("audience closure", CLOSURE_SQL);
+    }
+
+    /**
+     * Removes the synthetic sessions and their closure rows.
+     */
+    @Transactional
+    public void cleanup() throws CustomException {
+        List<Seance> seances = entityManager
+                .createQuery("SELECT s FROM Seance s WHERE s.name LIKE :prefix", Seance.class)
+                .setParameter("prefix", BENCH_PREFIX + "%")
+                .getResultList();
+        seanceRepository.deleteAll(seances);
+        eventPublisher.publishEvent(SeanceChangedEvent.all());
+        CustomLogger.logInfo("Benchmark: removed " + seances.size() + " sessions");
+    }
+
+    private void explain(String label, String sql) {
+        long start = System.nanoTime();
+        Object count = entityManager.createNativeQuery(sql).getSingleResult();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        @SuppressWarnings("unchecked")
+        List<Object> plan = entityManager.createNativeQuery("EXPLAIN ANALYZE " + sql).getResultList();
+
+        CustomLogger.logInfo("==================== " + label + " ====================");
+        CustomLogger.logInfo("Overlapping pairs: " + count + " in " + elapsed + " ms");
+        plan.forEach(line -> CustomLogger.logInfo(String.valueOf(line)));
+    }
+}
@@ -0,0 +1,226 @@
+package com.scheduling.universityschedule_backend.benchmark;
+
+import com.scheduling.universityschedule_backend.dto.SeanceDTO;
+import com.scheduling.universityschedule_backend.mapper.SeanceRowParser;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.SeanceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second validated and parsed by a timetable import, before and after {@link SeanceRowParser}.
+ * <p>
+ * {@code before} replays the previous import path: a validation pass through the mapper conversions
+ * (exception-driven enum and {@code DateTimeFormatter} parsing), then a second pass mapping the same
+ * fields. {@code after} parses each row once with {@link SeanceRowParser}, and {@code afterParallel}
+ * splits the rows in slices parsed on a pool, as an import chunk is. About one row in ten is invalid.
+ * <p>
+ * Not a test: run it from the IDE, or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.scheduling.universityschedule_backend.benchmark.SeanceRowParserBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(SeanceRowParserBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeanceRowParserBenchmark {
+
+    static final int ROWS = 10_000;
+
+    private static final int SLICE = 128;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String[] DAYS = {"MONDAY", "tuesday", "Mercredi", "jeudi", "VENDREDI", "samedi", "lundi"};
+    private static final String[] TYPES = {"CR", "TD", "TP", "cr"};
+    private static final String[] FREQUENCES = {"1/15", "weekly", "BIWEEKLY", "1/1", "catch-up", null};
+
+    private List<SeanceDTO> rows;
+    private ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            SeanceDTO dto = new SeanceDTO();
+            int hour = 8 + random.nextInt(8);
+            dto.setName("Seance " + i);
+            dto.setMatiere("Matiere " + random.nextInt(50));
+            dto.setJour(i % 10 == 3 ? "Funday" : DAYS[random.nextInt(DAYS.length)]);
+            dto.setHeureDebut(String.format("%02d:30", hour));
+            dto.setHeureFin(i % 10 == 7 ? "25:00" : String.format("%02d:00", hour + 2));
+            dto.setType(TYPES[random.nextInt(TYPES.length)]);
+            dto.setFrequence(FREQUENCES[random.nextInt(FREQUENCES.length)]);
+            dto.setDate(random.nextBoolean() ? null : String.format("2025-%02d-%02d", 1 + random.nextInt(12),
+                    1 + random.nextInt(28)));
+            rows.add(dto);
+        }
+        pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void before(Blackhole blackhole) {
+        for (SeanceDTO dto : rows) {
+            String error = legacyValidate(dto);
+            blackhole.consume(error == null ? legacyMap(dto) : error);
+        }
+    }
+
+    @Benchmark
+    public void after(Blackhole blackhole) {
+        for (SeanceDTO dto : rows) {
+            blackhole.consume(SeanceRowParser.parse(dto));
+        }
+    }
+
+    @Benchmark
+    public void afterParallel(Blackhole blackhole) {
+        List<CompletableFuture<List<SeanceRowParser.Result>>> slices = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += SLICE) {
+            List<SeanceDTO> slice = rows.subList(from, Math.min(from + SLICE, rows.size()));
+            slices.add(CompletableFuture.supplyAsync(
+                    () -> slice.stream().map(SeanceRowParser::parse).toList(), pool));
+        }
+        for (CompletableFuture<List<SeanceRowParser.Result>> slice : slices) {
+            blackhole.consume(slice.join());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SeanceRowParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // The conversions as the mapper implemented them before SeanceRowParser
+
+    private static String legacyValidate(SeanceDTO dto) {
+        if (legacyDay(dto.getJour()) == null) {
+            return "Missing or invalid day: " + dto.getJour();
+        }
+        LocalTime heureDebut = legacyTime(dto.getHeureDebut());
+        LocalTime heureFin = legacyTime(dto.getHeureFin());
+        if (heureDebut == null || heureFin == null) {
+            return "Missing start or end time";
+        }
+        if (!heureDebut.isBefore(heureFin)) {
+            return "Start time must be before end time";
+        }
+        if (dto.getType() == null) {
+            return "Missing session type";
+        }
+        try {
+            SeanceType.valueOf(dto.getType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Invalid session type: " + dto.getType();
+        }
+        if (dto.getFrequence() != null && legacyFrequence(dto.getFrequence()) == null) {
+            return "Invalid frequency: " + dto.getFrequence();
+        }
+        return null;
+    }
+
+    private static Seance legacyMap(SeanceDTO dto) {
+        Seance seance = new Seance();
+        seance.setName(dto.getName());
+        seance.setMatiere(dto.getMatiere());
+        seance.setJour(legacyDay(dto.getJour()));
+        seance.setType(SeanceType.valueOf(dto.getType().toUpperCase()));
+        seance.setHeureDebut(legacyTime(dto.getHeureDebut()));
+        seance.setHeureFin(legacyTime(dto.getHeureFin()));
+        seance.setFrequence(legacyFrequence(dto.getFrequence()));
+        seance.setDate(legacyDate(dto.getDate()));
+        return seance;
+    }
+
+    private static DayOfWeek legacyDay(String day) {
+        if (day == null || day.isEmpty()) {
+            return null;
+        }
+        try {
+            return DayOfWeek.valueOf(day.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return switch (day.toLowerCase()) {
+                case "lundi" -> DayOfWeek.MONDAY;
+                case "mardi" -> DayOfWeek.TUESDAY;
+                case "mercredi" -> DayOfWeek.WEDNESDAY;
+                case "jeudi" -> DayOfWeek.THURSDAY;
+                case "vendredi" -> DayOfWeek.FRIDAY;
+                case "samedi" -> DayOfWeek.SATURDAY;
+                case "dimanche" -> DayOfWeek.SUNDAY;
+                default -> null;
+            };
+        }
+    }
+
+    private static LocalTime legacyTime(String time) {
+        if (time == null || time.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(time, TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate legacyDate(String date) {
+        if (date == null || date.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static FrequenceType legacyFrequence(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase()) {
+            case "weekly", "1/1" -> FrequenceType.WEEKLY;
+            case "biweekly", "1/15" -> FrequenceType.BIWEEKLY;
+            case "makeup", "catch-up" -> FrequenceType.CATCHUP;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConflictIndexTest {
+
+    private final TpOrdinals ordinals = new TpOrdinals();
+
+    @Test
+    void conflictPairsMatchEveryPairEvaluatedByTheRules() {
+        Random random = new Random(3);
+        List<SeanceSlot> slots = randomSlots(random, 400);
+        ConflictIndex index = ConflictIndex.of(slots);
+
+        assertThat(pairs(index)).isEqualTo(bruteForcePairs(slots));
+    }
+
+    @Test
+    void roomConflictPairsMatchTheRoomRule() {
+        Random random = new Random(5);
+        List<SeanceSlot> slots = randomSlots(random, 400);
+        ConflictIndex index = ConflictIndex.of(slots);
+
+        Map<String, List<String>> found = new HashMap<>();
+        index.forEachRoomConflictPair((a, b, types) -> found.put(a.getId() + "-" + b.getId(), types));
+
+        Map<String, List<String>> expected = new HashMap<>();
+        for (SeanceSlot a : slots) {
+            for (SeanceSlot b : slots) {
+                if (a.getId() < b.getId() && ConflictRules.isRoomConflict(a, b)) {
+                    expected.put(a.getId() + "-" + b.getId(), List.of(ConflictRules.ROOM));
+                }
+            }
+        }
+        assertThat(found).isEqualTo(expected);
+    }
+
+    @Test
+    void staysConsistentAfterReplacingAndRemovingSlots() {
+        Random random = new Random(9);
+        List<SeanceSlot> slots = randomSlots(random, 300);
+        ConflictIndex index = ConflictIndex.of(slots);
+
+        Map<Long, SeanceSlot> current = new HashMap<>();
+        slots.forEach(slot -> current.put(slot.getId(), slot));
+        for (int step = 0; step < 200; step++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextBoolean()) {
+                index.remove(id);
+                current.remove(id);
+            } else {
+                SeanceSlot moved = randomSlot(random, id);
+                index.add(moved);
+                current.put(id, moved);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(current.size());
+        assertThat(pairs(index)).isEqualTo(bruteForcePairs(new ArrayList<>(current.values())));
+    }
+
+    @Test
+    void unschedulableSlotsAreKeptButNeverConflict() {
+        SeanceSlot noDay = new SeanceSlot(1L, null, LocalTime.of(8, 0), LocalTime.of(10, 0),
+                FrequenceType.WEEKLY, null, 5L, 1L, null, null, null, null, null);
+        SeanceSlot reversed = new SeanceSlot(2L, DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(8, 0),
+                FrequenceType.WEEKLY, null, 5L, 1L, null, null, null, null, null);
+        SeanceSlot valid = new SeanceSlot(3L, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(10, 0),
+                FrequenceType.WEEKLY, null, 5L, 1L, null, null, null, null, null);
+        ConflictIndex index = ConflictIndex.of(List.of(noDay, reversed, valid));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(pairs(index)).isEmpty();
+        assertThat(index.slotsOf(DayOfWeek.MONDAY)).containsExactly(valid);
+    }
+
+    private static Map<String, List<String>> pairs(ConflictIndex index) {
+        Map<String, List<String>> found = new HashMap<>();
+        index.forEachConflictPair((a, b, types) -> {
+            assertThat(a.getId()).isLessThan(b.getId());
+            assertThat(found.put(a.getId() + "-" + b.getId(), types)).as("pair reported twice").isNull();
+        });
+        return found;
+    }
+
+    private static Map<String, List<String>> bruteForcePairs(List<SeanceSlot> slots) {
+        Map<String, List<String>> expected = new HashMap<>();
+        for (SeanceSlot a : slots) {
+            for (SeanceSlot b : slots) {
+                if (a.getId() < b.getId() && a.isSchedulable() && b.isSchedulable()) {
+                    List<String> types = ConflictRules.evaluate(a, b);
+                    if (!types.isEmpty()) {
+                        expected.put(a.getId() + "-" + b.getId(), types);
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    private List<SeanceSlot> randomSlots(Random random, int count) {
+        List<SeanceSlot> slots = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            slots.add(randomSlot(random, id));
+        }
+        return slots;
+    }
+
+    private SeanceSlot randomSlot(Random random, long id) {
+        FrequenceType[] frequences = FrequenceType.values();
+        int debut = 8 * 60 + 30 * random.nextInt(18);
+        FrequenceType frequence = frequences[random.nextInt(frequences.length)];
+        long[] audience = random.nextInt(4) == 0 ? new long[0] : new long[]{1 + random.nextInt(30)};
+        return new SeanceSlot(id, DayOfWeek.of(1 + random.nextInt(5)),
+                LocalTime.of(debut / 60, debut % 60), LocalTime.of(debut / 60, debut % 60).plusMinutes(30 + 30 * random.nextInt(4)),
+                frequence, frequence == FrequenceType.CATCHUP ? LocalDate.of(2025, 3, 3 + 7 * random.nextInt(2)) : null,
+                random.nextInt(5) == 0 ? null : (long) (1 + random.nextInt(15)),
+                random.nextInt(5) == 0 ? null : (long) (1 + random.nextInt(20)),
+                audience, null, null, audience, AudienceBitset.of(audience, ordinals));
+    }
+}
@@ -0,0 +1,142 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static com.scheduling.universityschedule_backend.engine.ConflictRules.BI_WEEKLY;
+import static com.scheduling.universityschedule_backend.engine.ConflictRules.CATCH_UP_EXCEPTION;
+import static com.scheduling.universityschedule_backend.engine.ConflictRules.ROOM;
+import static com.scheduling.universityschedule_backend.engine.ConflictRules.STUDENT_GROUP;
+import static com.scheduling.universityschedule_backend.engine.ConflictRules.TEACHER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConflictRulesTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2025, 3, 3);
+    private static final LocalDate DAY_TWO = LocalDate.of(2025, 3, 10);
+
+    private final TpOrdinals ordinals = new TpOrdinals();
+
+    @Test
+    void sameRoomIsARoomConflict() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.WEEKLY, null, 5L, 1L);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.WEEKLY, null, 5L, 2L);
+
+        assertThat(ConflictRules.evaluate(a, b)).containsExactly(ROOM);
+    }
+
+    @Test
+    void sameTeacherIsATeacherConflict() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.WEEKLY, null, 5L, 1L);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.WEEKLY, null, 6L, 1L);
+
+        assertThat(ConflictRules.evaluate(a, b)).containsExactly(TEACHER);
+    }
+
+    @Test
+    void commonTpIsAStudentGroupConflict() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.WEEKLY, null, 5L, 1L, 10, 11);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.WEEKLY, null, 6L, 2L, 11, 12);
+
+        assertThat(ConflictRules.evaluate(a, b)).containsExactly(STUDENT_GROUP);
+    }
+
+    @Test
+    void labelsAreListedInQueryOrder() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.BIWEEKLY, null, 5L, 1L, 10);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.BIWEEKLY, null, 5L, 1L, 10);
+
+        assertThat(ConflictRules.evaluate(a, b)).containsExactly(ROOM, TEACHER, STUDENT_GROUP, BI_WEEKLY);
+    }
+
+    @Test
+    void catchUpAgainstBiWeeklyIsLabelledBothWays() {
+        SeanceSlot catchUp = slot(1, "08:00", "10:00", FrequenceType.CATCHUP, DAY_ONE, 5L, 1L);
+        SeanceSlot biWeekly = slot(2, "09:00", "11:00", FrequenceType.BIWEEKLY, null, 6L, 1L);
+
+        assertThat(ConflictRules.evaluate(catchUp, biWeekly)).containsExactly(TEACHER, CATCH_UP_EXCEPTION);
+        assertThat(ConflictRules.evaluate(biWeekly, catchUp)).containsExactly(TEACHER, CATCH_UP_EXCEPTION);
+    }
+
+    @Test
+    void frequencyLabelsAloneAreNotAConflict() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.BIWEEKLY, null, 5L, 1L, 10);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.BIWEEKLY, null, 6L, 2L, 11);
+
+        assertThat(ConflictRules.evaluate(a, b)).isEmpty();
+    }
+
+    @Test
+    void touchingOrOtherDaySlotsDoNotConflict() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.WEEKLY, null, 5L, 1L, 10);
+        SeanceSlot touching = slot(2, "10:00", "12:00", FrequenceType.WEEKLY, null, 5L, 1L, 10);
+        SeanceSlot otherDay = new SeanceSlot(3L, DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(10, 0),
+                FrequenceType.WEEKLY, null, 5L, 1L, null, null, null, new long[]{10},
+                AudienceBitset.of(new long[]{10}, ordinals));
+
+        assertThat(ConflictRules.evaluate(a, touching)).isEmpty();
+        assertThat(ConflictRules.evaluate(a, otherDay)).isEmpty();
+        assertThat(ConflictRules.isRoomConflict(a, touching)).isFalse();
+        assertThat(ConflictRules.isRoomConflict(a, otherDay)).isFalse();
+    }
+
+    @Test
+    void missingRoomsOrTeachersNeverMatch() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.WEEKLY, null, null, null);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.WEEKLY, null, null, null);
+
+        assertThat(ConflictRules.evaluate(a, b)).isEmpty();
+        assertThat(ConflictRules.isRoomConflict(a, b)).isFalse();
+    }
+
+    @Test
+    void roomConflictNeedsTheSameRoom() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.WEEKLY, null, 5L, 1L);
+        SeanceSlot sameRoom = slot(2, "09:00", "11:00", FrequenceType.WEEKLY, null, 5L, 2L);
+        SeanceSlot otherRoom = slot(3, "09:00", "11:00", FrequenceType.WEEKLY, null, 6L, 1L);
+
+        assertThat(ConflictRules.isRoomConflict(a, sameRoom)).isTrue();
+        assertThat(ConflictRules.isRoomConflict(a, otherRoom)).isFalse();
+    }
+
+    @Test
+    void alternatingBiWeeklySeancesShareARoom() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.BIWEEKLY, null, 5L, 1L);
+        SeanceSlot b = slot(2, "09:00", "11:00", FrequenceType.BIWEEKLY, null, 5L, 2L);
+
+        assertThat(ConflictRules.isRoomConflict(a, b)).isFalse();
+    }
+
+    @Test
+    void catchUpsConflictOnTheSameDateOnly() {
+        SeanceSlot a = slot(1, "08:00", "10:00", FrequenceType.CATCHUP, DAY_ONE, 5L, 1L);
+        SeanceSlot sameDate = slot(2, "09:00", "11:00", FrequenceType.CATCHUP, DAY_ONE, 5L, 2L);
+        SeanceSlot otherDate = slot(3, "09:00", "11:00", FrequenceType.CATCHUP, DAY_TWO, 5L, 2L);
+        SeanceSlot noDate = slot(4, "09:00", "11:00", FrequenceType.CATCHUP, null, 5L, 2L);
+
+        assertThat(ConflictRules.isRoomConflict(a, sameDate)).isTrue();
+        assertThat(ConflictRules.isRoomConflict(a, otherDate)).isFalse();
+        assertThat(ConflictRules.isRoomConflict(noDate, a)).isFalse();
+    }
+
+    @Test
+    void catchUpAgainstBiWeeklyIsNotARoomConflict() {
+        SeanceSlot catchUp = slot(1, "08:00", "10:00", FrequenceType.CATCHUP, DAY_ONE, 5L, 1L);
+        SeanceSlot biWeekly = slot(2, "09:00", "11:00", FrequenceType.BIWEEKLY, null, 5L, 2L);
+        SeanceSlot weekly = slot(3, "09:00", "11:00", FrequenceType.WEEKLY, null, 5L, 2L);
+
+        assertThat(ConflictRules.isRoomConflict(catchUp, biWeekly)).isFalse();
+        assertThat(ConflictRules.isRoomConflict(biWeekly, catchUp)).isFalse();
+        assertThat(ConflictRules.isRoomConflict(catchUp, weekly)).isTrue();
+    }
+
+    private SeanceSlot slot(long id, String debut, String fin, FrequenceType frequence, LocalDate date,
+                            Long salleId, Long enseignantId, long... audience) {
+        return new SeanceSlot(id, DayOfWeek.MONDAY, LocalTime.parse(debut), LocalTime.parse(fin), frequence, date,
+                salleId, enseignantId, audience, null, null, audience, AudienceBitset.of(audience, ordinals));
+    }
+}
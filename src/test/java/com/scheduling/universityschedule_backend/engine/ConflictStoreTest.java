@@ -0,0 +1,116 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.event.SeanceChangedEvent;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConflictStoreTest {
+
+    private final TpOrdinals ordinals = new TpOrdinals();
+    private final Map<Long, SeanceSlot> database = new TreeMap<>();
+    private final SeanceSlotLoader loader = mock(SeanceSlotLoader.class);
+    private final AudienceRegistry audienceRegistry = mock(AudienceRegistry.class);
+
+    ConflictStoreTest() {
+        when(loader.loadAll(any())).thenAnswer(invocation -> new ArrayList<>(database.values()));
+        when(loader.loadByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(database::containsKey).map(database::get).toList();
+        });
+    }
+
+    @Test
+    void appliedCreatesUpdatesAndDeletesMatchAFullReload() {
+        Random random = new Random(13);
+        for (long id = 1; id <= 200; id++) {
+            database.put(id, randomSlot(random, id));
+        }
+        ConflictStore store = new ConflictStore(loader, audienceRegistry);
+        store.reload();
+
+        for (int step = 0; step < 100; step++) {
+            List<Long> changed = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(5); i++) {
+                long id = 1 + random.nextInt(260);
+                switch (random.nextInt(3)) {
+                    case 0 -> database.remove(id);
+                    default -> database.put(id, randomSlot(random, id));
+                }
+                changed.add(id);
+            }
+            store.onSeanceChanged(SeanceChangedEvent.of(changed));
+
+            ConflictStore reloaded = new ConflictStore(loader, audienceRegistry);
+            reloaded.reload();
+            assertThat(store.getAllConflicts()).isEqualTo(reloaded.getAllConflicts());
+            assertThat(store.getRoomConflicts()).isEqualTo(reloaded.getRoomConflicts());
+        }
+    }
+
+    @Test
+    void versionMovesOnlyWhenTheConflictSetChanges() {
+        database.put(1L, slot(1, "08:00", "10:00", 5L, 1L));
+        database.put(2L, slot(2, "12:00", "14:00", 5L, 2L));
+        ConflictStore store = new ConflictStore(loader, audienceRegistry);
+        store.reload();
+        long version = store.getVersion();
+
+        // Moved, still without conflict
+        database.put(2L, slot(2, "14:00", "16:00", 5L, 2L));
+        store.onSeanceChanged(SeanceChangedEvent.of(2L));
+        assertThat(store.getVersion()).isEqualTo(version);
+
+        // Now overlapping the first one in the same room
+        database.put(2L, slot(2, "09:00", "11:00", 5L, 2L));
+        store.onSeanceChanged(SeanceChangedEvent.of(2L));
+        assertThat(store.getVersion()).isGreaterThan(version);
+        assertThat(store.size()).isEqualTo(1);
+        version = store.getVersion();
+
+        // Same conflict, same labels
+        database.put(2L, slot(2, "09:30", "11:00", 5L, 2L));
+        store.onSeanceChanged(SeanceChangedEvent.of(2L));
+        assertThat(store.getVersion()).isEqualTo(version);
+
+        // Relabelled: the teacher is now shared as well
+        database.put(2L, slot(2, "09:30", "11:00", 5L, 1L));
+        store.onSeanceChanged(SeanceChangedEvent.of(2L));
+        assertThat(store.getVersion()).isGreaterThan(version);
+        version = store.getVersion();
+
+        database.remove(2L);
+        store.onSeanceChanged(SeanceChangedEvent.of(2L));
+        assertThat(store.getVersion()).isGreaterThan(version);
+        assertThat(store.size()).isZero();
+    }
+
+    private SeanceSlot slot(long id, String debut, String fin, Long salleId, Long enseignantId) {
+        return new SeanceSlot(id, DayOfWeek.MONDAY, LocalTime.parse(debut), LocalTime.parse(fin),
+                FrequenceType.WEEKLY, null, salleId, enseignantId, null, null, null, null, null);
+    }
+
+    private SeanceSlot randomSlot(Random random, long id) {
+        FrequenceType[] frequences = {FrequenceType.WEEKLY, FrequenceType.BIWEEKLY};
+        LocalTime debut = LocalTime.of(8 + random.nextInt(9), 30 * random.nextInt(2));
+        long[] audience = random.nextInt(3) == 0 ? new long[0] : new long[]{1 + random.nextInt(20)};
+        return new SeanceSlot(id, DayOfWeek.of(1 + random.nextInt(3)), debut, debut.plusMinutes(60 + 30 * random.nextInt(3)),
+                frequences[random.nextInt(frequences.length)], null,
+                (long) (1 + random.nextInt(10)), (long) (1 + random.nextInt(15)),
+                audience, null, null, audience, AudienceBitset.of(audience, ordinals));
+    }
+}
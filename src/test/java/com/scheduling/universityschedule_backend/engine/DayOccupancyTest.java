@@ -0,0 +1,71 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayOccupancyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 3);
+
+    @Test
+    void biWeeklySeancesAddedInIdOrderFillWeekAThenWeekB() {
+        DayOccupancy day = new DayOccupancy();
+        day.add(slot(1, 8, 10, FrequenceType.BIWEEKLY));
+        day.add(slot(2, 9, 11, FrequenceType.BIWEEKLY));
+
+        assertThat(day.isFree(mask(8, 9), FrequenceType.BIWEEKLY, null)).isTrue();
+        assertThat(day.isFree(mask(9, 10), FrequenceType.BIWEEKLY, null)).isFalse();
+        assertThat(day.isFree(mask(10, 11), FrequenceType.BIWEEKLY, null)).isTrue();
+        assertThat(day.isFree(mask(8, 9), FrequenceType.WEEKLY, null)).isFalse();
+    }
+
+    @Test
+    void seanceAddedOutOfIdOrderGetsTheWeekOfAFullRebuild() {
+        DayOccupancy inOrder = new DayOccupancy();
+        inOrder.add(slot(1, 8, 10, FrequenceType.BIWEEKLY));
+        inOrder.add(slot(2, 9, 11, FrequenceType.BIWEEKLY));
+        inOrder.add(slot(3, 10, 12, FrequenceType.BIWEEKLY));
+
+        DayOccupancy outOfOrder = new DayOccupancy();
+        outOfOrder.add(slot(3, 10, 12, FrequenceType.BIWEEKLY));
+        outOfOrder.add(slot(1, 8, 10, FrequenceType.BIWEEKLY));
+        outOfOrder.add(slot(2, 9, 11, FrequenceType.BIWEEKLY));
+
+        for (int hour = 7; hour < 13; hour++) {
+            long[] mask = mask(hour, hour + 1);
+            assertThat(outOfOrder.isFree(mask, FrequenceType.BIWEEKLY, null))
+                    .as("%d:00", hour)
+                    .isEqualTo(inOrder.isFree(mask, FrequenceType.BIWEEKLY, null));
+        }
+    }
+
+    @Test
+    void removingASeanceFreesOnlyItsOwnBits() {
+        DayOccupancy day = new DayOccupancy();
+        day.add(slot(1, 8, 10, FrequenceType.WEEKLY));
+        day.add(slot(2, 9, 11, FrequenceType.WEEKLY));
+        day.add(slot(3, 14, 15, FrequenceType.CATCHUP));
+
+        assertThat(day.remove(1L)).isTrue();
+
+        assertThat(day.isFree(mask(8, 9), FrequenceType.WEEKLY, null)).isTrue();
+        assertThat(day.isFree(mask(9, 10), FrequenceType.WEEKLY, null)).isFalse();
+        assertThat(day.isFree(mask(14, 15), FrequenceType.CATCHUP, DATE)).isFalse();
+        assertThat(day.isFree(mask(14, 15), FrequenceType.CATCHUP, DATE.plusDays(7))).isTrue();
+    }
+
+    private static long[] mask(int fromHour, int toHour) {
+        return DayOccupancy.mask(fromHour * 60, toHour * 60);
+    }
+
+    private static SeanceSlot slot(long id, int fromHour, int toHour, FrequenceType frequence) {
+        return new SeanceSlot(id, DayOfWeek.MONDAY, LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0), frequence,
+                frequence == FrequenceType.CATCHUP ? DATE : null, null, null, null, null, null, null, null);
+    }
+}
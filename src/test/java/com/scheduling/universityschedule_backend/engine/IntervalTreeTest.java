@@ -0,0 +1,101 @@
+package com.scheduling.universityschedule_backend.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private record Entry(int start, int end, long id) {
+    }
+
+    @Test
+    void staysBalancedWithCorrectMaxEndAfterRandomInsertsAndRemoves() {
+        Random random = new Random(7);
+        IntervalTree<Entry> tree = new IntervalTree<>();
+        Map<Long, Entry> expected = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long id = random.nextInt(400);
+            Entry existing = expected.get(id);
+            if (existing != null && random.nextInt(3) == 0) {
+                assertThat(tree.remove(existing.start(), id)).isTrue();
+                expected.remove(id);
+            } else if (existing == null) {
+                int start = random.nextInt(24 * 60);
+                Entry entry = new Entry(start, start + 1 + random.nextInt(240), id);
+                tree.insert(entry.start(), entry.end(), id, entry);
+                expected.put(id, entry);
+            } else {
+                // Same start and id: replaces the end in place
+                Entry entry = new Entry(existing.start(), existing.start() + 1 + random.nextInt(240), id);
+                tree.insert(entry.start(), entry.end(), id, entry);
+                expected.put(id, entry);
+            }
+
+            int height = tree.checkInvariants();
+            assertThat(tree.size()).isEqualTo(expected.size());
+            // AVL bound: h < 1.45 log2(n + 2)
+            assertThat(height).isLessThanOrEqualTo((int) (1.45 * Math.log(expected.size() + 2) / Math.log(2)) + 1);
+        }
+    }
+
+    @Test
+    void overlapQueriesMatchABruteForceScan() {
+        Random random = new Random(11);
+        IntervalTree<Entry> tree = new IntervalTree<>();
+        List<Entry> entries = new ArrayList<>();
+        for (long id = 0; id < 300; id++) {
+            int start = random.nextInt(1_000);
+            Entry entry = new Entry(start, start + 1 + random.nextInt(120), id);
+            tree.insert(entry.start(), entry.end(), id, entry);
+            entries.add(entry);
+        }
+        for (int i = 0; i < 150; i += 2) {
+            Entry removed = entries.remove(i);
+            tree.remove(removed.start(), removed.id());
+        }
+        tree.checkInvariants();
+
+        for (int query = 0; query < 500; query++) {
+            int start = random.nextInt(1_100);
+            int end = start + 1 + random.nextInt(200);
+            List<Entry> found = new ArrayList<>();
+            tree.forEachOverlapping(start, end, found::add);
+
+            List<Entry> expected = entries.stream()
+                    .filter(e -> e.start() < end && e.end() > start)
+                    .toList();
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(600, 720, 1, "morning");
+        tree.insert(720, 840, 2, "noon");
+
+        List<String> found = new ArrayList<>();
+        tree.forEachOverlapping(720, 780, found::add);
+
+        assertThat(found).containsExactly("noon");
+    }
+
+    @Test
+    void removeOfAnUnknownEntryReturnsFalse() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(600, 720, 1, "a");
+
+        assertThat(tree.remove(600, 2)).isFalse();
+        assertThat(tree.remove(610, 1)).isFalse();
+        assertThat(tree.remove(600, 1)).isTrue();
+        assertThat(tree.isEmpty()).isTrue();
+    }
+}
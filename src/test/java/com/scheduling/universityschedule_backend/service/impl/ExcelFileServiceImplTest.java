@@ -0,0 +1,250 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.engine.AudienceRegistry;
+import com.scheduling.universityschedule_backend.engine.ConflictStore;
+import com.scheduling.universityschedule_backend.engine.SeanceSlot;
+import com.scheduling.universityschedule_backend.exception.CustomException;
+import com.scheduling.universityschedule_backend.mapper.EntityMapper;
+import com.scheduling.universityschedule_backend.model.Enseignant;
+import com.scheduling.universityschedule_backend.model.FichierExcel;
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.SeanceType;
+import com.scheduling.universityschedule_backend.model.enums.ConflictCheck;
+import com.scheduling.universityschedule_backend.repository.FichierExcelRepository;
+import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExcelFileServiceImplTest {
+
+    private static final long TEACHER = 5L;
+    private static final String HEADER = "name,jour,heureDebut,heureFin,type,matiere,frequence\n";
+
+    private final FichierExcelRepository fichierExcelRepository = mock(FichierExcelRepository.class);
+    private final SeanceRepository seanceRepository = mock(SeanceRepository.class);
+    private final SeanceBatchWriter seanceBatchWriter = mock(SeanceBatchWriter.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final EntityMapper entityMapper = mock(EntityMapper.class);
+    private final ConflictStore conflictStore = mock(ConflictStore.class);
+    private final AudienceRegistry audienceRegistry = mock(AudienceRegistry.class);
+    private final SeanceConflictGate conflictGate = new SeanceConflictGate(conflictStore, audienceRegistry);
+    private final AtomicReference<FichierExcel> record = new AtomicReference<>();
+    private final List<Object[]> storedRows = new ArrayList<>();
+    private final ExcelFileServiceImpl service;
+
+    /**
+     * Fails the commit of the first transaction that updates sessions, after everything in it succeeded
+     */
+    private volatile boolean failFirstUpdateCommit;
+    private volatile boolean updated;
+
+    ExcelFileServiceImplTest() throws Exception {
+        AtomicLong ids = new AtomicLong(20);
+        when(fichierExcelRepository.save(any())).thenAnswer(invocation -> {
+            FichierExcel fichierExcel = invocation.getArgument(0);
+            if (fichierExcel.getId() == null) {
+                fichierExcel.setId(ids.getAndIncrement());
+                record.set(fichierExcel);
+            }
+            return fichierExcel;
+        });
+        FichierExcel replaced = new FichierExcel();
+        replaced.setId(7L);
+        when(fichierExcelRepository.findById(7L)).thenReturn(Optional.of(replaced));
+        when(seanceRepository.findImportedRows(anyCollection())).thenReturn(storedRows);
+        when(seanceBatchWriter.insert(anyList())).thenAnswer(invocation -> {
+            List<Seance> seances = invocation.getArgument(0);
+            return seances.stream().map(seance -> ids.getAndIncrement()).toList();
+        });
+        when(seanceBatchWriter.update(anyList())).thenAnswer(invocation -> {
+            List<Seance> seances = invocation.getArgument(0);
+            updated |= !seances.isEmpty();
+            return seances.stream().map(Seance::getId).toList();
+        });
+        // Every row is taught by teacher 5
+        doAnswer(invocation -> {
+            Enseignant enseignant = new Enseignant();
+            enseignant.setId(TEACHER);
+            invocation.<Seance>getArgument(0).setEnseignant(enseignant);
+            return null;
+        }).when(entityMapper).attachReferences(any(), any(), any());
+        when(audienceRegistry.slotOf(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new SeanceSlot(invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4),
+                        invocation.getArgument(5), invocation.getArgument(6), invocation.getArgument(7),
+                        null, null, null, null, null));
+        ReflectionTestUtils.setField(conflictGate, "defaultCheck", ConflictCheck.NONE);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            if (failFirstUpdateCommit && updated) {
+                failFirstUpdateCommit = false;
+                throw new TransactionSystemException("Commit failed");
+            }
+            return null;
+        }).when(transactionManager).commit(any());
+
+        service = new ExcelFileServiceImpl(fichierExcelRepository, seanceRepository, entityMapper,
+                seanceBatchWriter, new TransactionTemplate(transactionManager), conflictStore, conflictGate);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "maxErrors", 1000);
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "parserThreads", 1);
+        service.startPool();
+    }
+
+    @AfterEach
+    void stopPool() {
+        service.stopPool();
+    }
+
+    @Test
+    void chunkRetriedAfterAFailedCommitMatchesTheSameSessions() throws Exception {
+        stored(10, "Algebra", DayOfWeek.MONDAY);
+        stored(11, "Physics", DayOfWeek.TUESDAY);
+        stored(12, "Chemistry", DayOfWeek.WEDNESDAY);
+        failFirstUpdateCommit = true;
+
+        service.importFile(csv("Algebra II,Monday,08:00,10:00,CR,Algebra,weekly\n"
+                + "Physics,Tuesday,08:00,10:00,CR,Physics,weekly\n"), null, 7L);
+        FichierExcel result = awaitFinished();
+
+        assertThat(failFirstUpdateCommit).as("the chunk commit failed").isFalse();
+        assertThat(result.getStatus()).isEqualTo("Completed");
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(result.getRowsUnchanged()).isEqualTo(1);
+        assertThat(result.getRowsInserted()).isZero();
+        assertThat(result.getRowsDeleted()).isEqualTo(1);
+        verify(seanceBatchWriter, never()).insert(argThat(seances -> !seances.isEmpty()));
+        verify(seanceBatchWriter).delete(List.of(12L));
+    }
+
+    @Test
+    void sessionMovedToAnOverlappingSlotIsNotHeldAgainstItsOldVersion() throws Exception {
+        stored(10, "Algebra", DayOfWeek.MONDAY);
+
+        service.importFile(csv("Algebra,Monday,09:00,11:00,CR,Algebra,weekly\n"), ConflictCheck.REJECT, 7L);
+        FichierExcel result = awaitFinished();
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getStatus()).isEqualTo("Completed");
+        assertThat(result.getRowsInserted()).isEqualTo(1);
+        assertThat(result.getRowsRejected()).isZero();
+        assertThat(result.getRowsDeleted()).isEqualTo(1);
+        verify(seanceBatchWriter).delete(List.of(10L));
+    }
+
+    @Test
+    void rowStillConflictingWithAKeptSessionIsRejected() throws Exception {
+        stored(10, "Algebra", DayOfWeek.MONDAY);
+
+        service.importFile(csv("Algebra,Monday,08:00,10:00,CR,Algebra,weekly\n"
+                + "Physics,Monday,09:00,11:00,CR,Physics,weekly\n"), ConflictCheck.REJECT, 7L);
+        FichierExcel result = awaitFinished();
+
+        assertThat(result.getRowsUnchanged()).isEqualTo(1);
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).anyMatch(error -> error.startsWith("Row 3: Conflicts with session 10"));
+    }
+
+    @Test
+    void rejectedRowsHoldTheDeletionsBack() throws Exception {
+        stored(10, "Algebra", DayOfWeek.MONDAY);
+        stored(11, "Physics", DayOfWeek.TUESDAY);
+
+        service.importFile(csv("Algebra,Monday,08:00,10:00,CR,Algebra,weekly\n"
+                + "Physics,Someday,08:00,10:00,CR,Physics,weekly\n"), null, 7L);
+        FichierExcel result = awaitFinished();
+
+        assertThat(result.getStatus()).isEqualTo("Completed with errors");
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(result.getRowsDeleted()).isZero();
+        assertThat(result.getRowsPendingDeletion()).isEqualTo(1);
+        assertThat(result.getErrors()).anyMatch(error -> error.contains("import 7"));
+        verify(seanceBatchWriter, never()).delete(any());
+    }
+
+    @Test
+    void importWithoutReplacedImportOnlyInserts() throws Exception {
+        stored(10, "Algebra", DayOfWeek.MONDAY);
+
+        service.importFile(csv("Algebra,Monday,08:00,10:00,CR,Algebra,weekly\n"), null, null);
+        FichierExcel result = awaitFinished();
+
+        assertThat(result.getRowsInserted()).isEqualTo(1);
+        assertThat(result.getRowsDeleted()).isZero();
+        verify(seanceRepository, never()).findImportedRows(any());
+        verify(seanceBatchWriter, never()).delete(argThat(ids -> !ids.isEmpty()));
+    }
+
+    @Test
+    void replacingAnUnknownImportIsRefused() {
+        assertThatThrownBy(() -> service.importFile(csv("Algebra,Monday,08:00,10:00,CR,Algebra,weekly\n"), null, 99L))
+                .isInstanceOf(CustomException.class)
+                .hasMessageContaining("99");
+        verify(fichierExcelRepository, never()).save(any());
+    }
+
+    @Test
+    void replacingAnAlreadyReplacedImportIsRefused() {
+        FichierExcel replacement = new FichierExcel();
+        replacement.setId(8L);
+        when(fichierExcelRepository.findFirstByReplacesId(7L)).thenReturn(Optional.of(replacement));
+
+        assertThatThrownBy(() -> service.importFile(csv("Algebra,Monday,08:00,10:00,CR,Algebra,weekly\n"), null, 7L))
+                .isInstanceOf(CustomException.class)
+                .hasMessageContaining("import 8");
+        verify(fichierExcelRepository, never()).save(any());
+    }
+
+    /**
+     * The record is saved when queued, when started and when finished
+     */
+    private FichierExcel awaitFinished() {
+        verify(fichierExcelRepository, timeout(10_000).times(3)).save(any());
+        return record.get();
+    }
+
+    private void stored(long id, String matiere, DayOfWeek jour) {
+        storedRows.add(new Object[]{id, matiere, SeanceType.CR, jour, LocalTime.of(8, 0), LocalTime.of(10, 0), TEACHER,
+                matiere, FrequenceType.WEEKLY, null, null});
+        when(conflictStore.slotsOf(any())).thenReturn(storedRows.stream()
+                .map(row -> new SeanceSlot((Long) row[0], (DayOfWeek) row[3], (LocalTime) row[4], (LocalTime) row[5],
+                        FrequenceType.WEEKLY, null, null, TEACHER, null, null, null, null, null))
+                .toList());
+    }
+
+    private static MockMultipartFile csv(String rows) {
+        return new MockMultipartFile("file", "week.csv", "text/csv", (HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
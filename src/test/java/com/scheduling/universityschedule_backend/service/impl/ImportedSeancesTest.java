@@ -0,0 +1,140 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.model.FrequenceType;
+import com.scheduling.universityschedule_backend.model.Salle;
+import com.scheduling.universityschedule_backend.model.Seance;
+import com.scheduling.universityschedule_backend.model.SeanceType;
+import com.scheduling.universityschedule_backend.model.TP;
+import com.scheduling.universityschedule_backend.repository.SeanceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ImportedSeancesTest {
+
+    private final SeanceRepository seanceRepository = mock(SeanceRepository.class);
+    private final List<Object[]> rows = new ArrayList<>();
+    private final List<Object[]> tpLinks = new ArrayList<>();
+
+    ImportedSeancesTest() {
+        when(seanceRepository.findImportedRows(anyCollection())).thenReturn(rows);
+        when(seanceRepository.findImportedTpLinks(anyCollection())).thenReturn(tpLinks);
+    }
+
+    @Test
+    void rowsClaimTheStoredSessionsWithTheirKeyInOrder() {
+        stored(1, "Algebra", DayOfWeek.MONDAY);
+        stored(2, "Algebra", DayOfWeek.MONDAY);
+        stored(3, "Physics", DayOfWeek.TUESDAY);
+        ImportedSeances previous = ImportedSeances.load(seanceRepository, List.of(7L));
+
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY)).id()).isEqualTo(1);
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY)).id()).isEqualTo(2);
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY))).isNull();
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.FRIDAY))).isNull();
+        assertThat(previous.unclaimedIds()).containsExactly(3L);
+    }
+
+    @Test
+    void groupsMatchWhateverTheirOrder() {
+        stored(1, "Algebra", DayOfWeek.MONDAY);
+        tpLinks.add(new Object[]{1L, 5L});
+        tpLinks.add(new Object[]{1L, 4L});
+        ImportedSeances previous = ImportedSeances.load(seanceRepository, List.of(7L));
+
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY, 4L))).isNull();
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY, 5L, 4L, 5L)).id()).isEqualTo(1);
+        assertThat(previous.unclaimedIds()).isEmpty();
+    }
+
+    @Test
+    void releasedClaimsAreClaimedAgainInTheSameOrder() {
+        stored(1, "Algebra", DayOfWeek.MONDAY);
+        stored(2, "Algebra", DayOfWeek.MONDAY);
+        stored(3, "Physics", DayOfWeek.TUESDAY);
+        ImportedSeances previous = ImportedSeances.load(seanceRepository, List.of(7L));
+
+        previous.claim(seance("Algebra", DayOfWeek.MONDAY));
+        int mark = previous.mark();
+        previous.claim(seance("Algebra", DayOfWeek.MONDAY));
+        previous.claim(seance("Physics", DayOfWeek.TUESDAY));
+        previous.releaseSince(mark);
+
+        assertThat(previous.unclaimedIds()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(previous.mark()).isEqualTo(mark);
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY)).id()).isEqualTo(2);
+        assertThat(previous.claim(seance("Physics", DayOfWeek.TUESDAY)).id()).isEqualTo(3);
+
+        previous.releaseSince(0);
+        assertThat(previous.unclaimedIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY)).id()).isEqualTo(1);
+    }
+
+    @Test
+    void releasingNothingKeepsTheClaims() {
+        stored(1, "Algebra", DayOfWeek.MONDAY);
+        ImportedSeances previous = ImportedSeances.load(seanceRepository, List.of(7L));
+
+        previous.claim(seance("Algebra", DayOfWeek.MONDAY));
+        previous.releaseSince(previous.mark());
+
+        assertThat(previous.unclaimedIds()).isEmpty();
+    }
+
+    @Test
+    void claimedSessionIsUnchangedOnlyWhenItsOtherColumnsMatch() {
+        stored(1, "Algebra", DayOfWeek.MONDAY);
+        ImportedSeances previous = ImportedSeances.load(seanceRepository, List.of(7L));
+        ImportedSeances.Stored stored = previous.claim(seance("Algebra", DayOfWeek.MONDAY));
+
+        assertThat(stored.sameAs(seance("Algebra", DayOfWeek.MONDAY))).isTrue();
+        Seance renamed = seance("Algebra", DayOfWeek.MONDAY);
+        renamed.setName("Algebra II");
+        assertThat(stored.sameAs(renamed)).isFalse();
+        Seance moved = seance("Algebra", DayOfWeek.MONDAY);
+        Salle salle = new Salle();
+        salle.setId(9L);
+        moved.setSalle(salle);
+        assertThat(stored.sameAs(moved)).isFalse();
+    }
+
+    @Test
+    void withoutReplacedImportsEveryRowIsNew() {
+        ImportedSeances previous = ImportedSeances.load(seanceRepository, List.of());
+
+        assertThat(previous.claim(seance("Algebra", DayOfWeek.MONDAY))).isNull();
+        assertThat(previous.unclaimedIds()).isEmpty();
+        verifyNoInteractions(seanceRepository);
+    }
+
+    private void stored(long id, String matiere, DayOfWeek jour) {
+        rows.add(new Object[]{id, matiere, SeanceType.CR, jour, LocalTime.of(8, 0), LocalTime.of(10, 0), null,
+                matiere, FrequenceType.WEEKLY, null, null});
+    }
+
+    private static Seance seance(String matiere, DayOfWeek jour, Long... tpIds) {
+        Seance seance = new Seance();
+        seance.setName(matiere);
+        seance.setMatiere(matiere);
+        seance.setType(SeanceType.CR);
+        seance.setJour(jour);
+        seance.setHeureDebut(LocalTime.of(8, 0));
+        seance.setHeureFin(LocalTime.of(10, 0));
+        seance.setFrequence(FrequenceType.WEEKLY);
+        for (Long tpId : tpIds) {
+            TP tp = new TP();
+            tp.setId(tpId);
+            seance.getTps().add(tp);
+        }
+        return seance;
+    }
+}
@@ -0,0 +1,83 @@
+package com.scheduling.universityschedule_backend.service.impl;
+
+import com.scheduling.universityschedule_backend.dto.NotificationDTO;
+import com.scheduling.universityschedule_backend.event.NotificationCreatedEvent;
+import com.scheduling.universityschedule_backend.model.enums.UserRole;
+import com.scheduling.universityschedule_backend.repository.AudienceNotificationRepository;
+import com.scheduling.universityschedule_backend.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UnreadCounterCacheTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final AudienceNotificationRepository audienceNotificationRepository = mock(AudienceNotificationRepository.class);
+    private final RecipientAudienceResolver audienceResolver = mock(RecipientAudienceResolver.class);
+    private final UnreadCounterCache cache;
+
+    UnreadCounterCacheTest() throws Exception {
+        when(audienceResolver.resolve(1L)).thenReturn(new RecipientAudience(1L, UserRole.ROLE_STUDENT, null, null, null));
+        when(audienceNotificationRepository.countVisibleUnread(any(), any(), any(), any(), any())).thenReturn(0L);
+        cache = new UnreadCounterCache(notificationRepository, audienceNotificationRepository, audienceResolver);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void countLoadedBetweenTheCommitAndTheUpdateIsNotCached() throws Exception {
+        // A new notification: its listener runs before the commit, then the database holds it
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onNotificationCreated(NotificationCreatedEvent.toRecipients(new NotificationDTO(), List.of(1L)));
+        when(notificationRepository.countUnreadByPersonneId(1L)).thenReturn(3L);
+
+        assertThat(cache.getUnreadCount(1L)).isEqualTo(3);
+        afterCommit();
+
+        assertThat(cache.getUnreadCount(1L)).isEqualTo(3);
+        when(notificationRepository.countUnreadByPersonneId(1L)).thenReturn(99L);
+        assertThat(cache.getUnreadCount(1L)).as("cached once the event is applied").isEqualTo(3);
+    }
+
+    @Test
+    void cachedCountIsBumpedOnlyOnCommit() throws Exception {
+        when(notificationRepository.countUnreadByPersonneId(1L)).thenReturn(2L);
+        cache.getUnreadCount(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onNotificationCreated(NotificationCreatedEvent.toRecipients(new NotificationDTO(), List.of(1L)));
+        assertThat(cache.getUnreadCount(1L)).isEqualTo(2);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(cache.getUnreadCount(1L)).isEqualTo(2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onNotificationCreated(NotificationCreatedEvent.toRecipients(new NotificationDTO(), List.of(1L)));
+        afterCommit();
+        assertThat(cache.getUnreadCount(1L)).isEqualTo(3);
+    }
+
+    private void afterCommit() {
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}